@@ -0,0 +1,127 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.benchmark;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.ibatis.datasource.pooled.PooledDataSource;
+import org.apache.ibatis.domain.blog.Section;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.jdbc.ScriptRunner;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+
+/**
+ * An in-memory HSQLDB database filled with a fixed data set, so that every run measures the same work.
+ */
+public final class BenchmarkDatabase {
+
+  public static final int AUTHORS = 1000;
+  public static final int BLOGS = 100;
+  public static final int POSTS_PER_BLOG = 10;
+
+  private static final String SCHEMA = "org/apache/ibatis/benchmark/benchmark-schema.sql";
+  private static final AtomicInteger counter = new AtomicInteger();
+  private static final Section[] SECTIONS = Section.values();
+
+  private BenchmarkDatabase() {
+    // Prevent Instantiation
+  }
+
+  public static PooledDataSource createDataSource() throws IOException, SQLException {
+    PooledDataSource dataSource = new PooledDataSource("org.hsqldb.jdbcDriver",
+        "jdbc:hsqldb:mem:mybatis-benchmark-" + counter.incrementAndGet(), "sa", "");
+    try (Connection connection = dataSource.getConnection(); Reader reader = Resources.getResourceAsReader(SCHEMA)) {
+      ScriptRunner runner = new ScriptRunner(connection);
+      runner.setAutoCommit(true);
+      runner.setLogWriter(null);
+      runner.runScript(reader);
+      populate(connection);
+    }
+    return dataSource;
+  }
+
+  public static SqlSessionFactory createSqlSessionFactory(PooledDataSource dataSource) {
+    Configuration configuration = new Configuration(
+        new Environment("benchmark", new JdbcTransactionFactory(), dataSource));
+    configuration.setMapUnderscoreToCamelCase(true);
+    configuration.addMapper(BenchmarkMapper.class);
+    configuration.addMapper(CachedBenchmarkMapper.class);
+    return new SqlSessionFactoryBuilder().build(configuration);
+  }
+
+  public static void shutdown(PooledDataSource dataSource) throws SQLException {
+    try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+      statement.execute("SHUTDOWN");
+    }
+    dataSource.forceCloseAll();
+  }
+
+  private static void populate(Connection connection) throws SQLException {
+    connection.setAutoCommit(false);
+    try (PreparedStatement ps = connection.prepareStatement(
+        "INSERT INTO author (id, username, password, email, bio, favourite_section) VALUES (?, ?, ?, ?, ?, ?)")) {
+      for (int id = 1; id <= AUTHORS; id++) {
+        ps.setInt(1, id);
+        ps.setString(2, "author" + id);
+        ps.setString(3, "password" + id);
+        ps.setString(4, "author" + id + "@mybatis.org");
+        ps.setString(5, id % 3 == 0 ? null : "Biography of author " + id);
+        ps.setString(6, SECTIONS[id % SECTIONS.length].name());
+        ps.addBatch();
+      }
+      ps.executeBatch();
+    }
+    try (PreparedStatement ps = connection
+        .prepareStatement("INSERT INTO blog (id, author_id, title) VALUES (?, ?, ?)")) {
+      for (int id = 1; id <= BLOGS; id++) {
+        ps.setInt(1, id);
+        ps.setInt(2, id);
+        ps.setString(3, "Blog " + id);
+        ps.addBatch();
+      }
+      ps.executeBatch();
+    }
+    try (PreparedStatement ps = connection.prepareStatement(
+        "INSERT INTO post (id, blog_id, author_id, created_on, section, subject, body) VALUES (?, ?, ?, ?, ?, ?, ?)")) {
+      Timestamp createdOn = Timestamp.valueOf("2009-01-01 00:00:00");
+      for (int id = 1; id <= BLOGS * POSTS_PER_BLOG; id++) {
+        ps.setInt(1, id);
+        ps.setInt(2, (id - 1) / POSTS_PER_BLOG + 1);
+        ps.setInt(3, id % AUTHORS + 1);
+        ps.setTimestamp(4, createdOn);
+        ps.setString(5, SECTIONS[id % SECTIONS.length].name());
+        ps.setString(6, "Subject " + id);
+        ps.setString(7, "Body of post " + id);
+        ps.addBatch();
+      }
+      ps.executeBatch();
+    }
+    connection.commit();
+    connection.setAutoCommit(true);
+  }
+
+}
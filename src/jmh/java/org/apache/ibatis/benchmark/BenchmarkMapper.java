@@ -0,0 +1,41 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.benchmark;
+
+import java.util.List;
+import java.util.Map;
+
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.domain.blog.Author;
+import org.apache.ibatis.domain.blog.Blog;
+
+public interface BenchmarkMapper {
+
+  Author selectAuthor(int id);
+
+  List<Author> selectAuthors(int limit);
+
+  List<Blog> selectBlogsWithPosts(int limit);
+
+  List<Map<String, Object>> selectWideRows(int limit);
+
+  List<Map<String, Object>> selectAutoMappedWideRows(int limit);
+
+  List<Author> selectAuthorsByIds(@Param("ids") List<Integer> ids);
+
+  int insertAuthor(Author author);
+
+}
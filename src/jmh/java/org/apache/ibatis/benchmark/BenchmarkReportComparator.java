@@ -0,0 +1,168 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Compares two CSV reports written by {@link BenchmarkRunner}, typically the one of the previous release (the baseline)
+ * with the one of the current build.
+ * <p>
+ * A benchmark is reported as a regression when it is slower than the baseline by more than the threshold (5% by
+ * default) and the difference is larger than the sum of both score errors. The process exits with status 1 when a
+ * regression is found.
+ * <p>
+ * Usage: {@code BenchmarkReportComparator <baseline.csv> <current.csv> [threshold percent]}
+ */
+public final class BenchmarkReportComparator {
+
+  static final double THRESHOLD = 5.0;
+
+  private BenchmarkReportComparator() {
+    // Prevent Instantiation
+  }
+
+  public static void main(String[] args) throws IOException {
+    if (args.length < 2) {
+      System.err.println("Usage: BenchmarkReportComparator <baseline.csv> <current.csv> [threshold percent]");
+      System.exit(2);
+    }
+    double threshold = args.length > 2 ? Double.parseDouble(args[2]) : THRESHOLD;
+    if (compare(Paths.get(args[0]), Paths.get(args[1]), threshold) > 0) {
+      System.exit(1);
+    }
+  }
+
+  /**
+   * Prints the comparison of two reports.
+   *
+   * @return the number of regressions
+   */
+  static int compare(Path baselineReport, Path currentReport, double threshold) throws IOException {
+    Map<String, Score> baseline = read(baselineReport);
+    Map<String, Score> current = read(currentReport);
+    int width = "Benchmark".length();
+    for (String key : current.keySet()) {
+      width = Math.max(width, key.length());
+    }
+    String keyFormat = "%-" + width + "s";
+    int regressions = 0;
+    System.out.println(
+        String.format(Locale.ROOT, keyFormat + " %15s %15s %9s", "Benchmark", "Baseline", "Current", "Change"));
+    for (Map.Entry<String, Score> entry : current.entrySet()) {
+      Score now = entry.getValue();
+      Score before = baseline.get(entry.getKey());
+      if (before == null) {
+        System.out.println(
+            String.format(Locale.ROOT, keyFormat + " %15s %15.3f %9s", entry.getKey(), "-", now.score, "new"));
+        continue;
+      }
+      // positive when the current build is faster
+      double change = (now.higherIsBetter() ? now.score - before.score : before.score - now.score) / before.score
+          * 100;
+      boolean regression = change < -threshold && Math.abs(now.score - before.score) > now.error + before.error;
+      if (regression) {
+        regressions++;
+      }
+      System.out.println(String.format(Locale.ROOT, keyFormat + " %15.3f %15.3f %+8.1f%%%s", entry.getKey(),
+          before.score, now.score, change, regression ? "  REGRESSION" : ""));
+    }
+    if (regressions > 0) {
+      System.out.println(regressions + " regression(s) found.");
+    }
+    return regressions;
+  }
+
+  private static Map<String, Score> read(Path file) throws IOException {
+    List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+    Map<String, Score> scores = new LinkedHashMap<>();
+    if (lines.isEmpty()) {
+      return scores;
+    }
+    List<String> header = split(lines.get(0));
+    int benchmark = header.indexOf("Benchmark");
+    int mode = header.indexOf("Mode");
+    int threads = header.indexOf("Threads");
+    int score = header.indexOf("Score");
+    int error = header.indexOf("Score Error (99.9%)");
+    int unit = header.indexOf("Unit");
+    for (String line : lines.subList(1, lines.size())) {
+      if (line.isEmpty()) {
+        continue;
+      }
+      List<String> values = split(line);
+      StringBuilder key = new StringBuilder(values.get(benchmark)).append(" (").append(values.get(mode))
+          .append(", threads=").append(values.get(threads));
+      for (int i = unit + 1; i < header.size(); i++) {
+        if (!values.get(i).isEmpty()) {
+          key.append(", ").append(header.get(i).replace("Param: ", "")).append('=').append(values.get(i));
+        }
+      }
+      key.append(')');
+      scores.put(key.toString(), new Score(values.get(mode), parse(values.get(score)), parse(values.get(error))));
+    }
+    return scores;
+  }
+
+  private static double parse(String value) {
+    return value.isEmpty() || "NaN".equals(value) ? 0 : Double.parseDouble(value);
+  }
+
+  private static List<String> split(String line) {
+    List<String> values = new ArrayList<>();
+    StringBuilder value = new StringBuilder();
+    boolean quoted = false;
+    for (int i = 0; i < line.length(); i++) {
+      char c = line.charAt(i);
+      if (c == '"') {
+        quoted = !quoted;
+      } else if (c == ',' && !quoted) {
+        values.add(value.toString());
+        value.setLength(0);
+      } else {
+        value.append(c);
+      }
+    }
+    values.add(value.toString());
+    return values;
+  }
+
+  private static final class Score {
+    private final String mode;
+    private final double score;
+    private final double error;
+
+    Score(String mode, double score, double error) {
+      this.mode = mode;
+      this.score = score;
+      this.error = error;
+    }
+
+    boolean higherIsBetter() {
+      return "thrpt".equals(mode);
+    }
+  }
+
+}
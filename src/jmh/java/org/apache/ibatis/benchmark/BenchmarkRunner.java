@@ -0,0 +1,62 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.benchmark;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks and writes a CSV report that can be compared with the report of another release using
+ * {@link BenchmarkReportComparator}. When the {@code jmh.baseline} system property names a previous report, the new
+ * report is compared with it and the process exits with status 1 if a regression is found.
+ * <p>
+ * Usage: {@code BenchmarkRunner <report.csv> [JMH options and benchmark regexps]}
+ */
+public final class BenchmarkRunner {
+
+  private BenchmarkRunner() {
+    // Prevent Instantiation
+  }
+
+  public static void main(String[] args) throws Exception {
+    if (args.length == 0) {
+      System.err.println("Usage: BenchmarkRunner <report.csv> [JMH options and benchmark regexps]");
+      System.exit(2);
+    }
+    Path report = Paths.get(args[0]).toAbsolutePath();
+    Files.createDirectories(report.getParent());
+    CommandLineOptions commandLineOptions = new CommandLineOptions(Arrays.copyOfRange(args, 1, args.length));
+    Options options = new OptionsBuilder().parent(commandLineOptions).resultFormat(ResultFormatType.CSV)
+        .result(report.toString()).build();
+    new Runner(options).run();
+    System.out.println("Benchmark report written to " + report);
+
+    String baseline = System.getProperty("jmh.baseline");
+    if (baseline != null && !baseline.isEmpty()
+        && BenchmarkReportComparator.compare(Paths.get(baseline), report, BenchmarkReportComparator.THRESHOLD) > 0) {
+      System.exit(1);
+    }
+  }
+
+}
@@ -0,0 +1,91 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.benchmark;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.session.RowBounds;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures building {@link CacheKey}s the way {@code BaseExecutor.createCacheKey} does and looking them up.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CacheKeyBenchmark {
+
+  private static final String STATEMENT_ID = "org.apache.ibatis.benchmark.BenchmarkMapper.selectAuthorsByIds";
+  private static final String SQL = "SELECT id, username, password, email, bio, favourite_section"
+      + " FROM author WHERE id IN (?, ?, ?)";
+
+  @Param({ "1", "10", "100" })
+  public int parameters;
+
+  private Object[] values;
+  private Map<CacheKey, Object> cache;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    values = new Object[parameters];
+    for (int i = 0; i < parameters; i++) {
+      values[i] = i % 2 == 0 ? Integer.valueOf(i) : "value" + i;
+    }
+    cache = new HashMap<>();
+    cache.put(createKey(), Boolean.TRUE);
+  }
+
+  @Benchmark
+  public CacheKey create() {
+    return createKey();
+  }
+
+  @Benchmark
+  public Object lookup() {
+    return cache.get(createKey());
+  }
+
+  private CacheKey createKey() {
+    CacheKey cacheKey = new CacheKey();
+    cacheKey.update(STATEMENT_ID);
+    cacheKey.update(RowBounds.NO_ROW_OFFSET);
+    cacheKey.update(RowBounds.NO_ROW_LIMIT);
+    cacheKey.update(SQL);
+    for (Object value : values) {
+      cacheKey.update(value);
+    }
+    cacheKey.update("benchmark");
+    return cacheKey;
+  }
+
+}
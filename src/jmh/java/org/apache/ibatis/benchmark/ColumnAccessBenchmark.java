@@ -0,0 +1,85 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.benchmark;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.ibatis.datasource.pooled.PooledDataSource;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares reading mapped columns by index with reading them by label on wide (16 columns) rows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ColumnAccessBenchmark {
+
+  @Param({ "true", "false" })
+  public boolean useColumnIndex;
+
+  @Param({ "100", "1000" })
+  public int rows;
+
+  private PooledDataSource dataSource;
+  private SqlSessionFactory sqlSessionFactory;
+
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    dataSource = BenchmarkDatabase.createDataSource();
+    sqlSessionFactory = BenchmarkDatabase.createSqlSessionFactory(dataSource);
+    sqlSessionFactory.getConfiguration().setUseColumnIndex(useColumnIndex);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    BenchmarkDatabase.shutdown(dataSource);
+  }
+
+  @Benchmark
+  public List<Map<String, Object>> resultMap() {
+    try (SqlSession session = sqlSessionFactory.openSession()) {
+      return session.getMapper(BenchmarkMapper.class).selectWideRows(rows);
+    }
+  }
+
+  @Benchmark
+  public List<Map<String, Object>> autoMapping() {
+    try (SqlSession session = sqlSessionFactory.openSession()) {
+      return session.getMapper(BenchmarkMapper.class).selectAutoMappedWideRows(rows);
+    }
+  }
+
+}
@@ -0,0 +1,95 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.ibatis.datasource.pooled.PooledDataSource;
+import org.apache.ibatis.domain.blog.Section;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.session.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@code DynamicSqlSource.getBoundSql} on foreach-heavy statements. No statement is executed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DynamicSqlBenchmark {
+
+  @Param({ "10", "100", "1000" })
+  public int size;
+
+  private MappedStatement selectAuthorsByIds;
+  private MappedStatement searchPosts;
+  private Map<String, Object> idsParameter;
+  private Map<String, Object> searchParameter;
+
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    PooledDataSource dataSource = BenchmarkDatabase.createDataSource();
+    try {
+      Configuration configuration = BenchmarkDatabase.createSqlSessionFactory(dataSource).getConfiguration();
+      selectAuthorsByIds = configuration
+          .getMappedStatement("org.apache.ibatis.benchmark.BenchmarkMapper.selectAuthorsByIds");
+      searchPosts = configuration.getMappedStatement("org.apache.ibatis.benchmark.BenchmarkMapper.searchPosts");
+    } finally {
+      BenchmarkDatabase.shutdown(dataSource);
+    }
+    List<Integer> ids = new ArrayList<>(size);
+    for (int i = 1; i <= size; i++) {
+      ids.add(i);
+    }
+    idsParameter = new HashMap<>();
+    idsParameter.put("ids", ids);
+    searchParameter = new HashMap<>();
+    searchParameter.put("subject", "Subject%");
+    searchParameter.put("sections", Arrays.asList(Section.NEWS, Section.VIDEOS, Section.PODCASTS));
+    searchParameter.put("blogIds", ids);
+  }
+
+  @Benchmark
+  public BoundSql foreach() {
+    return selectAuthorsByIds.getBoundSql(idsParameter);
+  }
+
+  @Benchmark
+  public BoundSql whereIfChooseForeach() {
+    return searchPosts.getBoundSql(searchParameter);
+  }
+
+}
@@ -0,0 +1,122 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.ibatis.datasource.pooled.PooledDataSource;
+import org.apache.ibatis.domain.blog.Author;
+import org.apache.ibatis.domain.blog.Section;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the executors: batch inserts, second level cache hits (including the copy made by the read/write cache) and
+ * the {@code MapperProxy.invoke} overhead on local cache hits.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExecutorBenchmark {
+
+  private static final int BATCH_SIZE = 100;
+
+  private PooledDataSource dataSource;
+  private SqlSessionFactory sqlSessionFactory;
+  private Author[] authors;
+
+  @State(Scope.Thread)
+  public static class OpenSession {
+    private SqlSession session;
+    private BenchmarkMapper mapper;
+
+    @Setup(Level.Trial)
+    public void setup(ExecutorBenchmark benchmark) {
+      session = benchmark.sqlSessionFactory.openSession();
+      mapper = session.getMapper(BenchmarkMapper.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+      session.close();
+    }
+  }
+
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    dataSource = BenchmarkDatabase.createDataSource();
+    sqlSessionFactory = BenchmarkDatabase.createSqlSessionFactory(dataSource);
+    authors = new Author[BATCH_SIZE];
+    for (int i = 0; i < BATCH_SIZE; i++) {
+      int id = BenchmarkDatabase.AUTHORS + i + 1;
+      authors[i] = new Author(id, "author" + id, "password" + id, "author" + id + "@mybatis.org", null, Section.NEWS);
+    }
+    try (SqlSession session = sqlSessionFactory.openSession()) {
+      // fills the second level cache
+      session.getMapper(CachedBenchmarkMapper.class).selectAuthor(1);
+      session.commit();
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    BenchmarkDatabase.shutdown(dataSource);
+  }
+
+  @Benchmark
+  public List<BatchResult> batchInsert() {
+    try (SqlSession session = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+      BenchmarkMapper mapper = session.getMapper(BenchmarkMapper.class);
+      for (Author author : authors) {
+        mapper.insertAuthor(author);
+      }
+      List<BatchResult> results = session.flushStatements();
+      session.rollback(true);
+      return results;
+    }
+  }
+
+  @Benchmark
+  public Author secondLevelCacheHit() {
+    try (SqlSession session = sqlSessionFactory.openSession()) {
+      return session.getMapper(CachedBenchmarkMapper.class).selectAuthor(1);
+    }
+  }
+
+  @Benchmark
+  public Author mapperProxyInvoke(OpenSession openSession) {
+    return openSession.mapper.selectAuthor(1);
+  }
+
+}
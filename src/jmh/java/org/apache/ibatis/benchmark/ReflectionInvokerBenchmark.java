@@ -0,0 +1,102 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.ibatis.domain.blog.Author;
+import org.apache.ibatis.reflection.DefaultReflectorFactory;
+import org.apache.ibatis.reflection.LambdaReflectorFactory;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.reflection.Reflector;
+import org.apache.ibatis.reflection.ReflectorFactory;
+import org.apache.ibatis.reflection.factory.DefaultObjectFactory;
+import org.apache.ibatis.reflection.invoker.Invoker;
+import org.apache.ibatis.reflection.wrapper.DefaultObjectWrapperFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the reflective invokers with the ones created by the {@code LambdaInvokerFactory}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReflectionInvokerBenchmark {
+
+  private static final Object[] NO_ARGUMENTS = {};
+
+  @Param({ "reflection", "lambda" })
+  public String invokers;
+
+  private Author author;
+  private Invoker usernameGetter;
+  private Invoker usernameSetter;
+  private Invoker idSetter;
+  private MetaObject metaObject;
+  private Object[] usernameArgument;
+  private Object[] idArgument;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    ReflectorFactory reflectorFactory = "lambda".equals(invokers) ? new LambdaReflectorFactory()
+        : new DefaultReflectorFactory();
+    Reflector reflector = reflectorFactory.findForClass(Author.class);
+    author = new Author();
+    usernameGetter = reflector.getGetInvoker("username");
+    usernameSetter = reflector.getSetInvoker("username");
+    idSetter = reflector.getSetInvoker("id");
+    metaObject = MetaObject.forObject(author, new DefaultObjectFactory(), new DefaultObjectWrapperFactory(),
+        reflectorFactory);
+    usernameArgument = new Object[] { "jim" };
+    idArgument = new Object[] { 101 };
+  }
+
+  @Benchmark
+  public Object getter() throws Exception {
+    return usernameGetter.invoke(author, NO_ARGUMENTS);
+  }
+
+  @Benchmark
+  public Object setter() throws Exception {
+    return usernameSetter.invoke(author, usernameArgument);
+  }
+
+  @Benchmark
+  public Object primitiveSetter() throws Exception {
+    return idSetter.invoke(author, idArgument);
+  }
+
+  @Benchmark
+  public Object metaObjectSetAndGet() {
+    metaObject.setValue("username", "sally");
+    return metaObject.getValue("username");
+  }
+
+}
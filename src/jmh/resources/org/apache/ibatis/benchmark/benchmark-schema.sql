@@ -0,0 +1,40 @@
+--
+--    Copyright 2009-2026 the original author or authors.
+--
+--    Licensed under the Apache License, Version 2.0 (the "License");
+--    you may not use this file except in compliance with the License.
+--    You may obtain a copy of the License at
+--
+--       https://www.apache.org/licenses/LICENSE-2.0
+--
+--    Unless required by applicable law or agreed to in writing, software
+--    distributed under the License is distributed on an "AS IS" BASIS,
+--    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+--    See the License for the specific language governing permissions and
+--    limitations under the License.
+--
+
+CREATE TABLE author (
+  id INT NOT NULL PRIMARY KEY,
+  username VARCHAR(255) NOT NULL,
+  password VARCHAR(255) NOT NULL,
+  email VARCHAR(255) NOT NULL,
+  bio VARCHAR(2000),
+  favourite_section VARCHAR(25)
+);
+
+CREATE TABLE blog (
+  id INT NOT NULL PRIMARY KEY,
+  author_id INT NOT NULL,
+  title VARCHAR(255)
+);
+
+CREATE TABLE post (
+  id INT NOT NULL PRIMARY KEY,
+  blog_id INT NOT NULL,
+  author_id INT NOT NULL,
+  created_on TIMESTAMP,
+  section VARCHAR(25) NOT NULL,
+  subject VARCHAR(255) NOT NULL,
+  body VARCHAR(2000) NOT NULL
+);
@@ -22,8 +22,10 @@ import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
 import org.apache.ibatis.cache.Cache;
+import org.apache.ibatis.cache.CacheSerializer;
 import org.apache.ibatis.cache.decorators.LruCache;
 import org.apache.ibatis.cache.impl.PerpetualCache;
+import org.apache.ibatis.cache.serializer.JavaCacheSerializer;
 
 /**
  * The annotation that specify to use cache on namespace(e.g. mapper interface).
@@ -82,6 +84,15 @@ public @interface CacheNamespace {
    */
   boolean readWrite() default true;
 
+  /**
+   * Returns the serializer used to copy the values of a read/write cache.
+   *
+   * @return the serializer type
+   *
+   * @since 3.6.0
+   */
+  Class<? extends CacheSerializer> serializer() default JavaCacheSerializer.class;
+
   /**
    * Returns whether block the cache at request time or not.
    *
@@ -66,4 +66,23 @@ public @interface Many {
    */
   FetchType fetchType() default FetchType.DEFAULT;
 
+  /**
+   * Returns the statement id that retrieves the collection of many parent rows at once. It takes the list of the keys
+   * passed to {@link #select()}.
+   *
+   * @return the statement id
+   *
+   * @since 3.6.0
+   */
+  String batchSelect() default "";
+
+  /**
+   * Returns the property of the objects returned by {@link #batchSelect()} that holds the key of their parent.
+   *
+   * @return the property name
+   *
+   * @since 3.6.0
+   */
+  String batchKey() default "";
+
 }
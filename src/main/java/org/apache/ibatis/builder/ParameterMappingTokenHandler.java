@@ -63,12 +63,28 @@ public class ParameterMappingTokenHandler extends BaseBuilder implements TokenHa
 
   @Override
   public String handleToken(String content) {
-    parameterMappings.add(buildParameterMapping(content));
+    parameterMappings.add(buildParameterMapping(content, parseParameterMapping(content)));
     return "?";
   }
 
-  private ParameterMapping buildParameterMapping(String content) {
-    Map<String, String> propertiesMap = parseParameterMapping(content);
+  /**
+   * Handles a token whose content was already parsed with a {@link ParameterExpression}.
+   *
+   * @param content
+   *          the token content
+   * @param propertiesMap
+   *          the parsed token content
+   *
+   * @return the placeholder
+   *
+   * @since 3.6.0
+   */
+  public String handleToken(String content, Map<String, String> propertiesMap) {
+    parameterMappings.add(buildParameterMapping(content, propertiesMap));
+    return "?";
+  }
+
+  private ParameterMapping buildParameterMapping(String content, Map<String, String> propertiesMap) {
     String property = propertiesMap.get("property");
     PropertyTokenizer propertyTokenizer = new PropertyTokenizer(property);
     Class<?> propertyType;
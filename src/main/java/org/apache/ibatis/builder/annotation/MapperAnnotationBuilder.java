@@ -32,6 +32,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -174,7 +175,7 @@ public class MapperAnnotationBuilder {
       Long flushInterval = cacheDomain.flushInterval() == 0 ? null : cacheDomain.flushInterval();
       Properties props = convertToProperties(cacheDomain.properties());
       assistant.useNewCache(cacheDomain.implementation(), cacheDomain.eviction(), flushInterval, size,
-          cacheDomain.readWrite(), cacheDomain.blocking(), props);
+          cacheDomain.readWrite(), cacheDomain.serializer(), cacheDomain.blocking(), props);
     }
   }
 
@@ -386,6 +387,16 @@ public class MapperAnnotationBuilder {
   private static Class<?> getReturnType(Method method, Class<?> type) {
     Class<?> returnType = method.getReturnType();
     Type resolvedReturnType = TypeParameterResolver.resolveReturnType(method, type);
+    if (CompletableFuture.class.equals(returnType)) {
+      // the result type is the value of the future
+      returnType = Object.class;
+      if (resolvedReturnType instanceof ParameterizedType) {
+        resolvedReturnType = ((ParameterizedType) resolvedReturnType).getActualTypeArguments()[0];
+        if (resolvedReturnType instanceof ParameterizedType) {
+          returnType = (Class<?>) ((ParameterizedType) resolvedReturnType).getRawType();
+        }
+      }
+    }
     if (resolvedReturnType instanceof Class) {
       returnType = (Class<?>) resolvedReturnType;
       if (returnType.isArray()) {
@@ -455,7 +466,8 @@ public class MapperAnnotationBuilder {
           result.jdbcType() == JdbcType.UNDEFINED ? null : result.jdbcType(),
           hasNestedSelect(result) ? nestedSelectId(result) : null,
           hasNestedResultMap ? nestedResultMapId(result) : null, null,
-          hasNestedResultMap ? findColumnPrefix(result) : null, typeHandler, flags, null, null, isLazy(result));
+          hasNestedResultMap ? findColumnPrefix(result) : null, typeHandler, flags, null, null, isLazy(result),
+          nestedBatchSelectId(result), nestedBatchKey(result));
       resultMappings.add(resultMapping);
     }
   }
@@ -497,6 +509,28 @@ public class MapperAnnotationBuilder {
     return nestedSelect;
   }
 
+  private String nestedBatchSelectId(Result result) {
+    String batchSelect = result.one().batchSelect();
+    if (batchSelect.isEmpty()) {
+      batchSelect = result.many().batchSelect();
+    }
+    if (batchSelect.isEmpty()) {
+      return null;
+    }
+    if (!batchSelect.contains(".")) {
+      batchSelect = type.getName() + "." + batchSelect;
+    }
+    return batchSelect;
+  }
+
+  private String nestedBatchKey(Result result) {
+    String batchKey = result.one().batchKey();
+    if (batchKey.isEmpty()) {
+      batchKey = result.many().batchKey();
+    }
+    return nullOrEmpty(batchKey);
+  }
+
   private boolean isLazy(Result result) {
     boolean isLazy = configuration.isLazyLoadingEnabled();
     if (!result.one().select().isEmpty() && FetchType.DEFAULT != result.one().fetchType()) {
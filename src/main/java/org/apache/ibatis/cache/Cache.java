@@ -98,4 +98,19 @@ public interface Cache {
     return null;
   }
 
+  /**
+   * Optional. Declares whether this cache can be used by several threads at once without external synchronization. A
+   * decorator is thread-safe only if both the decorator and its delegate are.
+   * <p>
+   * The standard decorators are not wrapped by a {@link org.apache.ibatis.cache.decorators.SynchronizedCache} when the
+   * whole chain is thread-safe.
+   *
+   * @return true if this cache is thread-safe
+   *
+   * @since 3.6.0
+   */
+  default boolean isThreadSafe() {
+    return false;
+  }
+
 }
@@ -15,21 +15,28 @@
  */
 package org.apache.ibatis.cache;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 import java.util.StringJoiner;
 
 import org.apache.ibatis.reflection.ArrayUtil;
 
 /**
+ * The key of a cached query, made of an ordered sequence of components.
+ * <p>
+ * The components are kept in an array that can be sized up front with {@link #CacheKey(int)}, and are folded into a
+ * 64-bit hash as they are added, so that keys of different queries rarely need to be compared component by component.
+ *
  * @author Clinton Begin
  */
 public class CacheKey implements Cloneable, Serializable {
 
-  private static final long serialVersionUID = 1146682552656046210L;
+  private static final long serialVersionUID = -2441474813658592532L;
 
-  public static final CacheKey NULL_CACHE_KEY = new CacheKey() {
+  public static final CacheKey NULL_CACHE_KEY = new CacheKey(0) {
 
     private static final long serialVersionUID = 1L;
 
@@ -44,43 +51,49 @@ public class CacheKey implements Cloneable, Serializable {
     }
   };
 
-  private static final int DEFAULT_MULTIPLIER = 37;
-  private static final int DEFAULT_HASHCODE = 17;
+  private static final int DEFAULT_CAPACITY = 8;
+  private static final long DEFAULT_HASH = 17;
+  private static final long MULTIPLIER = 0x9E3779B97F4A7C15L;
+  private static final Object[] EMPTY = {};
 
-  private final int multiplier;
-  private int hashcode;
-  private long checksum;
+  private long hash;
   private int count;
-  // 8/21/2017 - Sonarlint flags this as needing to be marked transient. While true if content is not serializable, this
-  // is not always true and thus should not be marked transient.
-  private List<Object> updateList;
+  // only the used slots are serialized, see writeObject
+  private transient Object[] components;
 
   public CacheKey() {
-    this.hashcode = DEFAULT_HASHCODE;
-    this.multiplier = DEFAULT_MULTIPLIER;
-    this.count = 0;
-    this.updateList = new ArrayList<>();
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Creates an empty key sized for the given number of components.
+   *
+   * @param expectedUpdateCount
+   *          the expected number of components
+   *
+   * @since 3.6.0
+   */
+  public CacheKey(int expectedUpdateCount) {
+    this.hash = DEFAULT_HASH;
+    this.components = expectedUpdateCount > 0 ? new Object[expectedUpdateCount] : EMPTY;
   }
 
   public CacheKey(Object[] objects) {
-    this();
+    this(objects.length);
     updateAll(objects);
   }
 
   public int getUpdateCount() {
-    return updateList.size();
+    return count;
   }
 
   public void update(Object object) {
     int baseHashCode = object == null ? 1 : ArrayUtil.hashCode(object);
-
-    count++;
-    checksum += baseHashCode;
-    baseHashCode *= count;
-
-    hashcode = multiplier * hashcode + baseHashCode;
-
-    updateList.add(object);
+    hash = (hash + mix(baseHashCode)) * MULTIPLIER;
+    if (count == components.length) {
+      components = Arrays.copyOf(components, Math.max(DEFAULT_CAPACITY, count + (count >> 1)));
+    }
+    components[count++] = object;
   }
 
   public void updateAll(Object[] objects) {
@@ -100,14 +113,12 @@ public class CacheKey implements Cloneable, Serializable {
 
     final CacheKey cacheKey = (CacheKey) object;
 
-    if ((hashcode != cacheKey.hashcode) || (checksum != cacheKey.checksum) || (count != cacheKey.count)) {
+    if (hash != cacheKey.hash || count != cacheKey.count) {
       return false;
     }
 
-    for (int i = 0; i < updateList.size(); i++) {
-      Object thisObject = updateList.get(i);
-      Object thatObject = cacheKey.updateList.get(i);
-      if (!ArrayUtil.equals(thisObject, thatObject)) {
+    for (int i = 0; i < count; i++) {
+      if (!ArrayUtil.equals(components[i], cacheKey.components[i])) {
         return false;
       }
     }
@@ -116,23 +127,50 @@ public class CacheKey implements Cloneable, Serializable {
 
   @Override
   public int hashCode() {
-    return hashcode;
+    return (int) (hash ^ hash >>> 32);
   }
 
   @Override
   public String toString() {
     StringJoiner returnValue = new StringJoiner(":");
-    returnValue.add(String.valueOf(hashcode));
-    returnValue.add(String.valueOf(checksum));
-    updateList.stream().map(ArrayUtil::toString).forEach(returnValue::add);
+    returnValue.add(String.valueOf(hashCode()));
+    returnValue.add(Long.toHexString(hash));
+    for (int i = 0; i < count; i++) {
+      returnValue.add(ArrayUtil.toString(components[i]));
+    }
     return returnValue.toString();
   }
 
   @Override
   public CacheKey clone() throws CloneNotSupportedException {
     CacheKey clonedCacheKey = (CacheKey) super.clone();
-    clonedCacheKey.updateList = new ArrayList<>(updateList);
+    clonedCacheKey.components = count == 0 ? EMPTY : Arrays.copyOf(components, count);
     return clonedCacheKey;
   }
 
+  private static long mix(long value) {
+    // the finalizer of MurmurHash3, spreads the bits of a 32-bit hash code over 64 bits
+    value ^= value >>> 33;
+    value *= 0xFF51AFD7ED558CCDL;
+    value ^= value >>> 33;
+    value *= 0xC4CEB9FE1A85EC53L;
+    value ^= value >>> 33;
+    return value;
+  }
+
+  private void writeObject(ObjectOutputStream out) throws IOException {
+    out.defaultWriteObject();
+    for (int i = 0; i < count; i++) {
+      out.writeObject(components[i]);
+    }
+  }
+
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    components = count == 0 ? EMPTY : new Object[count];
+    for (int i = 0; i < count; i++) {
+      components[i] = in.readObject();
+    }
+  }
+
 }
@@ -0,0 +1,53 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache;
+
+/**
+ * SPI used by the read/write second level cache to copy the cached values, so that callers never share the objects kept
+ * by the cache.
+ * <p>
+ * An implementation must be thread-safe and have a public no-argument constructor. It is selected with the
+ * {@code serializer} attribute of the {@code <cache>} element or of
+ * {@link org.apache.ibatis.annotations.CacheNamespace}.
+ *
+ * @since 3.6.0
+ *
+ * @see org.apache.ibatis.cache.decorators.SerializedCache
+ */
+public interface CacheSerializer {
+
+  /**
+   * Converts a value into the form kept by the cache. The returned form must not share any mutable state with the
+   * value.
+   *
+   * @param value
+   *          the value to cache, may be {@code null}
+   *
+   * @return the cached form of the value
+   */
+  Object serialize(Object value);
+
+  /**
+   * Returns a new copy of a cached value.
+   *
+   * @param data
+   *          the cached form returned by {@link #serialize(Object)}
+   *
+   * @return a copy of the value
+   */
+  Object deserialize(Object data);
+
+}
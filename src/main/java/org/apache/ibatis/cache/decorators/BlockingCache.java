@@ -86,6 +86,11 @@ public class BlockingCache implements Cache {
     delegate.clear();
   }
 
+  @Override
+  public boolean isThreadSafe() {
+    return delegate.isThreadSafe();
+  }
+
   private void acquireLock(Object key) {
     CountDownLatch newLatch = new CountDownLatch(1);
     while (true) {
@@ -104,6 +109,7 @@ public class BlockingCache implements Cache {
           latch.await();
         }
       } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
         throw new CacheException("Got interrupted while trying to acquire lock for key " + key, e);
       }
     }
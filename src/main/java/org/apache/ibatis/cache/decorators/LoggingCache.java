@@ -15,6 +15,8 @@
  */
 package org.apache.ibatis.cache.decorators;
 
+import java.util.concurrent.atomic.LongAdder;
+
 import org.apache.ibatis.cache.Cache;
 import org.apache.ibatis.logging.Log;
 import org.apache.ibatis.logging.LogFactory;
@@ -26,7 +28,23 @@ public class LoggingCache implements Cache {
 
   private final Log log;
   private final Cache delegate;
+  private final LongAdder requestCount = new LongAdder();
+  private final LongAdder hitCount = new LongAdder();
+  /**
+   * The number of requests, updated after each request.
+   *
+   * @deprecated The requests are counted concurrently, so this field is only a snapshot of the count. Use
+   *             {@link #getRequestCount()} instead.
+   */
+  @Deprecated
   protected int requests;
+  /**
+   * The number of hits, updated after each request.
+   *
+   * @deprecated The hits are counted concurrently, so this field is only a snapshot of the count. Use
+   *             {@link #getHitCount()} instead.
+   */
+  @Deprecated
   protected int hits;
 
   public LoggingCache(Cache delegate) {
@@ -51,11 +69,13 @@ public class LoggingCache implements Cache {
 
   @Override
   public Object getObject(Object key) {
-    requests++;
+    requestCount.increment();
     final Object value = delegate.getObject(key);
     if (value != null) {
-      hits++;
+      hitCount.increment();
     }
+    requests = (int) requestCount.sum();
+    hits = (int) hitCount.sum();
     if (log.isDebugEnabled()) {
       log.debug("Cache Hit Ratio [" + getId() + "]: " + getHitRatio());
     }
@@ -72,6 +92,11 @@ public class LoggingCache implements Cache {
     delegate.clear();
   }
 
+  @Override
+  public boolean isThreadSafe() {
+    return delegate.isThreadSafe();
+  }
+
   @Override
   public int hashCode() {
     return delegate.hashCode();
@@ -82,8 +107,30 @@ public class LoggingCache implements Cache {
     return delegate.equals(obj);
   }
 
+  /**
+   * Returns the number of requests.
+   *
+   * @return the request count
+   *
+   * @since 3.6.0
+   */
+  protected long getRequestCount() {
+    return requestCount.sum();
+  }
+
+  /**
+   * Returns the number of requests that found a value.
+   *
+   * @return the hit count
+   *
+   * @since 3.6.0
+   */
+  protected long getHitCount() {
+    return hitCount.sum();
+  }
+
   private double getHitRatio() {
-    return (double) hits / (double) requests;
+    return (double) hitCount.sum() / (double) requestCount.sum();
   }
 
 }
@@ -16,6 +16,7 @@
 package org.apache.ibatis.cache.decorators;
 
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 
 import org.apache.ibatis.cache.Cache;
 
@@ -24,9 +25,12 @@ import org.apache.ibatis.cache.Cache;
  */
 public class ScheduledCache implements Cache {
 
+  private static final AtomicLongFieldUpdater<ScheduledCache> LAST_CLEAR = AtomicLongFieldUpdater
+      .newUpdater(ScheduledCache.class, "lastClear");
+
   private final Cache delegate;
-  protected long clearInterval;
-  protected long lastClear;
+  protected volatile long clearInterval;
+  protected volatile long lastClear;
 
   public ScheduledCache(Cache delegate) {
     this.delegate = delegate;
@@ -72,6 +76,11 @@ public class ScheduledCache implements Cache {
     delegate.clear();
   }
 
+  @Override
+  public boolean isThreadSafe() {
+    return delegate.isThreadSafe();
+  }
+
   @Override
   public int hashCode() {
     return delegate.hashCode();
@@ -83,8 +92,13 @@ public class ScheduledCache implements Cache {
   }
 
   private boolean clearWhenStale() {
-    if (System.currentTimeMillis() - lastClear > clearInterval) {
-      clear();
+    long last = lastClear;
+    long now = System.currentTimeMillis();
+    if (now - last > clearInterval) {
+      // only one of the threads finding the cache stale clears it
+      if (LAST_CLEAR.compareAndSet(this, last, now)) {
+        delegate.clear();
+      }
       return true;
     }
     return false;
@@ -86,6 +86,11 @@ public class SynchronizedCache implements Cache {
     }
   }
 
+  @Override
+  public boolean isThreadSafe() {
+    return true;
+  }
+
   @Override
   public int hashCode() {
     return delegate.hashCode();
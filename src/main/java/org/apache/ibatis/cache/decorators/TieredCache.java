@@ -0,0 +1,139 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache.decorators;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.ibatis.cache.Cache;
+import org.apache.ibatis.cache.CacheSerializer;
+import org.apache.ibatis.cache.impl.OffHeapCache;
+
+/**
+ * Two tier cache decorator: an on-heap hot tier over an {@link OffHeapCache}.
+ * <p>
+ * The delegate holds the {@link #setSize(int) size} most recently used objects. The least recently used objects are
+ * moved to the off-heap tier instead of being discarded, and are moved back to the delegate when they are read again.
+ *
+ * @since 3.6.0
+ */
+public class TieredCache implements Cache {
+
+  private final Cache delegate;
+  private final OffHeapCache offHeapCache;
+  private Map<Object, Object> keyMap;
+  private Object eldestKey;
+
+  public TieredCache(Cache delegate) {
+    this.delegate = delegate;
+    this.offHeapCache = new OffHeapCache(delegate.getId());
+    setSize(1024);
+  }
+
+  @Override
+  public String getId() {
+    return delegate.getId();
+  }
+
+  @Override
+  public int getSize() {
+    return delegate.getSize() + offHeapCache.getSize();
+  }
+
+  public void setSize(final int size) {
+    keyMap = new LinkedHashMap<Object, Object>(size, .75F, true) {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Object, Object> eldest) {
+        boolean tooBig = size() > size;
+        if (tooBig) {
+          eldestKey = eldest.getKey();
+        }
+        return tooBig;
+      }
+    };
+  }
+
+  public void setMaximumBytes(long maximumBytes) {
+    offHeapCache.setMaximumBytes(maximumBytes);
+  }
+
+  public void setSlabSize(int slabSize) {
+    offHeapCache.setSlabSize(slabSize);
+  }
+
+  public void setSerializer(CacheSerializer serializer) {
+    offHeapCache.setSerializer(serializer);
+  }
+
+  public void setSerializerClass(String serializerClassName) {
+    offHeapCache.setSerializerClass(serializerClassName);
+  }
+
+  /**
+   * Returns the off-heap tier, e.g. to read its statistics.
+   *
+   * @return the off-heap tier
+   */
+  public OffHeapCache getOffHeapCache() {
+    return offHeapCache;
+  }
+
+  @Override
+  public void putObject(Object key, Object value) {
+    offHeapCache.removeObject(key);
+    delegate.putObject(key, value);
+    cycleKeyList(key);
+  }
+
+  @Override
+  public Object getObject(Object key) {
+    if (keyMap.get(key) != null) {
+      return delegate.getObject(key);
+    }
+    Object value = offHeapCache.getObject(key);
+    if (value != null) {
+      offHeapCache.removeObject(key);
+      delegate.putObject(key, value);
+      cycleKeyList(key);
+    }
+    return value;
+  }
+
+  @Override
+  public Object removeObject(Object key) {
+    keyMap.remove(key);
+    offHeapCache.removeObject(key);
+    return delegate.removeObject(key);
+  }
+
+  @Override
+  public void clear() {
+    delegate.clear();
+    keyMap.clear();
+    offHeapCache.clear();
+  }
+
+  private void cycleKeyList(Object key) {
+    keyMap.put(key, key);
+    if (eldestKey != null) {
+      offHeapCache.putObject(eldestKey, delegate.removeObject(eldestKey));
+      eldestKey = null;
+    }
+  }
+
+}
@@ -0,0 +1,547 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache.decorators;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.ibatis.cache.Cache;
+import org.apache.ibatis.cache.CacheException;
+import org.apache.ibatis.cache.impl.PerpetualCache;
+import org.apache.ibatis.io.Resources;
+
+/**
+ * W-TinyLFU (window tiny least frequently used) cache decorator.
+ * <p>
+ * New entries enter a small LRU window. An entry leaving the window is only admitted into the main segmented LRU area
+ * if it has been accessed more frequently than the entry it would evict; the access frequencies are estimated by a
+ * count-min sketch that is periodically aged. This keeps one-hit wonders from flushing popular entries out of the
+ * cache.
+ * <p>
+ * Unlike the other eviction decorators, this cache keeps the entries itself in a concurrent map and is thread-safe:
+ * reads are lock-free and only record the access into a buffer that is replayed on the eviction policy under a lock, so
+ * it does not need to be wrapped by a {@link SynchronizedCache}. The delegate must therefore be a
+ * {@link PerpetualCache}: it is only used for its id and is cleared along with this cache.
+ * <p>
+ * The cache is bounded by {@code size} entries, or by {@code maximumWeight} when it is greater than zero. The weight of
+ * an entry is computed by the {@code weigher}, which by default weighs a collection (e.g. the rows of a query result)
+ * by its size.
+ *
+ * @since 3.6.0
+ */
+public class TinyLfuCache implements Cache {
+
+  private static final int READ_BUFFER_SIZE = 128;
+  private static final int READ_BUFFER_DRAIN_THRESHOLD = 32;
+
+  private static final int WINDOW = 0;
+  private static final int PROBATION = 1;
+  private static final int PROTECTED = 2;
+  private static final int DEAD = -1;
+
+  private final Cache delegate;
+  private final Map<Object, Node> data = new ConcurrentHashMap<>();
+  private final ReentrantLock evictionLock = new ReentrantLock();
+  private final Queue<Node> readBuffer = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger readBufferSize = new AtomicInteger();
+
+  private final AccessOrderDeque window = new AccessOrderDeque();
+  private final AccessOrderDeque probation = new AccessOrderDeque();
+  private final AccessOrderDeque protectedDeque = new AccessOrderDeque();
+
+  private int size;
+  private long maximumWeight;
+  private Weigher weigher = new DefaultWeigher();
+
+  private long maximum;
+  private long windowMaximum;
+  private long protectedMaximum;
+  private long weightedSize;
+  private long windowWeightedSize;
+  private long protectedWeightedSize;
+  private FrequencySketch sketch;
+
+  public TinyLfuCache(Cache delegate) {
+    if (!PerpetualCache.class.equals(delegate.getClass())) {
+      throw new CacheException("The TINYLFU eviction keeps the entries itself and cannot decorate the cache "
+          + delegate.getId() + " of type " + delegate.getClass().getName() + ", which would never store them.");
+    }
+    this.delegate = delegate;
+    setSize(1024);
+  }
+
+  @Override
+  public String getId() {
+    return delegate.getId();
+  }
+
+  @Override
+  public int getSize() {
+    return data.size();
+  }
+
+  public void setSize(int size) {
+    evictionLock.lock();
+    try {
+      this.size = size;
+      sketch = new FrequencySketch(size);
+      resize();
+    } finally {
+      evictionLock.unlock();
+    }
+  }
+
+  public long getMaximumWeight() {
+    return maximumWeight;
+  }
+
+  /**
+   * Bounds the cache by the total weight of its entries instead of their number. A value of {@code 0} or less bounds
+   * the cache by {@code size}.
+   *
+   * @param maximumWeight
+   *          the maximum weight
+   */
+  public void setMaximumWeight(long maximumWeight) {
+    evictionLock.lock();
+    try {
+      this.maximumWeight = maximumWeight;
+      resize();
+    } finally {
+      evictionLock.unlock();
+    }
+  }
+
+  public void setWeigher(Weigher weigher) {
+    this.weigher = weigher == null ? new DefaultWeigher() : weigher;
+  }
+
+  /**
+   * Sets the weigher by its class name, so it can be configured as a cache property.
+   *
+   * @param weigherClassName
+   *          the fully qualified class name of a {@link Weigher} implementation
+   */
+  public void setWeigherClass(String weigherClassName) {
+    try {
+      setWeigher((Weigher) Resources.classForName(weigherClassName).getDeclaredConstructor().newInstance());
+    } catch (Exception e) {
+      throw new CacheException("Error creating cache weigher '" + weigherClassName + "'.  Cause: " + e, e);
+    }
+  }
+
+  @Override
+  public void putObject(Object key, Object value) {
+    int weight = maximumWeight > 0 ? Math.max(0, weigher.weigh(key, value)) : 1;
+    evictionLock.lock();
+    try {
+      drainReadBuffer();
+      Node node = data.get(key);
+      if (node == null) {
+        node = new Node(key, value, weight);
+        data.put(key, node);
+        sketch.increment(key);
+        window.addLast(node);
+        windowWeightedSize += weight;
+        weightedSize += weight;
+      } else {
+        node.value = value;
+        updateWeight(node, weight);
+        onAccess(node);
+      }
+      evict();
+    } finally {
+      evictionLock.unlock();
+    }
+  }
+
+  @Override
+  public Object getObject(Object key) {
+    Node node = data.get(key);
+    if (node == null) {
+      return null;
+    }
+    afterRead(node);
+    return node.value;
+  }
+
+  @Override
+  public Object removeObject(Object key) {
+    evictionLock.lock();
+    try {
+      Node node = data.get(key);
+      if (node == null) {
+        return null;
+      }
+      remove(node);
+      return node.value;
+    } finally {
+      evictionLock.unlock();
+    }
+  }
+
+  @Override
+  public boolean isThreadSafe() {
+    return true;
+  }
+
+  @Override
+  public void clear() {
+    evictionLock.lock();
+    try {
+      delegate.clear();
+      data.clear();
+      // keep the counter in step with the readers that are adding to the buffer meanwhile
+      while (readBuffer.poll() != null) {
+        readBufferSize.decrementAndGet();
+      }
+      window.clear();
+      probation.clear();
+      protectedDeque.clear();
+      weightedSize = 0;
+      windowWeightedSize = 0;
+      protectedWeightedSize = 0;
+    } finally {
+      evictionLock.unlock();
+    }
+  }
+
+  private void afterRead(Node node) {
+    if (readBufferSize.get() < READ_BUFFER_SIZE) {
+      readBufferSize.incrementAndGet();
+      readBuffer.offer(node);
+    }
+    if (readBufferSize.get() >= READ_BUFFER_DRAIN_THRESHOLD && evictionLock.tryLock()) {
+      try {
+        drainReadBuffer();
+      } finally {
+        evictionLock.unlock();
+      }
+    }
+  }
+
+  private void drainReadBuffer() {
+    Node node;
+    while ((node = readBuffer.poll()) != null) {
+      readBufferSize.decrementAndGet();
+      if (node.queue != DEAD) {
+        sketch.increment(node.key);
+        onAccess(node);
+      }
+    }
+  }
+
+  private void onAccess(Node node) {
+    if (node.queue == WINDOW) {
+      window.moveToBack(node);
+    } else if (node.queue == PROBATION) {
+      probation.remove(node);
+      node.queue = PROTECTED;
+      protectedDeque.addLast(node);
+      protectedWeightedSize += node.weight;
+      demoteFromProtected();
+    } else if (node.queue == PROTECTED) {
+      protectedDeque.moveToBack(node);
+    }
+  }
+
+  private void demoteFromProtected() {
+    while (protectedWeightedSize > protectedMaximum) {
+      Node demoted = protectedDeque.pollFirst();
+      if (demoted == null) {
+        break;
+      }
+      protectedWeightedSize -= demoted.weight;
+      demoted.queue = PROBATION;
+      probation.addLast(demoted);
+    }
+  }
+
+  private void evict() {
+    Node candidate = evictFromWindow();
+    evictFromMain(candidate);
+  }
+
+  /**
+   * Moves the entries leaving the window to the tail of the probation area, where they are candidates for admission.
+   *
+   * @return the first candidate, or {@code null} if no entry left the window
+   */
+  private Node evictFromWindow() {
+    Node first = null;
+    while (windowWeightedSize > windowMaximum) {
+      Node node = window.pollFirst();
+      if (node == null) {
+        break;
+      }
+      windowWeightedSize -= node.weight;
+      node.queue = PROBATION;
+      probation.addLast(node);
+      if (first == null) {
+        first = node;
+      }
+    }
+    return first;
+  }
+
+  /**
+   * Evicts until the cache is within its bounds. Each candidate that left the window competes with the victim of the
+   * main area, i.e. the least recently used entry of the probation area or else of the protected area, and the one that
+   * is less frequently used is evicted.
+   */
+  private void evictFromMain(Node candidate) {
+    while (weightedSize > maximum) {
+      Node victim = probation.peekFirst();
+      if (victim == candidate) {
+        // the probation area only holds candidates
+        victim = protectedDeque.peekFirst();
+      }
+      if (candidate == null) {
+        if (victim == null) {
+          victim = window.peekFirst();
+          if (victim == null) {
+            break;
+          }
+        }
+        remove(victim);
+      } else if (victim == null || candidate.weight > maximum
+          || sketch.frequency(candidate.key) <= sketch.frequency(victim.key)) {
+        Node next = candidate.next;
+        remove(candidate);
+        candidate = next;
+      } else {
+        remove(victim);
+      }
+    }
+  }
+
+  private void remove(Node node) {
+    data.remove(node.key, node);
+    if (node.queue == WINDOW) {
+      window.remove(node);
+      windowWeightedSize -= node.weight;
+    } else if (node.queue == PROBATION) {
+      probation.remove(node);
+    } else if (node.queue == PROTECTED) {
+      protectedDeque.remove(node);
+      protectedWeightedSize -= node.weight;
+    }
+    if (node.queue != DEAD) {
+      weightedSize -= node.weight;
+      node.queue = DEAD;
+    }
+  }
+
+  private void updateWeight(Node node, int weight) {
+    int delta = weight - node.weight;
+    node.weight = weight;
+    weightedSize += delta;
+    if (node.queue == WINDOW) {
+      windowWeightedSize += delta;
+    } else if (node.queue == PROTECTED) {
+      protectedWeightedSize += delta;
+    }
+  }
+
+  private void resize() {
+    maximum = maximumWeight > 0 ? maximumWeight : Math.max(0, size);
+    windowMaximum = Math.max(1, maximum / 100);
+    protectedMaximum = (long) ((maximum - windowMaximum) * 0.8);
+    demoteFromProtected();
+    evict();
+  }
+
+  /**
+   * Computes the weight of a cache entry when the cache is bounded by {@code maximumWeight}.
+   */
+  @FunctionalInterface
+  public interface Weigher {
+    int weigh(Object key, Object value);
+  }
+
+  private static class DefaultWeigher implements Weigher {
+    @Override
+    public int weigh(Object key, Object value) {
+      if (value instanceof Collection) {
+        return Math.max(1, ((Collection<?>) value).size());
+      }
+      return 1;
+    }
+  }
+
+  private static final class Node {
+    private final Object key;
+    private volatile Object value;
+    private int weight;
+    private volatile int queue = WINDOW;
+    private Node prev;
+    private Node next;
+
+    Node(Object key, Object value, int weight) {
+      this.key = key;
+      this.value = value;
+      this.weight = weight;
+    }
+  }
+
+  /**
+   * A doubly linked list of nodes, guarded by the eviction lock.
+   */
+  private static final class AccessOrderDeque {
+    private Node first;
+    private Node last;
+
+    Node peekFirst() {
+      return first;
+    }
+
+    Node peekLast() {
+      return last;
+    }
+
+    Node pollFirst() {
+      Node node = first;
+      if (node != null) {
+        remove(node);
+      }
+      return node;
+    }
+
+    void addLast(Node node) {
+      node.prev = last;
+      node.next = null;
+      if (last == null) {
+        first = node;
+      } else {
+        last.next = node;
+      }
+      last = node;
+    }
+
+    void remove(Node node) {
+      if (node.prev == null) {
+        first = node.next;
+      } else {
+        node.prev.next = node.next;
+      }
+      if (node.next == null) {
+        last = node.prev;
+      } else {
+        node.next.prev = node.prev;
+      }
+      node.prev = null;
+      node.next = null;
+    }
+
+    void moveToBack(Node node) {
+      if (node != last) {
+        remove(node);
+        addLast(node);
+      }
+    }
+
+    void clear() {
+      Node node = first;
+      while (node != null) {
+        Node next = node.next;
+        node.prev = null;
+        node.next = null;
+        node.queue = DEAD;
+        node = next;
+      }
+      first = null;
+      last = null;
+    }
+  }
+
+  /**
+   * A count-min sketch of 4-bit counters estimating the access frequency of the keys. The counters are packed sixteen
+   * to a {@code long} and halved once enough accesses have been recorded, so that the frequencies of old popular
+   * entries decay.
+   */
+  private static final class FrequencySketch {
+    private static final int[] SEEDS = { 0x97cb3127, 0x5b3b6ef1, 0x8b3b7b2d, 0xc2b2ae35 };
+    private static final int MAX_COUNT = 15;
+    private static final long HALF_MASK = 0x7777777777777777L;
+
+    private final long[] table;
+    private final int mask;
+    private final int sampleSize;
+    private int additions;
+
+    FrequencySketch(int expectedSize) {
+      int capacity = Integer.highestOneBit(Math.max(16, Math.min(expectedSize, 1 << 24)) - 1) << 1;
+      this.table = new long[capacity >>> 4];
+      this.mask = capacity - 1;
+      this.sampleSize = 10 * capacity;
+    }
+
+    int frequency(Object key) {
+      int hash = spread(key.hashCode());
+      int frequency = MAX_COUNT;
+      for (int seed : SEEDS) {
+        frequency = Math.min(frequency, count(indexOf(hash, seed)));
+      }
+      return frequency;
+    }
+
+    void increment(Object key) {
+      int hash = spread(key.hashCode());
+      boolean added = false;
+      for (int seed : SEEDS) {
+        int index = indexOf(hash, seed);
+        if (count(index) < MAX_COUNT) {
+          table[index >>> 4] += 1L << shiftOf(index);
+          added = true;
+        }
+      }
+      if (added && ++additions >= sampleSize) {
+        reset();
+      }
+    }
+
+    private int count(int index) {
+      return (int) (table[index >>> 4] >>> shiftOf(index)) & MAX_COUNT;
+    }
+
+    private static int shiftOf(int index) {
+      return (index & 15) << 2;
+    }
+
+    private void reset() {
+      for (int i = 0; i < table.length; i++) {
+        table[i] = table[i] >>> 1 & HALF_MASK;
+      }
+      additions /= 2;
+    }
+
+    private int indexOf(int hash, int seed) {
+      int h = hash * seed;
+      h ^= h >>> 16;
+      return h & mask;
+    }
+
+    private static int spread(int hash) {
+      int h = hash * 0x9e3779b9;
+      return h ^ h >>> 15;
+    }
+  }
+}
@@ -0,0 +1,397 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache.impl;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.ibatis.cache.Cache;
+import org.apache.ibatis.cache.CacheException;
+import org.apache.ibatis.cache.CacheSerializer;
+import org.apache.ibatis.cache.serializer.JavaCacheSerializer;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
+
+/**
+ * A thread-safe cache that keeps the values serialized outside of the Java heap.
+ * <p>
+ * The values are written with a {@link CacheSerializer} that produces a {@code byte[]} (the Java serialization by
+ * default) to a ring of direct buffer slabs bounded by {@link #setMaximumBytes(long) maximumBytes}. When the ring is
+ * full the oldest values are evicted first. Every read deserializes a new copy of the value. Clearing the cache keeps
+ * the slabs and writes over them again; only changing the limits allocates new ones.
+ *
+ * @since 3.6.0
+ */
+public class OffHeapCache implements Cache {
+
+  private static final byte SERIALIZED = 0;
+  private static final byte RAW = 1;
+
+  private final Log log = LogFactory.getLog(OffHeapCache.class);
+  private final String id;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Map<Object, Entry> entries = new HashMap<>();
+  private final Deque<Entry> order = new ArrayDeque<>();
+  private final LongAdder requests = new LongAdder();
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+  private CacheSerializer serializer = new JavaCacheSerializer();
+  private long maximumBytes = 64L * 1024 * 1024;
+  private int slabSize = 4 * 1024 * 1024;
+  private ByteBuffer[] slabs;
+  private long head;
+  private long tail;
+
+  public OffHeapCache(String id) {
+    this.id = id;
+    reset();
+  }
+
+  @Override
+  public String getId() {
+    return id;
+  }
+
+  @Override
+  public int getSize() {
+    lock.lock();
+    try {
+      return entries.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public long getMaximumBytes() {
+    return maximumBytes;
+  }
+
+  /**
+   * Sets the maximum number of bytes used by the values. Changing the limit clears the cache.
+   *
+   * @param maximumBytes
+   *          the maximum number of bytes
+   */
+  public void setMaximumBytes(long maximumBytes) {
+    if (maximumBytes <= 0) {
+      throw new IllegalArgumentException("The maximum bytes of an off-heap cache must be positive.");
+    }
+    lock.lock();
+    try {
+      this.maximumBytes = maximumBytes;
+      reset();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public int getSlabSize() {
+    return slabSize;
+  }
+
+  /**
+   * Sets the size of the direct buffers allocated (lazily) to hold the values. Changing the size clears the cache.
+   *
+   * @param slabSize
+   *          the slab size in bytes
+   */
+  public void setSlabSize(int slabSize) {
+    if (slabSize <= 0) {
+      throw new IllegalArgumentException("The slab size of an off-heap cache must be positive.");
+    }
+    lock.lock();
+    try {
+      this.slabSize = slabSize;
+      reset();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public CacheSerializer getSerializer() {
+    return serializer;
+  }
+
+  /**
+   * Sets the serializer used to write the values. It must serialize to a {@code byte[]}.
+   *
+   * @param serializer
+   *          the serializer
+   */
+  public void setSerializer(CacheSerializer serializer) {
+    this.serializer = serializer;
+  }
+
+  public void setSerializerClass(String serializerClassName) {
+    try {
+      setSerializer(
+          (CacheSerializer) Resources.classForName(serializerClassName).getDeclaredConstructor().newInstance());
+    } catch (Exception e) {
+      throw new CacheException("Error creating cache serializer '" + serializerClassName + "'.  Cause: " + e, e);
+    }
+  }
+
+  /**
+   * Returns the number of bytes used by the values, including the ones that were removed but not reclaimed yet.
+   *
+   * @return the used bytes
+   */
+  public long getUsedBytes() {
+    lock.lock();
+    try {
+      return tail - head;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public long getRequestCount() {
+    return requests.sum();
+  }
+
+  public long getHitCount() {
+    return hits.sum();
+  }
+
+  public long getMissCount() {
+    return requests.sum() - hits.sum();
+  }
+
+  public long getEvictionCount() {
+    return evictions.sum();
+  }
+
+  public double getHitRatio() {
+    long requestCount = requests.sum();
+    return requestCount == 0 ? 0 : (double) hits.sum() / (double) requestCount;
+  }
+
+  @Override
+  public void putObject(Object key, Object value) {
+    byte[] data = toBytes(value);
+    int length = data.length + 1;
+    lock.lock();
+    try {
+      Entry previous = entries.remove(key);
+      if (previous != null) {
+        previous.key = null;
+      }
+      if (length > maximumBytes) {
+        return;
+      }
+      while (maximumBytes - (tail - head) < length) {
+        evictOldest();
+      }
+      Entry entry = new Entry(key, tail, length);
+      slabAt(tail).put(value instanceof byte[] ? RAW : SERIALIZED);
+      write(tail + 1, data, data.length);
+      tail += length;
+      entries.put(key, entry);
+      order.addLast(entry);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public Object getObject(Object key) {
+    requests.increment();
+    byte[] data;
+    byte format;
+    lock.lock();
+    try {
+      Entry entry = entries.get(key);
+      if (entry == null) {
+        data = null;
+        format = SERIALIZED;
+      } else {
+        format = slabAt(entry.offset).get();
+        data = new byte[entry.length - 1];
+        read(entry.offset + 1, data, data.length);
+      }
+    } finally {
+      lock.unlock();
+    }
+    Object value = toValue(format, data);
+    if (value != null) {
+      hits.increment();
+    }
+    if (log.isDebugEnabled()) {
+      log.debug("Off-heap Cache Hit Ratio [" + getId() + "]: " + getHitRatio());
+    }
+    return value;
+  }
+
+  @Override
+  public Object removeObject(Object key) {
+    byte[] data = null;
+    byte format = SERIALIZED;
+    lock.lock();
+    try {
+      Entry entry = entries.remove(key);
+      if (entry != null) {
+        entry.key = null;
+        format = slabAt(entry.offset).get();
+        data = new byte[entry.length - 1];
+        read(entry.offset + 1, data, data.length);
+      }
+    } finally {
+      lock.unlock();
+    }
+    return toValue(format, data);
+  }
+
+  @Override
+  public void clear() {
+    lock.lock();
+    try {
+      entries.clear();
+      order.clear();
+      head = 0;
+      tail = 0;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public boolean isThreadSafe() {
+    return true;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (getId() == null) {
+      throw new CacheException("Cache instances require an ID.");
+    }
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof Cache)) {
+      return false;
+    }
+
+    Cache otherCache = (Cache) o;
+    return getId().equals(otherCache.getId());
+  }
+
+  @Override
+  public int hashCode() {
+    if (getId() == null) {
+      throw new CacheException("Cache instances require an ID.");
+    }
+    return getId().hashCode();
+  }
+
+  private byte[] toBytes(Object value) {
+    if (value instanceof byte[]) {
+      return (byte[]) value;
+    }
+    Object data = serializer.serialize(value);
+    if (!(data instanceof byte[])) {
+      throw new CacheException("The serializer of an off-heap cache must produce a byte[] but "
+          + serializer.getClass().getName() + " produced " + (data == null ? "null" : data.getClass().getName()));
+    }
+    return (byte[]) data;
+  }
+
+  private Object toValue(byte format, byte[] data) {
+    if (data == null) {
+      return null;
+    }
+    return format == RAW ? data : serializer.deserialize(data);
+  }
+
+  private void evictOldest() {
+    Entry entry = order.removeFirst();
+    head = entry.offset + entry.length;
+    if (entry.key != null) {
+      entries.remove(entry.key);
+      evictions.increment();
+    }
+  }
+
+  private void reset() {
+    entries.clear();
+    order.clear();
+    ByteBuffer[] previous = slabs;
+    slabs = new ByteBuffer[(int) ((maximumBytes + slabSize - 1) / slabSize)];
+    if (previous != null) {
+      // keep the slabs that still have the right capacity, the others are released when collected
+      for (int i = 0; i < Math.min(previous.length, slabs.length); i++) {
+        if (previous[i] != null && previous[i].capacity() == slabCapacity(i)) {
+          slabs[i] = previous[i];
+        }
+      }
+    }
+    head = 0;
+    tail = 0;
+  }
+
+  private int slabCapacity(int index) {
+    return (int) Math.min(slabSize, maximumBytes - (long) index * slabSize);
+  }
+
+  private void write(long position, byte[] data, int length) {
+    int done = 0;
+    while (done < length) {
+      ByteBuffer slab = slabAt(position + done);
+      int chunk = Math.min(length - done, slab.remaining());
+      slab.put(data, done, chunk);
+      done += chunk;
+    }
+  }
+
+  private void read(long position, byte[] data, int length) {
+    int done = 0;
+    while (done < length) {
+      ByteBuffer slab = slabAt(position + done);
+      int chunk = Math.min(length - done, slab.remaining());
+      slab.get(data, done, chunk);
+      done += chunk;
+    }
+  }
+
+  private ByteBuffer slabAt(long position) {
+    long offset = position % maximumBytes;
+    int index = (int) (offset / slabSize);
+    ByteBuffer slab = slabs[index];
+    if (slab == null) {
+      slab = ByteBuffer.allocateDirect(slabCapacity(index));
+      slabs[index] = slab;
+    }
+    slab.position((int) (offset - (long) index * slabSize));
+    return slab;
+  }
+
+  private static final class Entry {
+    private Object key;
+    private final long offset;
+    private final int length;
+
+    Entry(Object key, long offset, int length) {
+      this.key = key;
+      this.offset = offset;
+      this.length = length;
+    }
+  }
+}
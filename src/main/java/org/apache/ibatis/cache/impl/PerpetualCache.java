@@ -15,20 +15,25 @@
  */
 package org.apache.ibatis.cache.impl;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.ibatis.cache.Cache;
 import org.apache.ibatis.cache.CacheException;
 
 /**
+ * A thread-safe, unbounded cache.
+ *
  * @author Clinton Begin
  */
 public class PerpetualCache implements Cache {
 
+  // ConcurrentHashMap does not accept nulls
+  private static final Object NULL = new Object();
+
   private final String id;
 
-  private final Map<Object, Object> cache = new HashMap<>();
+  private final Map<Object, Object> cache = new ConcurrentHashMap<>();
 
   public PerpetualCache(String id) {
     this.id = id;
@@ -46,17 +51,17 @@ public class PerpetualCache implements Cache {
 
   @Override
   public void putObject(Object key, Object value) {
-    cache.put(key, value);
+    cache.put(mask(key), mask(value));
   }
 
   @Override
   public Object getObject(Object key) {
-    return cache.get(key);
+    return unmask(cache.get(mask(key)));
   }
 
   @Override
   public Object removeObject(Object key) {
-    return cache.remove(key);
+    return unmask(cache.remove(mask(key)));
   }
 
   @Override
@@ -64,6 +69,19 @@ public class PerpetualCache implements Cache {
     cache.clear();
   }
 
+  @Override
+  public boolean isThreadSafe() {
+    return true;
+  }
+
+  private static Object mask(Object object) {
+    return object == null ? NULL : object;
+  }
+
+  private static Object unmask(Object object) {
+    return object == NULL ? null : object;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (getId() == null) {
@@ -0,0 +1,210 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache.serializer;
+
+import java.io.Externalizable;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.ibatis.cache.CacheException;
+import org.apache.ibatis.executor.loader.WriteReplaceInterface;
+import org.apache.ibatis.reflection.DefaultReflectorFactory;
+import org.apache.ibatis.reflection.Reflector;
+import org.apache.ibatis.reflection.ReflectorFactory;
+import org.apache.ibatis.reflection.factory.DefaultObjectFactory;
+import org.apache.ibatis.reflection.factory.ObjectFactory;
+
+/**
+ * The type metadata shared by the serializers that walk the object graph of the cached values.
+ */
+final class BeanTypes {
+
+  private static final Set<Class<?>> IMMUTABLE_TYPES = new HashSet<>(
+      Arrays.asList(String.class, Boolean.class, Character.class, Byte.class, Short.class, Integer.class, Long.class,
+          Float.class, Double.class, BigDecimal.class, BigInteger.class, UUID.class, Class.class));
+
+  private static final BeanType NOT_A_BEAN = new BeanType(null, Collections.emptyList());
+
+  private final ReflectorFactory reflectorFactory = new DefaultReflectorFactory();
+  private final ObjectFactory objectFactory = new DefaultObjectFactory();
+  private final Map<Class<?>, BeanType> beanTypes = new ConcurrentHashMap<>();
+
+  /**
+   * Returns the bean metadata of a type whose state can be copied field by field.
+   *
+   * @param type
+   *          the type
+   *
+   * @return the bean type or {@code null} if the type is not such a bean
+   */
+  BeanType beanType(Class<?> type) {
+    BeanType beanType = beanTypes.computeIfAbsent(type, this::resolveBeanType);
+    return beanType == NOT_A_BEAN ? null : beanType;
+  }
+
+  @SuppressWarnings("unchecked")
+  <T> T newInstance(Class<?> type) {
+    return (T) objectFactory.create(type);
+  }
+
+  static boolean isImmutable(Object value) {
+    Class<?> type = value.getClass();
+    return IMMUTABLE_TYPES.contains(type) || value instanceof Enum || type.getName().startsWith("java.time.");
+  }
+
+  static boolean isCopyableCollection(Object value) {
+    Class<?> type = value.getClass();
+    if (type == ArrayList.class || type == LinkedList.class || type == HashSet.class || type == LinkedHashSet.class) {
+      return true;
+    }
+    return type == TreeSet.class && ((TreeSet<?>) value).comparator() == null;
+  }
+
+  static boolean isCopyableMap(Object value) {
+    Class<?> type = value.getClass();
+    if (type == HashMap.class || type == LinkedHashMap.class) {
+      return true;
+    }
+    return type == TreeMap.class && ((TreeMap<?, ?>) value).comparator() == null;
+  }
+
+  private BeanType resolveBeanType(Class<?> type) {
+    String name = type.getName();
+    if (type.isArray() || type.isInterface() || type.isEnum() || type.isPrimitive()
+        || Modifier.isAbstract(type.getModifiers()) || name.startsWith("java.") || name.startsWith("javax.")
+        || Proxy.isProxyClass(type) || WriteReplaceInterface.class.isAssignableFrom(type)
+        || hasCustomSerialization(type)) {
+      return NOT_A_BEAN;
+    }
+    Reflector reflector = reflectorFactory.findForClass(type);
+    if (!reflector.hasDefaultConstructor() || !Reflector.canControlMemberAccessible()) {
+      return NOT_A_BEAN;
+    }
+    // copy the state like the Java serialization does, so that read-only properties (e.g. final collections) are kept
+    List<Field> fields = new ArrayList<>();
+    for (Class<?> current = type; current != Object.class; current = current.getSuperclass()) {
+      List<Field> declaredFields = new ArrayList<>();
+      for (Field field : current.getDeclaredFields()) {
+        int modifiers = field.getModifiers();
+        if (!Modifier.isStatic(modifiers) && !Modifier.isTransient(modifiers)) {
+          declaredFields.add(field);
+        }
+      }
+      declaredFields.sort(Comparator.comparing(Field::getName));
+      fields.addAll(0, declaredFields);
+    }
+    try {
+      for (Field field : fields) {
+        field.setAccessible(true);
+      }
+    } catch (RuntimeException e) {
+      return NOT_A_BEAN;
+    }
+    return new BeanType(type, fields);
+  }
+
+  private static boolean hasCustomSerialization(Class<?> type) {
+    if (Externalizable.class.isAssignableFrom(type)) {
+      return true;
+    }
+    for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+      if (declares(current, "writeReplace") || declares(current, "readResolve")
+          || declares(current, "writeObject", ObjectOutputStream.class)
+          || declares(current, "readObject", ObjectInputStream.class)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean declares(Class<?> type, String name, Class<?>... parameterTypes) {
+    try {
+      type.getDeclaredMethod(name, parameterTypes);
+      return true;
+    } catch (NoSuchMethodException e) {
+      return false;
+    }
+  }
+
+  static final class BeanType {
+    private final Class<?> type;
+    private final Field[] fields;
+
+    BeanType(Class<?> type, List<Field> fields) {
+      this.type = type;
+      this.fields = fields.toArray(new Field[0]);
+    }
+
+    Class<?> getType() {
+      return type;
+    }
+
+    int getPropertyCount() {
+      return fields.length;
+    }
+
+    Object get(Object bean, int property) {
+      try {
+        return fields[property].get(bean);
+      } catch (Exception e) {
+        throw new CacheException(
+            "Error reading field " + fields[property].getName() + " of " + type.getName() + ".  Cause: " + e, e);
+      }
+    }
+
+    void set(Object bean, int property, Object value) {
+      try {
+        fields[property].set(bean, value);
+      } catch (Exception e) {
+        throw new CacheException(
+            "Error writing field " + fields[property].getName() + " of " + type.getName() + ".  Cause: " + e, e);
+      }
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  static Collection<Object> asCollection(Object value) {
+    return (Collection<Object>) value;
+  }
+
+  @SuppressWarnings("unchecked")
+  static Map<Object, Object> asMap(Object value) {
+    return (Map<Object, Object>) value;
+  }
+
+}
@@ -0,0 +1,437 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache.serializer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.ibatis.cache.CacheException;
+import org.apache.ibatis.cache.CacheSerializer;
+import org.apache.ibatis.io.Resources;
+
+/**
+ * Copies the cached values with a compact binary format.
+ * <p>
+ * Beans are written field by field, without the class descriptors of the Java serialization. The common value types,
+ * arrays and the {@code java.util} lists, sets and maps are written natively, shared references and cycles are
+ * preserved. A bean is a concrete class with a no-argument constructor; like with the Java serialization, all its
+ * non-static and non-transient fields are copied, including those of read-only properties. Any other serializable
+ * object (e.g. a class with a custom serialization or a lazy loading proxy) is written with the Java serialization.
+ *
+ * @since 3.6.0
+ */
+public class CompactCacheSerializer implements CacheSerializer {
+
+  private static final int NULL = 0;
+  private static final int REFERENCE = 1;
+  private static final int STRING = 2;
+  private static final int INTEGER = 3;
+  private static final int LONG = 4;
+  private static final int DOUBLE = 5;
+  private static final int FLOAT = 6;
+  private static final int SHORT = 7;
+  private static final int BYTE = 8;
+  private static final int BOOLEAN = 9;
+  private static final int CHARACTER = 10;
+  private static final int BIG_DECIMAL = 11;
+  private static final int BIG_INTEGER = 12;
+  private static final int DATE = 13;
+  private static final int SQL_DATE = 14;
+  private static final int SQL_TIME = 15;
+  private static final int SQL_TIMESTAMP = 16;
+  private static final int LOCAL_DATE = 17;
+  private static final int LOCAL_TIME = 18;
+  private static final int LOCAL_DATE_TIME = 19;
+  private static final int INSTANT = 20;
+  private static final int ENUM = 21;
+  private static final int BYTES = 22;
+  private static final int ARRAY = 23;
+  private static final int COLLECTION = 24;
+  private static final int MAP = 25;
+  private static final int BEAN = 26;
+  private static final int SERIALIZED = 27;
+
+  private final BeanTypes beanTypes = new BeanTypes();
+
+  @Override
+  public Object serialize(Object value) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      new Writer(out).write(value);
+    } catch (IOException e) {
+      throw new CacheException("Error serializing object.  Cause: " + e, e);
+    }
+    return bytes.toByteArray();
+  }
+
+  @Override
+  public Object deserialize(Object data) {
+    try (DataInputStream in = new DataInputStream(new ByteArrayInputStream((byte[]) data))) {
+      return new Reader(in).read();
+    } catch (IOException | ClassNotFoundException e) {
+      throw new CacheException("Error deserializing object.  Cause: " + e, e);
+    }
+  }
+
+  private final class Writer {
+    private final DataOutputStream out;
+    private final Map<Object, Integer> references = new IdentityHashMap<>();
+    private final Map<Class<?>, Integer> classes = new IdentityHashMap<>();
+
+    Writer(DataOutputStream out) {
+      this.out = out;
+    }
+
+    void write(Object value) throws IOException {
+      if (value == null) {
+        out.writeByte(NULL);
+        return;
+      }
+      Integer reference = references.get(value);
+      if (reference != null) {
+        out.writeByte(REFERENCE);
+        writeSize(reference);
+        return;
+      }
+      if (!writeScalar(value)) {
+        writeGraph(value);
+      }
+    }
+
+    private boolean writeScalar(Object value) throws IOException {
+      Class<?> type = value.getClass();
+      if (type == String.class) {
+        out.writeByte(STRING);
+        writeString((String) value);
+      } else if (type == Integer.class) {
+        out.writeByte(INTEGER);
+        out.writeInt((Integer) value);
+      } else if (type == Long.class) {
+        out.writeByte(LONG);
+        out.writeLong((Long) value);
+      } else if (type == Double.class) {
+        out.writeByte(DOUBLE);
+        out.writeDouble((Double) value);
+      } else if (type == Float.class) {
+        out.writeByte(FLOAT);
+        out.writeFloat((Float) value);
+      } else if (type == Short.class) {
+        out.writeByte(SHORT);
+        out.writeShort((Short) value);
+      } else if (type == Byte.class) {
+        out.writeByte(BYTE);
+        out.writeByte((Byte) value);
+      } else if (type == Boolean.class) {
+        out.writeByte(BOOLEAN);
+        out.writeBoolean((Boolean) value);
+      } else if (type == Character.class) {
+        out.writeByte(CHARACTER);
+        out.writeChar((Character) value);
+      } else if (type == BigDecimal.class) {
+        out.writeByte(BIG_DECIMAL);
+        BigDecimal decimal = (BigDecimal) value;
+        writeBytes(decimal.unscaledValue().toByteArray());
+        out.writeInt(decimal.scale());
+      } else if (type == BigInteger.class) {
+        out.writeByte(BIG_INTEGER);
+        writeBytes(((BigInteger) value).toByteArray());
+      } else if (type == Date.class) {
+        out.writeByte(DATE);
+        out.writeLong(((Date) value).getTime());
+      } else if (type == java.sql.Date.class) {
+        out.writeByte(SQL_DATE);
+        out.writeLong(((Date) value).getTime());
+      } else if (type == java.sql.Time.class) {
+        out.writeByte(SQL_TIME);
+        out.writeLong(((Date) value).getTime());
+      } else if (type == java.sql.Timestamp.class) {
+        out.writeByte(SQL_TIMESTAMP);
+        out.writeLong(((Date) value).getTime());
+        out.writeInt(((java.sql.Timestamp) value).getNanos());
+      } else if (type == LocalDate.class) {
+        out.writeByte(LOCAL_DATE);
+        out.writeLong(((LocalDate) value).toEpochDay());
+      } else if (type == LocalTime.class) {
+        out.writeByte(LOCAL_TIME);
+        out.writeLong(((LocalTime) value).toNanoOfDay());
+      } else if (type == LocalDateTime.class) {
+        out.writeByte(LOCAL_DATE_TIME);
+        out.writeLong(((LocalDateTime) value).toLocalDate().toEpochDay());
+        out.writeLong(((LocalDateTime) value).toLocalTime().toNanoOfDay());
+      } else if (type == Instant.class) {
+        out.writeByte(INSTANT);
+        out.writeLong(((Instant) value).getEpochSecond());
+        out.writeInt(((Instant) value).getNano());
+      } else if (value instanceof Enum) {
+        out.writeByte(ENUM);
+        writeClass(((Enum<?>) value).getDeclaringClass());
+        writeString(((Enum<?>) value).name());
+      } else if (type == byte[].class) {
+        out.writeByte(BYTES);
+        writeBytes((byte[]) value);
+      } else {
+        return false;
+      }
+      return true;
+    }
+
+    private void writeGraph(Object value) throws IOException {
+      Class<?> type = value.getClass();
+      BeanTypes.BeanType beanType;
+      if (type.isArray() && !type.getComponentType().isPrimitive()) {
+        references.put(value, references.size());
+        Object[] array = (Object[]) value;
+        out.writeByte(ARRAY);
+        writeClass(type.getComponentType());
+        writeSize(array.length);
+        for (Object element : array) {
+          write(element);
+        }
+      } else if (BeanTypes.isCopyableCollection(value)) {
+        references.put(value, references.size());
+        Collection<?> collection = (Collection<?>) value;
+        out.writeByte(COLLECTION);
+        writeClass(type);
+        writeSize(collection.size());
+        for (Object element : collection) {
+          write(element);
+        }
+      } else if (BeanTypes.isCopyableMap(value)) {
+        references.put(value, references.size());
+        Map<?, ?> map = (Map<?, ?>) value;
+        out.writeByte(MAP);
+        writeClass(type);
+        writeSize(map.size());
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+          write(entry.getKey());
+          write(entry.getValue());
+        }
+      } else if ((beanType = beanTypes.beanType(type)) != null) {
+        references.put(value, references.size());
+        out.writeByte(BEAN);
+        writeClass(type);
+        for (int i = 0; i < beanType.getPropertyCount(); i++) {
+          write(beanType.get(value, i));
+        }
+      } else if (value instanceof Serializable) {
+        out.writeByte(SERIALIZED);
+        writeBytes(JavaCacheSerializer.toBytes(value));
+      } else {
+        throw new CacheException("SharedCache failed to make a copy of a non-serializable object: " + value);
+      }
+    }
+
+    private void writeClass(Class<?> type) throws IOException {
+      Integer index = classes.get(type);
+      if (index != null) {
+        writeSize(index);
+      } else {
+        writeSize(classes.size());
+        classes.put(type, classes.size());
+        writeString(type.getName());
+      }
+    }
+
+    private void writeString(String value) throws IOException {
+      writeBytes(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void writeBytes(byte[] bytes) throws IOException {
+      writeSize(bytes.length);
+      out.write(bytes);
+    }
+
+    private void writeSize(int size) throws IOException {
+      int value = size;
+      while ((value & ~0x7F) != 0) {
+        out.writeByte(value & 0x7F | 0x80);
+        value >>>= 7;
+      }
+      out.writeByte(value);
+    }
+  }
+
+  private final class Reader {
+    private final DataInputStream in;
+    private final List<Object> references = new ArrayList<>();
+    private final List<Class<?>> classes = new ArrayList<>();
+
+    Reader(DataInputStream in) {
+      this.in = in;
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    Object read() throws IOException, ClassNotFoundException {
+      int tag = in.readByte();
+      switch (tag) {
+        case NULL:
+          return null;
+        case REFERENCE:
+          return references.get(readSize());
+        case STRING:
+          return readString();
+        case INTEGER:
+          return in.readInt();
+        case LONG:
+          return in.readLong();
+        case DOUBLE:
+          return in.readDouble();
+        case FLOAT:
+          return in.readFloat();
+        case SHORT:
+          return in.readShort();
+        case BYTE:
+          return in.readByte();
+        case BOOLEAN:
+          return in.readBoolean();
+        case CHARACTER:
+          return in.readChar();
+        case BIG_DECIMAL:
+          return new BigDecimal(new BigInteger(readBytes()), in.readInt());
+        case BIG_INTEGER:
+          return new BigInteger(readBytes());
+        case DATE:
+          return new Date(in.readLong());
+        case SQL_DATE:
+          return new java.sql.Date(in.readLong());
+        case SQL_TIME:
+          return new java.sql.Time(in.readLong());
+        case SQL_TIMESTAMP:
+          java.sql.Timestamp timestamp = new java.sql.Timestamp(in.readLong());
+          timestamp.setNanos(in.readInt());
+          return timestamp;
+        case LOCAL_DATE:
+          return LocalDate.ofEpochDay(in.readLong());
+        case LOCAL_TIME:
+          return LocalTime.ofNanoOfDay(in.readLong());
+        case LOCAL_DATE_TIME:
+          return LocalDateTime.of(LocalDate.ofEpochDay(in.readLong()), LocalTime.ofNanoOfDay(in.readLong()));
+        case INSTANT:
+          return Instant.ofEpochSecond(in.readLong(), in.readInt());
+        case ENUM:
+          return Enum.valueOf((Class<? extends Enum>) readClass(), readString());
+        case BYTES:
+          return readBytes();
+        case ARRAY:
+          return readArray();
+        case COLLECTION:
+          return readCollection();
+        case MAP:
+          return readMap();
+        case BEAN:
+          return readBean();
+        case SERIALIZED:
+          return JavaCacheSerializer.fromBytes(readBytes());
+        default:
+          throw new CacheException("Unknown tag " + tag + " in cached data.");
+      }
+    }
+
+    private Object readArray() throws IOException, ClassNotFoundException {
+      Class<?> componentType = readClass();
+      Object[] array = (Object[]) Array.newInstance(componentType, readSize());
+      references.add(array);
+      for (int i = 0; i < array.length; i++) {
+        array[i] = read();
+      }
+      return array;
+    }
+
+    private Object readCollection() throws IOException, ClassNotFoundException {
+      Collection<Object> collection = beanTypes.newInstance(readClass());
+      references.add(collection);
+      int size = readSize();
+      for (int i = 0; i < size; i++) {
+        collection.add(read());
+      }
+      return collection;
+    }
+
+    private Object readMap() throws IOException, ClassNotFoundException {
+      Map<Object, Object> map = beanTypes.newInstance(readClass());
+      references.add(map);
+      int size = readSize();
+      for (int i = 0; i < size; i++) {
+        Object key = read();
+        map.put(key, read());
+      }
+      return map;
+    }
+
+    private Object readBean() throws IOException, ClassNotFoundException {
+      Class<?> type = readClass();
+      BeanTypes.BeanType beanType = beanTypes.beanType(type);
+      if (beanType == null) {
+        throw new CacheException("Cached class " + type.getName() + " is not a bean.");
+      }
+      Object bean = beanTypes.newInstance(type);
+      references.add(bean);
+      for (int i = 0; i < beanType.getPropertyCount(); i++) {
+        beanType.set(bean, i, read());
+      }
+      return bean;
+    }
+
+    private Class<?> readClass() throws IOException, ClassNotFoundException {
+      int index = readSize();
+      if (index < classes.size()) {
+        return classes.get(index);
+      }
+      Class<?> type = Resources.classForName(readString());
+      classes.add(type);
+      return type;
+    }
+
+    private String readString() throws IOException {
+      return new String(readBytes(), StandardCharsets.UTF_8);
+    }
+
+    private byte[] readBytes() throws IOException {
+      byte[] bytes = new byte[readSize()];
+      in.readFully(bytes);
+      return bytes;
+    }
+
+    private int readSize() throws IOException {
+      int value = 0;
+      for (int shift = 0;; shift += 7) {
+        int b = in.readByte();
+        value |= (b & 0x7F) << shift;
+        if ((b & 0x80) == 0) {
+          return value;
+        }
+      }
+    }
+  }
+}
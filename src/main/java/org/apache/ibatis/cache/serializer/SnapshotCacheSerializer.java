@@ -0,0 +1,133 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache.serializer;
+
+import java.io.Serializable;
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.Date;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.apache.ibatis.cache.CacheException;
+import org.apache.ibatis.cache.CacheSerializer;
+
+/**
+ * Copies the cached values without encoding them to bytes.
+ * <p>
+ * The cached form is a deep copy of the value that is copied again on every read, so the callers never share an
+ * instance with the cache. Immutable values are shared, beans (see {@link CompactCacheSerializer}), arrays, dates and
+ * the {@code java.util} lists, sets and maps are copied directly, shared references and cycles are preserved. Any other
+ * serializable object is copied with the Java serialization.
+ *
+ * @since 3.6.0
+ */
+public class SnapshotCacheSerializer implements CacheSerializer {
+
+  private final BeanTypes beanTypes = new BeanTypes();
+
+  @Override
+  public Object serialize(Object value) {
+    return new Snapshot(copy(value));
+  }
+
+  @Override
+  public Object deserialize(Object data) {
+    return copy(((Snapshot) data).value);
+  }
+
+  private Object copy(Object value) {
+    return new Copier().copy(value);
+  }
+
+  private static final class Snapshot {
+    private final Object value;
+
+    Snapshot(Object value) {
+      this.value = value;
+    }
+  }
+
+  private final class Copier {
+    private final Map<Object, Object> copies = new IdentityHashMap<>();
+
+    Object copy(Object value) {
+      if (value == null || BeanTypes.isImmutable(value)) {
+        return value;
+      }
+      Object copy = copies.get(value);
+      if (copy != null) {
+        return copy;
+      }
+      Class<?> type = value.getClass();
+      BeanTypes.BeanType beanType;
+      if (value instanceof Date) {
+        copy = ((Date) value).clone();
+        copies.put(value, copy);
+      } else if (type.isArray()) {
+        copy = copyArray(value, type);
+      } else if (BeanTypes.isCopyableCollection(value)) {
+        Collection<Object> collection = beanTypes.newInstance(type);
+        copies.put(value, collection);
+        for (Object element : BeanTypes.asCollection(value)) {
+          collection.add(copy(element));
+        }
+        copy = collection;
+      } else if (BeanTypes.isCopyableMap(value)) {
+        Map<Object, Object> map = beanTypes.newInstance(type);
+        copies.put(value, map);
+        for (Map.Entry<Object, Object> entry : BeanTypes.asMap(value).entrySet()) {
+          map.put(copy(entry.getKey()), copy(entry.getValue()));
+        }
+        copy = map;
+      } else if ((beanType = beanTypes.beanType(type)) != null) {
+        copy = beanTypes.newInstance(type);
+        copies.put(value, copy);
+        for (int i = 0; i < beanType.getPropertyCount(); i++) {
+          beanType.set(copy, i, copy(beanType.get(value, i)));
+        }
+      } else if (value instanceof Serializable) {
+        copy = JavaCacheSerializer.fromBytes(JavaCacheSerializer.toBytes(value));
+        copies.put(value, copy);
+      } else {
+        throw new CacheException("SharedCache failed to make a copy of a non-serializable object: " + value);
+      }
+      return copy;
+    }
+
+    private Object copyArray(Object value, Class<?> type) {
+      if (type.getComponentType().isPrimitive()) {
+        Object copy = cloneArray(value);
+        copies.put(value, copy);
+        return copy;
+      }
+      Object[] array = (Object[]) value;
+      Object[] copy = array.clone();
+      copies.put(value, copy);
+      for (int i = 0; i < copy.length; i++) {
+        copy[i] = copy(array[i]);
+      }
+      return copy;
+    }
+
+    private Object cloneArray(Object value) {
+      int length = Array.getLength(value);
+      Object copy = Array.newInstance(value.getClass().getComponentType(), length);
+      System.arraycopy(value, 0, copy, 0, length);
+      return copy;
+    }
+  }
+}
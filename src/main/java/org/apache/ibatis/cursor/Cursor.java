@@ -15,10 +15,15 @@
  */
 package org.apache.ibatis.cursor;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Flow;
+
 /**
  * Cursor contract to handle fetching items lazily using an Iterator. Cursors are a perfect fit to handle millions of
  * items queries that would not normally fit in memory. If you use collections in resultMaps then cursor SQL queries
- * must be ordered (resultOrdered="true") using the id columns of the resultMap.
+ * must be ordered using the id columns of the resultMap; a cursor maps them as if resultOrdered="true" was set.
  *
  * @author Guillaume Darmont / guillaume@dropinocean.com
  */
@@ -41,6 +46,62 @@ public interface Cursor<T> extends AutoCloseable, Iterable<T> {
    */
   int getCurrentIndex();
 
+  /**
+   * Gives the driver a hint about the number of rows to fetch from the database on each round trip for the remaining
+   * rows of this cursor. It overrides the fetch size of the statement.
+   *
+   * @param fetchSize
+   *          the number of rows to fetch, 0 to let the driver decide
+   *
+   * @since 3.6.0
+   */
+  default void setFetchSize(int fetchSize) {
+    // only a hint
+  }
+
+  /**
+   * Fetches the next items of this cursor. It can be mixed with the iterator of the cursor.
+   * <p>
+   * The default implementation reads the items from {@link #iterator()}, so it expects every call to {@code iterator()}
+   * to continue where the previous one stopped.
+   *
+   * @param maxItems
+   *          the maximum number of items to fetch
+   *
+   * @return the next items, fewer than {@code maxItems} only when the cursor has been consumed
+   *
+   * @since 3.6.0
+   */
+  default List<T> nextBatch(int maxItems) {
+    if (maxItems <= 0) {
+      throw new IllegalArgumentException("The number of items to fetch must be greater than 0 but was " + maxItems);
+    }
+    Iterator<T> iterator = iterator();
+    List<T> batch = new ArrayList<>(Math.min(maxItems, 1024));
+    while (batch.size() < maxItems && iterator.hasNext()) {
+      batch.add(iterator.next());
+    }
+    return batch;
+  }
+
+  /**
+   * Returns a publisher of the items of this cursor. Items are fetched only when the subscriber requests them, at most
+   * {@code prefetch} items per round, and the cursor is closed when it is consumed, fails or the subscription is
+   * cancelled. The session of the cursor must stay open until then.
+   *
+   * @param prefetch
+   *          the maximum number of items fetched at once
+   *
+   * @return a publisher that accepts a single subscriber
+   *
+   * @since 3.6.0
+   *
+   * @see CursorPublisher
+   */
+  default Flow.Publisher<T> toPublisher(int prefetch) {
+    return new CursorPublisher<>(this, prefetch);
+  }
+
   /**
    * Closes the cursor.
    */
@@ -0,0 +1,170 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cursor;
+
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link Flow.Publisher} over a {@link Cursor}, honoring the demand of its subscriber.
+ * <p>
+ * Items are fetched with {@link Cursor#nextBatch(int)} on the thread that requests them, at most {@code prefetch} at a
+ * time, so the cursor is never read concurrently. Items mapped to {@code null} are skipped because a publisher cannot
+ * emit them. The cursor is closed once it is consumed, when fetching fails or when the subscription is cancelled.
+ *
+ * @since 3.6.0
+ */
+public class CursorPublisher<T> implements Flow.Publisher<T> {
+
+  private final Cursor<T> cursor;
+  private final int prefetch;
+  private final AtomicBoolean subscribed = new AtomicBoolean();
+
+  public CursorPublisher(Cursor<T> cursor, int prefetch) {
+    if (prefetch <= 0) {
+      throw new IllegalArgumentException("The prefetch must be greater than 0 but was " + prefetch);
+    }
+    this.cursor = cursor;
+    this.prefetch = prefetch;
+  }
+
+  @Override
+  public void subscribe(Flow.Subscriber<? super T> subscriber) {
+    if (subscriber == null) {
+      throw new NullPointerException("The subscriber must not be null");
+    }
+    if (!subscribed.compareAndSet(false, true)) {
+      subscriber.onSubscribe(new Flow.Subscription() {
+        @Override
+        public void request(long n) {
+          // nothing to emit
+        }
+
+        @Override
+        public void cancel() {
+          // nothing to cancel
+        }
+      });
+      subscriber.onError(new IllegalStateException("A cursor can be published to a single subscriber only"));
+      return;
+    }
+    subscriber.onSubscribe(new CursorSubscription(subscriber));
+  }
+
+  private final class CursorSubscription implements Flow.Subscription {
+
+    private final Flow.Subscriber<? super T> subscriber;
+    private final AtomicLong requested = new AtomicLong();
+    private final AtomicInteger wip = new AtomicInteger();
+    private volatile boolean cancelled;
+    private volatile Throwable invalidRequest;
+    private boolean done;
+
+    CursorSubscription(Flow.Subscriber<? super T> subscriber) {
+      this.subscriber = subscriber;
+    }
+
+    @Override
+    public void request(long n) {
+      if (n <= 0) {
+        invalidRequest = new IllegalArgumentException("The number of requested items must be positive but was " + n);
+      } else {
+        requested.getAndAccumulate(n, (current, added) -> {
+          long sum = current + added;
+          return sum < 0 ? Long.MAX_VALUE : sum;
+        });
+      }
+      drain();
+    }
+
+    @Override
+    public void cancel() {
+      cancelled = true;
+      drain();
+    }
+
+    private void drain() {
+      if (wip.getAndIncrement() != 0) {
+        return;
+      }
+      int missed = 1;
+      do {
+        if (!done) {
+          emit();
+        }
+        missed = wip.addAndGet(-missed);
+      } while (missed != 0);
+    }
+
+    private void emit() {
+      if (cancelled) {
+        finish();
+        return;
+      }
+      if (invalidRequest != null) {
+        finish();
+        subscriber.onError(invalidRequest);
+        return;
+      }
+      long demand = requested.get();
+      long emitted = 0;
+      while (emitted < demand) {
+        int size = (int) Math.min(demand - emitted, prefetch);
+        List<T> batch;
+        try {
+          batch = cursor.nextBatch(size);
+        } catch (RuntimeException e) {
+          finish();
+          subscriber.onError(e);
+          return;
+        }
+        for (T item : batch) {
+          if (cancelled) {
+            finish();
+            return;
+          }
+          if (item != null) {
+            subscriber.onNext(item);
+            emitted++;
+          }
+        }
+        if (batch.size() < size || cursor.isConsumed()) {
+          finish();
+          if (!cancelled) {
+            subscriber.onComplete();
+          }
+          return;
+        }
+        if (cancelled) {
+          finish();
+          return;
+        }
+      }
+      if (demand != Long.MAX_VALUE) {
+        requested.addAndGet(-emitted);
+      }
+    }
+
+    private void finish() {
+      done = true;
+      cursor.close();
+    }
+  }
+
+}
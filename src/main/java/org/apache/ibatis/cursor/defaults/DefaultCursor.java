@@ -17,7 +17,9 @@ package org.apache.ibatis.cursor.defaults;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
 
 import org.apache.ibatis.cursor.Cursor;
@@ -103,6 +105,30 @@ public class DefaultCursor<T> implements Cursor<T> {
     return cursorIterator;
   }
 
+  @Override
+  public void setFetchSize(int fetchSize) {
+    if (isClosed()) {
+      return;
+    }
+    try {
+      rsw.getResultSet().setFetchSize(fetchSize);
+    } catch (SQLException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  @Override
+  public List<T> nextBatch(int maxItems) {
+    if (maxItems <= 0) {
+      throw new IllegalArgumentException("The number of items to fetch must be greater than 0 but was " + maxItems);
+    }
+    List<T> batch = new ArrayList<>(Math.min(maxItems, 1024));
+    while (batch.size() < maxItems && cursorIterator.hasNext()) {
+      batch.add(cursorIterator.next());
+    }
+    return batch;
+  }
+
   @Override
   public void close() {
     if (isClosed()) {
@@ -0,0 +1,43 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Implemented by the connections of a data source that keeps resources with the physical connection, such as the
+ * prepared statements of a reuse executor. The resources are kept while a pooled connection goes back and forth to the
+ * pool and are closed when the physical connection is closed or claimed by another owner.
+ *
+ * @since 3.6.0
+ */
+public interface ConnectionResources {
+
+  /**
+   * Gets the resource of a type, creating it on first use.
+   *
+   * @param <T>
+   *          the type of the resource
+   * @param type
+   *          the type of the resource
+   * @param factory
+   *          creates the resource if there is none yet
+   *
+   * @return the resource
+   */
+  <T extends AutoCloseable> T getResource(Class<T> type, Supplier<? extends T> factory);
+
+}
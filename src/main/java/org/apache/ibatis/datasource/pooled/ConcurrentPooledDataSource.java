@@ -0,0 +1,516 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.datasource.pooled;
+
+import java.lang.ref.WeakReference;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.ibatis.datasource.unpooled.UnpooledDataSource;
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
+
+/**
+ * A {@link PooledDataSource} that hands out connections without a pool-wide lock.
+ * <p>
+ * The connections are kept in a concurrent bag. A thread first tries the connections it returned recently, then scans
+ * the shared list and claims an idle connection with a compare-and-set. A returned connection is handed off directly to
+ * a waiting thread, if any. Connections are created, claimed when overdue and validated outside of any lock, so a slow
+ * driver or a slow ping does not block the other threads.
+ * <p>
+ * The configuration properties, the proxy semantics of the returned connections and the statistics of
+ * {@link #getPoolState()} are the same as the ones of {@link PooledDataSource}.
+ *
+ * @since 3.6.0
+ */
+public class ConcurrentPooledDataSource extends PooledDataSource {
+
+  private static final Log log = LogFactory.getLog(ConcurrentPooledDataSource.class);
+
+  private static final int NOT_IN_USE = 0;
+  private static final int IN_USE = 1;
+  private static final int REMOVED = -1;
+
+  private static final int MAX_RECENTLY_RETURNED = 16;
+
+  private final ConcurrentPoolState state = new ConcurrentPoolState(this);
+
+  private final List<PoolEntry> entries = new CopyOnWriteArrayList<>();
+  private final AtomicInteger totalConnections = new AtomicInteger();
+  private final AtomicInteger idleConnections = new AtomicInteger();
+  private final AtomicInteger waiters = new AtomicInteger();
+  private final SynchronousQueue<PoolEntry> handoffQueue = new SynchronousQueue<>(true);
+  private final ThreadLocal<List<WeakReference<PoolEntry>>> recentlyReturned = ThreadLocal
+      .withInitial(() -> new ArrayList<>(MAX_RECENTLY_RETURNED));
+
+  public ConcurrentPooledDataSource() {
+  }
+
+  public ConcurrentPooledDataSource(UnpooledDataSource dataSource) {
+    super(dataSource);
+  }
+
+  public ConcurrentPooledDataSource(String driver, String url, String username, String password) {
+    super(driver, url, username, password);
+  }
+
+  public ConcurrentPooledDataSource(String driver, String url, Properties driverProperties) {
+    super(driver, url, driverProperties);
+  }
+
+  public ConcurrentPooledDataSource(ClassLoader driverClassLoader, String driver, String url, String username,
+      String password) {
+    super(driverClassLoader, driver, url, username, password);
+  }
+
+  public ConcurrentPooledDataSource(ClassLoader driverClassLoader, String driver, String url,
+      Properties driverProperties) {
+    super(driverClassLoader, driver, url, driverProperties);
+  }
+
+  /**
+   * Closes all active and idle connections in the pool.
+   */
+  @Override
+  public void forceCloseAll() {
+    expectedConnectionTypeCode = assembleConnectionTypeCode(dataSource.getUrl(), dataSource.getUsername(),
+        dataSource.getPassword());
+    for (PoolEntry entry : entries) {
+      int previous = entry.state.getAndSet(REMOVED);
+      if (previous == REMOVED) {
+        continue;
+      }
+      if (previous == NOT_IN_USE) {
+        idleConnections.decrementAndGet();
+      }
+      entries.remove(entry);
+      totalConnections.decrementAndGet();
+      PooledConnection owner = entry.owner.getAndSet(null);
+      if (owner != null) {
+        owner.invalidate();
+      }
+      entry.resources.close();
+      try {
+        Connection realConn = entry.realConnection;
+        if (!realConn.getAutoCommit()) {
+          realConn.rollback();
+        }
+        realConn.close();
+      } catch (Exception e) {
+        // ignore
+      }
+    }
+    if (log.isDebugEnabled()) {
+      log.debug("PooledDataSource forcefully closed/removed all connections.");
+    }
+  }
+
+  @Override
+  public PoolState getPoolState() {
+    return state;
+  }
+
+  @Override
+  protected void pushConnection(PooledConnection conn) throws SQLException {
+    PoolEntry entry = ((EntryConnection) conn).entry;
+    if (!conn.isValid() || !entry.owner.compareAndSet(conn, null)) {
+      // invalidated, claimed as overdue or returned twice
+      if (log.isDebugEnabled()) {
+        log.debug("A bad connection (" + conn.getRealHashCode()
+            + ") attempted to return to the pool, discarding connection.");
+      }
+      state.badConnectionCount.increment();
+      if (entry.owner.compareAndSet(conn, null)) {
+        discard(entry);
+      }
+      return;
+    }
+    conn.invalidate();
+    state.accumulatedCheckoutTime.add(conn.getCheckoutTime());
+    try {
+      if (!entry.realConnection.getAutoCommit()) {
+        entry.realConnection.rollback();
+      }
+    } catch (SQLException e) {
+      discard(entry);
+      throw e;
+    }
+    if (conn.getConnectionTypeCode() == expectedConnectionTypeCode && reserveIdleSlot()) {
+      entry.lastUsedTimestamp = conn.getLastUsedTimestamp();
+      requite(entry);
+      if (log.isDebugEnabled()) {
+        log.debug("Returned connection " + conn.getRealHashCode() + " to pool.");
+      }
+    } else if (remove(entry)) {
+      entry.resources.close();
+      entry.realConnection.close();
+      if (log.isDebugEnabled()) {
+        log.debug("Closed connection " + conn.getRealHashCode() + ".");
+      }
+    }
+  }
+
+  @Override
+  PooledConnection popConnection(String username, String password) throws SQLException {
+    boolean countedWait = false;
+    long t = System.currentTimeMillis();
+    int localBadConnectionCount = 0;
+
+    while (true) {
+      PooledConnection conn = acquire();
+      if (conn == null) {
+        // Must wait
+        if (!countedWait) {
+          state.hadToWaitCount.increment();
+          countedWait = true;
+        }
+        conn = await();
+        if (conn == null) {
+          continue;
+        }
+      }
+      // ping to server and check the connection is valid or not
+      if (conn.isValid()) {
+        if (!conn.getRealConnection().getAutoCommit()) {
+          conn.getRealConnection().rollback();
+        }
+        conn.setConnectionTypeCode(assembleConnectionTypeCode(dataSource.getUrl(), username, password));
+        conn.setCheckoutTimestamp(System.currentTimeMillis());
+        conn.setLastUsedTimestamp(System.currentTimeMillis());
+        state.requestCount.increment();
+        state.accumulatedRequestTime.add(System.currentTimeMillis() - t);
+        return conn;
+      }
+      if (log.isDebugEnabled()) {
+        log.debug("A bad connection (" + conn.getRealHashCode()
+            + ") was returned from the pool, getting another connection.");
+      }
+      state.badConnectionCount.increment();
+      localBadConnectionCount++;
+      PoolEntry entry = ((EntryConnection) conn).entry;
+      if (entry.owner.compareAndSet(conn, null)) {
+        discard(entry);
+      }
+      if (localBadConnectionCount > poolMaximumIdleConnections + poolMaximumLocalBadConnectionTolerance) {
+        if (log.isDebugEnabled()) {
+          log.debug("PooledDataSource: Could not get a good connection to the database.");
+        }
+        throw new SQLException("PooledDataSource: Could not get a good connection to the database.");
+      }
+    }
+  }
+
+  private PooledConnection acquire() throws SQLException {
+    // Connections recently returned by this thread
+    List<WeakReference<PoolEntry>> recent = recentlyReturned.get();
+    for (int i = recent.size() - 1; i >= 0; i--) {
+      PoolEntry entry = recent.remove(i).get();
+      if (entry != null && reserve(entry)) {
+        return checkout(entry);
+      }
+    }
+    // Any idle connection
+    PooledConnection conn = scan();
+    if (conn != null) {
+      return conn;
+    }
+    // A new connection
+    for (int total = totalConnections.get(); total < poolMaximumActiveConnections; total = totalConnections.get()) {
+      if (totalConnections.compareAndSet(total, total + 1)) {
+        return create();
+      }
+    }
+    // An overdue connection
+    return claimOverdue();
+  }
+
+  private PooledConnection scan() {
+    for (PoolEntry entry : entries) {
+      if (reserve(entry)) {
+        return checkout(entry);
+      }
+    }
+    return null;
+  }
+
+  private PooledConnection create() throws SQLException {
+    Connection realConn;
+    try {
+      realConn = dataSource.getConnection();
+    } catch (SQLException | RuntimeException e) {
+      totalConnections.decrementAndGet();
+      throw e;
+    }
+    PoolEntry entry = new PoolEntry(realConn);
+    entries.add(entry);
+    EntryConnection conn = new EntryConnection(entry, this);
+    conn.setCheckoutTimestamp(System.currentTimeMillis());
+    entry.owner.set(conn);
+    if (log.isDebugEnabled()) {
+      log.debug("Created connection " + conn.getRealHashCode() + ".");
+    }
+    return conn;
+  }
+
+  private PooledConnection checkout(PoolEntry entry) {
+    EntryConnection conn = new EntryConnection(entry, this);
+    conn.setCreatedTimestamp(entry.createdTimestamp);
+    conn.setLastUsedTimestamp(entry.lastUsedTimestamp);
+    conn.setCheckoutTimestamp(System.currentTimeMillis());
+    entry.owner.set(conn);
+    if (log.isDebugEnabled()) {
+      log.debug("Checked out connection " + conn.getRealHashCode() + " from pool.");
+    }
+    return conn;
+  }
+
+  private PooledConnection claimOverdue() {
+    for (PoolEntry entry : entries) {
+      PooledConnection overdue = entry.owner.get();
+      if (overdue == null || entry.state.get() != IN_USE) {
+        continue;
+      }
+      long checkoutTime = overdue.getCheckoutTime();
+      if (checkoutTime <= poolMaximumCheckoutTime) {
+        continue;
+      }
+      EntryConnection conn = new EntryConnection(entry, this);
+      conn.setCreatedTimestamp(overdue.getCreatedTimestamp());
+      conn.setLastUsedTimestamp(overdue.getLastUsedTimestamp());
+      conn.setCheckoutTimestamp(System.currentTimeMillis());
+      if (!entry.owner.compareAndSet(overdue, conn)) {
+        continue;
+      }
+      // Can claim overdue connection
+      state.claimedOverdueConnectionCount.increment();
+      state.accumulatedCheckoutTimeOfOverdueConnections.add(checkoutTime);
+      state.accumulatedCheckoutTime.add(checkoutTime);
+      overdue.invalidate();
+      // the resources may still be in use by the previous owner
+      entry.resources.close();
+      try {
+        if (!entry.realConnection.getAutoCommit()) {
+          entry.realConnection.rollback();
+        }
+      } catch (SQLException e) {
+        // The claimed connection is validated by the caller which will discard it if it is bad
+        log.debug("Bad connection. Could not roll back");
+      }
+      if (log.isDebugEnabled()) {
+        log.debug("Claimed overdue connection " + conn.getRealHashCode() + ".");
+      }
+      return conn;
+    }
+    return null;
+  }
+
+  private PooledConnection await() throws SQLException {
+    waiters.incrementAndGet();
+    try {
+      // A connection may have been returned before this thread was counted as a waiter
+      PooledConnection conn = scan();
+      if (conn != null) {
+        return conn;
+      }
+      if (log.isDebugEnabled()) {
+        log.debug("Waiting as long as " + poolTimeToWait + " milliseconds for connection.");
+      }
+      long wt = System.currentTimeMillis();
+      PoolEntry entry = handoffQueue.poll(poolTimeToWait, TimeUnit.MILLISECONDS);
+      state.accumulatedWaitTime.add(System.currentTimeMillis() - wt);
+      if (entry == null) {
+        log.debug("Wait failed...");
+        return null;
+      }
+      return reserve(entry) ? checkout(entry) : null;
+    } catch (InterruptedException e) {
+      // set interrupt flag
+      Thread.currentThread().interrupt();
+      if (log.isDebugEnabled()) {
+        log.debug("PooledDataSource: Unknown severe error condition.  The connection pool returned a null connection.");
+      }
+      throw new SQLException(
+          "PooledDataSource: Unknown severe error condition.  The connection pool returned a null connection.");
+    } finally {
+      waiters.decrementAndGet();
+    }
+  }
+
+  private void requite(PoolEntry entry) {
+    if (!entry.state.compareAndSet(IN_USE, NOT_IN_USE)) {
+      // removed by forceCloseAll()
+      idleConnections.decrementAndGet();
+      return;
+    }
+    for (int i = 0; waiters.get() > 0; i++) {
+      if (entry.state.get() != NOT_IN_USE || handoffQueue.offer(entry)) {
+        return;
+      }
+      if ((i & 0xff) == 0xff) {
+        LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(10));
+      } else {
+        Thread.yield();
+      }
+    }
+    List<WeakReference<PoolEntry>> recent = recentlyReturned.get();
+    if (recent.size() < MAX_RECENTLY_RETURNED) {
+      recent.add(new WeakReference<>(entry));
+    }
+  }
+
+  private boolean reserve(PoolEntry entry) {
+    if (entry.state.compareAndSet(NOT_IN_USE, IN_USE)) {
+      idleConnections.decrementAndGet();
+      return true;
+    }
+    return false;
+  }
+
+  private boolean reserveIdleSlot() {
+    for (int idle = idleConnections.get(); idle < poolMaximumIdleConnections; idle = idleConnections.get()) {
+      if (idleConnections.compareAndSet(idle, idle + 1)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private boolean remove(PoolEntry entry) {
+    if (entry.state.compareAndSet(IN_USE, REMOVED)) {
+      entries.remove(entry);
+      totalConnections.decrementAndGet();
+      return true;
+    }
+    return false;
+  }
+
+  private void discard(PoolEntry entry) {
+    if (remove(entry)) {
+      entry.resources.close();
+      try {
+        entry.realConnection.close();
+      } catch (SQLException e) {
+        // ignore
+      }
+    }
+  }
+
+  private static final class PoolEntry {
+    private final Connection realConnection;
+    private final AtomicInteger state = new AtomicInteger(IN_USE);
+    private final AtomicReference<PooledConnection> owner = new AtomicReference<>();
+    private final PooledResources resources = new PooledResources();
+    private final long createdTimestamp;
+    private volatile long lastUsedTimestamp;
+
+    PoolEntry(Connection realConnection) {
+      this.realConnection = realConnection;
+      this.createdTimestamp = System.currentTimeMillis();
+      this.lastUsedTimestamp = createdTimestamp;
+    }
+  }
+
+  private static final class EntryConnection extends PooledConnection {
+    private final PoolEntry entry;
+
+    EntryConnection(PoolEntry entry, ConcurrentPooledDataSource dataSource) {
+      super(entry.realConnection, dataSource);
+      this.entry = entry;
+      setResources(entry.resources);
+    }
+  }
+
+  private static final class ConcurrentPoolState extends PoolState {
+    private final ConcurrentPooledDataSource pool;
+    private final LongAdder requestCount = new LongAdder();
+    private final LongAdder accumulatedRequestTime = new LongAdder();
+    private final LongAdder accumulatedCheckoutTime = new LongAdder();
+    private final LongAdder claimedOverdueConnectionCount = new LongAdder();
+    private final LongAdder accumulatedCheckoutTimeOfOverdueConnections = new LongAdder();
+    private final LongAdder accumulatedWaitTime = new LongAdder();
+    private final LongAdder hadToWaitCount = new LongAdder();
+    private final LongAdder badConnectionCount = new LongAdder();
+
+    ConcurrentPoolState(ConcurrentPooledDataSource pool) {
+      super(pool);
+      this.pool = pool;
+    }
+
+    @Override
+    public long getRequestCount() {
+      return requestCount.sum();
+    }
+
+    @Override
+    public long getAverageRequestTime() {
+      long requests = requestCount.sum();
+      return requests == 0 ? 0 : accumulatedRequestTime.sum() / requests;
+    }
+
+    @Override
+    public long getAverageWaitTime() {
+      long waits = hadToWaitCount.sum();
+      return waits == 0 ? 0 : accumulatedWaitTime.sum() / waits;
+    }
+
+    @Override
+    public long getHadToWaitCount() {
+      return hadToWaitCount.sum();
+    }
+
+    @Override
+    public long getBadConnectionCount() {
+      return badConnectionCount.sum();
+    }
+
+    @Override
+    public long getClaimedOverdueConnectionCount() {
+      return claimedOverdueConnectionCount.sum();
+    }
+
+    @Override
+    public long getAverageOverdueCheckoutTime() {
+      long claimed = claimedOverdueConnectionCount.sum();
+      return claimed == 0 ? 0 : accumulatedCheckoutTimeOfOverdueConnections.sum() / claimed;
+    }
+
+    @Override
+    public long getAverageCheckoutTime() {
+      long requests = requestCount.sum();
+      return requests == 0 ? 0 : accumulatedCheckoutTime.sum() / requests;
+    }
+
+    @Override
+    public int getIdleConnectionCount() {
+      return Math.max(0, pool.idleConnections.get());
+    }
+
+    @Override
+    public int getActiveConnectionCount() {
+      return Math.max(0, pool.totalConnections.get() - pool.idleConnections.get());
+    }
+  }
+}
@@ -21,6 +21,7 @@ import java.lang.reflect.Proxy;
 import java.sql.Connection;
 import java.sql.SQLException;
 
+import org.apache.ibatis.datasource.ConnectionResources;
 import org.apache.ibatis.reflection.ExceptionUtil;
 
 /**
@@ -29,7 +30,7 @@ import org.apache.ibatis.reflection.ExceptionUtil;
 class PooledConnection implements InvocationHandler {
 
   private static final String CLOSE = "close";
-  private static final Class<?>[] IFACES = { Connection.class };
+  private static final Class<?>[] IFACES = { Connection.class, ConnectionResources.class };
 
   private final int hashCode;
   private final PooledDataSource dataSource;
@@ -40,6 +41,7 @@ class PooledConnection implements InvocationHandler {
   private long lastUsedTimestamp;
   private int connectionTypeCode;
   private boolean valid;
+  private PooledResources resources = new PooledResources();
 
   /**
    * Constructor for SimplePooledConnection that uses the Connection and PooledDataSource passed in.
@@ -56,7 +58,8 @@ class PooledConnection implements InvocationHandler {
     this.createdTimestamp = System.currentTimeMillis();
     this.lastUsedTimestamp = System.currentTimeMillis();
     this.valid = true;
-    this.proxyConnection = (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), IFACES, this);
+    this.proxyConnection = (Connection) Proxy.newProxyInstance(ConnectionResources.class.getClassLoader(), IFACES,
+        this);
   }
 
   /**
@@ -159,6 +162,25 @@ class PooledConnection implements InvocationHandler {
     this.lastUsedTimestamp = lastUsedTimestamp;
   }
 
+  /**
+   * Getter for the resources kept with the real connection.
+   *
+   * @return the resources
+   */
+  PooledResources getResources() {
+    return resources;
+  }
+
+  /**
+   * Setter for the resources kept with the real connection.
+   *
+   * @param resources
+   *          - the resources
+   */
+  void setResources(PooledResources resources) {
+    this.resources = resources;
+  }
+
   /**
    * Getter for the time since this connection was last used.
    *
@@ -255,6 +277,9 @@ class PooledConnection implements InvocationHandler {
         // throw an SQLException instead of a Runtime
         checkConnection();
       }
+      if (ConnectionResources.class.equals(method.getDeclaringClass())) {
+        return method.invoke(resources, args);
+      }
       return method.invoke(realConnection, args);
     } catch (Throwable t) {
       throw ExceptionUtil.unwrapThrowable(t);
@@ -46,7 +46,7 @@ public class PooledDataSource implements DataSource {
 
   private final PoolState state = new PoolState(this);
 
-  private final UnpooledDataSource dataSource;
+  final UnpooledDataSource dataSource;
 
   // OPTIONAL CONFIGURATION FIELDS
   protected int poolMaximumActiveConnections = 10;
@@ -58,10 +58,12 @@ public class PooledDataSource implements DataSource {
   protected boolean poolPingEnabled;
   protected int poolPingConnectionsNotUsedFor;
 
-  private int expectedConnectionTypeCode;
+  volatile int expectedConnectionTypeCode;
 
   private final Lock lock = new ReentrantLock();
   private final Condition condition = lock.newCondition();
+  // connections being created or validated outside of the lock, guarded by the lock
+  private int pendingConnectionCount;
 
   public PooledDataSource() {
     dataSource = new UnpooledDataSource();
@@ -348,6 +350,7 @@ public class PooledDataSource implements DataSource {
         try {
           PooledConnection conn = state.activeConnections.remove(i - 1);
           conn.invalidate();
+          conn.getResources().close();
 
           Connection realConn = conn.getRealConnection();
           if (!realConn.getAutoCommit()) {
@@ -362,6 +365,7 @@ public class PooledDataSource implements DataSource {
         try {
           PooledConnection conn = state.idleConnections.remove(i - 1);
           conn.invalidate();
+          conn.getResources().close();
 
           Connection realConn = conn.getRealConnection();
           if (!realConn.getAutoCommit()) {
@@ -384,61 +388,106 @@ public class PooledDataSource implements DataSource {
     return state;
   }
 
-  private int assembleConnectionTypeCode(String url, String username, String password) {
+  int assembleConnectionTypeCode(String url, String username, String password) {
     return ("" + url + username + password).hashCode();
   }
 
   protected void pushConnection(PooledConnection conn) throws SQLException {
-
+    // take the connection out of the active ones before pinging and rolling back outside of the lock, so that it cannot
+    // be claimed as overdue meanwhile; it is counted as pending until it is idle or closed
+    long checkoutTime;
     lock.lock();
     try {
-      state.activeConnections.remove(conn);
-      if (conn.isValid()) {
-        if (state.idleConnections.size() < poolMaximumIdleConnections
-            && conn.getConnectionTypeCode() == expectedConnectionTypeCode) {
-          state.accumulatedCheckoutTime += conn.getCheckoutTime();
-          if (!conn.getRealConnection().getAutoCommit()) {
-            conn.getRealConnection().rollback();
-          }
-          PooledConnection newConn = new PooledConnection(conn.getRealConnection(), this);
-          state.idleConnections.add(newConn);
-          newConn.setCreatedTimestamp(conn.getCreatedTimestamp());
-          newConn.setLastUsedTimestamp(conn.getLastUsedTimestamp());
-          conn.invalidate();
-          if (log.isDebugEnabled()) {
-            log.debug("Returned connection " + newConn.getRealHashCode() + " to pool.");
-          }
-          condition.signal();
-        } else {
-          state.accumulatedCheckoutTime += conn.getCheckoutTime();
-          if (!conn.getRealConnection().getAutoCommit()) {
-            conn.getRealConnection().rollback();
-          }
-          conn.getRealConnection().close();
-          if (log.isDebugEnabled()) {
-            log.debug("Closed connection " + conn.getRealHashCode() + ".");
-          }
-          conn.invalidate();
-        }
-      } else {
+      if (!state.activeConnections.remove(conn)) {
         if (log.isDebugEnabled()) {
           log.debug("A bad connection (" + conn.getRealHashCode()
               + ") attempted to return to the pool, discarding connection.");
         }
         state.badConnectionCount++;
+        return;
       }
+      checkoutTime = conn.getCheckoutTime();
+      pendingConnectionCount++;
     } finally {
       lock.unlock();
     }
+
+    boolean valid = false;
+    try {
+      if (conn.isValid()) {
+        if (!conn.getRealConnection().getAutoCommit()) {
+          conn.getRealConnection().rollback();
+        }
+        valid = true;
+      }
+    } catch (SQLException e) {
+      // the connection may still hold the transaction, so it must not be reused
+      conn.invalidate();
+      conn.getResources().close();
+      try {
+        conn.getRealConnection().close();
+      } catch (SQLException closeException) {
+        e.addSuppressed(closeException);
+      }
+      if (log.isDebugEnabled()) {
+        log.debug("Closed connection " + conn.getRealHashCode() + " that could not be rolled back.");
+      }
+      throw e;
+    } finally {
+      if (!valid) {
+        lock.lock();
+        try {
+          pendingConnectionCount--;
+          state.badConnectionCount++;
+          condition.signal();
+        } finally {
+          lock.unlock();
+        }
+      }
+    }
+
+    boolean close = false;
+    lock.lock();
+    try {
+      pendingConnectionCount--;
+      state.accumulatedCheckoutTime += checkoutTime;
+      if (state.idleConnections.size() < poolMaximumIdleConnections
+          && conn.getConnectionTypeCode() == expectedConnectionTypeCode) {
+        PooledConnection newConn = new PooledConnection(conn.getRealConnection(), this);
+        state.idleConnections.add(newConn);
+        newConn.setCreatedTimestamp(conn.getCreatedTimestamp());
+        newConn.setLastUsedTimestamp(conn.getLastUsedTimestamp());
+        newConn.setResources(conn.getResources());
+        if (log.isDebugEnabled()) {
+          log.debug("Returned connection " + newConn.getRealHashCode() + " to pool.");
+        }
+      } else {
+        close = true;
+      }
+      conn.invalidate();
+      condition.signal();
+    } finally {
+      lock.unlock();
+    }
+
+    if (close) {
+      conn.getResources().close();
+      conn.getRealConnection().close();
+      if (log.isDebugEnabled()) {
+        log.debug("Closed connection " + conn.getRealHashCode() + ".");
+      }
+    }
   }
 
-  private PooledConnection popConnection(String username, String password) throws SQLException {
+  PooledConnection popConnection(String username, String password) throws SQLException {
     boolean countedWait = false;
     PooledConnection conn = null;
     long t = System.currentTimeMillis();
     int localBadConnectionCount = 0;
 
     while (conn == null) {
+      boolean create = false;
+      PooledConnection overdueConnection = null;
       lock.lock();
       try {
         if (!state.idleConnections.isEmpty()) {
@@ -447,96 +496,127 @@ public class PooledDataSource implements DataSource {
           if (log.isDebugEnabled()) {
             log.debug("Checked out connection " + conn.getRealHashCode() + " from pool.");
           }
-        } else if (state.activeConnections.size() < poolMaximumActiveConnections) {
+        } else if (state.activeConnections.size() + pendingConnectionCount < poolMaximumActiveConnections) {
           // Pool does not have available connection and can create a new connection
-          conn = new PooledConnection(dataSource.getConnection(), this);
+          create = true;
+        } else if (!state.activeConnections.isEmpty()
+            && state.activeConnections.get(0).getCheckoutTime() > poolMaximumCheckoutTime) {
+          // Can claim overdue connection
+          overdueConnection = state.activeConnections.remove(0);
+          long longestCheckoutTime = overdueConnection.getCheckoutTime();
+          state.claimedOverdueConnectionCount++;
+          state.accumulatedCheckoutTimeOfOverdueConnections += longestCheckoutTime;
+          state.accumulatedCheckoutTime += longestCheckoutTime;
+          conn = new PooledConnection(overdueConnection.getRealConnection(), this);
+          conn.setCreatedTimestamp(overdueConnection.getCreatedTimestamp());
+          conn.setLastUsedTimestamp(overdueConnection.getLastUsedTimestamp());
+          overdueConnection.invalidate();
+          // the resources may still be in use by the previous owner
+          overdueConnection.getResources().close();
           if (log.isDebugEnabled()) {
-            log.debug("Created connection " + conn.getRealHashCode() + ".");
+            log.debug("Claimed overdue connection " + conn.getRealHashCode() + ".");
           }
         } else {
-          // Cannot create new connection
-          PooledConnection oldestActiveConnection = state.activeConnections.get(0);
-          long longestCheckoutTime = oldestActiveConnection.getCheckoutTime();
-          if (longestCheckoutTime > poolMaximumCheckoutTime) {
-            // Can claim overdue connection
-            state.claimedOverdueConnectionCount++;
-            state.accumulatedCheckoutTimeOfOverdueConnections += longestCheckoutTime;
-            state.accumulatedCheckoutTime += longestCheckoutTime;
-            state.activeConnections.remove(oldestActiveConnection);
-            if (!oldestActiveConnection.getRealConnection().getAutoCommit()) {
-              try {
-                oldestActiveConnection.getRealConnection().rollback();
-              } catch (SQLException e) {
-                /*
-                 * Just log a message for debug and continue to execute the following statement like nothing happened.
-                 * Wrap the bad connection with a new PooledConnection, this will help to not interrupt current
-                 * executing thread and give current thread a chance to join the next competition for another valid/good
-                 * database connection. At the end of this loop, bad {@link @conn} will be set as null.
-                 */
-                log.debug("Bad connection. Could not roll back");
-              }
+          // Must wait
+          try {
+            if (!countedWait) {
+              state.hadToWaitCount++;
+              countedWait = true;
             }
-            conn = new PooledConnection(oldestActiveConnection.getRealConnection(), this);
-            conn.setCreatedTimestamp(oldestActiveConnection.getCreatedTimestamp());
-            conn.setLastUsedTimestamp(oldestActiveConnection.getLastUsedTimestamp());
-            oldestActiveConnection.invalidate();
             if (log.isDebugEnabled()) {
-              log.debug("Claimed overdue connection " + conn.getRealHashCode() + ".");
+              log.debug("Waiting as long as " + poolTimeToWait + " milliseconds for connection.");
             }
-          } else {
-            // Must wait
-            try {
-              if (!countedWait) {
-                state.hadToWaitCount++;
-                countedWait = true;
-              }
-              if (log.isDebugEnabled()) {
-                log.debug("Waiting as long as " + poolTimeToWait + " milliseconds for connection.");
-              }
-              long wt = System.currentTimeMillis();
-              if (!condition.await(poolTimeToWait, TimeUnit.MILLISECONDS)) {
-                log.debug("Wait failed...");
-              }
-              state.accumulatedWaitTime += System.currentTimeMillis() - wt;
-            } catch (InterruptedException e) {
-              // set interrupt flag
-              Thread.currentThread().interrupt();
-              break;
+            long wt = System.currentTimeMillis();
+            if (!condition.await(poolTimeToWait, TimeUnit.MILLISECONDS)) {
+              log.debug("Wait failed...");
             }
+            state.accumulatedWaitTime += System.currentTimeMillis() - wt;
+          } catch (InterruptedException e) {
+            // set interrupt flag
+            Thread.currentThread().interrupt();
+            break;
           }
         }
-        if (conn != null) {
-          // ping to server and check the connection is valid or not
-          if (conn.isValid()) {
-            if (!conn.getRealConnection().getAutoCommit()) {
-              conn.getRealConnection().rollback();
-            }
-            conn.setConnectionTypeCode(assembleConnectionTypeCode(dataSource.getUrl(), username, password));
-            conn.setCheckoutTimestamp(System.currentTimeMillis());
-            conn.setLastUsedTimestamp(System.currentTimeMillis());
+        if (conn != null || create) {
+          // the connection is neither idle nor active until it has been validated
+          pendingConnectionCount++;
+        }
+      } finally {
+        lock.unlock();
+      }
+
+      if (conn == null && !create) {
+        continue;
+      }
+
+      // connect, roll back and ping outside of the lock so that a slow database does not block the other threads
+      boolean valid = false;
+      try {
+        if (create) {
+          conn = new PooledConnection(dataSource.getConnection(), this);
+          if (log.isDebugEnabled()) {
+            log.debug("Created connection " + conn.getRealHashCode() + ".");
+          }
+        } else if (overdueConnection != null && !overdueConnection.getRealConnection().getAutoCommit()) {
+          try {
+            overdueConnection.getRealConnection().rollback();
+          } catch (SQLException e) {
+            /*
+             * Just log a message for debug and continue to execute the following statement like nothing happened. Wrap
+             * the bad connection with a new PooledConnection, this will help to not interrupt current executing thread
+             * and give current thread a chance to join the next competition for another valid/good database connection.
+             * At the end of this loop, bad {@link @conn} will be set as null.
+             */
+            log.debug("Bad connection. Could not roll back");
+          }
+        }
+        // ping to server and check the connection is valid or not
+        if (conn.isValid()) {
+          if (!conn.getRealConnection().getAutoCommit()) {
+            conn.getRealConnection().rollback();
+          }
+          conn.setConnectionTypeCode(assembleConnectionTypeCode(dataSource.getUrl(), username, password));
+          conn.setCheckoutTimestamp(System.currentTimeMillis());
+          conn.setLastUsedTimestamp(System.currentTimeMillis());
+          valid = true;
+        }
+      } finally {
+        lock.lock();
+        try {
+          pendingConnectionCount--;
+          if (valid) {
             state.activeConnections.add(conn);
             state.requestCount++;
             state.accumulatedRequestTime += System.currentTimeMillis() - t;
           } else {
-            if (log.isDebugEnabled()) {
-              log.debug("A bad connection (" + conn.getRealHashCode()
-                  + ") was returned from the pool, getting another connection.");
-            }
-            state.badConnectionCount++;
-            localBadConnectionCount++;
-            conn = null;
-            if (localBadConnectionCount > poolMaximumIdleConnections + poolMaximumLocalBadConnectionTolerance) {
-              if (log.isDebugEnabled()) {
-                log.debug("PooledDataSource: Could not get a good connection to the database.");
-              }
-              throw new SQLException("PooledDataSource: Could not get a good connection to the database.");
-            }
+            condition.signal();
           }
+        } finally {
+          lock.unlock();
         }
-      } finally {
-        lock.unlock();
       }
 
+      if (!valid) {
+        if (log.isDebugEnabled()) {
+          log.debug("A bad connection (" + conn.getRealHashCode()
+              + ") was returned from the pool, getting another connection.");
+        }
+        conn.getResources().close();
+        lock.lock();
+        try {
+          state.badConnectionCount++;
+        } finally {
+          lock.unlock();
+        }
+        localBadConnectionCount++;
+        conn = null;
+        if (localBadConnectionCount > poolMaximumIdleConnections + poolMaximumLocalBadConnectionTolerance) {
+          if (log.isDebugEnabled()) {
+            log.debug("PooledDataSource: Could not get a good connection to the database.");
+          }
+          throw new SQLException("PooledDataSource: Could not get a good connection to the database.");
+        }
+      }
     }
 
     if (conn == null) {
@@ -0,0 +1,70 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.datasource.pooled;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.apache.ibatis.datasource.ConnectionResources;
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
+
+/**
+ * The resources of a real connection, shared by the pooled connections that wrap it in turn.
+ */
+final class PooledResources implements ConnectionResources {
+
+  private static final Log log = LogFactory.getLog(PooledResources.class);
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Map<Class<?>, AutoCloseable> resources = new HashMap<>();
+
+  @Override
+  public <T extends AutoCloseable> T getResource(Class<T> type, Supplier<? extends T> factory) {
+    lock.lock();
+    try {
+      return type.cast(resources.computeIfAbsent(type, k -> factory.get()));
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Closes and removes all the resources.
+   */
+  void close() {
+    final List<AutoCloseable> removed;
+    lock.lock();
+    try {
+      removed = new ArrayList<>(resources.values());
+      resources.clear();
+    } finally {
+      lock.unlock();
+    }
+    for (AutoCloseable resource : removed) {
+      try {
+        resource.close();
+      } catch (Exception e) {
+        log.debug("Could not close connection resource " + resource + ". Cause: " + e);
+      }
+    }
+  }
+
+}
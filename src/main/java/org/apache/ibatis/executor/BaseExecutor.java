@@ -20,12 +20,14 @@ import static org.apache.ibatis.executor.ExecutionPlaceholder.EXECUTION_PLACEHOL
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.ConcurrentLinkedQueue;
 
 import org.apache.ibatis.cache.CacheKey;
 import org.apache.ibatis.cache.impl.PerpetualCache;
 import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.executor.bulk.BulkLoadTarget;
 import org.apache.ibatis.executor.statement.StatementUtil;
 import org.apache.ibatis.logging.Log;
 import org.apache.ibatis.logging.LogFactory;
@@ -117,6 +119,24 @@ public abstract class BaseExecutor implements Executor {
     return doUpdate(ms, parameter);
   }
 
+  @Override
+  public long bulkLoad(MappedStatement ms, Iterable<?> parameters) throws SQLException {
+    ErrorContext.instance().resource(ms.getResource()).activity("executing a bulk load").object(ms.getId());
+    if (closed) {
+      throw new ExecutorException("Executor was closed.");
+    }
+    clearLocalCache();
+    flushStatements();
+    Iterator<?> iterator = parameters.iterator();
+    if (!iterator.hasNext()) {
+      return 0;
+    }
+    Object firstParameter = iterator.next();
+    BulkLoadTarget target = BulkLoadTarget.of(ms, firstParameter);
+    Connection connection = getConnection(ms.getStatementLog());
+    return configuration.getBulkLoader(connection).load(connection, target, target.rows(firstParameter, iterator));
+  }
+
   @Override
   public List<BatchResult> flushStatements() throws SQLException {
     return flushStatements(false);
@@ -199,12 +219,13 @@ public abstract class BaseExecutor implements Executor {
     if (closed) {
       throw new ExecutorException("Executor was closed.");
     }
-    CacheKey cacheKey = new CacheKey();
+    List<ParameterMapping> parameterMappings = boundSql.getParameterMappings();
+    // the statement id, the row bounds, the sql, the parameters and the environment id
+    CacheKey cacheKey = new CacheKey(parameterMappings.size() + 5);
     cacheKey.update(ms.getId());
     cacheKey.update(rowBounds.getOffset());
     cacheKey.update(rowBounds.getLimit());
     cacheKey.update(boundSql.getSql());
-    List<ParameterMapping> parameterMappings = boundSql.getParameterMappings();
     TypeHandlerRegistry typeHandlerRegistry = ms.getConfiguration().getTypeHandlerRegistry();
     // mimic DefaultParameterHandler logic
     MetaObject metaObject = null;
@@ -17,11 +17,19 @@ package org.apache.ibatis.executor;
 
 import java.sql.BatchUpdateException;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 import org.apache.ibatis.cursor.Cursor;
 import org.apache.ibatis.executor.keygen.Jdbc3KeyGenerator;
@@ -30,12 +38,28 @@ import org.apache.ibatis.executor.keygen.NoKeyGenerator;
 import org.apache.ibatis.executor.statement.StatementHandler;
 import org.apache.ibatis.mapping.BoundSql;
 import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.mapping.StatementType;
+import org.apache.ibatis.scripting.defaults.DefaultParameterHandler;
 import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.session.ResultHandler;
 import org.apache.ibatis.session.RowBounds;
 import org.apache.ibatis.transaction.Transaction;
 
 /**
+ * Batches the updates of a session.
+ * <p>
+ * By default, an update joins the current JDBC batch only when it runs the same statement and SQL as the previous one.
+ * When statements are grouped, every distinct statement and SQL keeps its own open batch until the next flush, so
+ * interleaved updates (e.g. a parent row then its child rows, in a loop) are coalesced too. The batches are flushed in
+ * the order in which their statements were first used by this executor, so as long as parent rows are inserted before
+ * their children, the parent rows are still flushed first.
+ * <p>
+ * When a multi-row insert size is configured, the rows of a simple {@code INSERT ... VALUES (...)} statement are
+ * collected and sent as one {@code INSERT ... VALUES (...), (...), ...} statement per that many rows. The update counts
+ * of such a batch hold one entry per row: {@code 1} when its statement inserted all its rows, or
+ * {@link Statement#SUCCESS_NO_INFO} otherwise.
+ *
  * @author Jeff Butler
  */
 public class BatchExecutor extends BaseExecutor {
@@ -46,9 +70,46 @@ public class BatchExecutor extends BaseExecutor {
   private final List<BatchResult> batchResultList = new ArrayList<>();
   private String currentSql;
   private MappedStatement currentStatement;
+  private final Map<MappedStatement, Map<String, Integer>> statementIndexes;
+  private final Map<MappedStatement, Integer> statementRanks;
+  private int autoFlushSize;
+  private Consumer<List<BatchResult>> autoFlushListener;
+  private final List<BatchResult> autoFlushedResults = new ArrayList<>();
+  private int batchedRows;
+  private final int multiRowInsertSize;
+  private final Map<MappedStatement, Map<String, PendingInsert>> pendingInserts = new LinkedHashMap<>();
+  private final Map<BatchResult, Integer> rowsPerStatement = new IdentityHashMap<>();
 
   public BatchExecutor(Configuration configuration, Transaction transaction) {
+    this(configuration, transaction, false);
+  }
+
+  /**
+   * Creates a batch executor.
+   *
+   * @param configuration
+   *          the configuration
+   * @param transaction
+   *          the transaction
+   * @param groupStatements
+   *          whether updates join the open batch of their statement even if other statements ran in between
+   *
+   * @since 3.6.0
+   */
+  public BatchExecutor(Configuration configuration, Transaction transaction, boolean groupStatements) {
     super(configuration, transaction);
+    this.statementIndexes = groupStatements ? new HashMap<>() : null;
+    this.statementRanks = groupStatements ? new HashMap<>() : null;
+    Integer defaultBatchFlushSize = configuration.getDefaultBatchFlushSize();
+    this.autoFlushSize = defaultBatchFlushSize == null ? 0 : defaultBatchFlushSize;
+    Integer configuredMultiRowInsertSize = configuration.getMultiRowInsertSize();
+    this.multiRowInsertSize = configuredMultiRowInsertSize == null ? 0 : configuredMultiRowInsertSize;
+  }
+
+  @Override
+  public void setAutoFlush(int batchSize, Consumer<List<BatchResult>> listener) {
+    this.autoFlushSize = batchSize;
+    this.autoFlushListener = listener;
   }
 
   @Override
@@ -58,27 +119,185 @@ public class BatchExecutor extends BaseExecutor {
         null, null);
     final BoundSql boundSql = handler.getBoundSql();
     final String sql = boundSql.getSql();
+    if (multiRowInsertSize > 1) {
+      final PendingInsert pendingInsert = getPendingInsert(ms, sql, handler);
+      if (pendingInsert != null) {
+        pendingInsert.add(parameterObject, (DefaultParameterHandler) handler.getParameterHandler());
+        if (pendingInsert.size() >= multiRowInsertSize) {
+          addToBatch(pendingInsert);
+        }
+        autoFlushIfNeeded();
+        return BATCH_UPDATE_RETURN_VALUE;
+      }
+      if (statementIndexes == null) {
+        // keep the order of the updates
+        addPendingInsertsToBatch();
+      }
+    }
     final Statement stmt;
-    if (sql.equals(currentSql) && ms.equals(currentStatement)) {
-      int last = statementList.size() - 1;
-      stmt = statementList.get(last);
+    final int index = indexOfStatement(ms, sql);
+    if (index >= 0) {
+      stmt = statementList.get(index);
       applyTransactionTimeout(stmt);
       handler.parameterize(stmt);// fix Issues 322
-      BatchResult batchResult = batchResultList.get(last);
+      BatchResult batchResult = batchResultList.get(index);
       batchResult.addParameterObject(parameterObject);
     } else {
       Connection connection = getConnection(ms.getStatementLog());
       stmt = handler.prepare(connection, transaction.getTimeout());
       handler.parameterize(stmt); // fix Issues 322
-      currentSql = sql;
-      currentStatement = ms;
-      statementList.add(stmt);
-      batchResultList.add(new BatchResult(ms, sql, parameterObject));
+      addStatement(ms, sql, stmt, new BatchResult(ms, sql, parameterObject));
     }
     handler.batch(stmt);
+    autoFlushIfNeeded();
     return BATCH_UPDATE_RETURN_VALUE;
   }
 
+  private void addStatement(MappedStatement ms, String sql, Statement stmt, BatchResult batchResult) {
+    currentSql = sql;
+    currentStatement = ms;
+    statementList.add(stmt);
+    batchResultList.add(batchResult);
+    if (statementIndexes != null) {
+      statementIndexes.computeIfAbsent(ms, k -> new HashMap<>()).put(sql, statementList.size() - 1);
+      statementRanks.putIfAbsent(ms, statementRanks.size());
+    }
+  }
+
+  private void autoFlushIfNeeded() throws SQLException {
+    if (autoFlushSize > 0 && ++batchedRows >= autoFlushSize) {
+      List<BatchResult> results = executeBatches();
+      if (autoFlushListener != null) {
+        autoFlushListener.accept(results);
+      } else {
+        for (BatchResult result : results) {
+          // keep the update counts but release the parameter objects
+          BatchResult summary = new BatchResult(result.getMappedStatement(), result.getSql());
+          summary.setUpdateCounts(result.getUpdateCounts());
+          autoFlushedResults.add(summary);
+        }
+      }
+    }
+  }
+
+  private PendingInsert getPendingInsert(MappedStatement ms, String sql, StatementHandler handler) throws SQLException {
+    Map<String, PendingInsert> inserts = pendingInserts.get(ms);
+    PendingInsert pendingInsert = inserts == null ? null : inserts.get(sql);
+    if (pendingInsert != null || !canRewriteInsert(ms, handler)) {
+      return pendingInsert;
+    }
+    MultiRowInsertSql insertSql = MultiRowInsertSql.parse(sql, handler.getBoundSql().getParameterMappings().size());
+    if (insertSql == null) {
+      return null;
+    }
+    if (statementIndexes == null) {
+      addPendingInsertsToBatch();
+    } else {
+      statementRanks.putIfAbsent(ms, statementRanks.size());
+    }
+    pendingInsert = new PendingInsert(ms, insertSql);
+    pendingInserts.computeIfAbsent(ms, k -> new HashMap<>()).put(sql, pendingInsert);
+    return pendingInsert;
+  }
+
+  private boolean canRewriteInsert(MappedStatement ms, StatementHandler handler) {
+    final Class<?> keyGeneratorType = ms.getKeyGenerator().getClass();
+    // the parameters are set by the default handler, so plugins of ParameterHandler disable the rewrite
+    return ms.getSqlCommandType() == SqlCommandType.INSERT && ms.getStatementType() == StatementType.PREPARED
+        && (NoKeyGenerator.class.equals(keyGeneratorType) || Jdbc3KeyGenerator.class.equals(keyGeneratorType))
+        && handler.getParameterHandler() instanceof DefaultParameterHandler;
+  }
+
+  private void addPendingInsertsToBatch() throws SQLException {
+    for (Map<String, PendingInsert> inserts : pendingInserts.values()) {
+      for (PendingInsert pendingInsert : inserts.values()) {
+        if (pendingInsert.size() > 0) {
+          addToBatch(pendingInsert);
+        }
+      }
+    }
+    pendingInserts.clear();
+  }
+
+  private void addToBatch(PendingInsert pendingInsert) throws SQLException {
+    final MappedStatement ms = pendingInsert.mappedStatement;
+    final int rows = pendingInsert.size();
+    final String sql = pendingInsert.insertSql.toSql(rows);
+    final Statement stmt;
+    final BatchResult batchResult;
+    final int index = indexOfStatement(ms, sql);
+    if (index >= 0) {
+      stmt = statementList.get(index);
+      applyTransactionTimeout(stmt);
+      batchResult = batchResultList.get(index);
+    } else {
+      final Object parameterObject = pendingInsert.parameterObjects.get(0);
+      final BoundSql boundSql = new BoundSql(ms.getConfiguration(), sql, Collections.emptyList(), parameterObject);
+      final StatementHandler handler = ms.getConfiguration().newStatementHandler(this, ms, parameterObject,
+          RowBounds.DEFAULT, null, boundSql);
+      stmt = handler.prepare(getConnection(ms.getStatementLog()), transaction.getTimeout());
+      batchResult = new BatchResult(ms, sql);
+      addStatement(ms, sql, stmt, batchResult);
+      rowsPerStatement.put(batchResult, rows);
+    }
+    final PreparedStatement ps = (PreparedStatement) stmt;
+    int firstIndex = 1;
+    for (int i = 0; i < rows; i++) {
+      final DefaultParameterHandler parameterHandler = pendingInsert.parameterHandlers.get(i);
+      parameterHandler.setParameters(ps, firstIndex);
+      firstIndex += pendingInsert.insertSql.getParameterCount();
+      batchResult.addParameterObject(pendingInsert.parameterObjects.get(i));
+    }
+    ps.addBatch();
+    pendingInsert.clear();
+  }
+
+  private static int[] expandUpdateCounts(int[] updateCounts, int rows) {
+    final int[] rowCounts = new int[updateCounts.length * rows];
+    for (int i = 0; i < updateCounts.length; i++) {
+      final int updateCount = updateCounts[i];
+      final int rowCount;
+      if (updateCount == rows) {
+        rowCount = 1;
+      } else if (updateCount == Statement.EXECUTE_FAILED) {
+        rowCount = Statement.EXECUTE_FAILED;
+      } else {
+        rowCount = Statement.SUCCESS_NO_INFO;
+      }
+      Arrays.fill(rowCounts, i * rows, (i + 1) * rows, rowCount);
+    }
+    return rowCounts;
+  }
+
+  private int indexOfStatement(MappedStatement ms, String sql) {
+    if (sql.equals(currentSql) && ms.equals(currentStatement)) {
+      return statementList.size() - 1;
+    }
+    if (statementIndexes != null) {
+      Map<String, Integer> indexes = statementIndexes.get(ms);
+      Integer index = indexes == null ? null : indexes.get(sql);
+      if (index != null) {
+        return index;
+      }
+    }
+    return -1;
+  }
+
+  private void sortStatementsByRank() {
+    final List<Integer> order = new ArrayList<>(statementList.size());
+    for (int i = 0; i < statementList.size(); i++) {
+      order.add(i);
+    }
+    // stable, so the batches of a statement keep their order
+    order.sort(Comparator.comparing(i -> statementRanks.get(batchResultList.get(i).getMappedStatement())));
+    final List<Statement> statements = new ArrayList<>(statementList);
+    final List<BatchResult> batchResults = new ArrayList<>(batchResultList);
+    for (int i = 0; i < order.size(); i++) {
+      statementList.set(i, statements.get(order.get(i)));
+      batchResultList.set(i, batchResults.get(order.get(i)));
+    }
+  }
+
   @Override
   public <E> List<E> doQuery(MappedStatement ms, Object parameterObject, RowBounds rowBounds,
       ResultHandler resultHandler, BoundSql boundSql) throws SQLException {
@@ -113,17 +332,37 @@ public class BatchExecutor extends BaseExecutor {
 
   @Override
   public List<BatchResult> doFlushStatements(boolean isRollback) throws SQLException {
+    if (isRollback) {
+      autoFlushedResults.clear();
+      discardBatches();
+      return Collections.emptyList();
+    }
+    List<BatchResult> results = executeBatches();
+    if (autoFlushedResults.isEmpty()) {
+      return results;
+    }
+    // the summaries of the automatic flushes that had no listener come first
+    List<BatchResult> allResults = new ArrayList<>(autoFlushedResults);
+    allResults.addAll(results);
+    autoFlushedResults.clear();
+    return allResults;
+  }
+
+  private List<BatchResult> executeBatches() throws SQLException {
     try {
       List<BatchResult> results = new ArrayList<>();
-      if (isRollback) {
-        return Collections.emptyList();
+      addPendingInsertsToBatch();
+      if (statementRanks != null) {
+        sortStatementsByRank();
       }
       for (int i = 0, n = statementList.size(); i < n; i++) {
         Statement stmt = statementList.get(i);
         applyTransactionTimeout(stmt);
         BatchResult batchResult = batchResultList.get(i);
         try {
-          batchResult.setUpdateCounts(stmt.executeBatch());
+          int[] updateCounts = stmt.executeBatch();
+          Integer rows = rowsPerStatement.get(batchResult);
+          batchResult.setUpdateCounts(rows == null ? updateCounts : expandUpdateCounts(updateCounts, rows));
           MappedStatement ms = batchResult.getMappedStatement();
           List<Object> parameterObjects = batchResult.getParameterObjects();
           KeyGenerator keyGenerator = ms.getKeyGenerator();
@@ -151,12 +390,48 @@ public class BatchExecutor extends BaseExecutor {
       }
       return results;
     } finally {
-      for (Statement stmt : statementList) {
-        closeStatement(stmt);
-      }
-      currentSql = null;
-      statementList.clear();
-      batchResultList.clear();
+      discardBatches();
+    }
+  }
+
+  private void discardBatches() {
+    for (Statement stmt : statementList) {
+      closeStatement(stmt);
+    }
+    currentSql = null;
+    batchedRows = 0;
+    pendingInserts.clear();
+    rowsPerStatement.clear();
+    statementList.clear();
+    batchResultList.clear();
+    if (statementIndexes != null) {
+      statementIndexes.clear();
+    }
+  }
+
+  private static final class PendingInsert {
+    private final MappedStatement mappedStatement;
+    private final MultiRowInsertSql insertSql;
+    private final List<Object> parameterObjects = new ArrayList<>();
+    private final List<DefaultParameterHandler> parameterHandlers = new ArrayList<>();
+
+    PendingInsert(MappedStatement mappedStatement, MultiRowInsertSql insertSql) {
+      this.mappedStatement = mappedStatement;
+      this.insertSql = insertSql;
+    }
+
+    void add(Object parameterObject, DefaultParameterHandler parameterHandler) {
+      parameterObjects.add(parameterObject);
+      parameterHandlers.add(parameterHandler);
+    }
+
+    int size() {
+      return parameterObjects.size();
+    }
+
+    void clear() {
+      parameterObjects.clear();
+      parameterHandlers.clear();
     }
   }
 
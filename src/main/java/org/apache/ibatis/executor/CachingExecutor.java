@@ -17,6 +17,7 @@ package org.apache.ibatis.executor;
 
 import java.sql.SQLException;
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.apache.ibatis.cache.Cache;
 import org.apache.ibatis.cache.CacheKey;
@@ -76,6 +77,12 @@ public class CachingExecutor implements Executor {
     return delegate.update(ms, parameterObject);
   }
 
+  @Override
+  public long bulkLoad(MappedStatement ms, Iterable<?> parameters) throws SQLException {
+    flushCacheIfRequired(ms);
+    return delegate.bulkLoad(ms, parameters);
+  }
+
   @Override
   public <E> Cursor<E> queryCursor(MappedStatement ms, Object parameter, RowBounds rowBounds) throws SQLException {
     flushCacheIfRequired(ms);
@@ -115,6 +122,11 @@ public class CachingExecutor implements Executor {
     return delegate.flushStatements();
   }
 
+  @Override
+  public void setAutoFlush(int batchSize, Consumer<List<BatchResult>> listener) {
+    delegate.setAutoFlush(batchSize, listener);
+  }
+
   @Override
   public void commit(boolean required) throws SQLException {
     delegate.commit(required);
@@ -21,7 +21,7 @@ package org.apache.ibatis.executor;
 public class ErrorContext {
 
   private static final String LINE_SEPARATOR = System.lineSeparator();
-  private static final ThreadLocal<ErrorContext> LOCAL = ThreadLocal.withInitial(ErrorContext::new);
+  private static final ThreadLocal<ErrorContext> LOCAL = new ThreadLocal<>();
 
   private ErrorContext stored;
   private String resource;
@@ -35,22 +35,43 @@ public class ErrorContext {
   }
 
   public static ErrorContext instance() {
-    return LOCAL.get();
+    ErrorContext context = LOCAL.get();
+    if (context == null) {
+      context = new ErrorContext();
+      LOCAL.set(context);
+    }
+    return context;
+  }
+
+  /**
+   * Discards the error context of the current thread. Unlike {@code instance().reset()}, this does not create a context
+   * when the current thread has none, so a short-lived (e.g. virtual) thread that never recorded anything does not pay
+   * for one.
+   *
+   * @since 3.6.0
+   */
+  public static void clearInstance() {
+    ErrorContext context = LOCAL.get();
+    if (context != null) {
+      context.reset();
+    }
   }
 
   public ErrorContext store() {
     ErrorContext newContext = new ErrorContext();
     newContext.stored = this;
     LOCAL.set(newContext);
-    return LOCAL.get();
+    return newContext;
   }
 
   public ErrorContext recall() {
-    if (stored != null) {
-      LOCAL.set(stored);
-      stored = null;
+    if (stored == null) {
+      return instance();
     }
-    return LOCAL.get();
+    ErrorContext context = stored;
+    LOCAL.set(context);
+    stored = null;
+    return context;
   }
 
   public ErrorContext resource(String resource) {
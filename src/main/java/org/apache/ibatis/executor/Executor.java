@@ -17,6 +17,7 @@ package org.apache.ibatis.executor;
 
 import java.sql.SQLException;
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.apache.ibatis.cache.CacheKey;
 import org.apache.ibatis.cursor.Cursor;
@@ -46,6 +47,43 @@ public interface Executor {
 
   List<BatchResult> flushStatements() throws SQLException;
 
+  /**
+   * Flushes batched statements automatically once the given number of rows has been batched. Executors that do not
+   * batch statements ignore it.
+   *
+   * @param batchSize
+   *          the number of batched rows that triggers a flush; {@code 0} flushes only on demand
+   * @param listener
+   *          receives the results of each automatic flush, or {@code null} to return them, without their parameter
+   *          objects, with the next {@link #flushStatements()}
+   *
+   * @since 3.6.0
+   */
+  default void setAutoFlush(int batchSize, Consumer<List<BatchResult>> listener) {
+    // nothing to flush
+  }
+
+  /**
+   * Loads many rows into a table with the first bulk loader of the configuration that supports the connection.
+   *
+   * @param ms
+   *          a single-row insert statement describing the table and the columns
+   * @param parameters
+   *          the parameter objects, one per row
+   *
+   * @return the number of loaded rows
+   *
+   * @throws SQLException
+   *           if the rows cannot be loaded
+   *
+   * @since 3.6.0
+   *
+   * @see org.apache.ibatis.executor.bulk.BulkLoader
+   */
+  default long bulkLoad(MappedStatement ms, Iterable<?> parameters) throws SQLException {
+    throw new UnsupportedOperationException("Bulk load is not supported by " + getClass().getName());
+  }
+
   void commit(boolean required) throws SQLException;
 
   void rollback(boolean required) throws SQLException;
@@ -0,0 +1,144 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor;
+
+/**
+ * A single-row {@code INSERT ... VALUES (...)} statement that can be rewritten to insert many rows at once.
+ */
+final class MultiRowInsertSql {
+
+  private final String prefix;
+  private final String values;
+  private final int parameterCount;
+  private String lastSql;
+  private int lastRows;
+
+  private MultiRowInsertSql(String prefix, String values, int parameterCount) {
+    this.prefix = prefix;
+    this.values = values;
+    this.parameterCount = parameterCount;
+  }
+
+  /**
+   * Parses an insert statement. The statement must insert a single group of values, end with it, and have all its
+   * placeholders in it.
+   *
+   * @param sql
+   *          the SQL of the statement
+   * @param parameterCount
+   *          the number of parameters of the statement
+   *
+   * @return the parsed statement or {@code null} if it cannot be rewritten
+   */
+  static MultiRowInsertSql parse(String sql, int parameterCount) {
+    final int length = sql.length();
+    int start = 0;
+    while (start < length && Character.isWhitespace(sql.charAt(start))) {
+      start++;
+    }
+    if (!sql.regionMatches(true, start, "insert", 0, 6)) {
+      return null;
+    }
+    int valuesStart = -1;
+    int valuesEnd = -1;
+    int placeholders = 0;
+    int depth = 0;
+    for (int i = start; i < length; i++) {
+      char c = sql.charAt(i);
+      if (valuesEnd >= 0) {
+        if (!Character.isWhitespace(c)) {
+          return null;
+        }
+      } else if (c == '\'' || c == '"' || c == '`') {
+        i = sql.indexOf(c, i + 1);
+        if (i < 0) {
+          return null;
+        }
+      } else if (c == '-' && i + 1 < length && sql.charAt(i + 1) == '-'
+          || c == '/' && i + 1 < length && sql.charAt(i + 1) == '*') {
+        return null;
+      } else if (c == '?') {
+        placeholders++;
+        if (valuesStart < 0) {
+          return null;
+        }
+      } else if (c == '(') {
+        if (depth++ == 0 && valuesStart >= 0 && sql.charAt(valuesStart) != '(') {
+          if (!sql.substring(valuesStart + 6, i).isBlank()) {
+            return null;
+          }
+          valuesStart = i;
+        }
+      } else if (c == ')') {
+        if (--depth < 0) {
+          return null;
+        }
+        if (depth == 0 && valuesStart >= 0 && sql.charAt(valuesStart) == '(') {
+          valuesEnd = i;
+        }
+      } else if (depth == 0 && isKeyword(sql, i, "values")) {
+        if (valuesStart >= 0) {
+          return null;
+        }
+        valuesStart = i;
+        i += 5;
+      }
+    }
+    if (valuesEnd < 0 || depth != 0 || placeholders != parameterCount) {
+      return null;
+    }
+    return new MultiRowInsertSql(sql.substring(0, valuesStart), sql.substring(valuesStart, valuesEnd + 1),
+        parameterCount);
+  }
+
+  private static boolean isKeyword(String sql, int index, String keyword) {
+    int end = index + keyword.length();
+    return sql.regionMatches(true, index, keyword, 0, keyword.length())
+        && (index == 0 || !isIdentifierPart(sql.charAt(index - 1)))
+        && (end == sql.length() || !isIdentifierPart(sql.charAt(end)));
+  }
+
+  private static boolean isIdentifierPart(char c) {
+    return Character.isLetterOrDigit(c) || c == '_' || c == '$' || c == '.';
+  }
+
+  int getParameterCount() {
+    return parameterCount;
+  }
+
+  /**
+   * Builds the statement inserting the given number of rows.
+   *
+   * @param rows
+   *          the number of rows
+   *
+   * @return the SQL of the statement
+   */
+  String toSql(int rows) {
+    if (rows == lastRows) {
+      return lastSql;
+    }
+    StringBuilder sql = new StringBuilder(prefix.length() + rows * (values.length() + 2));
+    sql.append(prefix).append(values);
+    for (int i = 1; i < rows; i++) {
+      sql.append(", ").append(values);
+    }
+    lastRows = rows;
+    lastSql = sql.toString();
+    return lastSql;
+  }
+
+}
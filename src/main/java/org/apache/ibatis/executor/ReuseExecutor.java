@@ -19,11 +19,11 @@ import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.datasource.ConnectionResources;
+import org.apache.ibatis.executor.statement.StatementCache;
 import org.apache.ibatis.executor.statement.StatementHandler;
 import org.apache.ibatis.logging.Log;
 import org.apache.ibatis.mapping.BoundSql;
@@ -34,14 +34,25 @@ import org.apache.ibatis.session.RowBounds;
 import org.apache.ibatis.transaction.Transaction;
 
 /**
+ * Reuses the prepared statements of a connection, keyed by their SQL.
+ * <p>
+ * When {@link Configuration#getStatementCacheSize()} is positive, at most that many statements are kept open per
+ * connection, closing the least recently used first, and they are kept across transactions. The statements of a
+ * connection that implements {@link ConnectionResources}, such as a connection of the pooled data sources, are even
+ * kept while the connection is back in the pool, until the physical connection is closed. Otherwise, all the statements
+ * are closed when statements are flushed, e.g. on commit.
+ *
  * @author Clinton Begin
  */
 public class ReuseExecutor extends BaseExecutor {
 
-  private final Map<String, Statement> statementMap = new HashMap<>();
+  private final int statementCacheSize;
+  private final StatementCache localStatementCache;
 
   public ReuseExecutor(Configuration configuration, Transaction transaction) {
     super(configuration, transaction);
+    this.statementCacheSize = configuration.getStatementCacheSize();
+    this.localStatementCache = new StatementCache(statementCacheSize);
   }
 
   @Override
@@ -73,44 +84,56 @@ public class ReuseExecutor extends BaseExecutor {
 
   @Override
   public List<BatchResult> doFlushStatements(boolean isRollback) {
-    for (Statement stmt : statementMap.values()) {
-      closeStatement(stmt);
+    if (statementCacheSize <= 0) {
+      localStatementCache.clear();
     }
-    statementMap.clear();
     return Collections.emptyList();
   }
 
+  @Override
+  public void close(boolean forceRollback) {
+    try {
+      localStatementCache.clear();
+    } finally {
+      super.close(forceRollback);
+    }
+  }
+
+  /**
+   * Gets the cache of the statements of the current connection.
+   *
+   * @return the statement cache
+   *
+   * @throws SQLException
+   *           if the connection cannot be obtained
+   *
+   * @since 3.6.0
+   */
+  public StatementCache getStatementCache() throws SQLException {
+    if (statementCacheSize > 0) {
+      Connection connection = transaction.getConnection();
+      if (connection instanceof ConnectionResources) {
+        return ((ConnectionResources) connection).getResource(StatementCache.class,
+            () -> new StatementCache(statementCacheSize));
+      }
+    }
+    return localStatementCache;
+  }
+
   private Statement prepareStatement(StatementHandler handler, Log statementLog) throws SQLException {
-    Statement stmt;
+    StatementCache statementCache = getStatementCache();
     BoundSql boundSql = handler.getBoundSql();
     String sql = boundSql.getSql();
-    if (hasStatementFor(sql)) {
-      stmt = getStatement(sql);
+    Statement stmt = statementCache.get(sql);
+    if (stmt != null) {
       applyTransactionTimeout(stmt);
     } else {
       Connection connection = getConnection(statementLog);
       stmt = handler.prepare(connection, transaction.getTimeout());
-      putStatement(sql, stmt);
+      statementCache.put(sql, stmt);
     }
     handler.parameterize(stmt);
     return stmt;
   }
 
-  private boolean hasStatementFor(String sql) {
-    try {
-      Statement statement = statementMap.get(sql);
-      return statement != null && !statement.getConnection().isClosed();
-    } catch (SQLException e) {
-      return false;
-    }
-  }
-
-  private Statement getStatement(String s) {
-    return statementMap.get(s);
-  }
-
-  private void putStatement(String sql, Statement stmt) {
-    statementMap.put(sql, stmt);
-  }
-
 }
@@ -0,0 +1,201 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.bulk;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.ibatis.executor.ExecutorException;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.scripting.defaults.DefaultParameterHandler;
+
+/**
+ * The table and columns a bulk load writes to, described by a single-row insert statement such as {@code INSERT INTO
+ * users (id, name) VALUES (#{id}, #{name})}. Each value of the statement must be a single parameter.
+ *
+ * @since 3.6.0
+ */
+public final class BulkLoadTarget {
+
+  private static final Pattern INSERT_PATTERN = Pattern.compile(
+      "\\s*insert\\s+into\\s+([^\\s(]+)\\s*\\(([^)]*)\\)\\s*values\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)\\s*",
+      Pattern.CASE_INSENSITIVE);
+
+  private final MappedStatement mappedStatement;
+  private final String sql;
+  private final String table;
+  private final List<String> columns;
+  private final List<ParameterMapping> parameterMappings;
+
+  private BulkLoadTarget(MappedStatement mappedStatement, String sql, String table, List<String> columns,
+      List<ParameterMapping> parameterMappings) {
+    this.mappedStatement = mappedStatement;
+    this.sql = sql;
+    this.table = table;
+    this.columns = Collections.unmodifiableList(columns);
+    this.parameterMappings = Collections.unmodifiableList(parameterMappings);
+  }
+
+  /**
+   * Creates the target of an insert statement.
+   *
+   * @param mappedStatement
+   *          the insert statement
+   * @param parameterObject
+   *          the parameter of the first row, used to build the SQL of the statement
+   *
+   * @return the target
+   *
+   * @throws ExecutorException
+   *           if the statement is not a single-row insert of one parameter per column
+   */
+  public static BulkLoadTarget of(MappedStatement mappedStatement, Object parameterObject) {
+    final BoundSql boundSql = mappedStatement.getBoundSql(parameterObject);
+    final String sql = boundSql.getSql();
+    final Matcher matcher = INSERT_PATTERN.matcher(sql);
+    if (!matcher.matches()) {
+      throw new ExecutorException("Statement '" + mappedStatement.getId()
+          + "' cannot be used for a bulk load. It must be 'INSERT INTO table (columns) VALUES (parameters)' with one"
+          + " parameter per column, but was: " + sql);
+    }
+    final List<String> columns = new ArrayList<>();
+    for (String column : matcher.group(2).split(",")) {
+      columns.add(column.trim());
+    }
+    if (columns.size() != boundSql.getParameterMappings().size()) {
+      throw new ExecutorException("Statement '" + mappedStatement.getId() + "' cannot be used for a bulk load. It has "
+          + columns.size() + " columns but " + boundSql.getParameterMappings().size() + " parameters.");
+    }
+    return new BulkLoadTarget(mappedStatement, sql, matcher.group(1), columns, boundSql.getParameterMappings());
+  }
+
+  public MappedStatement getMappedStatement() {
+    return mappedStatement;
+  }
+
+  /**
+   * Returns the SQL of the single-row insert statement.
+   *
+   * @return the SQL
+   */
+  public String getSql() {
+    return sql;
+  }
+
+  public String getTable() {
+    return table;
+  }
+
+  public List<String> getColumns() {
+    return columns;
+  }
+
+  /**
+   * Returns the parameter mappings of the columns, in the same order.
+   *
+   * @return the parameter mappings
+   */
+  public List<ParameterMapping> getParameterMappings() {
+    return parameterMappings;
+  }
+
+  /**
+   * Returns the rows of the given parameter objects. The values of a row are captured from the type handlers of the
+   * statement when the row is read.
+   *
+   * @param firstParameterObject
+   *          the parameter of the first row
+   * @param parameterObjects
+   *          the parameters of the other rows
+   *
+   * @return the rows
+   */
+  public Iterator<BulkRow> rows(Object firstParameterObject, Iterator<?> parameterObjects) {
+    return new RowIterator(firstParameterObject, parameterObjects);
+  }
+
+  private final class RowIterator implements Iterator<BulkRow>, InvocationHandler {
+    private final Iterator<?> parameterObjects;
+    private final PreparedStatement capture;
+    private Object nextParameterObject;
+    private boolean hasNextParameterObject = true;
+    private BulkRow row;
+
+    RowIterator(Object firstParameterObject, Iterator<?> parameterObjects) {
+      this.nextParameterObject = firstParameterObject;
+      this.parameterObjects = parameterObjects;
+      this.capture = (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+          new Class<?>[] { PreparedStatement.class }, this);
+    }
+
+    @Override
+    public boolean hasNext() {
+      return hasNextParameterObject || parameterObjects.hasNext();
+    }
+
+    @Override
+    public BulkRow next() {
+      final Object parameterObject;
+      if (hasNextParameterObject) {
+        parameterObject = nextParameterObject;
+        nextParameterObject = null;
+        hasNextParameterObject = false;
+      } else if (parameterObjects.hasNext()) {
+        parameterObject = parameterObjects.next();
+      } else {
+        throw new NoSuchElementException();
+      }
+      final BoundSql boundSql = mappedStatement.getBoundSql(parameterObject);
+      if (!sql.equals(boundSql.getSql())) {
+        throw new ExecutorException("Statement '" + mappedStatement.getId()
+            + "' built a different SQL for a row of the bulk load: " + boundSql.getSql());
+      }
+      row = new BulkRow(columns.size());
+      new DefaultParameterHandler(mappedStatement, parameterObject, boundSql).setParameters(capture);
+      return row;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      if (method.getName().startsWith("set") && args != null && args.length > 1 && args[0] instanceof Integer) {
+        final int index = (Integer) args[0] - 1;
+        if (index < 0 || index >= row.size()) {
+          throw new SQLException("Parameter index out of range: " + args[0]);
+        }
+        row.set(index, method, args);
+        return null;
+      }
+      if (method.getDeclaringClass() == Object.class) {
+        return method.invoke(this, args);
+      }
+      throw new UnsupportedOperationException(
+          "Type handlers of a bulk load can only set values, but called PreparedStatement." + method.getName());
+    }
+  }
+
+}
@@ -0,0 +1,64 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.bulk;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Iterator;
+
+/**
+ * Loads many rows into a table, usually through a database specific path such as PostgreSQL {@code COPY} or MySQL
+ * {@code LOAD DATA}.
+ * <p>
+ * The configuration uses the first registered loader that supports the connection.
+ *
+ * @since 3.6.0
+ *
+ * @see org.apache.ibatis.session.Configuration#addBulkLoader(BulkLoader)
+ */
+public interface BulkLoader {
+
+  /**
+   * Returns whether this loader can load rows with the connection.
+   *
+   * @param connection
+   *          the connection
+   *
+   * @return true if this loader supports the connection
+   *
+   * @throws SQLException
+   *           if the connection cannot be inspected
+   */
+  boolean supports(Connection connection) throws SQLException;
+
+  /**
+   * Loads the rows into the target table.
+   *
+   * @param connection
+   *          the connection
+   * @param target
+   *          the target table and columns
+   * @param rows
+   *          the rows to load, read once
+   *
+   * @return the number of loaded rows
+   *
+   * @throws SQLException
+   *           if the rows cannot be loaded
+   */
+  long load(Connection connection, BulkLoadTarget target, Iterator<BulkRow> rows) throws SQLException;
+
+}
@@ -0,0 +1,141 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.bulk;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Arrays;
+
+import org.apache.ibatis.executor.ExecutorException;
+
+/**
+ * The values of a row to load, as set by the type handlers of its insert statement.
+ *
+ * @since 3.6.0
+ */
+public final class BulkRow {
+
+  private final Method[] setters;
+  private final Object[][] arguments;
+
+  BulkRow(int columns) {
+    this.setters = new Method[columns];
+    this.arguments = new Object[columns][];
+  }
+
+  void set(int index, Method setter, Object[] args) {
+    setters[index] = setter;
+    arguments[index] = args;
+  }
+
+  /**
+   * Returns the number of values of this row.
+   *
+   * @return the number of values
+   */
+  public int size() {
+    return setters.length;
+  }
+
+  /**
+   * Returns the value of a column as given to the statement by its type handler, e.g. a {@link String} for an enum or a
+   * {@link java.sql.Timestamp} for a {@link java.util.Date}. A value given as a character stream or a {@link Clob} is
+   * returned as a {@link String}, and a value given as a binary stream or a {@link Blob} as a {@code byte[]}.
+   *
+   * @param index
+   *          the index of the column, starting at 0
+   *
+   * @return the value, {@code null} if the type handler set a null value
+   */
+  public Object getValue(int index) {
+    Method setter = setters[index];
+    if (setter == null || "setNull".equals(setter.getName())) {
+      return null;
+    }
+    Object[] args = arguments[index];
+    Object value = args[1];
+    try {
+      if (value instanceof Reader) {
+        StringWriter text = new StringWriter();
+        ((Reader) value).transferTo(text);
+        // the stream is read, so replace it in case the row is set to a statement afterwards
+        args[1] = new StringReader(text.toString());
+        return text.toString();
+      }
+      if (value instanceof InputStream) {
+        byte[] bytes = ((InputStream) value).readAllBytes();
+        args[1] = new ByteArrayInputStream(bytes);
+        return "setAsciiStream".equals(setter.getName()) ? new String(bytes, StandardCharsets.US_ASCII) : bytes;
+      }
+      if (value instanceof Clob) {
+        Clob clob = (Clob) value;
+        return clob.getSubString(1, (int) clob.length());
+      }
+      if (value instanceof Blob) {
+        Blob blob = (Blob) value;
+        return blob.getBytes(1, (int) blob.length());
+      }
+    } catch (IOException | SQLException e) {
+      throw new ExecutorException("Could not read the value of column #" + (index + 1) + ". Cause: " + e, e);
+    }
+    return value;
+  }
+
+  /**
+   * Sets the values of this row to a statement the same way the type handlers did.
+   *
+   * @param ps
+   *          the statement
+   * @param firstIndex
+   *          the index of the placeholder of the first column
+   *
+   * @throws SQLException
+   *           if a value cannot be set
+   */
+  public void setParameters(PreparedStatement ps, int firstIndex) throws SQLException {
+    for (int i = 0; i < setters.length; i++) {
+      if (setters[i] == null) {
+        ps.setNull(firstIndex + i, Types.NULL);
+        continue;
+      }
+      Object[] args = Arrays.copyOf(arguments[i], arguments[i].length);
+      args[0] = firstIndex + i;
+      try {
+        setters[i].invoke(ps, args);
+      } catch (InvocationTargetException e) {
+        if (e.getCause() instanceof SQLException) {
+          throw (SQLException) e.getCause();
+        }
+        throw new SQLException("Could not set value of column #" + (i + 1) + ". Cause: " + e.getCause(), e.getCause());
+      } catch (IllegalAccessException e) {
+        throw new SQLException("Could not set value of column #" + (i + 1) + ". Cause: " + e, e);
+      }
+    }
+  }
+
+}
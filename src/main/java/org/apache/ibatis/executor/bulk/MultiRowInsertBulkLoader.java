@@ -0,0 +1,107 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.bulk;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Loads rows with multi-row {@code INSERT INTO table (columns) VALUES (...), (...)} statements. It supports any
+ * connection and is used when no database specific loader does.
+ *
+ * @since 3.6.0
+ */
+public class MultiRowInsertBulkLoader implements BulkLoader {
+
+  private final int rowsPerStatement;
+
+  public MultiRowInsertBulkLoader() {
+    this(100);
+  }
+
+  public MultiRowInsertBulkLoader(int rowsPerStatement) {
+    if (rowsPerStatement < 1) {
+      throw new IllegalArgumentException("rowsPerStatement must be greater than 0 but was " + rowsPerStatement);
+    }
+    this.rowsPerStatement = rowsPerStatement;
+  }
+
+  public int getRowsPerStatement() {
+    return rowsPerStatement;
+  }
+
+  @Override
+  public boolean supports(Connection connection) {
+    return true;
+  }
+
+  @Override
+  public long load(Connection connection, BulkLoadTarget target, Iterator<BulkRow> rows) throws SQLException {
+    List<BulkRow> chunk = new ArrayList<>();
+    PreparedStatement fullStatement = null;
+    long count = 0;
+    try {
+      while (rows.hasNext()) {
+        chunk.add(rows.next());
+        if (chunk.size() == rowsPerStatement) {
+          if (fullStatement == null) {
+            fullStatement = connection.prepareStatement(toSql(target, rowsPerStatement));
+          }
+          count += execute(fullStatement, chunk);
+          chunk.clear();
+        }
+      }
+      if (!chunk.isEmpty()) {
+        try (PreparedStatement ps = connection.prepareStatement(toSql(target, chunk.size()))) {
+          count += execute(ps, chunk);
+        }
+      }
+    } finally {
+      if (fullStatement != null) {
+        fullStatement.close();
+      }
+    }
+    return count;
+  }
+
+  private static long execute(PreparedStatement ps, List<BulkRow> chunk) throws SQLException {
+    int index = 1;
+    for (BulkRow row : chunk) {
+      row.setParameters(ps, index);
+      index += row.size();
+    }
+    return ps.executeUpdate();
+  }
+
+  private static String toSql(BulkLoadTarget target, int rows) {
+    StringBuilder values = new StringBuilder("(");
+    for (int i = 0; i < target.getColumns().size(); i++) {
+      values.append(i == 0 ? "?" : ", ?");
+    }
+    values.append(')');
+    StringBuilder sql = new StringBuilder("INSERT INTO ").append(target.getTable()).append(" (")
+        .append(String.join(", ", target.getColumns())).append(") VALUES ").append(values);
+    for (int i = 1; i < rows; i++) {
+      sql.append(", ").append(values);
+    }
+    return sql.toString();
+  }
+
+}
@@ -0,0 +1,131 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.bulk;
+
+import java.io.InputStream;
+import java.sql.Blob;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.Statement;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.Set;
+
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.type.JdbcType;
+
+/**
+ * Loads rows with the MySQL {@code LOAD DATA LOCAL INFILE} command of MySQL Connector/J. The rows are streamed from
+ * memory, no file is written.
+ * <p>
+ * It only supports connections with the {@code allowLoadLocalInfile} property set to {@code true}. When the server
+ * rejects the load, e.g. because {@code local_infile} is disabled, or when the target has binary columns, the rows are
+ * loaded with multi-row inserts instead. MySQL skips the invalid or duplicate rows of a local load with a warning, so
+ * the load fails when fewer rows than sent were loaded.
+ *
+ * @since 3.6.0
+ */
+public class MySqlLoadDataBulkLoader extends TextBulkLoader {
+
+  private static final Log log = LogFactory.getLog(MySqlLoadDataBulkLoader.class);
+
+  private static final Set<JdbcType> BINARY_JDBC_TYPES = EnumSet.of(JdbcType.BINARY, JdbcType.VARBINARY,
+      JdbcType.LONGVARBINARY, JdbcType.BLOB);
+
+  private final Class<?> jdbcConnectionType = driverClass("com.mysql.cj.jdbc.JdbcConnection");
+  private final Class<?> jdbcStatementType = driverClass("com.mysql.cj.jdbc.JdbcStatement");
+  private final Class<?> propertySetType = driverClass("com.mysql.cj.conf.PropertySet");
+  private final Class<?> runtimePropertyType = driverClass("com.mysql.cj.conf.RuntimeProperty");
+  private final BulkLoader fallback = new MultiRowInsertBulkLoader();
+
+  @Override
+  public boolean supports(Connection connection) throws SQLException {
+    if (jdbcConnectionType == null || jdbcStatementType == null || propertySetType == null
+        || runtimePropertyType == null || !connection.isWrapperFor(jdbcConnectionType)) {
+      return false;
+    }
+    Object propertySet = invoke(jdbcConnectionType, connection.unwrap(jdbcConnectionType), "getPropertySet",
+        new Class<?>[0]);
+    Object property = invoke(propertySetType, propertySet, "getBooleanProperty", new Class<?>[] { String.class },
+        "allowLoadLocalInfile");
+    return Boolean.TRUE.equals(invoke(runtimePropertyType, property, "getValue", new Class<?>[0]));
+  }
+
+  @Override
+  public long load(Connection connection, BulkLoadTarget target, Iterator<BulkRow> rows) throws SQLException {
+    if (hasBinaryColumns(target)) {
+      return fallback.load(connection, target, rows);
+    }
+    RowText text = new RowText(rows);
+    try {
+      return copy(connection, target, text);
+    } catch (SQLException e) {
+      if (text.getRowCount() > 0) {
+        throw e;
+      }
+      // rejected before any row was read
+      if (log.isDebugEnabled()) {
+        log.debug("LOAD DATA LOCAL INFILE was rejected, loading the rows with multi-row inserts. Cause: " + e);
+      }
+      return fallback.load(connection, target, rows);
+    }
+  }
+
+  @Override
+  protected long copy(Connection connection, BulkLoadTarget target, RowText text) throws SQLException {
+    String sql = "LOAD DATA LOCAL INFILE 'mybatis-bulk-load' INTO TABLE " + target.getTable()
+        + " CHARACTER SET utf8mb4 (" + String.join(", ", target.getColumns()) + ")";
+    try (Statement stmt = connection.createStatement()) {
+      invoke(jdbcStatementType, stmt.unwrap(jdbcStatementType), "setLocalInfileInputStream",
+          new Class<?>[] { InputStream.class }, text);
+      long count = stmt.executeUpdate(sql);
+      if (count != text.getRowCount()) {
+        StringBuilder message = new StringBuilder("LOAD DATA loaded ").append(count).append(" of ")
+            .append(text.getRowCount()).append(" rows into ").append(target.getTable()).append('.');
+        int shown = 0;
+        for (SQLWarning warning = stmt.getWarnings(); warning != null
+            && shown < 10; warning = warning.getNextWarning(), shown++) {
+          message.append(' ').append(warning.getMessage());
+        }
+        throw new SQLException(message.toString());
+      }
+      return count;
+    }
+  }
+
+  @Override
+  protected String format(Object value) {
+    if (value instanceof Boolean) {
+      return (Boolean) value ? "1" : "0";
+    }
+    return super.format(value);
+  }
+
+  private static boolean hasBinaryColumns(BulkLoadTarget target) {
+    for (ParameterMapping parameterMapping : target.getParameterMappings()) {
+      Class<?> javaType = parameterMapping.getJavaType();
+      if (byte[].class.equals(javaType) || Byte[].class.equals(javaType) || Blob.class.equals(javaType)
+          || InputStream.class.equals(javaType) || BINARY_JDBC_TYPES.contains(parameterMapping.getJdbcType())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+}
@@ -0,0 +1,60 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.bulk;
+
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Loads rows with the PostgreSQL {@code COPY ... FROM STDIN} command of the PostgreSQL JDBC driver.
+ *
+ * @since 3.6.0
+ */
+public class PostgresCopyBulkLoader extends TextBulkLoader {
+
+  private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+  private final Class<?> pgConnectionType = driverClass("org.postgresql.PGConnection");
+
+  @Override
+  public boolean supports(Connection connection) throws SQLException {
+    return pgConnectionType != null && connection.isWrapperFor(pgConnectionType);
+  }
+
+  @Override
+  protected long copy(Connection connection, BulkLoadTarget target, RowText text) throws SQLException {
+    Object pgConnection = connection.unwrap(pgConnectionType);
+    Object copyManager = invoke(pgConnectionType, pgConnection, "getCopyAPI", new Class<?>[0]);
+    String sql = "COPY " + target.getTable() + " (" + String.join(", ", target.getColumns()) + ") FROM STDIN";
+    return (Long) invoke(copyManager.getClass(), copyManager, "copyIn",
+        new Class<?>[] { String.class, InputStream.class }, sql, text);
+  }
+
+  @Override
+  protected String format(Object value) {
+    if (value instanceof byte[]) {
+      byte[] bytes = (byte[]) value;
+      StringBuilder hex = new StringBuilder(2 + bytes.length * 2).append("\\x");
+      for (byte b : bytes) {
+        hex.append(HEX_DIGITS[(b >> 4) & 0xf]).append(HEX_DIGITS[b & 0xf]);
+      }
+      return hex.toString();
+    }
+    return super.format(value);
+  }
+
+}
@@ -0,0 +1,207 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.bulk;
+
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Iterator;
+
+import org.apache.ibatis.executor.ExecutorException;
+import org.apache.ibatis.io.Resources;
+
+/**
+ * Base class of the loaders that stream the rows to the database as tab separated text. Tabs, line breaks and
+ * backslashes in values are escaped with a backslash and {@code null} is written as {@code \N}, the default text format
+ * of both PostgreSQL {@code COPY} and MySQL {@code LOAD DATA}.
+ * <p>
+ * The text is produced while the database reads it, so the rows are never held in memory all at once.
+ *
+ * @since 3.6.0
+ */
+public abstract class TextBulkLoader implements BulkLoader {
+
+  @Override
+  public long load(Connection connection, BulkLoadTarget target, Iterator<BulkRow> rows) throws SQLException {
+    return copy(connection, target, new RowText(rows));
+  }
+
+  /**
+   * Sends the text of the rows to the database.
+   *
+   * @param connection
+   *          the connection
+   * @param target
+   *          the target table and columns
+   * @param text
+   *          the UTF-8 text of the rows, one line per row
+   *
+   * @return the number of loaded rows
+   *
+   * @throws SQLException
+   *           if the rows cannot be loaded
+   */
+  protected abstract long copy(Connection connection, BulkLoadTarget target, RowText text) throws SQLException;
+
+  /**
+   * Returns the text of a non null value, before escaping.
+   *
+   * @param value
+   *          the value as set by a type handler
+   *
+   * @return the text
+   */
+  protected String format(Object value) {
+    if (value instanceof BigDecimal) {
+      return ((BigDecimal) value).toPlainString();
+    }
+    if (value instanceof byte[]) {
+      throw new ExecutorException(getClass().getSimpleName() + " does not support binary values.");
+    }
+    return value.toString();
+  }
+
+  /**
+   * Returns the line of a row, including the line break.
+   *
+   * @param row
+   *          the row
+   *
+   * @return the line
+   */
+  protected String toLine(BulkRow row) {
+    StringBuilder line = new StringBuilder();
+    for (int i = 0; i < row.size(); i++) {
+      if (i > 0) {
+        line.append('\t');
+      }
+      Object value = row.getValue(i);
+      if (value == null) {
+        line.append("\\N");
+      } else {
+        escape(format(value), line);
+      }
+    }
+    return line.append('\n').toString();
+  }
+
+  static Object invoke(Class<?> type, Object target, String methodName, Class<?>[] parameterTypes, Object... args)
+      throws SQLException {
+    try {
+      return type.getMethod(methodName, parameterTypes).invoke(target, args);
+    } catch (InvocationTargetException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof SQLException) {
+        throw (SQLException) cause;
+      }
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new SQLException("Error invoking " + methodName + " of the driver. Cause: " + cause, cause);
+    } catch (ReflectiveOperationException e) {
+      throw new SQLException("Error invoking " + methodName + " of the driver. Cause: " + e, e);
+    }
+  }
+
+  static Class<?> driverClass(String className) {
+    try {
+      return Resources.classForName(className);
+    } catch (ClassNotFoundException e) {
+      return null;
+    }
+  }
+
+  private static void escape(String text, StringBuilder line) {
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      switch (c) {
+        case '\\':
+          line.append("\\\\");
+          break;
+        case '\t':
+          line.append("\\t");
+          break;
+        case '\n':
+          line.append("\\n");
+          break;
+        case '\r':
+          line.append("\\r");
+          break;
+        default:
+          line.append(c);
+      }
+    }
+  }
+
+  /**
+   * The UTF-8 text of rows, produced while it is read.
+   */
+  protected final class RowText extends InputStream {
+    private final Iterator<BulkRow> rows;
+    private byte[] buffer = new byte[0];
+    private int position;
+    private long rowCount;
+
+    protected RowText(Iterator<BulkRow> rows) {
+      this.rows = rows;
+    }
+
+    /**
+     * Returns the number of rows read so far.
+     *
+     * @return the number of rows
+     */
+    public long getRowCount() {
+      return rowCount;
+    }
+
+    private boolean fill() {
+      while (position >= buffer.length) {
+        if (!rows.hasNext()) {
+          return false;
+        }
+        buffer = toLine(rows.next()).getBytes(StandardCharsets.UTF_8);
+        position = 0;
+        rowCount++;
+      }
+      return true;
+    }
+
+    @Override
+    public int read() {
+      return fill() ? buffer[position++] & 0xff : -1;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+      if (len == 0) {
+        return 0;
+      }
+      int count = 0;
+      while (count < len && fill()) {
+        int n = Math.min(len - count, buffer.length - position);
+        System.arraycopy(buffer, position, b, off + count, n);
+        position += n;
+        count += n;
+      }
+      return count == 0 ? -1 : count;
+    }
+  }
+
+}
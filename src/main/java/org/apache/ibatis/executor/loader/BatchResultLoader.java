@@ -0,0 +1,257 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.loader;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.ExecutorException;
+import org.apache.ibatis.executor.ResultExtractor;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.reflection.ParamNameResolver;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.RowBounds;
+import org.apache.ibatis.transaction.Transaction;
+
+/**
+ * Loads the nested selects of many parent objects with a single batch statement.
+ * <p>
+ * The batch statement receives the distinct keys of the nested selects as a list (named {@code list} or
+ * {@code collection}). When there are more keys than the {@code batchSelectSize} setting, the statement runs once per
+ * chunk of keys and the results are merged. Each returned object is given to the parents whose key equals its
+ * {@code batchKey} property. Integral keys are compared by value, whatever their number type.
+ *
+ * @since 3.6.0
+ */
+public class BatchResultLoader {
+
+  private final Configuration configuration;
+  private final MappedStatement batchStatement;
+  private final String batchKey;
+  private final ResultExtractor resultExtractor;
+  private final Map<Object, List<PendingLoad>> pendingLoads = new LinkedHashMap<>();
+
+  public BatchResultLoader(Configuration configuration, MappedStatement batchStatement, String batchKey) {
+    this.configuration = configuration;
+    this.batchStatement = batchStatement;
+    this.batchKey = batchKey;
+    this.resultExtractor = new ResultExtractor(configuration, configuration.getObjectFactory());
+  }
+
+  public MappedStatement getBatchStatement() {
+    return batchStatement;
+  }
+
+  /**
+   * Registers a property to load.
+   *
+   * @param key
+   *          the parameter of the nested select
+   * @param metaResultObject
+   *          the parent object
+   * @param property
+   *          the property to set
+   * @param targetType
+   *          the type of the property
+   */
+  public void addLoad(Object key, MetaObject metaResultObject, String property, Class<?> targetType) {
+    pendingLoads.computeIfAbsent(normalizeKey(key), k -> new ArrayList<>())
+        .add(new PendingLoad(metaResultObject, property, targetType));
+  }
+
+  public boolean isEmpty() {
+    return pendingLoads.isEmpty();
+  }
+
+  /**
+   * Runs the batch statement for the registered keys.
+   *
+   * @param executor
+   *          the executor to run the statement with
+   *
+   * @return the objects returned by the batch statement
+   *
+   * @throws SQLException
+   *           if the statement fails
+   */
+  public List<Object> query(Executor executor) throws SQLException {
+    return query(configuration, batchStatement, executor, new ArrayList<>(pendingLoads.keySet()));
+  }
+
+  static List<Object> query(Configuration configuration, MappedStatement batchStatement, Executor executor,
+      List<Object> keys) throws SQLException {
+    final int chunkSize = configuration.getBatchSelectSize();
+    if (chunkSize <= 0 || keys.size() <= chunkSize) {
+      return queryChunk(batchStatement, executor, keys);
+    }
+    final List<Object> results = new ArrayList<>();
+    for (int i = 0; i < keys.size(); i += chunkSize) {
+      results.addAll(
+          queryChunk(batchStatement, executor, new ArrayList<>(keys.subList(i, Math.min(keys.size(), i + chunkSize)))));
+    }
+    return results;
+  }
+
+  private static List<Object> queryChunk(MappedStatement batchStatement, Executor executor, List<Object> keys)
+      throws SQLException {
+    Object parameter = ParamNameResolver.wrapToMapIfCollection(keys, null);
+    return executor.query(batchStatement, parameter, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER);
+  }
+
+  /**
+   * Sets the registered properties from the objects returned by the batch statement.
+   *
+   * @param results
+   *          the objects returned by {@link #query(Executor)}
+   */
+  public void apply(List<Object> results) {
+    final Map<Object, List<Object>> resultsByKey = groupByKey(configuration, results, batchKey);
+    for (Map.Entry<Object, List<PendingLoad>> entry : pendingLoads.entrySet()) {
+      List<Object> values = resultsByKey.getOrDefault(entry.getKey(), Collections.emptyList());
+      for (PendingLoad load : entry.getValue()) {
+        Object value = resultExtractor.extractObjectFromList(new ArrayList<>(values), load.targetType);
+        if (value != null) {
+          load.metaResultObject.setValue(load.property, value);
+        }
+      }
+    }
+    pendingLoads.clear();
+  }
+
+  /**
+   * Loads all the registered properties with the executor.
+   *
+   * @param executor
+   *          the executor to run the statement with
+   *
+   * @throws SQLException
+   *           if the statement fails
+   */
+  public void load(Executor executor) throws SQLException {
+    if (!isEmpty()) {
+      apply(query(executor));
+    }
+  }
+
+  /**
+   * Loads the registered properties of many loaders, running the statement of the first one with the executor and the
+   * others concurrently on the async executor of the configuration, each with its own connection.
+   *
+   * @param configuration
+   *          the configuration
+   * @param executor
+   *          the executor to run the first statement with
+   * @param loaders
+   *          the loaders
+   *
+   * @throws SQLException
+   *           if a statement fails
+   */
+  public static void loadConcurrently(Configuration configuration, Executor executor, List<BatchResultLoader> loaders)
+      throws SQLException {
+    final List<CompletableFuture<List<Object>>> futures = new ArrayList<>(loaders.size() - 1);
+    for (int i = 1; i < loaders.size(); i++) {
+      final BatchResultLoader loader = loaders.get(i);
+      futures.add(CompletableFuture.supplyAsync(loader::queryWithNewExecutor, configuration.getAsyncExecutor()));
+    }
+    loaders.get(0).load(executor);
+    for (int i = 1; i < loaders.size(); i++) {
+      final List<Object> results;
+      try {
+        results = futures.get(i - 1).join();
+      } catch (CompletionException e) {
+        final Throwable cause = e.getCause();
+        if (cause instanceof SQLException) {
+          throw (SQLException) cause;
+        }
+        if (cause instanceof RuntimeException) {
+          throw (RuntimeException) cause;
+        }
+        throw new ExecutorException("Error loading nested batch select. Cause: " + cause, cause);
+      }
+      loaders.get(i).apply(results);
+    }
+  }
+
+  private List<Object> queryWithNewExecutor() {
+    final Environment environment = configuration.getEnvironment();
+    if (environment == null || environment.getDataSource() == null) {
+      throw new ExecutorException(
+          "BatchResultLoader could not load concurrently.  Environment or DataSource was not configured.");
+    }
+    final Transaction tx = environment.getTransactionFactory().newTransaction(environment.getDataSource(), null, false);
+    final Executor executor = configuration.newExecutor(tx, ExecutorType.SIMPLE);
+    try {
+      return query(executor);
+    } catch (SQLException e) {
+      throw new CompletionException(e);
+    } finally {
+      executor.close(false);
+    }
+  }
+
+  static Map<Object, List<Object>> groupByKey(Configuration configuration, List<Object> results, String batchKey) {
+    final Map<Object, List<Object>> resultsByKey = new HashMap<>();
+    for (Object result : results) {
+      Object key = result == null ? null : configuration.newMetaObject(result).getValue(batchKey);
+      resultsByKey.computeIfAbsent(normalizeKey(key), k -> new ArrayList<>()).add(result);
+    }
+    return resultsByKey;
+  }
+
+  static Object normalizeKey(Object key) {
+    if (key instanceof Integer || key instanceof Long || key instanceof Short || key instanceof Byte) {
+      return ((Number) key).longValue();
+    }
+    if (key instanceof BigInteger && ((BigInteger) key).bitLength() < 64) {
+      return ((BigInteger) key).longValue();
+    }
+    if (key instanceof BigDecimal) {
+      try {
+        return ((BigDecimal) key).longValueExact();
+      } catch (ArithmeticException e) {
+        return key;
+      }
+    }
+    return key;
+  }
+
+  private static final class PendingLoad {
+    private final MetaObject metaResultObject;
+    private final String property;
+    private final Class<?> targetType;
+
+    PendingLoad(MetaObject metaResultObject, String property, Class<?> targetType) {
+      this.metaResultObject = metaResultObject;
+      this.property = property;
+      this.targetType = targetType;
+    }
+  }
+
+}
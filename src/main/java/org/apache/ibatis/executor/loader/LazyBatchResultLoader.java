@@ -0,0 +1,124 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.loader;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.session.Configuration;
+
+/**
+ * A lazy {@link ResultLoader} that loads the property of its siblings too.
+ * <p>
+ * All the loaders of a {@link Batch} wait for the first one of them to be triggered. That one runs the batch statement
+ * once for the keys of all the loaders that are still pending and keeps the results of each loader, so the siblings
+ * load without running another statement, split in chunks of {@link Configuration#getBatchSelectSize()} keys. Loaders
+ * added to the batch afterwards wait for the next trigger.
+ *
+ * @since 3.6.0
+ */
+public class LazyBatchResultLoader extends ResultLoader {
+
+  private final Batch batch;
+  private List<Object> results;
+
+  public LazyBatchResultLoader(Configuration config, Executor executor, MappedStatement mappedStatement,
+      Object parameterObject, Class<?> targetType, CacheKey cacheKey, BoundSql boundSql, Batch batch) {
+    super(config, executor, mappedStatement, parameterObject, targetType, cacheKey, boundSql);
+    this.batch = batch;
+    batch.add(this);
+  }
+
+  @Override
+  public Object loadResult() throws SQLException {
+    List<Object> list = batch.load(this);
+    resultObject = resultExtractor.extractObjectFromList(new ArrayList<>(list), targetType);
+    return resultObject;
+  }
+
+  /**
+   * The pending loaders of the same batch statement.
+   */
+  public static class Batch {
+
+    private final Configuration configuration;
+    private final MappedStatement batchStatement;
+    private final String batchKey;
+    private final List<LazyBatchResultLoader> pendingLoaders = new ArrayList<>();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public Batch(Configuration configuration, MappedStatement batchStatement, String batchKey) {
+      this.configuration = configuration;
+      this.batchStatement = batchStatement;
+      this.batchKey = batchKey;
+    }
+
+    void add(LazyBatchResultLoader loader) {
+      lock.lock();
+      try {
+        pendingLoaders.add(loader);
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    List<Object> load(LazyBatchResultLoader trigger) throws SQLException {
+      lock.lock();
+      try {
+        if (!trigger.loaded) {
+          final List<LazyBatchResultLoader> loaders = new ArrayList<>(pendingLoaders);
+          final Set<Object> keys = new LinkedHashSet<>();
+          for (LazyBatchResultLoader loader : loaders) {
+            keys.add(BatchResultLoader.normalizeKey(loader.parameterObject));
+          }
+          final Map<Object, List<Object>> resultsByKey = BatchResultLoader.groupByKey(configuration,
+              query(trigger, new ArrayList<>(keys)), batchKey);
+          for (LazyBatchResultLoader loader : loaders) {
+            loader.results = resultsByKey.getOrDefault(BatchResultLoader.normalizeKey(loader.parameterObject),
+                Collections.emptyList());
+            loader.loaded = true;
+          }
+          pendingLoaders.clear();
+        }
+        return trigger.results;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    private List<Object> query(LazyBatchResultLoader trigger, List<Object> keys) throws SQLException {
+      final Executor localExecutor = trigger.getLocalExecutor();
+      try {
+        return BatchResultLoader.query(configuration, batchStatement, localExecutor, keys);
+      } finally {
+        if (localExecutor != trigger.executor) {
+          localExecutor.close(false);
+        }
+      }
+    }
+  }
+
+}
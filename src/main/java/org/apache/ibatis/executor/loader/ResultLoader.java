@@ -74,10 +74,7 @@ public class ResultLoader {
   }
 
   private <E> List<E> selectList() throws SQLException {
-    Executor localExecutor = executor;
-    if (Thread.currentThread().getId() != this.creatorThreadId || localExecutor.isClosed()) {
-      localExecutor = newExecutor();
-    }
+    Executor localExecutor = getLocalExecutor();
     try {
       return localExecutor.query(mappedStatement, parameterObject, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER,
           cacheKey, boundSql);
@@ -88,6 +85,19 @@ public class ResultLoader {
     }
   }
 
+  /**
+   * Returns the executor to load with. This is the executor of the parent statement when it is still open and used by
+   * the thread that created this loader, or a new executor otherwise; the caller must close a new executor.
+   *
+   * @return the executor to load with
+   */
+  protected Executor getLocalExecutor() {
+    if (Thread.currentThread().getId() != this.creatorThreadId || executor.isClosed()) {
+      return newExecutor();
+    }
+    return executor;
+  }
+
   private Executor newExecutor() {
     final Environment environment = configuration.getEnvironment();
     if (environment == null) {
@@ -0,0 +1,81 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.resultset;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The resolved auto-mappings of a result map for a given result set layout.
+ */
+final class AutoMappingPlan {
+
+  private final List<UnMappedColumnAutoMapping> mappings;
+  private final boolean unknownColumns;
+  private volatile CompiledRowMapper compiledRowMapper;
+
+  AutoMappingPlan(List<UnMappedColumnAutoMapping> mappings, boolean unknownColumns) {
+    this.mappings = Collections.unmodifiableList(mappings);
+    this.unknownColumns = unknownColumns;
+  }
+
+  List<UnMappedColumnAutoMapping> getMappings() {
+    return mappings;
+  }
+
+  /**
+   * Returns whether an unknown column (or an unknown property type) was detected while resolving this plan. Such a plan
+   * has to be resolved again when the configured {@link org.apache.ibatis.session.AutoMappingUnknownColumnBehavior}
+   * wants to be notified.
+   *
+   * @return true if an unknown column was detected
+   */
+  boolean hasUnknownColumns() {
+    return unknownColumns;
+  }
+
+  /**
+   * Returns the row mapper created by the factory for this plan. The row mapper is created on first use and then
+   * shared.
+   *
+   * @param rowMapperFactory
+   *          the row mapper factory
+   * @param type
+   *          the type of the result objects
+   *
+   * @return the row mapper or {@code null} if the factory does not support this plan
+   */
+  RowMapper getRowMapper(RowMapperFactory rowMapperFactory, Class<?> type) {
+    CompiledRowMapper compiled = compiledRowMapper;
+    if (compiled == null || compiled.factory != rowMapperFactory || compiled.type != type) {
+      compiled = new CompiledRowMapper(rowMapperFactory, type, rowMapperFactory.createRowMapper(type, mappings));
+      compiledRowMapper = compiled;
+    }
+    return compiled.rowMapper;
+  }
+
+  private static final class CompiledRowMapper {
+    private final RowMapperFactory factory;
+    private final Class<?> type;
+    private final RowMapper rowMapper;
+
+    CompiledRowMapper(RowMapperFactory factory, Class<?> type, RowMapper rowMapper) {
+      this.factory = factory;
+      this.type = type;
+      this.rowMapper = rowMapper;
+    }
+  }
+}
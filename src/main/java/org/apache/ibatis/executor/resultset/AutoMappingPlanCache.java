@@ -0,0 +1,134 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.resultset;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.ibatis.mapping.ResultMap;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.type.JdbcType;
+
+/**
+ * A bounded cache of auto-mapping plans shared by all the result set handlers of a {@link Configuration}.
+ * <p>
+ * A plan is keyed by the result map, the column prefix and the layout (labels, JDBC types and class names) of the
+ * result set columns, so it is resolved once and then reused across queries and sessions.
+ *
+ * @since 3.6.0
+ */
+public class AutoMappingPlanCache {
+
+  private final Map<PlanKey, AutoMappingPlan> plans = new ConcurrentHashMap<>();
+  private volatile int maxSize;
+
+  public AutoMappingPlanCache(int maxSize) {
+    this.maxSize = maxSize;
+  }
+
+  public int getMaxSize() {
+    return maxSize;
+  }
+
+  /**
+   * Sets the maximum number of plans to keep. A value of {@code 0} or less disables the cache.
+   *
+   * @param maxSize
+   *          the maximum number of plans
+   */
+  public void setMaxSize(int maxSize) {
+    this.maxSize = maxSize;
+    if (maxSize <= 0) {
+      plans.clear();
+    }
+  }
+
+  public int size() {
+    return plans.size();
+  }
+
+  public void clear() {
+    plans.clear();
+  }
+
+  AutoMappingPlan get(ResultSetWrapper rsw, ResultMap resultMap, String columnPrefix, Configuration configuration) {
+    if (maxSize <= 0) {
+      return null;
+    }
+    return plans.get(new PlanKey(rsw, resultMap, columnPrefix, configuration));
+  }
+
+  void put(ResultSetWrapper rsw, ResultMap resultMap, String columnPrefix, Configuration configuration,
+      AutoMappingPlan plan) {
+    final int limit = maxSize;
+    if (limit <= 0) {
+      return;
+    }
+    Iterator<PlanKey> keys = plans.keySet().iterator();
+    while (plans.size() >= limit && keys.hasNext()) {
+      keys.next();
+      keys.remove();
+    }
+    plans.put(new PlanKey(rsw, resultMap, columnPrefix, configuration), plan);
+  }
+
+  private static final class PlanKey {
+    private final ResultMap resultMap;
+    private final String columnPrefix;
+    private final List<String> columnNames;
+    private final List<JdbcType> jdbcTypes;
+    private final List<String> classNames;
+    private final boolean mapUnderscoreToCamelCase;
+    private final boolean argNameBasedConstructorAutoMapping;
+    private final int hashCode;
+
+    PlanKey(ResultSetWrapper rsw, ResultMap resultMap, String columnPrefix, Configuration configuration) {
+      this.resultMap = resultMap;
+      this.columnPrefix = columnPrefix;
+      this.columnNames = rsw.getColumnNames();
+      this.jdbcTypes = rsw.getJdbcTypes();
+      this.classNames = rsw.getClassNames();
+      this.mapUnderscoreToCamelCase = configuration.isMapUnderscoreToCamelCase();
+      this.argNameBasedConstructorAutoMapping = configuration.isArgNameBasedConstructorAutoMapping();
+      this.hashCode = Objects.hash(System.identityHashCode(resultMap), columnPrefix, columnNames, jdbcTypes, classNames,
+          mapUnderscoreToCamelCase, argNameBasedConstructorAutoMapping);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof PlanKey)) {
+        return false;
+      }
+      PlanKey that = (PlanKey) o;
+      return hashCode == that.hashCode && resultMap == that.resultMap
+          && mapUnderscoreToCamelCase == that.mapUnderscoreToCamelCase
+          && argNameBasedConstructorAutoMapping == that.argNameBasedConstructorAutoMapping
+          && Objects.equals(columnPrefix, that.columnPrefix) && columnNames.equals(that.columnNames)
+          && jdbcTypes.equals(that.jdbcTypes) && classNames.equals(that.classNames);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+}
@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2025 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -28,6 +28,7 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -43,6 +44,8 @@ import org.apache.ibatis.cursor.defaults.DefaultCursor;
 import org.apache.ibatis.executor.ErrorContext;
 import org.apache.ibatis.executor.Executor;
 import org.apache.ibatis.executor.ExecutorException;
+import org.apache.ibatis.executor.loader.BatchResultLoader;
+import org.apache.ibatis.executor.loader.LazyBatchResultLoader;
 import org.apache.ibatis.executor.loader.ResultLoader;
 import org.apache.ibatis.executor.loader.ResultLoaderMap;
 import org.apache.ibatis.executor.parameter.ParameterHandler;
@@ -61,6 +64,7 @@ import org.apache.ibatis.reflection.MetaObject;
 import org.apache.ibatis.reflection.ReflectorFactory;
 import org.apache.ibatis.reflection.factory.ObjectFactory;
 import org.apache.ibatis.session.AutoMappingBehavior;
+import org.apache.ibatis.session.AutoMappingUnknownColumnBehavior;
 import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.session.ResultContext;
 import org.apache.ibatis.session.ResultHandler;
@@ -98,13 +102,18 @@ public class DefaultResultSetHandler implements ResultSetHandler {
   private final Map<CacheKey, Object> nestedResultObjects = new HashMap<>();
   private final Map<String, Object> ancestorObjects = new HashMap<>();
   private Object previousRowValue;
+  private boolean cursorResults;
+
+  // nested selects loaded in batch
+  private final Map<String, BatchResultLoader> batchResultLoaders = new LinkedHashMap<>();
+  private final Map<String, LazyBatchResultLoader.Batch> lazyBatches = new HashMap<>();
 
   // multiple resultsets
   private final Map<String, ResultMapping> nextResultMaps = new HashMap<>();
   private final Map<CacheKey, List<PendingRelation>> pendingRelations = new HashMap<>();
 
   // Cached Automappings
-  private final Map<String, List<UnMappedColumnAutoMapping>> autoMappingsCache = new HashMap<>();
+  private final Map<String, AutoMappingPlan> autoMappingsCache = new HashMap<>();
   private final Map<String, List<String>> constructorAutoMappingColumns = new HashMap<>();
 
   // temporary marking flag that indicate using constructor mapping (use field to reduce memory usage)
@@ -115,20 +124,6 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     public ResultMapping propertyMapping;
   }
 
-  private static class UnMappedColumnAutoMapping {
-    private final String column;
-    private final String property;
-    private final TypeHandler<?> typeHandler;
-    private final boolean primitive;
-
-    public UnMappedColumnAutoMapping(String column, String property, TypeHandler<?> typeHandler, boolean primitive) {
-      this.column = column;
-      this.property = property;
-      this.typeHandler = typeHandler;
-      this.primitive = primitive;
-    }
-  }
-
   public DefaultResultSetHandler(Executor executor, MappedStatement mappedStatement, ParameterHandler parameterHandler,
       ResultHandler<?> resultHandler, BoundSql boundSql, RowBounds rowBounds) {
     this.executor = executor;
@@ -225,6 +220,7 @@ public class DefaultResultSetHandler implements ResultSetHandler {
       }
     }
 
+    loadBatchResults();
     return collapseSingleResultList(multipleResults);
   }
 
@@ -243,6 +239,8 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     }
 
     ResultMap resultMap = resultMaps.get(0);
+    // a cursor returns each object before reading the next rows
+    cursorResults = true;
     return new DefaultCursor<>(this, resultMap, rsw, rowBounds);
   }
 
@@ -530,7 +528,9 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     final Set<String> mappedColumnNames = rsw.getMappedColumnNames(resultMap, columnPrefix);
     boolean foundValues = false;
     final List<ResultMapping> propertyMappings = resultMap.getPropertyResultMappings();
-    for (ResultMapping propertyMapping : propertyMappings) {
+    final int[] columnIndexes = rsw.getColumnIndexes(resultMap, columnPrefix);
+    for (int i = 0; i < propertyMappings.size(); i++) {
+      final ResultMapping propertyMapping = propertyMappings.get(i);
       String column = prependPrefix(propertyMapping.getColumn(), columnPrefix);
       if (propertyMapping.getNestedResultMapId() != null && !JdbcType.CURSOR.equals(propertyMapping.getJdbcType())) {
         // the user added a column attribute to a nested result map, ignore it
@@ -540,7 +540,7 @@ public class DefaultResultSetHandler implements ResultSetHandler {
           || column != null && mappedColumnNames.contains(column.toUpperCase(Locale.ENGLISH))
           || propertyMapping.getResultSet() != null) {
         Object value = getPropertyMappingValue(rsw.getResultSet(), metaObject, propertyMapping, lazyLoader,
-            columnPrefix);
+            columnPrefix, columnIndexes[i]);
         // issue #541 make property optional
         final String property = propertyMapping.getProperty();
         if (property == null) {
@@ -564,7 +564,7 @@ public class DefaultResultSetHandler implements ResultSetHandler {
   }
 
   private Object getPropertyMappingValue(ResultSet rs, MetaObject metaResultObject, ResultMapping propertyMapping,
-      ResultLoaderMap lazyLoader, String columnPrefix) throws SQLException {
+      ResultLoaderMap lazyLoader, String columnPrefix, int columnIndex) throws SQLException {
     if (propertyMapping.getNestedQueryId() != null) {
       return getNestedQueryMappingValue(rs, metaResultObject, propertyMapping, lazyLoader, columnPrefix);
     }
@@ -579,10 +579,15 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     } else {
       final TypeHandler<?> typeHandler = propertyMapping.getTypeHandler();
       final String column = prependPrefix(propertyMapping.getColumn(), columnPrefix);
-      return typeHandler.getResult(rs, column);
+      return getColumnValue(rs, typeHandler, columnIndex, column);
     }
   }
 
+  private Object getColumnValue(ResultSet rs, TypeHandler<?> typeHandler, int columnIndex, String column)
+      throws SQLException {
+    return columnIndex > 0 ? typeHandler.getResult(rs, columnIndex) : typeHandler.getResult(rs, column);
+  }
+
   private List<Object> getNestedCursorValue(ResultSet rs, ResultMapping propertyMapping, String parentColumnPrefix)
       throws SQLException {
     final String column = prependPrefix(propertyMapping.getColumn(), parentColumnPrefix);
@@ -595,59 +600,85 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     return results;
   }
 
-  private List<UnMappedColumnAutoMapping> createAutomaticMappings(ResultSetWrapper rsw, ResultMap resultMap,
-      MetaObject metaObject, String columnPrefix) throws SQLException {
+  private AutoMappingPlan createAutomaticMappings(ResultSetWrapper rsw, ResultMap resultMap, MetaObject metaObject,
+      String columnPrefix) throws SQLException {
     final String mapKey = resultMap.getId() + ":" + columnPrefix;
-    List<UnMappedColumnAutoMapping> autoMapping = autoMappingsCache.get(mapKey);
-    if (autoMapping == null) {
-      autoMapping = new ArrayList<>();
-      final List<String> unmappedColumnNames = rsw.getUnmappedColumnNames(resultMap, columnPrefix);
+    AutoMappingPlan plan = autoMappingsCache.get(mapKey);
+    if (plan == null) {
       // Remove the entry to release the memory
       List<String> mappedInConstructorAutoMapping = constructorAutoMappingColumns.remove(mapKey);
-      if (mappedInConstructorAutoMapping != null) {
-        unmappedColumnNames.removeAll(mappedInConstructorAutoMapping);
+      final AutoMappingPlanCache planCache = configuration.getAutoMappingPlanCache();
+      plan = planCache.get(rsw, resultMap, columnPrefix, configuration);
+      if (plan == null || plan.hasUnknownColumns()
+          && configuration.getAutoMappingUnknownColumnBehavior() != AutoMappingUnknownColumnBehavior.NONE) {
+        plan = createAutoMappingPlan(rsw, resultMap, metaObject, columnPrefix, mappedInConstructorAutoMapping);
+        planCache.put(rsw, resultMap, columnPrefix, configuration, plan);
       }
-      for (String columnName : unmappedColumnNames) {
-        String propertyName = columnName;
-        if (columnPrefix != null && !columnPrefix.isEmpty()) {
-          // When columnPrefix is specified,
-          // ignore columns without the prefix.
-          if (!columnName.toUpperCase(Locale.ENGLISH).startsWith(columnPrefix)) {
-            continue;
-          }
-          propertyName = columnName.substring(columnPrefix.length());
+      autoMappingsCache.put(mapKey, plan);
+    }
+    return plan;
+  }
+
+  private AutoMappingPlan createAutoMappingPlan(ResultSetWrapper rsw, ResultMap resultMap, MetaObject metaObject,
+      String columnPrefix, List<String> mappedInConstructorAutoMapping) throws SQLException {
+    final List<UnMappedColumnAutoMapping> autoMapping = new ArrayList<>();
+    boolean unknownColumns = false;
+    final List<String> unmappedColumnNames = new ArrayList<>(rsw.getUnmappedColumnNames(resultMap, columnPrefix));
+    if (mappedInConstructorAutoMapping != null) {
+      unmappedColumnNames.removeAll(mappedInConstructorAutoMapping);
+    }
+    for (String columnName : unmappedColumnNames) {
+      String propertyName = columnName;
+      if (columnPrefix != null && !columnPrefix.isEmpty()) {
+        // When columnPrefix is specified,
+        // ignore columns without the prefix.
+        if (!columnName.toUpperCase(Locale.ENGLISH).startsWith(columnPrefix)) {
+          continue;
         }
-        final String property = metaObject.findProperty(propertyName, configuration.isMapUnderscoreToCamelCase());
-        if (property != null && metaObject.hasSetter(property)) {
-          if (resultMap.getMappedProperties().contains(property)) {
-            continue;
-          }
-          final Class<?> propertyType = metaObject.getSetterType(property);
-          if (typeHandlerRegistry.hasTypeHandler(propertyType, rsw.getJdbcType(columnName))) {
-            final TypeHandler<?> typeHandler = rsw.getTypeHandler(propertyType, columnName);
-            autoMapping
-                .add(new UnMappedColumnAutoMapping(columnName, property, typeHandler, propertyType.isPrimitive()));
-          } else {
-            configuration.getAutoMappingUnknownColumnBehavior().doAction(mappedStatement, columnName, property,
-                propertyType);
-          }
+        propertyName = columnName.substring(columnPrefix.length());
+      }
+      final String property = metaObject.findProperty(propertyName, configuration.isMapUnderscoreToCamelCase());
+      if (property != null && metaObject.hasSetter(property)) {
+        if (resultMap.getMappedProperties().contains(property)) {
+          continue;
+        }
+        final Class<?> propertyType = metaObject.getSetterType(property);
+        if (typeHandlerRegistry.hasTypeHandler(propertyType, rsw.getJdbcType(columnName))) {
+          final TypeHandler<?> typeHandler = rsw.getTypeHandler(propertyType, columnName);
+          autoMapping.add(new UnMappedColumnAutoMapping(columnName, property, propertyType, typeHandler));
         } else {
-          configuration.getAutoMappingUnknownColumnBehavior().doAction(mappedStatement, columnName,
-              property != null ? property : propertyName, null);
+          unknownColumns = true;
+          configuration.getAutoMappingUnknownColumnBehavior().doAction(mappedStatement, columnName, property,
+              propertyType);
         }
+      } else {
+        unknownColumns = true;
+        configuration.getAutoMappingUnknownColumnBehavior().doAction(mappedStatement, columnName,
+            property != null ? property : propertyName, null);
       }
-      autoMappingsCache.put(mapKey, autoMapping);
     }
-    return autoMapping;
+    return new AutoMappingPlan(autoMapping, unknownColumns);
   }
 
   private boolean applyAutomaticMappings(ResultSetWrapper rsw, ResultMap resultMap, MetaObject metaObject,
       String columnPrefix) throws SQLException {
-    List<UnMappedColumnAutoMapping> autoMapping = createAutomaticMappings(rsw, resultMap, metaObject, columnPrefix);
+    final AutoMappingPlan plan = createAutomaticMappings(rsw, resultMap, metaObject, columnPrefix);
+    final List<UnMappedColumnAutoMapping> autoMapping = plan.getMappings();
+    final RowMapperFactory rowMapperFactory = configuration.getRowMapperFactory();
+    if (rowMapperFactory != null && !autoMapping.isEmpty()) {
+      final Object resultObject = metaObject.getOriginalObject();
+      final RowMapper rowMapper = plan.getRowMapper(rowMapperFactory, resultMap.getType());
+      if (rowMapper != null && resultMap.getType().isInstance(resultObject)) {
+        return rowMapper.map(rsw.getResultSet(), rsw.getColumnIndexes(plan), resultObject,
+            configuration.isCallSettersOnNulls());
+      }
+    }
     boolean foundValues = false;
     if (!autoMapping.isEmpty()) {
-      for (UnMappedColumnAutoMapping mapping : autoMapping) {
-        final Object value = mapping.typeHandler.getResult(rsw.getResultSet(), mapping.column);
+      final int[] columnIndexes = rsw.getColumnIndexes(plan);
+      for (int i = 0; i < autoMapping.size(); i++) {
+        final UnMappedColumnAutoMapping mapping = autoMapping.get(i);
+        final Object value = getColumnValue(rsw.getResultSet(), mapping.typeHandler, columnIndexes[i], mapping.column);
         if (value != null) {
           foundValues = true;
         }
@@ -1006,9 +1037,20 @@ public class DefaultResultSetHandler implements ResultSetHandler {
       if (executor.isCached(nestedQuery, key)) {
         executor.deferLoad(nestedQuery, metaResultObject, property, key, targetType);
         value = DEFERRED;
+      } else if (!propertyMapping.isLazy() && canLoadInBatch(propertyMapping)) {
+        getBatchResultLoader(propertyMapping).addLoad(nestedQueryParameterObject, metaResultObject, property,
+            targetType);
+        value = DEFERRED;
       } else {
-        final ResultLoader resultLoader = new ResultLoader(configuration, executor, nestedQuery,
-            nestedQueryParameterObject, targetType, key, nestedBoundSql);
+        final ResultLoader resultLoader;
+        if (propertyMapping.isLazy() && propertyMapping.getNestedBatchQueryId() != null
+            && !propertyMapping.isCompositeResult()) {
+          resultLoader = new LazyBatchResultLoader(configuration, executor, nestedQuery, nestedQueryParameterObject,
+              targetType, key, nestedBoundSql, getLazyBatch(propertyMapping));
+        } else {
+          resultLoader = new ResultLoader(configuration, executor, nestedQuery, nestedQueryParameterObject, targetType,
+              key, nestedBoundSql);
+        }
         if (propertyMapping.isLazy()) {
           lazyLoader.addLoader(property, metaResultObject, resultLoader);
           value = DEFERRED;
@@ -1020,6 +1062,41 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     return value;
   }
 
+  private boolean canLoadInBatch(ResultMapping propertyMapping) {
+    // the parent objects must not be handed out before the batch is loaded
+    return propertyMapping.getNestedBatchQueryId() != null && !propertyMapping.isCompositeResult()
+        && resultHandler == null && !cursorResults;
+  }
+
+  private BatchResultLoader getBatchResultLoader(ResultMapping propertyMapping) {
+    return batchResultLoaders
+        .computeIfAbsent(propertyMapping.getNestedBatchQueryId() + ":" + propertyMapping.getBatchKey(),
+            k -> new BatchResultLoader(configuration,
+                configuration.getMappedStatement(propertyMapping.getNestedBatchQueryId()),
+                propertyMapping.getBatchKey()));
+  }
+
+  private LazyBatchResultLoader.Batch getLazyBatch(ResultMapping propertyMapping) {
+    return lazyBatches.computeIfAbsent(propertyMapping.getNestedBatchQueryId() + ":" + propertyMapping.getBatchKey(),
+        k -> new LazyBatchResultLoader.Batch(configuration,
+            configuration.getMappedStatement(propertyMapping.getNestedBatchQueryId()), propertyMapping.getBatchKey()));
+  }
+
+  private void loadBatchResults() throws SQLException {
+    if (batchResultLoaders.isEmpty()) {
+      return;
+    }
+    final List<BatchResultLoader> loaders = new ArrayList<>(batchResultLoaders.values());
+    batchResultLoaders.clear();
+    if (loaders.size() > 1 && configuration.isConcurrentBatchSelects()) {
+      BatchResultLoader.loadConcurrently(configuration, executor, loaders);
+    } else {
+      for (BatchResultLoader loader : loaders) {
+        loader.load(executor);
+      }
+    }
+  }
+
   private Object prepareParameterForNestedQuery(ResultSet rs, ResultMapping resultMapping, Class<?> parameterType,
       String columnPrefix) throws SQLException {
     if (resultMapping.isCompositeResult()) {
@@ -1141,7 +1218,7 @@ public class DefaultResultSetHandler implements ResultSetHandler {
         if (rowValue instanceof PendingConstructorCreation) {
           lastHandledCreation = (PendingConstructorCreation) rowValue;
         }
-      } else if (mappedStatement.isResultOrdered()) {
+      } else if (isResultOrdered()) {
         if (foundNewUniqueRow && rowValue != null) {
           nestedResultObjects.clear();
           storeObject(resultHandler, resultContext, rowValue, parentMapping, resultSet);
@@ -1157,8 +1234,7 @@ public class DefaultResultSetHandler implements ResultSetHandler {
 
     if (useCollectionConstructorInjection && lastHandledCreation != null) {
       createAndStorePendingCreation(resultHandler, resultSet, resultContext, lastHandledCreation);
-    } else if (rowValue != null && mappedStatement.isResultOrdered()
-        && shouldProcessMoreRows(resultContext, rowBounds)) {
+    } else if (rowValue != null && isResultOrdered() && shouldProcessMoreRows(resultContext, rowBounds)) {
       storeObject(resultHandler, resultContext, rowValue, parentMapping, resultSet);
       previousRowValue = null;
     } else if (rowValue != null) {
@@ -1342,13 +1418,17 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     }
   }
 
+  private boolean isResultOrdered() {
+    return mappedStatement.isResultOrdered() || cursorResults;
+  }
+
   private void verifyPendingCreationPreconditions(ResultMapping parentMapping) {
     if (parentMapping != null) {
       throw new ExecutorException(
           "Cannot construct objects with collections in constructors using multiple result sets yet!");
     }
 
-    if (!mappedStatement.isResultOrdered()) {
+    if (!isResultOrdered()) {
       throw new ExecutorException("Cannot reliably construct result if we are not sure the results are ordered "
           + "so that no new previous rows would occur, set resultOrdered on your mapped statement if you have verified this");
     }
@@ -29,6 +29,7 @@ import java.util.Set;
 
 import org.apache.ibatis.io.Resources;
 import org.apache.ibatis.mapping.ResultMap;
+import org.apache.ibatis.mapping.ResultMapping;
 import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.type.JdbcType;
 import org.apache.ibatis.type.ObjectTypeHandler;
@@ -49,10 +50,16 @@ public class ResultSetWrapper {
   private final Map<String, Map<Class<?>, TypeHandler<?>>> typeHandlerMap = new HashMap<>();
   private final Map<String, Set<String>> mappedColumnNamesMap = new HashMap<>();
   private final Map<String, List<String>> unMappedColumnNamesMap = new HashMap<>();
+  private final Map<ResultMap, Map<String, int[]>> propertyColumnIndexesMap = new HashMap<>();
+  private final Map<AutoMappingPlan, int[]> autoMappingColumnIndexesMap = new HashMap<>();
+  private final boolean useColumnIndex;
+  private Map<String, Integer> columnIndexMap;
 
   public ResultSetWrapper(ResultSet rs, Configuration configuration) throws SQLException {
     this.typeHandlerRegistry = configuration.getTypeHandlerRegistry();
     this.resultSet = rs;
+    // the names are only looked up like the driver does when they are the column labels
+    this.useColumnIndex = configuration.isUseColumnIndex() && configuration.isUseColumnLabel();
     final ResultSetMetaData metaData = rs.getMetaData();
     final int columnCount = metaData.getColumnCount();
     for (int i = 1; i <= columnCount; i++) {
@@ -87,6 +94,94 @@ public class ResultSetWrapper {
     return null;
   }
 
+  /**
+   * Gets the index of a column like {@link ResultSet#findColumn(String)} does, i.e. the first column with the given
+   * label, ignoring case.
+   *
+   * @param columnName
+   *          the column label
+   *
+   * @return the index of the column (starting at 1), or 0 if the column is not found or if the columns have to be read
+   *         by name
+   *
+   * @since 3.6.0
+   *
+   * @see Configuration#isUseColumnIndex()
+   */
+  public int getColumnIndex(String columnName) {
+    if (!useColumnIndex || columnName == null) {
+      return 0;
+    }
+    if (columnIndexMap == null) {
+      columnIndexMap = new HashMap<>();
+      for (int i = 0; i < columnNames.size(); i++) {
+        columnIndexMap.putIfAbsent(columnNames.get(i).toUpperCase(Locale.ENGLISH), i + 1);
+      }
+    }
+    Integer index = columnIndexMap.get(columnName.toUpperCase(Locale.ENGLISH));
+    return index == null ? 0 : index;
+  }
+
+  /**
+   * Gets the indexes of the columns of the property mappings of a result map, resolved once per result set.
+   *
+   * @param resultMap
+   *          the result map
+   * @param columnPrefix
+   *          the column prefix, may be {@code null}
+   *
+   * @return the indexes in the order of {@link ResultMap#getPropertyResultMappings()}, see
+   *         {@link #getColumnIndex(String)}
+   */
+  int[] getColumnIndexes(ResultMap resultMap, String columnPrefix) {
+    Map<String, int[]> indexesByPrefix = propertyColumnIndexesMap.get(resultMap);
+    if (indexesByPrefix == null) {
+      indexesByPrefix = new HashMap<>();
+      propertyColumnIndexesMap.put(resultMap, indexesByPrefix);
+    }
+    int[] indexes = indexesByPrefix.get(columnPrefix);
+    if (indexes == null) {
+      final List<ResultMapping> mappings = resultMap.getPropertyResultMappings();
+      indexes = new int[mappings.size()];
+      for (int i = 0; i < indexes.length; i++) {
+        final ResultMapping mapping = mappings.get(i);
+        String column = mapping.getColumn();
+        if (column != null && !column.isEmpty() && columnPrefix != null && !columnPrefix.isEmpty()) {
+          column = columnPrefix + column;
+        }
+        indexes[i] = getColumnIndex(column, mapping.getTypeHandler());
+      }
+      indexesByPrefix.put(columnPrefix, indexes);
+    }
+    return indexes;
+  }
+
+  /**
+   * Gets the indexes of the columns of an auto-mapping plan, resolved once per result set.
+   *
+   * @param plan
+   *          the auto-mapping plan
+   *
+   * @return the indexes in the order of the plan mappings, see {@link #getColumnIndex(String)}
+   */
+  int[] getColumnIndexes(AutoMappingPlan plan) {
+    int[] indexes = autoMappingColumnIndexesMap.get(plan);
+    if (indexes == null) {
+      final List<UnMappedColumnAutoMapping> mappings = plan.getMappings();
+      indexes = new int[mappings.size()];
+      for (int i = 0; i < indexes.length; i++) {
+        indexes[i] = getColumnIndex(mappings.get(i).getColumn(), mappings.get(i).getTypeHandler());
+      }
+      autoMappingColumnIndexesMap.put(plan, indexes);
+    }
+    return indexes;
+  }
+
+  private int getColumnIndex(String column, TypeHandler<?> typeHandler) {
+    // a handler that cannot read by index has its columns read by label
+    return typeHandler == null || typeHandler.isColumnIndexSupported() ? getColumnIndex(column) : 0;
+  }
+
   /**
    * Gets the type handler to use when reading the result set. Tries to get from the TypeHandlerRegistry by searching
    * for the property type. If not found it gets the column JDBC type and tries to get a handler for it.
@@ -0,0 +1,49 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.resultset;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Populates a result object with the auto-mapped columns of the current row.
+ *
+ * @since 3.6.0
+ *
+ * @see RowMapperFactory
+ */
+public interface RowMapper {
+
+  /**
+   * Copies the auto-mapped columns of the current row into the result object.
+   *
+   * @param rs
+   *          the result set positioned on the row to map
+   * @param columnIndexes
+   *          the index of each column in the order of the mappings, or {@code 0} to read the column by label
+   * @param resultObject
+   *          the result object to populate
+   * @param callSettersOnNulls
+   *          whether setters of non primitive properties must be called for null values
+   *
+   * @return true if at least one non null value was found
+   *
+   * @throws SQLException
+   *           if a column could not be read
+   */
+  boolean map(ResultSet rs, int[] columnIndexes, Object resultObject, boolean callSettersOnNulls) throws SQLException;
+
+}
@@ -0,0 +1,43 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.resultset;
+
+import java.util.List;
+
+/**
+ * Creates {@link RowMapper}s that apply auto-mapping plans without going through
+ * {@link org.apache.ibatis.reflection.MetaObject}.
+ * <p>
+ * A row mapper is created once per auto-mapping plan and is shared by all the queries that use the plan. When no row
+ * mapper can be created the reflective mapping is used.
+ *
+ * @since 3.6.0
+ */
+public interface RowMapperFactory {
+
+  /**
+   * Creates a row mapper for the given auto-mappings.
+   *
+   * @param type
+   *          the type of the result objects
+   * @param mappings
+   *          the auto-mappings to apply
+   *
+   * @return the row mapper, or {@code null} if the type or one of the properties is not supported
+   */
+  RowMapper createRowMapper(Class<?> type, List<UnMappedColumnAutoMapping> mappings);
+
+}
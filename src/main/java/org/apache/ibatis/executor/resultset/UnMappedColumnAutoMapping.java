@@ -0,0 +1,60 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.resultset;
+
+import org.apache.ibatis.type.TypeHandler;
+
+/**
+ * A resolved column to property auto-mapping.
+ *
+ * @since 3.6.0
+ */
+public final class UnMappedColumnAutoMapping {
+
+  final String column;
+  final String property;
+  final Class<?> propertyType;
+  final TypeHandler<?> typeHandler;
+  final boolean primitive;
+
+  public UnMappedColumnAutoMapping(String column, String property, Class<?> propertyType, TypeHandler<?> typeHandler) {
+    this.column = column;
+    this.property = property;
+    this.propertyType = propertyType;
+    this.typeHandler = typeHandler;
+    this.primitive = propertyType.isPrimitive();
+  }
+
+  public String getColumn() {
+    return column;
+  }
+
+  public String getProperty() {
+    return property;
+  }
+
+  public Class<?> getPropertyType() {
+    return propertyType;
+  }
+
+  public TypeHandler<?> getTypeHandler() {
+    return typeHandler;
+  }
+
+  public boolean isPrimitive() {
+    return primitive;
+  }
+}
@@ -0,0 +1,265 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.resultset.javassist;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javassist.ClassClassPath;
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.CtField;
+import javassist.CtMethod;
+import javassist.CtNewConstructor;
+import javassist.LoaderClassPath;
+
+import org.apache.ibatis.executor.resultset.RowMapper;
+import org.apache.ibatis.executor.resultset.RowMapperFactory;
+import org.apache.ibatis.executor.resultset.UnMappedColumnAutoMapping;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
+import org.apache.ibatis.reflection.property.PropertyNamer;
+import org.apache.ibatis.type.PrimitiveTypeHandler;
+import org.apache.ibatis.type.TypeHandler;
+
+/**
+ * A {@link RowMapperFactory} that generates, with Javassist, one class per auto-mapping plan. The generated class reads
+ * each column through its {@link TypeHandler}, by index when it is resolved, and calls the setter of the property
+ * directly, instead of going through {@link org.apache.ibatis.reflection.MetaObject} and reflection. Primitive
+ * properties read by index by a {@link PrimitiveTypeHandler} are passed to their setter without being boxed.
+ * <p>
+ * The generated class is defined in the package of the result type, so the result type, its setters and the types of
+ * its properties must not be private. Result types that cannot be handled (maps, nested properties, properties without
+ * an accessible setter...) are mapped by reflection.
+ *
+ * @since 3.6.0
+ */
+public class JavassistRowMapperFactory implements RowMapperFactory {
+
+  private static final Log log = LogFactory.getLog(JavassistRowMapperFactory.class);
+  private static final String CLASS_NAME_SUFFIX = "$$MyBatisRowMapper$$";
+  private static final AtomicInteger counter = new AtomicInteger();
+
+  public JavassistRowMapperFactory() {
+    try {
+      Resources.classForName("javassist.ClassPool");
+    } catch (Throwable e) {
+      throw new IllegalStateException(
+          "Cannot enable generated row mappers because Javassist is not available. Add Javassist to your classpath.",
+          e);
+    }
+  }
+
+  @Override
+  public RowMapper createRowMapper(Class<?> type, List<UnMappedColumnAutoMapping> mappings) {
+    if (!isSupportedType(type)) {
+      return null;
+    }
+    final List<Method> setters = new ArrayList<>(mappings.size());
+    for (UnMappedColumnAutoMapping mapping : mappings) {
+      final Method setter = findSetter(type, mapping.getProperty(), mapping.getPropertyType());
+      if (setter == null) {
+        if (log.isDebugEnabled()) {
+          log.debug("No accessible setter for property '" + mapping.getProperty() + "' of '" + type.getName()
+              + "', using reflection to map it.");
+        }
+        return null;
+      }
+      setters.add(setter);
+    }
+    try {
+      return generate(type, mappings, setters);
+    } catch (Exception | LinkageError e) {
+      if (log.isDebugEnabled()) {
+        log.debug(
+            "Could not generate a row mapper for '" + type.getName() + "', using reflection to map it. Cause: " + e);
+      }
+      return null;
+    }
+  }
+
+  private boolean isSupportedType(Class<?> type) {
+    return type != null && !type.isInterface() && !type.isArray() && !type.isPrimitive()
+        && !Map.class.isAssignableFrom(type) && !Modifier.isPrivate(type.getModifiers())
+        && type.getClassLoader() != null && !type.getName().startsWith("java.");
+  }
+
+  private Method findSetter(Class<?> type, String property, Class<?> propertyType) {
+    if (property.indexOf('.') > -1 || property.indexOf('[') > -1) {
+      return null;
+    }
+    Method candidate = null;
+    for (Method method : type.getMethods()) {
+      if (method.getParameterCount() != 1 || !PropertyNamer.isSetter(method.getName())
+          || !property.equals(PropertyNamer.methodToProperty(method.getName()))) {
+        continue;
+      }
+      final Class<?> parameterType = method.getParameterTypes()[0];
+      if (parameterType.equals(propertyType)) {
+        candidate = method;
+        break;
+      }
+      if (!propertyType.isPrimitive() && parameterType.isAssignableFrom(propertyType)) {
+        candidate = method;
+      }
+    }
+    if (candidate == null || !isAccessible(candidate.getDeclaringClass(), type)
+        || !isAccessible(candidate.getParameterTypes()[0], type)) {
+      return null;
+    }
+    return candidate;
+  }
+
+  private boolean isAccessible(Class<?> target, Class<?> from) {
+    while (target.isArray()) {
+      target = target.getComponentType();
+    }
+    if (target.isPrimitive()) {
+      return true;
+    }
+    final int modifiers = target.getModifiers();
+    if (Modifier.isPrivate(modifiers)) {
+      return false;
+    }
+    return Modifier.isPublic(modifiers)
+        && (target.getEnclosingClass() == null || isAccessible(target.getEnclosingClass(), from))
+        || Objects.equals(target.getPackageName(), from.getPackageName())
+            && target.getClassLoader() == from.getClassLoader();
+  }
+
+  private RowMapper generate(Class<?> type, List<UnMappedColumnAutoMapping> mappings, List<Method> setters)
+      throws Exception {
+    final ClassPool pool = new ClassPool(true);
+    pool.appendClassPath(new LoaderClassPath(type.getClassLoader()));
+    pool.appendClassPath(new ClassClassPath(RowMapper.class));
+
+    final CtClass ctClass = pool.makeClass(type.getName() + CLASS_NAME_SUFFIX + counter.incrementAndGet());
+    try {
+      ctClass.addInterface(pool.get(RowMapper.class.getName()));
+      ctClass.addField(CtField.make("private " + TypeHandler.class.getName() + "[] handlers;", ctClass));
+      ctClass.addField(CtField.make("private String[] columns;", ctClass));
+      ctClass
+          .addConstructor(CtNewConstructor.make(
+              "public " + ctClass.getSimpleName() + "(" + TypeHandler.class.getName()
+                  + "[] handlers, String[] columns) { this.handlers = handlers;" + " this.columns = columns; }",
+              ctClass));
+      ctClass.addMethod(CtMethod.make(mapMethodSource(type, mappings, setters), ctClass));
+
+      final Class<?> rowMapperClass = ctClass.toClass(type);
+      final TypeHandler<?>[] handlers = new TypeHandler<?>[mappings.size()];
+      final String[] columns = new String[mappings.size()];
+      for (int i = 0; i < mappings.size(); i++) {
+        handlers[i] = mappings.get(i).getTypeHandler();
+        columns[i] = mappings.get(i).getColumn();
+      }
+      return (RowMapper) rowMapperClass.getConstructor(TypeHandler[].class, String[].class).newInstance(handlers,
+          columns);
+    } finally {
+      ctClass.detach();
+    }
+  }
+
+  private String mapMethodSource(Class<?> type, List<UnMappedColumnAutoMapping> mappings, List<Method> setters) {
+    final String typeName = sourceName(type);
+    final StringBuilder source = new StringBuilder();
+    source.append("public boolean map(").append(ResultSet.class.getName())
+        .append(" rs, int[] columnIndexes, Object resultObject, boolean callSettersOnNulls)")
+        .append(" throws java.sql.SQLException {\n");
+    source.append(typeName).append(" target = (").append(typeName).append(") resultObject;\n");
+    source.append("boolean found = false;\n");
+    source.append("Object value;\n");
+    for (int i = 0; i < mappings.size(); i++) {
+      final Method setter = setters.get(i);
+      final Class<?> parameterType = setter.getParameterTypes()[0];
+      if (PrimitiveTypeHandler.supports(mappings.get(i).getTypeHandler(), parameterType)) {
+        source.append("if (columnIndexes[").append(i).append("] > 0) {\n");
+        appendPrimitiveMapping(source, i, setter, parameterType);
+        source.append("} else {\n");
+        appendMapping(source, i, setter, parameterType);
+        source.append("}\n");
+      } else {
+        appendMapping(source, i, setter, parameterType);
+      }
+    }
+    source.append("return found;\n");
+    source.append('}');
+    return source.toString();
+  }
+
+  private void appendMapping(StringBuilder source, int index, Method setter, Class<?> parameterType) {
+    source.append("if (columnIndexes[").append(index).append("] > 0) {\n");
+    source.append("value = this.handlers[").append(index).append("].getResult(rs, columnIndexes[").append(index)
+        .append("]);\n");
+    source.append("} else {\n");
+    source.append("value = this.handlers[").append(index).append("].getResult(rs, this.columns[").append(index)
+        .append("]);\n");
+    source.append("}\n");
+    source.append("if (value != null) {\n");
+    source.append("found = true;\n");
+    source.append("target.").append(setter.getName()).append('(').append(unboxedValue(parameterType)).append(");\n");
+    source.append('}');
+    if (!parameterType.isPrimitive()) {
+      source.append(" else if (callSettersOnNulls) {\n");
+      source.append("target.").append(setter.getName()).append("((").append(sourceName(parameterType))
+          .append(") null);\n");
+      source.append('}');
+    }
+    source.append('\n');
+  }
+
+  private void appendPrimitiveMapping(StringBuilder source, int index, Method setter, Class<?> parameterType) {
+    final String name = parameterType.getName();
+    final String variable = name + "Value" + index;
+    source.append(name).append(' ').append(variable).append(" = ((").append(PrimitiveTypeHandler.class.getName())
+        .append(") this.handlers[").append(index).append("]).get").append(Character.toUpperCase(name.charAt(0)))
+        .append(name.substring(1)).append("(rs, columnIndexes[").append(index).append("]);\n");
+    source.append("if (").append(variable).append(" != 0 || !rs.wasNull()) {\n");
+    source.append("found = true;\n");
+    source.append("target.").append(setter.getName()).append('(').append(variable).append(");\n");
+    source.append("}\n");
+  }
+
+  private String unboxedValue(Class<?> parameterType) {
+    if (!parameterType.isPrimitive()) {
+      return "(" + sourceName(parameterType) + ") value";
+    }
+    final String wrapper;
+    if (parameterType == int.class) {
+      wrapper = Integer.class.getName();
+    } else if (parameterType == char.class) {
+      wrapper = Character.class.getName();
+    } else {
+      final String name = parameterType.getName();
+      wrapper = "java.lang." + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+    return "((" + wrapper + ") value)." + parameterType.getName() + "Value()";
+  }
+
+  private String sourceName(Class<?> type) {
+    if (type.isArray()) {
+      return sourceName(type.getComponentType()) + "[]";
+    }
+    return type.getName();
+  }
+
+}
@@ -0,0 +1,219 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.statement;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The prepared statements of a connection, keyed by their SQL and evicted in least recently used order. A statement
+ * whose result set is still open, e.g. read by a {@link org.apache.ibatis.cursor.Cursor}, is not evicted, so the cache
+ * may hold more statements than its maximum size until that result set is closed.
+ * <p>
+ * A cache is used by one session at a time, but it may be closed by the data source that keeps it while its connection
+ * is claimed by another owner.
+ *
+ * @since 3.6.0
+ */
+public class StatementCache implements AutoCloseable {
+
+  private final int maxSize;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Map<String, Statement> statements = new LinkedHashMap<>(16, 0.75f, true);
+  private long hits;
+  private long misses;
+  private long evictions;
+
+  /**
+   * Creates a cache.
+   *
+   * @param maxSize
+   *          the maximum number of statements to keep open, {@code 0} or less for no limit
+   */
+  public StatementCache(int maxSize) {
+    this.maxSize = maxSize;
+  }
+
+  public int getMaxSize() {
+    return maxSize;
+  }
+
+  /**
+   * Returns the open statement of the SQL.
+   *
+   * @param sql
+   *          the SQL
+   *
+   * @return the statement, {@code null} if there is none or if it was closed
+   */
+  public Statement get(String sql) {
+    lock.lock();
+    try {
+      Statement statement = statements.get(sql);
+      if (statement != null) {
+        if (isOpen(statement)) {
+          hits++;
+          return statement;
+        }
+        statements.remove(sql);
+      }
+      misses++;
+      return null;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Adds the statement of the SQL, closing the least recently used statements beyond the maximum size.
+   *
+   * @param sql
+   *          the SQL
+   * @param statement
+   *          the statement
+   */
+  public void put(String sql, Statement statement) {
+    final List<Statement> evicted = new ArrayList<>();
+    lock.lock();
+    try {
+      Statement previous = statements.put(sql, statement);
+      if (previous != null && previous != statement) {
+        evicted.add(previous);
+      }
+      if (maxSize > 0) {
+        Iterator<Statement> eldest = statements.values().iterator();
+        while (statements.size() > maxSize && eldest.hasNext()) {
+          Statement candidate = eldest.next();
+          if (candidate != statement && !isReading(candidate)) {
+            eldest.remove();
+            evicted.add(candidate);
+            evictions++;
+          }
+        }
+      }
+    } finally {
+      lock.unlock();
+    }
+    evicted.forEach(StatementCache::close);
+  }
+
+  /**
+   * Closes and removes all the statements.
+   */
+  public void clear() {
+    final List<Statement> removed;
+    lock.lock();
+    try {
+      removed = new ArrayList<>(statements.values());
+      statements.clear();
+    } finally {
+      lock.unlock();
+    }
+    removed.forEach(StatementCache::close);
+  }
+
+  /**
+   * Closes all the statements, like {@link #clear()}.
+   */
+  @Override
+  public void close() {
+    clear();
+  }
+
+  public int size() {
+    lock.lock();
+    try {
+      return statements.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Returns the number of lookups that found an open statement.
+   *
+   * @return the number of hits
+   */
+  public long getHits() {
+    lock.lock();
+    try {
+      return hits;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Returns the number of lookups that had to prepare a new statement.
+   *
+   * @return the number of misses
+   */
+  public long getMisses() {
+    lock.lock();
+    try {
+      return misses;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Returns the number of statements closed to respect the maximum size.
+   *
+   * @return the number of evictions
+   */
+  public long getEvictions() {
+    lock.lock();
+    try {
+      return evictions;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private static boolean isOpen(Statement statement) {
+    try {
+      return !statement.isClosed() && !statement.getConnection().isClosed();
+    } catch (SQLException e) {
+      return false;
+    }
+  }
+
+  private static boolean isReading(Statement statement) {
+    try {
+      ResultSet resultSet = statement.getResultSet();
+      return resultSet != null && !resultSet.isClosed();
+    } catch (SQLException e) {
+      return false;
+    }
+  }
+
+  private static void close(Statement statement) {
+    try {
+      statement.close();
+    } catch (SQLException e) {
+      // ignore
+    }
+  }
+
+}
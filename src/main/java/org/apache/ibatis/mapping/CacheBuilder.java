@@ -24,6 +24,7 @@ import java.util.Properties;
 import org.apache.ibatis.builder.InitializingObject;
 import org.apache.ibatis.cache.Cache;
 import org.apache.ibatis.cache.CacheException;
+import org.apache.ibatis.cache.CacheSerializer;
 import org.apache.ibatis.cache.decorators.BlockingCache;
 import org.apache.ibatis.cache.decorators.LoggingCache;
 import org.apache.ibatis.cache.decorators.LruCache;
@@ -31,6 +32,9 @@ import org.apache.ibatis.cache.decorators.ScheduledCache;
 import org.apache.ibatis.cache.decorators.SerializedCache;
 import org.apache.ibatis.cache.decorators.SynchronizedCache;
 import org.apache.ibatis.cache.impl.PerpetualCache;
+import org.apache.ibatis.cache.serializer.JavaCacheSerializer;
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
 import org.apache.ibatis.reflection.MetaObject;
 import org.apache.ibatis.reflection.SystemMetaObject;
 
@@ -38,12 +42,15 @@ import org.apache.ibatis.reflection.SystemMetaObject;
  * @author Clinton Begin
  */
 public class CacheBuilder {
+  private static final Log log = LogFactory.getLog(CacheBuilder.class);
+
   private final String id;
   private Class<? extends Cache> implementation;
   private final List<Class<? extends Cache>> decorators;
   private Integer size;
   private Long clearInterval;
   private boolean readWrite;
+  private Class<? extends CacheSerializer> serializer;
   private Properties properties;
   private boolean blocking;
 
@@ -79,6 +86,21 @@ public class CacheBuilder {
     return this;
   }
 
+  /**
+   * Sets the serializer used to copy the values of a read/write cache.
+   *
+   * @param serializer
+   *          the serializer class, {@code null} for the Java serialization
+   *
+   * @return this builder
+   *
+   * @since 3.6.0
+   */
+  public CacheBuilder serializer(Class<? extends CacheSerializer> serializer) {
+    this.serializer = serializer;
+    return this;
+  }
+
   public CacheBuilder blocking(boolean blocking) {
     this.blocking = blocking;
     return this;
@@ -125,11 +147,18 @@ public class CacheBuilder {
         cache = new ScheduledCache(cache);
         ((ScheduledCache) cache).setClearInterval(clearInterval);
       }
+      if (!readWrite && serializer != null && serializer != JavaCacheSerializer.class) {
+        log.warn("The serializer " + serializer.getName() + " of the cache " + id
+            + " is ignored because the cache is read-only.");
+      }
       if (readWrite) {
-        cache = new SerializedCache(cache);
+        cache = serializer == null ? new SerializedCache(cache)
+            : new SerializedCache(cache, newSerializerInstance(serializer));
       }
       cache = new LoggingCache(cache);
-      cache = new SynchronizedCache(cache);
+      if (!cache.isThreadSafe()) {
+        cache = new SynchronizedCache(cache);
+      }
       if (blocking) {
         cache = new BlockingCache(cache);
       }
@@ -139,6 +168,14 @@ public class CacheBuilder {
     }
   }
 
+  private CacheSerializer newSerializerInstance(Class<? extends CacheSerializer> serializerClass) {
+    try {
+      return serializerClass.getDeclaredConstructor().newInstance();
+    } catch (Exception e) {
+      throw new CacheException("Could not instantiate cache serializer (" + serializerClass + "). Cause: " + e, e);
+    }
+  }
+
   private void setCacheProperties(Cache cache) {
     if (properties != null) {
       MetaObject metaCache = SystemMetaObject.forObject(cache);
@@ -220,6 +220,32 @@ public class ParameterMapping {
     return value != UNSET;
   }
 
+  /**
+   * Returns a copy of this parameter mapping that holds the given value.
+   *
+   * @param value
+   *          the value
+   *
+   * @return the copy
+   *
+   * @since 3.6.0
+   */
+  public ParameterMapping withValue(Object value) {
+    ParameterMapping copy = new ParameterMapping();
+    copy.configuration = configuration;
+    copy.property = property;
+    copy.mode = mode;
+    copy.javaType = javaType;
+    copy.jdbcType = jdbcType;
+    copy.numericScale = numericScale;
+    copy.typeHandler = typeHandler;
+    copy.resultMapId = resultMapId;
+    copy.jdbcTypeName = jdbcTypeName;
+    copy.expression = expression;
+    copy.value = value;
+    return copy;
+  }
+
   @Override
   public String toString() {
     final StringBuilder sb = new StringBuilder("ParameterMapping{");
@@ -45,6 +45,8 @@ public class ResultMapping {
   private String resultSet;
   private String foreignColumn;
   private boolean lazy;
+  private String nestedBatchQueryId;
+  private String batchKey;
 
   ResultMapping() {
   }
@@ -89,6 +91,8 @@ public class ResultMapping {
       resultMapping.resultSet = otherMapping.resultSet;
       resultMapping.foreignColumn = otherMapping.foreignColumn;
       resultMapping.lazy = otherMapping.lazy;
+      resultMapping.nestedBatchQueryId = otherMapping.nestedBatchQueryId;
+      resultMapping.batchKey = otherMapping.batchKey;
     }
 
     public Builder javaType(Class<?> javaType) {
@@ -151,6 +155,36 @@ public class ResultMapping {
       return this;
     }
 
+    /**
+     * Sets the statement that loads the nested query of many parent rows at once.
+     *
+     * @param nestedBatchQueryId
+     *          the id of a statement taking the list of the keys of the nested query
+     *
+     * @return this builder
+     *
+     * @since 3.6.0
+     */
+    public Builder nestedBatchQueryId(String nestedBatchQueryId) {
+      resultMapping.nestedBatchQueryId = nestedBatchQueryId;
+      return this;
+    }
+
+    /**
+     * Sets the property of the objects returned by the batch statement that holds the key of their parent.
+     *
+     * @param batchKey
+     *          the property name
+     *
+     * @return this builder
+     *
+     * @since 3.6.0
+     */
+    public Builder batchKey(String batchKey) {
+      resultMapping.batchKey = batchKey;
+      return this;
+    }
+
     public ResultMapping build() {
       // lock down collections
       resultMapping.flags = Collections.unmodifiableList(resultMapping.flags);
@@ -176,6 +210,11 @@ public class ResultMapping {
           && resultMapping.composites.isEmpty()) {
         throw new IllegalStateException("Mapping is missing column attribute for property " + resultMapping.property);
       }
+      if (resultMapping.nestedBatchQueryId != null
+          && (resultMapping.nestedQueryId == null || resultMapping.batchKey == null)) {
+        throw new IllegalStateException(
+            "A batch select requires both a select and a batchKey in property " + resultMapping.property);
+      }
       if (resultMapping.getResultSet() != null) {
         int numColumns = 0;
         if (resultMapping.column != null) {
@@ -276,6 +315,28 @@ public class ResultMapping {
     this.lazy = lazy;
   }
 
+  /**
+   * Gets the id of the statement loading the nested query of many parent rows at once.
+   *
+   * @return the statement id, or {@code null} if the nested query is run for each parent row
+   *
+   * @since 3.6.0
+   */
+  public String getNestedBatchQueryId() {
+    return nestedBatchQueryId;
+  }
+
+  /**
+   * Gets the property of the objects returned by the batch statement that holds the key of their parent.
+   *
+   * @return the property name
+   *
+   * @since 3.6.0
+   */
+  public String getBatchKey() {
+    return batchKey;
+  }
+
   public boolean isSimple() {
     return this.nestedResultMapId == null && this.nestedQueryId == null && this.resultSet == null;
   }
@@ -324,6 +385,8 @@ public class ResultMapping {
     sb.append(", resultSet='").append(resultSet).append('\'');
     sb.append(", foreignColumn='").append(foreignColumn).append('\'');
     sb.append(", lazy=").append(lazy);
+    sb.append(", nestedBatchQueryId='").append(nestedBatchQueryId).append('\'');
+    sb.append(", batchKey='").append(batchKey).append('\'');
     sb.append('}');
     return sb.toString();
   }
@@ -18,11 +18,39 @@ package org.apache.ibatis.reflection;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
+import org.apache.ibatis.reflection.invoker.DefaultInvokerFactory;
+import org.apache.ibatis.reflection.invoker.InvokerFactory;
+
 public class DefaultReflectorFactory implements ReflectorFactory {
   private boolean classCacheEnabled = true;
   private final ConcurrentMap<Class<?>, Reflector> reflectorMap = new ConcurrentHashMap<>();
+  private final InvokerFactory invokerFactory;
 
   public DefaultReflectorFactory() {
+    this(new DefaultInvokerFactory());
+  }
+
+  /**
+   * Instantiates a new reflector factory that creates the property invokers with the given factory.
+   *
+   * @param invokerFactory
+   *          the invoker factory
+   *
+   * @since 3.6.0
+   */
+  public DefaultReflectorFactory(InvokerFactory invokerFactory) {
+    this.invokerFactory = invokerFactory;
+  }
+
+  /**
+   * Gets the invoker factory.
+   *
+   * @return the invoker factory
+   *
+   * @since 3.6.0
+   */
+  public InvokerFactory getInvokerFactory() {
+    return invokerFactory;
   }
 
   @Override
@@ -39,9 +67,13 @@ public class DefaultReflectorFactory implements ReflectorFactory {
   public Reflector findForClass(Class<?> type) {
     if (classCacheEnabled) {
       // synchronized (type) removed see issue #461
-      return reflectorMap.computeIfAbsent(type, Reflector::new);
+      return reflectorMap.computeIfAbsent(type, this::createReflector);
     }
-    return new Reflector(type);
+    return createReflector(type);
+  }
+
+  private Reflector createReflector(Class<?> type) {
+    return new Reflector(type, invokerFactory);
   }
 
 }
@@ -0,0 +1,61 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection.invoker;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+/**
+ * Creates the {@link Invoker}s used by a {@link org.apache.ibatis.reflection.Reflector} to access properties.
+ *
+ * @since 3.6.0
+ *
+ * @see DefaultInvokerFactory
+ * @see LambdaInvokerFactory
+ */
+public interface InvokerFactory {
+
+  /**
+   * Creates an invoker for a getter (no parameter) or a setter (one parameter) method.
+   *
+   * @param method
+   *          the getter or setter method
+   *
+   * @return the invoker
+   */
+  Invoker createMethodInvoker(Method method);
+
+  /**
+   * Creates an invoker that reads a field.
+   *
+   * @param field
+   *          the field
+   *
+   * @return the invoker
+   */
+  Invoker createGetFieldInvoker(Field field);
+
+  /**
+   * Creates an invoker that writes a field.
+   *
+   * @param field
+   *          the field
+   *
+   * @return the invoker
+   */
+  Invoker createSetFieldInvoker(Field field);
+
+}
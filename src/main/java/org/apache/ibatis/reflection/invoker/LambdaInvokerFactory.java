@@ -0,0 +1,218 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection.invoker;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
+import org.apache.ibatis.reflection.Reflector;
+
+/**
+ * Creates invokers that the JIT compiler can inline.
+ * <p>
+ * Public getters and setters of public types visible from MyBatis are bound to a {@link Function} or a
+ * {@link BiConsumer} spun by the {@link LambdaMetafactory}. Other methods and fields are accessed through a
+ * {@link MethodHandle}. When neither is possible (e.g. the member is not accessible) the reflective invokers of
+ * {@link DefaultInvokerFactory} are used.
+ *
+ * @since 3.6.0
+ */
+public class LambdaInvokerFactory extends DefaultInvokerFactory {
+
+  private static final Log log = LogFactory.getLog(LambdaInvokerFactory.class);
+
+  private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+  @Override
+  public Invoker createMethodInvoker(Method method) {
+    final Invoker reflectiveInvoker = super.createMethodInvoker(method);
+    if (method.getParameterCount() > 1) {
+      return reflectiveInvoker;
+    }
+    try {
+      final MethodHandle handle = unreflect(method);
+      final boolean setter = method.getParameterCount() == 1;
+      if (canSpinLambda(method)) {
+        try {
+          return setter ? new LambdaSetterInvoker(spinSetter(method, handle), reflectiveInvoker)
+              : new LambdaGetterInvoker(spinGetter(method, handle), reflectiveInvoker.getType());
+        } catch (Throwable e) {
+          debug(method, e);
+        }
+      }
+      return new MethodHandleInvoker(toInvokerHandle(handle, Modifier.isStatic(method.getModifiers())),
+          reflectiveInvoker.getType(), setter ? reflectiveInvoker : null);
+    } catch (Throwable e) {
+      debug(method, e);
+      return reflectiveInvoker;
+    }
+  }
+
+  @Override
+  public Invoker createGetFieldInvoker(Field field) {
+    final Invoker reflectiveInvoker = super.createGetFieldInvoker(field);
+    try {
+      return new MethodHandleInvoker(toInvokerHandle(unreflectGetter(field), Modifier.isStatic(field.getModifiers())),
+          field.getType(), null);
+    } catch (Throwable e) {
+      debug(field, e);
+      return reflectiveInvoker;
+    }
+  }
+
+  @Override
+  public Invoker createSetFieldInvoker(Field field) {
+    final Invoker reflectiveInvoker = super.createSetFieldInvoker(field);
+    try {
+      return new MethodHandleInvoker(toInvokerHandle(unreflectSetter(field), Modifier.isStatic(field.getModifiers())),
+          field.getType(), reflectiveInvoker);
+    } catch (Throwable e) {
+      debug(field, e);
+      return reflectiveInvoker;
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Function<Object, Object> spinGetter(Method method, MethodHandle handle) throws Throwable {
+    final CallSite callSite = LambdaMetafactory.metafactory(LOOKUP, "apply", MethodType.methodType(Function.class),
+        MethodType.methodType(Object.class, Object.class), handle,
+        MethodType.methodType(wrap(method.getReturnType()), method.getDeclaringClass()));
+    return (Function<Object, Object>) callSite.getTarget().invokeExact();
+  }
+
+  @SuppressWarnings("unchecked")
+  private static BiConsumer<Object, Object> spinSetter(Method method, MethodHandle handle) throws Throwable {
+    final CallSite callSite = LambdaMetafactory.metafactory(LOOKUP, "accept", MethodType.methodType(BiConsumer.class),
+        MethodType.methodType(void.class, Object.class, Object.class), handle,
+        MethodType.methodType(void.class, method.getDeclaringClass(), wrap(method.getParameterTypes()[0])));
+    return (BiConsumer<Object, Object>) callSite.getTarget().invokeExact();
+  }
+
+  /**
+   * Adapts a method or field handle to the {@code (Object, Object[])Object} shape of {@link Invoker#invoke}.
+   */
+  private static MethodHandle toInvokerHandle(MethodHandle handle, boolean isStatic) {
+    if (isStatic) {
+      handle = MethodHandles.dropArguments(handle, 0, Object.class);
+    }
+    final int argumentCount = handle.type().parameterCount() - 1;
+    return handle.asType(MethodType.genericMethodType(argumentCount + 1)).asSpreader(Object[].class, argumentCount);
+  }
+
+  /**
+   * The spun class is defined in the class loader of MyBatis, so the method and all the types it refers to must be
+   * public and visible from there.
+   */
+  private static boolean canSpinLambda(Method method) {
+    if (Modifier.isStatic(method.getModifiers()) || !Modifier.isPublic(method.getModifiers())
+        || !isAccessible(method.getDeclaringClass()) || !isAccessible(method.getReturnType())) {
+      return false;
+    }
+    for (Class<?> parameterType : method.getParameterTypes()) {
+      if (!isAccessible(parameterType)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isAccessible(Class<?> type) {
+    while (type.isArray()) {
+      type = type.getComponentType();
+    }
+    if (type.isPrimitive()) {
+      return true;
+    }
+    for (Class<?> current = type; current != null; current = current.getEnclosingClass()) {
+      if (!Modifier.isPublic(current.getModifiers())) {
+        return false;
+      }
+    }
+    if (!type.getModule().isExported(type.getPackageName(), LOOKUP.lookupClass().getModule())) {
+      return false;
+    }
+    try {
+      return Class.forName(type.getName(), false, LOOKUP.lookupClass().getClassLoader()) == type;
+    } catch (ClassNotFoundException | LinkageError e) {
+      return false;
+    }
+  }
+
+  private static Class<?> wrap(Class<?> type) {
+    return MethodType.methodType(type).wrap().returnType();
+  }
+
+  private static MethodHandles.Lookup lookupFor(Class<?> type) {
+    try {
+      return MethodHandles.privateLookupIn(type, LOOKUP);
+    } catch (IllegalAccessException | SecurityException e) {
+      return LOOKUP;
+    }
+  }
+
+  private static MethodHandle unreflect(Method method) throws IllegalAccessException {
+    try {
+      return lookupFor(method.getDeclaringClass()).unreflect(method);
+    } catch (IllegalAccessException e) {
+      if (!Reflector.canControlMemberAccessible()) {
+        throw e;
+      }
+      method.setAccessible(true);
+      return LOOKUP.unreflect(method);
+    }
+  }
+
+  private static MethodHandle unreflectGetter(Field field) throws IllegalAccessException {
+    try {
+      return lookupFor(field.getDeclaringClass()).unreflectGetter(field);
+    } catch (IllegalAccessException e) {
+      if (!Reflector.canControlMemberAccessible()) {
+        throw e;
+      }
+      field.setAccessible(true);
+      return LOOKUP.unreflectGetter(field);
+    }
+  }
+
+  private static MethodHandle unreflectSetter(Field field) throws IllegalAccessException {
+    try {
+      return lookupFor(field.getDeclaringClass()).unreflectSetter(field);
+    } catch (IllegalAccessException e) {
+      if (!Reflector.canControlMemberAccessible()) {
+        throw e;
+      }
+      field.setAccessible(true);
+      return LOOKUP.unreflectSetter(field);
+    }
+  }
+
+  private static void debug(Object member, Throwable e) {
+    if (log.isDebugEnabled()) {
+      log.debug("Falling back to a slower invoker for '" + member + "'. Cause: " + e);
+    }
+  }
+
+}
@@ -0,0 +1,59 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection.invoker;
+
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.util.function.BiConsumer;
+
+/**
+ * Invokes a setter through a consumer spun by the {@link java.lang.invoke.LambdaMetafactory}. Arguments that would need
+ * a widening conversion (or a {@code null} for a primitive) are passed to the reflective invoker, so that the behavior
+ * is the same as {@link MethodInvoker}.
+ */
+final class LambdaSetterInvoker implements Invoker {
+
+  private final BiConsumer<Object, Object> setter;
+  private final Invoker reflectiveInvoker;
+  private final Class<?> argumentType;
+  private final boolean primitive;
+
+  LambdaSetterInvoker(BiConsumer<Object, Object> setter, Invoker reflectiveInvoker) {
+    this.setter = setter;
+    this.reflectiveInvoker = reflectiveInvoker;
+    this.argumentType = MethodType.methodType(reflectiveInvoker.getType()).wrap().returnType();
+    this.primitive = reflectiveInvoker.getType().isPrimitive();
+  }
+
+  @Override
+  public Object invoke(Object target, Object[] args) throws IllegalAccessException, InvocationTargetException {
+    final Object value = args[0];
+    if (value == null ? primitive : !argumentType.isInstance(value)) {
+      return reflectiveInvoker.invoke(target, args);
+    }
+    try {
+      setter.accept(target, value);
+    } catch (Throwable t) {
+      throw new InvocationTargetException(t);
+    }
+    return null;
+  }
+
+  @Override
+  public Class<?> getType() {
+    return reflectiveInvoker.getType();
+  }
+}
@@ -0,0 +1,70 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection.invoker;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * Invokes a method or accesses a field through a {@link MethodHandle} adapted to {@code (Object, Object[])Object}.
+ * Setter arguments that would need a widening conversion (or a {@code null} for a primitive) are passed to the
+ * reflective invoker, so that the behavior is the same as the reflective invokers.
+ */
+final class MethodHandleInvoker implements Invoker {
+
+  private final MethodHandle handle;
+  private final Class<?> type;
+  private final Invoker reflectiveInvoker;
+  private final Class<?> argumentType;
+  private final boolean primitive;
+
+  /**
+   * @param handle
+   *          the adapted handle
+   * @param type
+   *          the property type
+   * @param reflectiveSetterInvoker
+   *          the reflective invoker of a setter, or {@code null} for a getter
+   */
+  MethodHandleInvoker(MethodHandle handle, Class<?> type, Invoker reflectiveSetterInvoker) {
+    this.handle = handle;
+    this.type = type;
+    this.reflectiveInvoker = reflectiveSetterInvoker;
+    this.argumentType = reflectiveSetterInvoker == null ? null : MethodType.methodType(type).wrap().returnType();
+    this.primitive = type.isPrimitive();
+  }
+
+  @Override
+  public Object invoke(Object target, Object[] args) throws IllegalAccessException, InvocationTargetException {
+    if (argumentType != null) {
+      final Object value = args[0];
+      if (value == null ? primitive : !argumentType.isInstance(value)) {
+        return reflectiveInvoker.invoke(target, args);
+      }
+    }
+    try {
+      return (Object) handle.invokeExact(target, args);
+    } catch (Throwable t) {
+      throw new InvocationTargetException(t);
+    }
+  }
+
+  @Override
+  public Class<?> getType() {
+    return type;
+  }
+}
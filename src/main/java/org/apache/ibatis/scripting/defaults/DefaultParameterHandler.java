@@ -62,6 +62,21 @@ public class DefaultParameterHandler implements ParameterHandler {
 
   @Override
   public void setParameters(PreparedStatement ps) {
+    setParameters(ps, 1);
+  }
+
+  /**
+   * Sets the parameters to the placeholders that start at the given index. This lets many parameter objects fill the
+   * placeholders of one statement, e.g. the rows of a multi-row insert.
+   *
+   * @param ps
+   *          the statement
+   * @param firstIndex
+   *          the index of the first placeholder of these parameters
+   *
+   * @since 3.6.0
+   */
+  public void setParameters(PreparedStatement ps, int firstIndex) {
     ErrorContext.instance().activity("setting parameters").object(mappedStatement.getParameterMap().getId());
     List<ParameterMapping> parameterMappings = boundSql.getParameterMappings();
     if (parameterMappings != null) {
@@ -75,7 +90,7 @@ public class DefaultParameterHandler implements ParameterHandler {
             jdbcType = configuration.getJdbcTypeForNull();
           }
           try {
-            typeHandler.setParameter(ps, i + 1, value, jdbcType);
+            typeHandler.setParameter(ps, firstIndex + i, value, jdbcType);
           } catch (TypeException | SQLException e) {
             throw new TypeException("Could not set parameters for mapping: " + parameterMapping + ". Cause: " + e, e);
           }
@@ -0,0 +1,612 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.scripting.xmltags;
+
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.ibatis.reflection.DefaultReflectorFactory;
+import org.apache.ibatis.reflection.Reflector;
+import org.apache.ibatis.reflection.ReflectorFactory;
+import org.apache.ibatis.reflection.invoker.Invoker;
+import org.apache.ibatis.reflection.invoker.MethodInvoker;
+import org.apache.ibatis.scripting.xmltags.DynamicContext.ContextMap;
+
+/**
+ * An {@link ExpressionEngine} that compiles the common subset of OGNL used in dynamic SQL into a tree of evaluators,
+ * and interprets anything else with OGNL.
+ * <p>
+ * The compiled subset is made of property paths, the {@code null}/{@code true}/{@code false} literals, integer and
+ * string literals, the {@code ==}, {@code !=}, {@code <}, {@code <=}, {@code >}, {@code >=}, {@code &&}, {@code ||} and
+ * {@code !} operators (and their {@code eq}, {@code neq}, {@code lt}, {@code lte}, {@code gt}, {@code gte},
+ * {@code and}, {@code or} and {@code not} aliases), and the {@code size()}, {@code isEmpty()}, {@code length()},
+ * {@code trim()} and {@code toString()} methods. Bean properties are read through the getters resolved by
+ * {@link Reflector}, which are cached per expression and per class.
+ * <p>
+ * The compiled form gives the same results as OGNL: when a value needs a conversion it does not implement (e.g. a
+ * comparison between a string and a number) or when the evaluation fails, the expression is evaluated by OGNL instead,
+ * which also reports the errors.
+ *
+ * @since 3.6.0
+ */
+public class CompiledExpressionEngine implements ExpressionEngine {
+
+  private static final Node NOT_COMPILED = root -> {
+    throw Unsupported.INSTANCE;
+  };
+
+  private final ReflectorFactory reflectorFactory = new DefaultReflectorFactory();
+  private final Map<String, Node> expressions = new ConcurrentHashMap<>();
+
+  @Override
+  public Object getValue(String expression, Object root) {
+    Node node = expressions.computeIfAbsent(expression, this::compile);
+    if (node != NOT_COMPILED) {
+      try {
+        return node.getValue(root);
+      } catch (RuntimeException e) {
+        // let OGNL convert the values or report the error
+      }
+    }
+    return OgnlCache.getValue(expression, root);
+  }
+
+  /**
+   * Returns whether an expression is supported by the compiled form.
+   *
+   * @param expression
+   *          the expression
+   *
+   * @return true if the expression has been compiled
+   */
+  boolean isCompiled(String expression) {
+    return expressions.computeIfAbsent(expression, this::compile) != NOT_COMPILED;
+  }
+
+  private Node compile(String expression) {
+    try {
+      return new Parser(expression).parse();
+    } catch (Unsupported e) {
+      return NOT_COMPILED;
+    }
+  }
+
+  private Object getProperty(Object target, String name, Property property) {
+    if (target instanceof ContextMap) {
+      // same as DynamicContext.ContextAccessor
+      Map<?, ?> map = (Map<?, ?>) target;
+      Object result = map.get(name);
+      if (result != null || map.containsKey(name)) {
+        return result;
+      }
+      Object parameterObject = map.get(DynamicContext.PARAMETER_OBJECT_KEY);
+      return parameterObject instanceof Map ? ((Map<?, ?>) parameterObject).get(name) : null;
+    }
+    if (target instanceof Map) {
+      if (Accessors.MAP_PROPERTIES.contains(name)) {
+        throw Unsupported.INSTANCE;
+      }
+      return ((Map<?, ?>) target).get(name);
+    }
+    if (target instanceof List || target instanceof Set) {
+      if ("size".equals(name)) {
+        return ((Collection<?>) target).size();
+      }
+      if ("isEmpty".equals(name)) {
+        return ((Collection<?>) target).isEmpty();
+      }
+      throw Unsupported.INSTANCE;
+    }
+    if (target == null || target instanceof Collection || target instanceof Iterator || target instanceof Enumeration) {
+      throw Unsupported.INSTANCE;
+    }
+    if (target.getClass().isArray()) {
+      if ("length".equals(name)) {
+        return Array.getLength(target);
+      }
+      throw Unsupported.INSTANCE;
+    }
+    Getter getter = property.getter;
+    if (getter == null || getter.type != target.getClass()) {
+      getter = resolveGetter(target.getClass(), name);
+      property.getter = getter;
+    }
+    try {
+      return getter.invoker.invoke(target, null);
+    } catch (ReflectiveOperationException e) {
+      throw Unsupported.INSTANCE;
+    }
+  }
+
+  private Getter resolveGetter(Class<?> type, String name) {
+    Reflector reflector = reflectorFactory.findForClass(type);
+    if (!reflector.hasGetter(name)) {
+      throw Unsupported.INSTANCE;
+    }
+    Invoker invoker = reflector.getGetInvoker(name);
+    if (!(invoker instanceof MethodInvoker)) {
+      // leave the field access rules to OGNL
+      throw Unsupported.INSTANCE;
+    }
+    return new Getter(type, invoker);
+  }
+
+  private static Object invoke(Object target, String method) {
+    if (target == null) {
+      throw Unsupported.INSTANCE;
+    }
+    switch (method) {
+      case "toString":
+        return target.toString();
+      case "size":
+        if (target instanceof Collection) {
+          return ((Collection<?>) target).size();
+        }
+        if (target instanceof Map) {
+          return ((Map<?, ?>) target).size();
+        }
+        break;
+      case "isEmpty":
+        if (target instanceof Collection) {
+          return ((Collection<?>) target).isEmpty();
+        }
+        if (target instanceof Map) {
+          return ((Map<?, ?>) target).isEmpty();
+        }
+        if (target instanceof String) {
+          return ((String) target).isEmpty();
+        }
+        break;
+      case "length":
+        if (target instanceof String) {
+          return ((String) target).length();
+        }
+        break;
+      case "trim":
+        if (target instanceof String) {
+          return ((String) target).trim();
+        }
+        break;
+      default:
+        break;
+    }
+    throw Unsupported.INSTANCE;
+  }
+
+  /**
+   * Same as {@code ognl.OgnlOps#booleanValue(Object)}.
+   */
+  static boolean booleanValue(Object value) {
+    if (value == null) {
+      return false;
+    }
+    Class<?> type = value.getClass();
+    if (type == Boolean.class) {
+      return (Boolean) value;
+    }
+    if (type == String.class) {
+      return Boolean.parseBoolean((String) value);
+    }
+    if (type == Character.class) {
+      return (Character) value != 0;
+    }
+    if (value instanceof Number) {
+      return ((Number) value).doubleValue() != 0;
+    }
+    return true;
+  }
+
+  private static boolean isEqual(Object left, Object right) {
+    if (left == null || right == null) {
+      return left == right;
+    }
+    if (left == right) {
+      return true;
+    }
+    Class<?> type = left.getClass();
+    if ((type == String.class || type == Boolean.class) && type == right.getClass()) {
+      return left.equals(right);
+    }
+    return compareNumbers(left, right) == 0;
+  }
+
+  private static int compare(Object left, Object right) {
+    if (left instanceof String && right instanceof String) {
+      return ((String) left).compareTo((String) right);
+    }
+    return compareNumbers(left, right);
+  }
+
+  private static int compareNumbers(Object left, Object right) {
+    if (!isNumber(left) || !isNumber(right)) {
+      throw Unsupported.INSTANCE;
+    }
+    if (left instanceof BigDecimal || right instanceof BigDecimal) {
+      return toBigDecimal(left).compareTo(toBigDecimal(right));
+    }
+    if (left instanceof BigInteger || right instanceof BigInteger) {
+      return toBigInteger(left).compareTo(toBigInteger(right));
+    }
+    return Long.compare(((Number) left).longValue(), ((Number) right).longValue());
+  }
+
+  private static boolean isNumber(Object value) {
+    if (value == null) {
+      return false;
+    }
+    Class<?> type = value.getClass();
+    return type == Integer.class || type == Long.class || type == Short.class || type == Byte.class
+        || type == BigDecimal.class || type == BigInteger.class;
+  }
+
+  private static BigDecimal toBigDecimal(Object value) {
+    if (value instanceof BigDecimal) {
+      return (BigDecimal) value;
+    }
+    if (value instanceof BigInteger) {
+      return new BigDecimal((BigInteger) value);
+    }
+    return BigDecimal.valueOf(((Number) value).longValue());
+  }
+
+  private static BigInteger toBigInteger(Object value) {
+    if (value instanceof BigInteger) {
+      return (BigInteger) value;
+    }
+    return BigInteger.valueOf(((Number) value).longValue());
+  }
+
+  @FunctionalInterface
+  private interface Node {
+    Object getValue(Object root);
+  }
+
+  private final class Property implements Node {
+    private final Node target;
+    private final String name;
+    private volatile Getter getter;
+
+    Property(Node target, String name) {
+      this.target = target;
+      this.name = name;
+    }
+
+    @Override
+    public Object getValue(Object root) {
+      return getProperty(target == null ? root : target.getValue(root), name, this);
+    }
+  }
+
+  private static final class Getter {
+    private final Class<?> type;
+    private final Invoker invoker;
+
+    Getter(Class<?> type, Invoker invoker) {
+      this.type = type;
+      this.invoker = invoker;
+    }
+  }
+
+  private static final class Accessors {
+    private static final Set<String> MAP_PROPERTIES = new HashSet<>(
+        Arrays.asList("size", "keys", "keySet", "values", "isEmpty"));
+    private static final Set<String> METHODS = new HashSet<>(
+        Arrays.asList("size", "isEmpty", "length", "trim", "toString"));
+    private static final Set<String> RESERVED = new HashSet<>(
+        Arrays.asList("shl", "shr", "ushr", "in", "instanceof", "bor", "xor", "band", "new"));
+
+    private Accessors() {
+    }
+  }
+
+  /**
+   * Thrown when an expression or a value is not supported by the compiled form.
+   */
+  private static final class Unsupported extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+    private static final Unsupported INSTANCE = new Unsupported();
+
+    private Unsupported() {
+      super(null, null, false, false);
+    }
+  }
+
+  /**
+   * A recursive descent parser following the precedence of the OGNL grammar.
+   */
+  private final class Parser {
+    private final String expression;
+    private int position;
+    private String token;
+    private boolean literalToken;
+    private Object literal;
+
+    Parser(String expression) {
+      this.expression = expression;
+      next();
+    }
+
+    Node parse() {
+      Node node = or();
+      if (token != null) {
+        throw Unsupported.INSTANCE;
+      }
+      return node;
+    }
+
+    private Node or() {
+      Node left = and();
+      while ("||".equals(token)) {
+        next();
+        Node first = left;
+        Node second = and();
+        left = root -> {
+          Object value = first.getValue(root);
+          return booleanValue(value) ? value : second.getValue(root);
+        };
+      }
+      return left;
+    }
+
+    private Node and() {
+      Node left = equality();
+      while ("&&".equals(token)) {
+        next();
+        Node first = left;
+        Node second = equality();
+        left = root -> {
+          Object value = first.getValue(root);
+          return booleanValue(value) ? second.getValue(root) : value;
+        };
+      }
+      return left;
+    }
+
+    private Node equality() {
+      Node left = relational();
+      while ("==".equals(token) || "!=".equals(token)) {
+        boolean negated = "!=".equals(token);
+        next();
+        Node first = left;
+        Node second = relational();
+        left = root -> isEqual(first.getValue(root), second.getValue(root)) != negated;
+      }
+      return left;
+    }
+
+    private Node relational() {
+      Node left = unary();
+      while ("<".equals(token) || "<=".equals(token) || ">".equals(token) || ">=".equals(token)) {
+        String operator = token;
+        next();
+        Node first = left;
+        Node second = unary();
+        switch (operator) {
+          case "<":
+            left = root -> compare(first.getValue(root), second.getValue(root)) < 0;
+            break;
+          case "<=":
+            left = root -> compare(first.getValue(root), second.getValue(root)) <= 0;
+            break;
+          case ">":
+            left = root -> compare(first.getValue(root), second.getValue(root)) > 0;
+            break;
+          default:
+            left = root -> compare(first.getValue(root), second.getValue(root)) >= 0;
+            break;
+        }
+      }
+      return left;
+    }
+
+    private Node unary() {
+      if ("!".equals(token)) {
+        next();
+        Node operand = unary();
+        return root -> !booleanValue(operand.getValue(root));
+      }
+      Node node = primary();
+      while (".".equals(token)) {
+        next();
+        String name = identifier();
+        if ("(".equals(token)) {
+          next();
+          expect(")");
+          if (!Accessors.METHODS.contains(name)) {
+            throw Unsupported.INSTANCE;
+          }
+          Node target = node;
+          node = root -> invoke(target.getValue(root), name);
+        } else {
+          node = new Property(node, name);
+        }
+      }
+      return node;
+    }
+
+    private Node primary() {
+      if ("(".equals(token)) {
+        next();
+        Node node = or();
+        expect(")");
+        return node;
+      }
+      if (literalToken) {
+        Object value = literal;
+        next();
+        return root -> value;
+      }
+      Node node = new Property(null, identifier());
+      if ("(".equals(token)) {
+        throw Unsupported.INSTANCE;
+      }
+      return node;
+    }
+
+    private String identifier() {
+      if (token == null || literalToken || !Character.isJavaIdentifierStart(token.charAt(0))) {
+        throw Unsupported.INSTANCE;
+      }
+      String name = token;
+      next();
+      return name;
+    }
+
+    private void expect(String expected) {
+      if (!expected.equals(token)) {
+        throw Unsupported.INSTANCE;
+      }
+      next();
+    }
+
+    private void next() {
+      literalToken = false;
+      while (position < expression.length() && Character.isWhitespace(expression.charAt(position))) {
+        position++;
+      }
+      if (position >= expression.length()) {
+        token = null;
+        return;
+      }
+      char c = expression.charAt(position);
+      if (Character.isJavaIdentifierStart(c)) {
+        int start = position;
+        while (position < expression.length() && Character.isJavaIdentifierPart(expression.charAt(position))) {
+          position++;
+        }
+        keyword(expression.substring(start, position));
+      } else if (c >= '0' && c <= '9') {
+        number();
+      } else if (c == '\'' || c == '"') {
+        string(c);
+      } else {
+        operator(c);
+      }
+    }
+
+    private void keyword(String word) {
+      switch (word) {
+        case "and":
+          token = "&&";
+          break;
+        case "or":
+          token = "||";
+          break;
+        case "not":
+          token = "!";
+          break;
+        case "eq":
+          token = "==";
+          break;
+        case "neq":
+          token = "!=";
+          break;
+        case "lt":
+          token = "<";
+          break;
+        case "lte":
+          token = "<=";
+          break;
+        case "gt":
+          token = ">";
+          break;
+        case "gte":
+          token = ">=";
+          break;
+        case "null":
+          setLiteral(null);
+          break;
+        case "true":
+          setLiteral(Boolean.TRUE);
+          break;
+        case "false":
+          setLiteral(Boolean.FALSE);
+          break;
+        default:
+          if (Accessors.RESERVED.contains(word)) {
+            throw Unsupported.INSTANCE;
+          }
+          token = word;
+          break;
+      }
+    }
+
+    private void number() {
+      int start = position;
+      while (position < expression.length() && Character.isDigit(expression.charAt(position))) {
+        position++;
+      }
+      String digits = expression.substring(start, position);
+      if (position < expression.length() && Character.isJavaIdentifierPart(expression.charAt(position))
+          || position < expression.length() && expression.charAt(position) == '.'
+          || digits.length() > 1 && digits.charAt(0) == '0') {
+        // suffixes, decimals and octal/hexadecimal literals
+        throw Unsupported.INSTANCE;
+      }
+      try {
+        setLiteral(Integer.valueOf(digits));
+      } catch (NumberFormatException e) {
+        throw Unsupported.INSTANCE;
+      }
+    }
+
+    private void string(char quote) {
+      int end = expression.indexOf(quote, position + 1);
+      if (end < 0) {
+        throw Unsupported.INSTANCE;
+      }
+      String value = expression.substring(position + 1, end);
+      if (value.indexOf('\\') >= 0) {
+        throw Unsupported.INSTANCE;
+      }
+      position = end + 1;
+      // like OGNL, a single quoted character is a Character
+      setLiteral(quote == '\'' && value.length() == 1 ? (Object) value.charAt(0) : value);
+    }
+
+    private void operator(char c) {
+      char following = position + 1 < expression.length() ? expression.charAt(position + 1) : 0;
+      String operator;
+      if ((c == '=' || c == '!' || c == '<' || c == '>') && following == '=' || c == '&' && following == '&'
+          || c == '|' && following == '|') {
+        operator = expression.substring(position, position + 2);
+      } else if (c == '!' || c == '<' || c == '>' || c == '(' || c == ')' || c == '.') {
+        operator = String.valueOf(c);
+      } else {
+        throw Unsupported.INSTANCE;
+      }
+      position += operator.length();
+      token = operator;
+    }
+
+    private void setLiteral(Object value) {
+      token = "literal";
+      literalToken = true;
+      literal = value;
+    }
+  }
+
+}
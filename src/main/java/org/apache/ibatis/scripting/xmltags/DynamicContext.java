@@ -53,6 +53,7 @@ public class DynamicContext {
 
   private GenericTokenParser tokenParser;
   private ParameterMappingTokenHandler tokenHandler;
+  private ExpressionEvaluator evaluator;
 
   public DynamicContext(Configuration configuration, Class<?> parameterType) {
     this(configuration, null, parameterType, false);
@@ -109,6 +110,31 @@ public class DynamicContext {
     return tokenParser.parse(sql);
   }
 
+  void appendTemplate(SqlTextTemplate template) {
+    if (!template.hasParameters()) {
+      appendSql(template.getFragment(0));
+      return;
+    }
+    initTokenParser(getParameterMappings());
+    StringBuilder sql = new StringBuilder(template.getFragment(0));
+    for (int i = 0; i < template.getParameterCount(); i++) {
+      sql.append(tokenHandler.handleToken(template.getContent(i), template.getExpression(i)));
+      sql.append(template.getFragment(i + 1));
+    }
+    appendSql(sql.toString());
+  }
+
+  void setEvaluator(ExpressionEvaluator evaluator) {
+    this.evaluator = evaluator;
+  }
+
+  ExpressionEvaluator getEvaluator() {
+    if (evaluator == null) {
+      evaluator = new ExpressionEvaluator(configuration.getExpressionEngine());
+    }
+    return evaluator;
+  }
+
   protected Object getParameterObject() {
     return parameterObject;
   }
@@ -131,6 +157,12 @@ public class DynamicContext {
       this.fallbackParameterObject = fallbackParameterObject;
     }
 
+    ContextMap(ContextMap parent) {
+      super(parent);
+      this.parameterMetaObject = parent.parameterMetaObject;
+      this.fallbackParameterObject = parent.fallbackParameterObject;
+    }
+
     @Override
     public Object get(Object key) {
       String strKey = (String) key;
@@ -27,15 +27,71 @@ public class DynamicSqlSource implements SqlSource {
 
   private final Configuration configuration;
   private final SqlNode rootSqlNode;
+  private final SqlShapeCache shapeCache;
 
   public DynamicSqlSource(Configuration configuration, SqlNode rootSqlNode) {
+    this(configuration, rootSqlNode, null);
+  }
+
+  /**
+   * Creates a dynamic SQL source.
+   *
+   * @param configuration
+   *          the configuration
+   * @param rootSqlNode
+   *          the root SQL node
+   * @param shapeCacheSize
+   *          the maximum number of generated SQL to cache, {@code null} to use
+   *          {@link Configuration#getDynamicSqlCacheSize()}
+   *
+   * @since 3.6.0
+   */
+  public DynamicSqlSource(Configuration configuration, SqlNode rootSqlNode, Integer shapeCacheSize) {
     this.configuration = configuration;
     this.rootSqlNode = rootSqlNode;
+    this.shapeCache = SqlShapeRecorder.isSupported(rootSqlNode) ? new SqlShapeCache(configuration, shapeCacheSize)
+        : null;
+  }
+
+  /**
+   * Returns the cache of the generated SQL.
+   *
+   * @return the cache or {@code null} if the SQL of this statement cannot be cached (e.g. it uses <code>${}</code>
+   *         substitutions)
+   *
+   * @since 3.6.0
+   */
+  public SqlShapeCache getShapeCache() {
+    return shapeCache;
   }
 
   @Override
   public BoundSql getBoundSql(Object parameterObject) {
+    if (shapeCache == null || shapeCache.getMaxSize() <= 0) {
+      return buildBoundSql(parameterObject, null);
+    }
+    SqlShapeRecorder recorder = new SqlShapeRecorder(configuration, parameterObject);
+    recorder.record(rootSqlNode);
+    Object shape = recorder.getShape();
+    SqlShapeCache.CachedSql cachedSql = shapeCache.get(shape);
+    if (cachedSql == null) {
+      // generate the SQL from the results of the expressions evaluated by the recorder
+      BoundSql boundSql = buildBoundSql(parameterObject, recorder.replayEvaluations());
+      if (boundSql.getParameterMappings().size() == recorder.getParameterCount()) {
+        shapeCache.put(shape, boundSql.getSql(), boundSql.getParameterMappings());
+      }
+      return boundSql;
+    }
+    BoundSql boundSql = new BoundSql(configuration, cachedSql.getSql(), cachedSql.bind(recorder), parameterObject);
+    recorder.getBindings().forEach(boundSql::setAdditionalParameter);
+    return boundSql;
+  }
+
+  private BoundSql buildBoundSql(Object parameterObject, ExpressionEvaluator evaluator) {
     DynamicContext context = new DynamicContext(configuration, parameterObject, null, true);
+    if (evaluator != null) {
+      context.setEvaluator(evaluator);
+    }
     rootSqlNode.apply(context);
     String sql = context.getSql();
     SqlSource sqlSource = SqlSourceBuilder.buildSqlSource(configuration, sql, context.getParameterMappings());
@@ -0,0 +1,45 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.scripting.xmltags;
+
+/**
+ * Evaluates the expressions of dynamic SQL, i.e. the {@code test} attribute of {@code <if>}/{@code <when>}, the
+ * {@code collection} attribute of {@code <foreach>}, the {@code value} attribute of {@code <bind>} and the
+ * <code>${}</code> substitutions.
+ * <p>
+ * The root object of an expression is the map of bindings of the statement, which falls back to the parameter object
+ * for the names it does not contain.
+ *
+ * @since 3.6.0
+ *
+ * @see CompiledExpressionEngine
+ * @see OgnlExpressionEngine
+ */
+public interface ExpressionEngine {
+
+  /**
+   * Evaluates an expression.
+   *
+   * @param expression
+   *          the expression
+   * @param root
+   *          the root object
+   *
+   * @return the value of the expression
+   */
+  Object getValue(String expression, Object root);
+
+}
@@ -28,10 +28,32 @@ import org.apache.ibatis.builder.BuilderException;
  */
 public class ExpressionEvaluator {
 
+  private static final ExpressionEngine DEFAULT_ENGINE = new CompiledExpressionEngine();
+
   public static final ExpressionEvaluator INSTANCE = new ExpressionEvaluator();
 
+  private final ExpressionEngine engine;
+
+  public ExpressionEvaluator() {
+    this(DEFAULT_ENGINE);
+  }
+
+  /**
+   * @since 3.6.0
+   */
+  public ExpressionEvaluator(ExpressionEngine engine) {
+    this.engine = engine;
+  }
+
+  /**
+   * @since 3.6.0
+   */
+  public Object getValue(String expression, Object parameterObject) {
+    return engine.getValue(expression, parameterObject);
+  }
+
   public boolean evaluateBoolean(String expression, Object parameterObject) {
-    Object value = OgnlCache.getValue(expression, parameterObject);
+    Object value = engine.getValue(expression, parameterObject);
     if (value instanceof Boolean) {
       return (Boolean) value;
     }
@@ -53,7 +75,7 @@ public class ExpressionEvaluator {
    * @since 3.5.9
    */
   public Iterable<?> evaluateIterable(String expression, Object parameterObject, boolean nullable) {
-    Object value = OgnlCache.getValue(expression, parameterObject);
+    Object value = engine.getValue(expression, parameterObject);
     if (value == null) {
       if (nullable) {
         return null;
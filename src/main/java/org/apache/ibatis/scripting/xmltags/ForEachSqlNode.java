@@ -27,7 +27,6 @@ import org.apache.ibatis.session.Configuration;
  */
 public class ForEachSqlNode implements SqlNode {
 
-  private final ExpressionEvaluator evaluator = ExpressionEvaluator.INSTANCE;
   private final String collectionExpression;
   private final Boolean nullable;
   private final SqlNode contents;
@@ -67,7 +66,7 @@ public class ForEachSqlNode implements SqlNode {
   @Override
   public boolean apply(DynamicContext context) {
     Map<String, Object> bindings = context.getBindings();
-    final Iterable<?> iterable = evaluator.evaluateIterable(collectionExpression, bindings,
+    final Iterable<?> iterable = context.getEvaluator().evaluateIterable(collectionExpression, bindings,
         Optional.ofNullable(nullable).orElseGet(configuration::isNullableOnForEach));
     if (iterable == null || !iterable.iterator().hasNext()) {
       return true;
@@ -102,6 +101,26 @@ public class ForEachSqlNode implements SqlNode {
     return true;
   }
 
+  String getCollectionExpression() {
+    return collectionExpression;
+  }
+
+  boolean isNullable() {
+    return Optional.ofNullable(nullable).orElseGet(configuration::isNullableOnForEach);
+  }
+
+  SqlNode getContents() {
+    return contents;
+  }
+
+  String getItem() {
+    return item;
+  }
+
+  String getIndex() {
+    return index;
+  }
+
   private void applyIndex(DynamicContext context, Object o) {
     if (index != null) {
       context.bind(index, o);
@@ -143,6 +162,11 @@ public class ForEachSqlNode implements SqlNode {
       return prefixApplied;
     }
 
+    @Override
+    ExpressionEvaluator getEvaluator() {
+      return delegate.getEvaluator();
+    }
+
     @Override
     public void appendSql(String sql) {
       if (!prefixApplied && sql != null && sql.trim().length() > 0) {
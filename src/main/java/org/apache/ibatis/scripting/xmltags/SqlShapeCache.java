@@ -0,0 +1,144 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.scripting.xmltags;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.session.Configuration;
+
+/**
+ * A bounded cache of the SQL generated by a dynamic statement, keyed by the shape of its evaluation.
+ * <p>
+ * The shape is made of the outcome of the {@code <if>}/{@code <when>} tests, the number of iterations of the
+ * {@code <foreach>} elements and the classes of the parameter values. Statements with the same shape produce the same
+ * SQL and parameter mappings, so only the parameter values have to be bound again. When the cache is full, the least
+ * recently used shape is evicted.
+ *
+ * @since 3.6.0
+ */
+public class SqlShapeCache {
+
+  private final Configuration configuration;
+  private final Integer maxSize;
+  private final Map<Object, CachedSql> entries = new LinkedHashMap<>(16, .75F, true);
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+
+  /**
+   * Creates a cache.
+   *
+   * @param configuration
+   *          the configuration
+   * @param maxSize
+   *          the maximum number of shapes, {@code null} to use {@link Configuration#getDynamicSqlCacheSize()}
+   */
+  public SqlShapeCache(Configuration configuration, Integer maxSize) {
+    this.configuration = configuration;
+    this.maxSize = maxSize;
+  }
+
+  /**
+   * Returns the maximum number of shapes to keep. A value of {@code 0} or less disables the cache.
+   *
+   * @return the maximum number of shapes
+   */
+  public int getMaxSize() {
+    return maxSize != null ? maxSize : configuration.getDynamicSqlCacheSize();
+  }
+
+  public int size() {
+    synchronized (entries) {
+      return entries.size();
+    }
+  }
+
+  public long getHitCount() {
+    return hits.sum();
+  }
+
+  public long getMissCount() {
+    return misses.sum();
+  }
+
+  public void clear() {
+    synchronized (entries) {
+      entries.clear();
+    }
+  }
+
+  CachedSql get(Object shape) {
+    CachedSql cachedSql;
+    synchronized (entries) {
+      cachedSql = entries.get(shape);
+    }
+    if (cachedSql == null) {
+      misses.increment();
+    } else {
+      hits.increment();
+    }
+    return cachedSql;
+  }
+
+  void put(Object shape, String sql, List<ParameterMapping> parameterMappings) {
+    final int limit = getMaxSize();
+    if (limit <= 0) {
+      return;
+    }
+    List<ParameterMapping> templates = new ArrayList<>(parameterMappings.size());
+    for (ParameterMapping parameterMapping : parameterMappings) {
+      // do not retain the parameter values
+      templates.add(parameterMapping.hasValue() ? parameterMapping.withValue(null) : parameterMapping);
+    }
+    synchronized (entries) {
+      // the iteration order of an access-ordered map starts with the least recently used entry
+      Iterator<Object> shapes = entries.keySet().iterator();
+      while (entries.size() >= limit && shapes.hasNext()) {
+        shapes.next();
+        shapes.remove();
+      }
+      entries.put(shape, new CachedSql(sql, templates));
+    }
+  }
+
+  static final class CachedSql {
+    private final String sql;
+    private final List<ParameterMapping> parameterMappings;
+
+    CachedSql(String sql, List<ParameterMapping> parameterMappings) {
+      this.sql = sql;
+      this.parameterMappings = parameterMappings;
+    }
+
+    String getSql() {
+      return sql;
+    }
+
+    List<ParameterMapping> bind(SqlShapeRecorder recorder) {
+      List<ParameterMapping> bound = new ArrayList<>(parameterMappings.size());
+      for (int i = 0; i < parameterMappings.size(); i++) {
+        ParameterMapping parameterMapping = parameterMappings.get(i);
+        bound.add(recorder.hasValue(i) ? parameterMapping.withValue(recorder.getValue(i)) : parameterMapping);
+      }
+      return bound;
+    }
+  }
+}
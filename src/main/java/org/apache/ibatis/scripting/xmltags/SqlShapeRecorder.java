@@ -0,0 +1,314 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.scripting.xmltags;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.reflection.property.PropertyTokenizer;
+import org.apache.ibatis.scripting.xmltags.DynamicContext.ContextMap;
+import org.apache.ibatis.session.Configuration;
+
+/**
+ * Evaluates the conditions of a dynamic statement without generating its SQL.
+ * <p>
+ * The recorded shape is made of the outcome of every {@code <if>}/{@code <when>} test, the number of iterations of
+ * every {@code <foreach>}, the class of the parameter object and the classes of the parameter values (which drive the
+ * type handler resolution). The values of the <code>#{}</code> placeholders are collected in order along the way, and
+ * so are the results of the expressions, so that the SQL can be generated without evaluating them again.
+ */
+final class SqlShapeRecorder {
+
+  private static final Object OUT = new Object();
+  private static final Object UNBOUND = new Object();
+  private static final Object NULL = new Object();
+
+  private final Configuration configuration;
+  private final ExpressionEvaluator evaluator;
+  private final Object parameterObject;
+  private final ContextMap bindings;
+  private final List<Object> shape = new ArrayList<>();
+  private final List<Object> values = new ArrayList<>();
+  private final List<Object> evaluations = new ArrayList<>();
+  private MetaObject parameterMetaObject;
+
+  SqlShapeRecorder(Configuration configuration, Object parameterObject) {
+    this.configuration = configuration;
+    this.evaluator = new ExpressionEvaluator(configuration.getExpressionEngine());
+    this.parameterObject = parameterObject;
+    this.bindings = new DynamicContext(configuration, parameterObject, null, true).bindings;
+    shape.add(parameterObject == null ? NULL : parameterObject.getClass());
+  }
+
+  /**
+   * Returns whether the shape of a node tree can be recorded, i.e. it is only made of the built-in nodes and its text
+   * does not depend on <code>${}</code> substitutions.
+   *
+   * @param node
+   *          the root node
+   *
+   * @return true if supported
+   */
+  static boolean isSupported(SqlNode node) {
+    Class<?> type = node.getClass();
+    if (type == MixedSqlNode.class) {
+      return ((MixedSqlNode) node).getContents().stream().allMatch(SqlShapeRecorder::isSupported);
+    }
+    if (type == StaticTextSqlNode.class) {
+      SqlTextTemplate template = ((StaticTextSqlNode) node).getTemplate();
+      if (template == null) {
+        return false;
+      }
+      for (int i = 0; i < template.getParameterCount(); i++) {
+        if (template.getExpression(i).get("property") == null) {
+          return false;
+        }
+      }
+      return true;
+    }
+    if (type == IfSqlNode.class) {
+      return isSupported(((IfSqlNode) node).getContents());
+    }
+    if (type == ChooseSqlNode.class) {
+      ChooseSqlNode choose = (ChooseSqlNode) node;
+      return choose.getIfSqlNodes().stream().allMatch(when -> when.getClass() == IfSqlNode.class && isSupported(when))
+          && (choose.getDefaultSqlNode() == null || isSupported(choose.getDefaultSqlNode()));
+    }
+    if (type == ForEachSqlNode.class) {
+      return isSupported(((ForEachSqlNode) node).getContents());
+    }
+    if (type == TrimSqlNode.class || type == WhereSqlNode.class || type == SetSqlNode.class) {
+      return isSupported(((TrimSqlNode) node).getContents());
+    }
+    return type == VarDeclSqlNode.class;
+  }
+
+  void record(SqlNode node) {
+    record(node, bindings);
+  }
+
+  /**
+   * Returns the recorded shape, to be used as a cache key.
+   *
+   * @return the shape
+   */
+  Object getShape() {
+    return new Shape(shape.toArray());
+  }
+
+  int getParameterCount() {
+    return values.size();
+  }
+
+  boolean hasValue(int index) {
+    return values.get(index) != OUT;
+  }
+
+  Object getValue(int index) {
+    return values.get(index);
+  }
+
+  /**
+   * Returns the bindings of the root scope, i.e. the ones the regular evaluation adds to the additional parameters of
+   * the {@link org.apache.ibatis.mapping.BoundSql}. As there, the {@code <foreach>} items and indexes and the
+   * {@code <bind>} variables declared in a nested element stay in their own scope, and their values are only bound to
+   * the parameter mappings.
+   *
+   * @return the root bindings
+   */
+  Map<String, Object> getBindings() {
+    return bindings;
+  }
+
+  /**
+   * Returns an evaluator that returns the recorded results of the expressions, in the order the nodes of the same tree
+   * evaluate them.
+   *
+   * @return the evaluator
+   */
+  ExpressionEvaluator replayEvaluations() {
+    return new ReplayingEvaluator(evaluations);
+  }
+
+  private void record(SqlNode node, ContextMap scope) {
+    Class<?> type = node.getClass();
+    if (type == MixedSqlNode.class) {
+      for (SqlNode child : ((MixedSqlNode) node).getContents()) {
+        record(child, scope);
+      }
+    } else if (type == StaticTextSqlNode.class) {
+      recordParameters(((StaticTextSqlNode) node).getTemplate(), scope);
+    } else if (type == IfSqlNode.class) {
+      recordIf((IfSqlNode) node, scope);
+    } else if (type == ChooseSqlNode.class) {
+      recordChoose((ChooseSqlNode) node, scope);
+    } else if (type == ForEachSqlNode.class) {
+      recordForEach((ForEachSqlNode) node, scope);
+    } else if (type == TrimSqlNode.class || type == WhereSqlNode.class || type == SetSqlNode.class) {
+      record(((TrimSqlNode) node).getContents(), new ContextMap(scope));
+    } else if (type == VarDeclSqlNode.class) {
+      VarDeclSqlNode varDecl = (VarDeclSqlNode) node;
+      Object value = evaluator.getValue(varDecl.getExpression(), scope);
+      evaluations.add(value);
+      scope.put(varDecl.getName(), value);
+    } else {
+      throw new IllegalStateException("Unsupported SQL node " + type.getName());
+    }
+  }
+
+  private boolean recordIf(IfSqlNode node, ContextMap scope) {
+    boolean passed = evaluator.evaluateBoolean(node.getTest(), scope);
+    evaluations.add(passed);
+    shape.add(passed);
+    if (passed) {
+      record(node.getContents(), scope);
+    }
+    return passed;
+  }
+
+  private void recordChoose(ChooseSqlNode node, ContextMap scope) {
+    for (SqlNode when : node.getIfSqlNodes()) {
+      if (recordIf((IfSqlNode) when, scope)) {
+        return;
+      }
+    }
+    if (node.getDefaultSqlNode() != null) {
+      record(node.getDefaultSqlNode(), scope);
+    }
+  }
+
+  private void recordForEach(ForEachSqlNode node, ContextMap scope) {
+    Iterable<?> iterable = evaluator.evaluateIterable(node.getCollectionExpression(), scope, node.isNullable());
+    evaluations.add(iterable);
+    int countIndex = shape.size();
+    shape.add(0);
+    if (iterable == null) {
+      return;
+    }
+    int count = 0;
+    for (Object o : iterable) {
+      ContextMap iterationScope = new ContextMap(scope);
+      if (o instanceof Map.Entry) {
+        Map.Entry<?, ?> mapEntry = (Map.Entry<?, ?>) o;
+        bind(iterationScope, node.getIndex(), mapEntry.getKey());
+        bind(iterationScope, node.getItem(), mapEntry.getValue());
+      } else {
+        bind(iterationScope, node.getIndex(), count);
+        bind(iterationScope, node.getItem(), o);
+      }
+      record(node.getContents(), iterationScope);
+      count++;
+    }
+    shape.set(countIndex, count);
+  }
+
+  private static void bind(ContextMap scope, String name, Object value) {
+    if (name != null) {
+      scope.put(name, value);
+    }
+  }
+
+  private void recordParameters(SqlTextTemplate template, ContextMap scope) {
+    if (!template.hasParameters()) {
+      return;
+    }
+    MetaObject metaParameters = configuration.newMetaObject(scope);
+    for (int i = 0; i < template.getParameterCount(); i++) {
+      Map<String, String> expression = template.getExpression(i);
+      if ("OUT".equals(expression.get("mode"))) {
+        values.add(OUT);
+        shape.add(OUT);
+        continue;
+      }
+      String property = expression.get("property");
+      String name = new PropertyTokenizer(property).getName();
+      Object value;
+      if (metaParameters.hasGetter(name)) {
+        Object root = scope.get(name);
+        shape.add(root == null ? NULL : root.getClass());
+        value = metaParameters.getValue(property);
+      } else {
+        shape.add(UNBOUND);
+        if (parameterObject == null) {
+          value = null;
+        } else if (configuration.getTypeHandlerRegistry().hasTypeHandler(parameterObject.getClass())) {
+          value = parameterObject;
+        } else {
+          if (parameterMetaObject == null) {
+            parameterMetaObject = configuration.newMetaObject(parameterObject);
+          }
+          value = parameterMetaObject.getValue(property);
+        }
+      }
+      shape.add(value == null ? NULL : value.getClass());
+      values.add(value);
+    }
+  }
+
+  private static final class ReplayingEvaluator extends ExpressionEvaluator {
+    private final Iterator<Object> results;
+
+    ReplayingEvaluator(List<Object> results) {
+      this.results = results.iterator();
+    }
+
+    @Override
+    public Object getValue(String expression, Object parameterObject) {
+      return results.next();
+    }
+
+    @Override
+    public boolean evaluateBoolean(String expression, Object parameterObject) {
+      return (Boolean) results.next();
+    }
+
+    @Override
+    public Iterable<?> evaluateIterable(String expression, Object parameterObject, boolean nullable) {
+      return (Iterable<?>) results.next();
+    }
+  }
+
+  private static final class Shape {
+    private final Object[] elements;
+    private final int hashCode;
+
+    Shape(Object[] elements) {
+      this.elements = elements;
+      this.hashCode = Arrays.hashCode(elements);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Shape)) {
+        return false;
+      }
+      Shape that = (Shape) o;
+      return hashCode == that.hashCode && Arrays.equals(elements, that.elements);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.scripting.xmltags;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.ibatis.builder.ParameterExpression;
+import org.apache.ibatis.parsing.GenericTokenParser;
+
+/**
+ * A static SQL text whose <code>#{}</code> placeholders were parsed once when the statement was built.
+ * <p>
+ * The text is split into the SQL fragments between the placeholders and the parsed parameter expressions, so applying
+ * it only has to resolve the parameter mappings and concatenate the fragments.
+ */
+final class SqlTextTemplate {
+
+  private static final String PLACEHOLDER = "\u0000";
+
+  private final String[] fragments;
+  private final String[] contents;
+  private final List<Map<String, String>> expressions;
+
+  private SqlTextTemplate(String[] fragments, String[] contents, List<Map<String, String>> expressions) {
+    this.fragments = fragments;
+    this.contents = contents;
+    this.expressions = expressions;
+  }
+
+  /**
+   * Compiles a static SQL text.
+   *
+   * @param text
+   *          the SQL text
+   *
+   * @return the template or {@code null} if the text cannot be compiled, in which case it is parsed on every call
+   */
+  static SqlTextTemplate compile(String text) {
+    if (text == null || text.contains(PLACEHOLDER)) {
+      return null;
+    }
+    List<String> contents = new ArrayList<>();
+    String sql = new GenericTokenParser("#{", "}", content -> {
+      contents.add(content);
+      return PLACEHOLDER;
+    }).parse(text);
+    List<Map<String, String>> expressions = new ArrayList<>(contents.size());
+    for (String content : contents) {
+      try {
+        expressions.add(Collections.unmodifiableMap(new ParameterExpression(content)));
+      } catch (Exception e) {
+        // report the syntax error when the statement is executed, as before
+        return null;
+      }
+    }
+    return new SqlTextTemplate(sql.split(PLACEHOLDER, -1), contents.toArray(new String[0]), expressions);
+  }
+
+  boolean hasParameters() {
+    return contents.length > 0;
+  }
+
+  String getFragment(int index) {
+    return fragments[index];
+  }
+
+  int getParameterCount() {
+    return contents.length;
+  }
+
+  String getContent(int index) {
+    return contents[index];
+  }
+
+  Map<String, String> getExpression(int index) {
+    return expressions.get(index);
+  }
+
+}
@@ -20,15 +20,25 @@ package org.apache.ibatis.scripting.xmltags;
  */
 public class StaticTextSqlNode implements SqlNode {
   private final String text;
+  private final SqlTextTemplate template;
 
   public StaticTextSqlNode(String text) {
     this.text = text;
+    this.template = SqlTextTemplate.compile(text);
   }
 
   @Override
   public boolean apply(DynamicContext context) {
-    context.appendSql(context.parseParam(text));
+    if (template == null) {
+      context.appendSql(context.parseParam(text));
+    } else {
+      context.appendTemplate(template);
+    }
     return true;
   }
 
+  SqlTextTemplate getTemplate() {
+    return template;
+  }
+
 }
@@ -63,7 +63,7 @@ public class TextSqlNode implements SqlNode {
       } else if (SimpleTypeRegistry.isSimpleType(parameter.getClass())) {
         context.getBindings().put("value", parameter);
       }
-      Object value = OgnlCache.getValue(content, context.getBindings());
+      Object value = context.getEvaluator().getValue(content, context.getBindings());
       // issue #274 return "" instead of "null"
       return value == null ? "" : String.valueOf(value);
     }
@@ -60,6 +60,10 @@ public class TrimSqlNode implements SqlNode {
     return result;
   }
 
+  SqlNode getContents() {
+    return contents;
+  }
+
   private static List<String> parseOverrides(String overrides) {
     if (overrides != null) {
       final StringTokenizer parser = new StringTokenizer(overrides, "|", false);
@@ -87,6 +91,11 @@ public class TrimSqlNode implements SqlNode {
       this.bindings.putAll(delegate.getBindings());
     }
 
+    @Override
+    ExpressionEvaluator getEvaluator() {
+      return delegate.getEvaluator();
+    }
+
     public void applyAll() {
       sqlBuffer = new StringBuilder(sqlBuffer.toString().trim());
       String trimmedUppercaseSql = sqlBuffer.toString().toUpperCase(Locale.ENGLISH);
@@ -66,7 +66,7 @@ public class XMLScriptBuilder extends BaseBuilder {
     MixedSqlNode rootSqlNode = parseDynamicTags(context);
     SqlSource sqlSource;
     if (isDynamic) {
-      sqlSource = new DynamicSqlSource(configuration, rootSqlNode);
+      sqlSource = new DynamicSqlSource(configuration, rootSqlNode, context.getIntAttribute("dynamicSqlCacheSize"));
     } else {
       sqlSource = new RawSqlSource(configuration, rootSqlNode, parameterType);
     }
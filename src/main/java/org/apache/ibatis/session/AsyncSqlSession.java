@@ -0,0 +1,115 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.session;
+
+import java.io.Closeable;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import org.apache.ibatis.executor.BatchResult;
+
+/**
+ * A {@link SqlSession} whose operations run on the async executor of the configuration instead of the calling thread.
+ * <p>
+ * The operations of a session run one at a time, in the order they were submitted, on the same underlying
+ * {@link SqlSession}, so they share its connection and transaction. Different sessions run concurrently.
+ *
+ * @since 3.6.0
+ *
+ * @see Configuration#setAsyncExecutor(java.util.concurrent.Executor)
+ */
+public interface AsyncSqlSession extends Closeable {
+
+  <T> CompletableFuture<T> selectOne(String statement);
+
+  <T> CompletableFuture<T> selectOne(String statement, Object parameter);
+
+  <E> CompletableFuture<List<E>> selectList(String statement);
+
+  <E> CompletableFuture<List<E>> selectList(String statement, Object parameter);
+
+  <E> CompletableFuture<List<E>> selectList(String statement, Object parameter, RowBounds rowBounds);
+
+  <K, V> CompletableFuture<Map<K, V>> selectMap(String statement, Object parameter, String mapKey);
+
+  CompletableFuture<Integer> insert(String statement);
+
+  CompletableFuture<Integer> insert(String statement, Object parameter);
+
+  CompletableFuture<Integer> update(String statement);
+
+  CompletableFuture<Integer> update(String statement, Object parameter);
+
+  CompletableFuture<Integer> delete(String statement);
+
+  CompletableFuture<Integer> delete(String statement, Object parameter);
+
+  CompletableFuture<Void> commit();
+
+  CompletableFuture<Void> commit(boolean force);
+
+  CompletableFuture<Void> rollback();
+
+  CompletableFuture<Void> rollback(boolean force);
+
+  CompletableFuture<List<BatchResult>> flushStatements();
+
+  /**
+   * Runs an operation on the underlying session, after the operations submitted before it. When called from an
+   * operation of this session, it runs at once on the calling thread, so that waiting for its result does not deadlock.
+   *
+   * @param <T>
+   *          the result type
+   * @param operation
+   *          the operation, it must not keep the session nor use it from another thread
+   *
+   * @return the result of the operation
+   */
+  <T> CompletableFuture<T> execute(Function<SqlSession, T> operation);
+
+  /**
+   * Retrieves a mapper bound to this session. Mapper methods returning a {@link CompletableFuture} are submitted like
+   * the other operations of the session; the other methods are submitted too, and then waited for.
+   *
+   * @param <T>
+   *          the mapper type
+   * @param type
+   *          the mapper interface
+   *
+   * @return the mapper
+   */
+  <T> T getMapper(Class<T> type);
+
+  Configuration getConfiguration();
+
+  /**
+   * Closes the session once the operations submitted before are done. It does not wait for them.
+   */
+  @Override
+  void close();
+
+  /**
+   * The blocking view of an {@link AsyncSqlSession} its mappers are bound to.
+   */
+  interface Blocking extends SqlSession {
+
+    AsyncSqlSession getAsyncSession();
+
+  }
+
+}
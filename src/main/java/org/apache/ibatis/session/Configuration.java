@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2025 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -15,8 +15,11 @@
  */
 package org.apache.ibatis.session;
 
+import java.sql.Connection;
+import java.sql.SQLException;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -26,6 +29,7 @@ import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.BiFunction;
 
@@ -39,23 +43,37 @@ import org.apache.ibatis.cache.Cache;
 import org.apache.ibatis.cache.decorators.FifoCache;
 import org.apache.ibatis.cache.decorators.LruCache;
 import org.apache.ibatis.cache.decorators.SoftCache;
+import org.apache.ibatis.cache.decorators.TieredCache;
+import org.apache.ibatis.cache.decorators.TinyLfuCache;
 import org.apache.ibatis.cache.decorators.WeakCache;
+import org.apache.ibatis.cache.impl.OffHeapCache;
 import org.apache.ibatis.cache.impl.PerpetualCache;
+import org.apache.ibatis.cache.serializer.CompactCacheSerializer;
+import org.apache.ibatis.cache.serializer.JavaCacheSerializer;
+import org.apache.ibatis.cache.serializer.SnapshotCacheSerializer;
 import org.apache.ibatis.datasource.jndi.JndiDataSourceFactory;
+import org.apache.ibatis.datasource.pooled.ConcurrentPooledDataSourceFactory;
 import org.apache.ibatis.datasource.pooled.PooledDataSourceFactory;
 import org.apache.ibatis.datasource.unpooled.UnpooledDataSourceFactory;
 import org.apache.ibatis.executor.BatchExecutor;
 import org.apache.ibatis.executor.CachingExecutor;
 import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.ExecutorException;
 import org.apache.ibatis.executor.ReuseExecutor;
 import org.apache.ibatis.executor.SimpleExecutor;
+import org.apache.ibatis.executor.bulk.BulkLoader;
+import org.apache.ibatis.executor.bulk.MultiRowInsertBulkLoader;
+import org.apache.ibatis.executor.bulk.MySqlLoadDataBulkLoader;
+import org.apache.ibatis.executor.bulk.PostgresCopyBulkLoader;
 import org.apache.ibatis.executor.keygen.KeyGenerator;
 import org.apache.ibatis.executor.loader.ProxyFactory;
 import org.apache.ibatis.executor.loader.cglib.CglibProxyFactory;
 import org.apache.ibatis.executor.loader.javassist.JavassistProxyFactory;
 import org.apache.ibatis.executor.parameter.ParameterHandler;
+import org.apache.ibatis.executor.resultset.AutoMappingPlanCache;
 import org.apache.ibatis.executor.resultset.DefaultResultSetHandler;
 import org.apache.ibatis.executor.resultset.ResultSetHandler;
+import org.apache.ibatis.executor.resultset.RowMapperFactory;
 import org.apache.ibatis.executor.statement.RoutingStatementHandler;
 import org.apache.ibatis.executor.statement.StatementHandler;
 import org.apache.ibatis.io.VFS;
@@ -88,7 +106,11 @@ import org.apache.ibatis.reflection.wrapper.ObjectWrapperFactory;
 import org.apache.ibatis.scripting.LanguageDriver;
 import org.apache.ibatis.scripting.LanguageDriverRegistry;
 import org.apache.ibatis.scripting.defaults.RawLanguageDriver;
+import org.apache.ibatis.scripting.xmltags.CompiledExpressionEngine;
+import org.apache.ibatis.scripting.xmltags.ExpressionEngine;
+import org.apache.ibatis.scripting.xmltags.OgnlExpressionEngine;
 import org.apache.ibatis.scripting.xmltags.XMLLanguageDriver;
+import org.apache.ibatis.session.defaults.DefaultAsyncSqlSession;
 import org.apache.ibatis.transaction.Transaction;
 import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
 import org.apache.ibatis.transaction.managed.ManagedTransactionFactory;
@@ -110,6 +132,7 @@ public class Configuration {
   protected boolean aggressiveLazyLoading;
   protected boolean useGeneratedKeys;
   protected boolean useColumnLabel = true;
+  protected boolean useColumnIndex;
   protected boolean cacheEnabled = true;
   protected boolean callSettersOnNulls;
   protected boolean useActualParamName = true;
@@ -117,6 +140,9 @@ public class Configuration {
   protected boolean shrinkWhitespacesInSql;
   protected boolean nullableOnForEach;
   protected boolean argNameBasedConstructorAutoMapping;
+  protected boolean concurrentBatchSelects;
+  protected int batchSelectSize = 500;
+  protected int dynamicSqlCacheSize;
 
   protected String logPrefix;
   protected Class<? extends Log> logImpl;
@@ -128,6 +154,8 @@ public class Configuration {
       Arrays.asList("equals", "clone", "hashCode", "toString"));
   protected Integer defaultStatementTimeout;
   protected Integer defaultFetchSize;
+  protected Integer defaultBatchFlushSize;
+  protected Integer multiRowInsertSize;
   protected ResultSetType defaultResultSetType;
   protected ExecutorType defaultExecutorType = ExecutorType.SIMPLE;
   protected AutoMappingBehavior autoMappingBehavior = AutoMappingBehavior.PARTIAL;
@@ -140,6 +168,9 @@ public class Configuration {
 
   protected boolean lazyLoadingEnabled;
   protected ProxyFactory proxyFactory = new JavassistProxyFactory(); // #224 Using internal Javassist instead of OGNL
+  protected RowMapperFactory rowMapperFactory;
+  protected ExpressionEngine expressionEngine = new CompiledExpressionEngine();
+  protected java.util.concurrent.Executor asyncExecutor;
 
   protected String databaseId;
   /**
@@ -154,6 +185,10 @@ public class Configuration {
   protected final TypeHandlerRegistry typeHandlerRegistry = new TypeHandlerRegistry(this);
   protected final TypeAliasRegistry typeAliasRegistry = new TypeAliasRegistry();
   protected final LanguageDriverRegistry languageRegistry = new LanguageDriverRegistry();
+  protected int statementCacheSize = 256;
+  protected final AutoMappingPlanCache autoMappingPlanCache = new AutoMappingPlanCache(1024);
+  protected final List<BulkLoader> bulkLoaders = new CopyOnWriteArrayList<>(
+      Arrays.asList(new PostgresCopyBulkLoader(), new MySqlLoadDataBulkLoader(), new MultiRowInsertBulkLoader()));
 
   protected final Map<String, MappedStatement> mappedStatements = new StrictMap<MappedStatement>(
       "Mapped Statements collection")
@@ -193,6 +228,7 @@ public class Configuration {
 
     typeAliasRegistry.registerAlias("JNDI", JndiDataSourceFactory.class);
     typeAliasRegistry.registerAlias("POOLED", PooledDataSourceFactory.class);
+    typeAliasRegistry.registerAlias("CONCURRENT_POOLED", ConcurrentPooledDataSourceFactory.class);
     typeAliasRegistry.registerAlias("UNPOOLED", UnpooledDataSourceFactory.class);
 
     typeAliasRegistry.registerAlias("PERPETUAL", PerpetualCache.class);
@@ -200,6 +236,13 @@ public class Configuration {
     typeAliasRegistry.registerAlias("LRU", LruCache.class);
     typeAliasRegistry.registerAlias("SOFT", SoftCache.class);
     typeAliasRegistry.registerAlias("WEAK", WeakCache.class);
+    typeAliasRegistry.registerAlias("TINYLFU", TinyLfuCache.class);
+    typeAliasRegistry.registerAlias("TIERED", TieredCache.class);
+    typeAliasRegistry.registerAlias("OFF_HEAP", OffHeapCache.class);
+
+    typeAliasRegistry.registerAlias("JAVA", JavaCacheSerializer.class);
+    typeAliasRegistry.registerAlias("COMPACT", CompactCacheSerializer.class);
+    typeAliasRegistry.registerAlias("SNAPSHOT", SnapshotCacheSerializer.class);
 
     typeAliasRegistry.registerAlias("DB_VENDOR", VendorDatabaseIdProvider.class);
 
@@ -217,6 +260,9 @@ public class Configuration {
     typeAliasRegistry.registerAlias("CGLIB", CglibProxyFactory.class);
     typeAliasRegistry.registerAlias("JAVASSIST", JavassistProxyFactory.class);
 
+    typeAliasRegistry.registerAlias("COMPILED", CompiledExpressionEngine.class);
+    typeAliasRegistry.registerAlias("OGNL", OgnlExpressionEngine.class);
+
     languageRegistry.setDefaultDriverClass(XMLLanguageDriver.class);
     languageRegistry.register(RawLanguageDriver.class);
   }
@@ -333,6 +379,33 @@ public class Configuration {
     return nullableOnForEach;
   }
 
+  /**
+   * Gets the default maximum number of SQL shapes cached per dynamic statement.
+   *
+   * @return the maximum number of SQL shapes
+   *
+   * @since 3.6.0
+   */
+  public int getDynamicSqlCacheSize() {
+    return dynamicSqlCacheSize;
+  }
+
+  /**
+   * Sets the default maximum number of SQL shapes cached per dynamic statement. A shape is the outcome of the
+   * conditions and loops of a statement, the SQL and parameter mappings generated for a shape are reused by the next
+   * calls with the same shape. It can be overridden per statement by the {@code dynamicSqlCacheSize} attribute.
+   * <p>
+   * Default is {@code 0} (disabled).
+   *
+   * @param dynamicSqlCacheSize
+   *          the maximum number of SQL shapes
+   *
+   * @since 3.6.0
+   */
+  public void setDynamicSqlCacheSize(int dynamicSqlCacheSize) {
+    this.dynamicSqlCacheSize = dynamicSqlCacheSize;
+  }
+
   public boolean isArgNameBasedConstructorAutoMapping() {
     return argNameBasedConstructorAutoMapping;
   }
@@ -341,6 +414,72 @@ public class Configuration {
     this.argNameBasedConstructorAutoMapping = argNameBasedConstructorAutoMapping;
   }
 
+  /**
+   * Gets the maximum number of auto-mapping plans shared across queries.
+   *
+   * @return the maximum number of auto-mapping plans
+   *
+   * @since 3.6.0
+   */
+  public int getAutoMappingPlanCacheSize() {
+    return autoMappingPlanCache.getMaxSize();
+  }
+
+  /**
+   * Sets the maximum number of auto-mapping plans shared across queries. A value of {@code 0} disables the sharing, so
+   * auto-mappings are resolved once per query.
+   * <p>
+   * Default is {@code 1024}.
+   *
+   * @param autoMappingPlanCacheSize
+   *          the maximum number of auto-mapping plans
+   *
+   * @since 3.6.0
+   */
+  public void setAutoMappingPlanCacheSize(int autoMappingPlanCacheSize) {
+    autoMappingPlanCache.setMaxSize(autoMappingPlanCacheSize);
+  }
+
+  /**
+   * Gets the maximum number of statements a reuse executor keeps open per connection.
+   *
+   * @return the maximum number of statements
+   *
+   * @since 3.6.0
+   */
+  public int getStatementCacheSize() {
+    return statementCacheSize;
+  }
+
+  /**
+   * Sets the maximum number of statements a reuse executor keeps open per connection. The least recently used
+   * statements are closed first, and the others are kept across transactions. A value of {@code 0} keeps all the
+   * statements until the end of the transaction instead.
+   * <p>
+   * Default is {@code 256}.
+   *
+   * @param statementCacheSize
+   *          the maximum number of statements
+   *
+   * @since 3.6.0
+   *
+   * @see org.apache.ibatis.executor.ReuseExecutor
+   */
+  public void setStatementCacheSize(int statementCacheSize) {
+    this.statementCacheSize = statementCacheSize;
+  }
+
+  /**
+   * Gets the cache of auto-mapping plans shared across queries.
+   *
+   * @return the auto-mapping plan cache
+   *
+   * @since 3.6.0
+   */
+  public AutoMappingPlanCache getAutoMappingPlanCache() {
+    return autoMappingPlanCache;
+  }
+
   public String getDatabaseId() {
     return databaseId;
   }
@@ -447,6 +586,136 @@ public class Configuration {
     this.proxyFactory = proxyFactory;
   }
 
+  /**
+   * Gets the factory of row mappers used to apply auto-mappings.
+   *
+   * @return the row mapper factory, or {@code null} if auto-mappings are applied by reflection
+   *
+   * @since 3.6.0
+   */
+  public RowMapperFactory getRowMapperFactory() {
+    return rowMapperFactory;
+  }
+
+  /**
+   * Sets the factory of row mappers used to apply auto-mappings. When {@code null} (the default), auto-mappings are
+   * applied by reflection.
+   *
+   * @param rowMapperFactory
+   *          the row mapper factory
+   *
+   * @since 3.6.0
+   *
+   * @see org.apache.ibatis.executor.resultset.javassist.JavassistRowMapperFactory
+   */
+  public void setRowMapperFactory(RowMapperFactory rowMapperFactory) {
+    this.rowMapperFactory = rowMapperFactory;
+  }
+
+  /**
+   * Gets the engine that evaluates the expressions of dynamic SQL.
+   *
+   * @return the expression engine
+   *
+   * @since 3.6.0
+   */
+  public ExpressionEngine getExpressionEngine() {
+    return expressionEngine;
+  }
+
+  /**
+   * Sets the engine that evaluates the expressions of dynamic SQL. When {@code null}, the default
+   * {@link CompiledExpressionEngine} is used.
+   *
+   * @param expressionEngine
+   *          the expression engine
+   *
+   * @since 3.6.0
+   */
+  public void setExpressionEngine(ExpressionEngine expressionEngine) {
+    if (expressionEngine == null) {
+      expressionEngine = new CompiledExpressionEngine();
+    }
+    this.expressionEngine = expressionEngine;
+  }
+
+  /**
+   * Gets the executor that runs the operations of async sessions and of mapper methods returning a
+   * {@link java.util.concurrent.CompletableFuture}.
+   *
+   * @return the async executor
+   *
+   * @since 3.6.0
+   */
+  public java.util.concurrent.Executor getAsyncExecutor() {
+    return asyncExecutor == null ? DefaultAsyncSqlSession.getDefaultExecutor() : asyncExecutor;
+  }
+
+  /**
+   * Sets the executor that runs the operations of async sessions. When {@code null} (the default), a virtual thread per
+   * task is used if the JVM supports it, or else a shared pool of daemon threads.
+   *
+   * @param asyncExecutor
+   *          the async executor
+   *
+   * @since 3.6.0
+   *
+   * @see SqlSessionFactory#openAsyncSession()
+   */
+  public void setAsyncExecutor(java.util.concurrent.Executor asyncExecutor) {
+    this.asyncExecutor = asyncExecutor;
+  }
+
+  /**
+   * Returns whether the batch statements of the nested selects of a result run concurrently.
+   *
+   * @return true if they run concurrently
+   *
+   * @since 3.6.0
+   */
+  public boolean isConcurrentBatchSelects() {
+    return concurrentBatchSelects;
+  }
+
+  /**
+   * Sets whether the batch statements of the nested selects of a result run concurrently, on the async executor and
+   * each with its own connection. Such statements do not see the uncommitted changes of the session. Default is
+   * {@code false}.
+   *
+   * @param concurrentBatchSelects
+   *          true to run them concurrently
+   *
+   * @since 3.6.0
+   */
+  public void setConcurrentBatchSelects(boolean concurrentBatchSelects) {
+    this.concurrentBatchSelects = concurrentBatchSelects;
+  }
+
+  /**
+   * Gets the maximum number of keys passed to one run of the batch statement of a nested select.
+   *
+   * @return the maximum number of keys
+   *
+   * @since 3.6.0
+   */
+  public int getBatchSelectSize() {
+    return batchSelectSize;
+  }
+
+  /**
+   * Sets the maximum number of keys passed to one run of the batch statement of a nested select. When there are more
+   * keys, the statement runs once per chunk of keys and the results are merged, which keeps the {@code IN} lists within
+   * the limits of the database. A value of {@code 0} or less passes all the keys at once. Default is {@code 500}.
+   *
+   * @param batchSelectSize
+   *          the maximum number of keys
+   *
+   * @since 3.6.0
+   */
+  public void setBatchSelectSize(int batchSelectSize) {
+    this.batchSelectSize = batchSelectSize;
+  }
+
   public boolean isAggressiveLazyLoading() {
     return aggressiveLazyLoading;
   }
@@ -534,6 +803,55 @@ public class Configuration {
     this.defaultFetchSize = defaultFetchSize;
   }
 
+  /**
+   * Gets the default number of batched rows that triggers an automatic flush.
+   *
+   * @return the default batch flush size
+   *
+   * @since 3.6.0
+   */
+  public Integer getDefaultBatchFlushSize() {
+    return defaultBatchFlushSize;
+  }
+
+  /**
+   * Sets the default number of batched rows that triggers an automatic flush of a batch executor. It can be changed per
+   * session with {@link SqlSession#setAutoFlush(int, java.util.function.Consumer)}.
+   *
+   * @param defaultBatchFlushSize
+   *          the new default batch flush size, {@code null} or {@code 0} to flush only on demand
+   *
+   * @since 3.6.0
+   */
+  public void setDefaultBatchFlushSize(Integer defaultBatchFlushSize) {
+    this.defaultBatchFlushSize = defaultBatchFlushSize;
+  }
+
+  /**
+   * Gets the number of rows a batch executor inserts with one multi-row insert statement.
+   *
+   * @return the multi-row insert size
+   *
+   * @since 3.6.0
+   */
+  public Integer getMultiRowInsertSize() {
+    return multiRowInsertSize;
+  }
+
+  /**
+   * Sets the number of rows a batch executor inserts with one multi-row insert statement. When set, the rows of a
+   * simple {@code INSERT ... VALUES (...)} statement are batched as {@code INSERT ... VALUES (...), (...), ...}
+   * statements of up to that many rows.
+   *
+   * @param multiRowInsertSize
+   *          the new multi-row insert size, {@code null} or less than {@code 2} to batch rows one by one
+   *
+   * @since 3.6.0
+   */
+  public void setMultiRowInsertSize(Integer multiRowInsertSize) {
+    this.multiRowInsertSize = multiRowInsertSize;
+  }
+
   /**
    * Gets the default result set type.
    *
@@ -565,6 +883,34 @@ public class Configuration {
     this.useColumnLabel = useColumnLabel;
   }
 
+  /**
+   * Returns whether the mapped columns are read by index rather than by label.
+   *
+   * @return true if the columns are read by index
+   *
+   * @since 3.6.0
+   */
+  public boolean isUseColumnIndex() {
+    return useColumnIndex;
+  }
+
+  /**
+   * Sets whether the mapped columns are read by index rather than by label. The index of each mapped column is resolved
+   * once per result set and the type handlers are called with {@code getResult(ResultSet, int)}, which saves a label
+   * lookup per value in the driver. As MyBatis did not call this method for the mapped columns before, custom type
+   * handlers must implement it before this is enabled. The columns are always read by label when
+   * {@link #isUseColumnLabel()} is {@code false}, and those of the type handlers that do not support it (see
+   * {@link org.apache.ibatis.type.TypeHandler#isColumnIndexSupported()}). Default is {@code false}.
+   *
+   * @param useColumnIndex
+   *          whether to read the columns by index
+   *
+   * @since 3.6.0
+   */
+  public void setUseColumnIndex(boolean useColumnIndex) {
+    this.useColumnIndex = useColumnIndex;
+  }
+
   public LocalCacheScope getLocalCacheScope() {
     return localCacheScope;
   }
@@ -737,6 +1083,8 @@ public class Configuration {
     Executor executor;
     if (ExecutorType.BATCH == executorType) {
       executor = new BatchExecutor(this, transaction);
+    } else if (ExecutorType.GROUPED_BATCH == executorType) {
+      executor = new BatchExecutor(this, transaction, true);
     } else if (ExecutorType.REUSE == executorType) {
       executor = new ReuseExecutor(this, transaction);
     } else {
@@ -931,6 +1279,51 @@ public class Configuration {
     interceptorChain.addInterceptor(interceptor);
   }
 
+  /**
+   * Registers a bulk loader. It takes precedence over the loaders registered before, including the built-in ones.
+   *
+   * @param bulkLoader
+   *          the bulk loader
+   *
+   * @since 3.6.0
+   */
+  public void addBulkLoader(BulkLoader bulkLoader) {
+    bulkLoaders.add(0, bulkLoader);
+  }
+
+  /**
+   * Gets the registered bulk loaders, in order of precedence.
+   *
+   * @return the bulk loaders
+   *
+   * @since 3.6.0
+   */
+  public List<BulkLoader> getBulkLoaders() {
+    return Collections.unmodifiableList(bulkLoaders);
+  }
+
+  /**
+   * Gets the first registered bulk loader that supports the connection.
+   *
+   * @param connection
+   *          the connection
+   *
+   * @return the bulk loader
+   *
+   * @throws SQLException
+   *           if the connection cannot be inspected
+   *
+   * @since 3.6.0
+   */
+  public BulkLoader getBulkLoader(Connection connection) throws SQLException {
+    for (BulkLoader bulkLoader : bulkLoaders) {
+      if (bulkLoader.supports(connection)) {
+        return bulkLoader;
+      }
+    }
+    throw new ExecutorException("No bulk loader supports the connection.");
+  }
+
   public void addMappers(String packageName, Class<?> superType) {
     mapperRegistry.addMappers(packageName, superType);
   }
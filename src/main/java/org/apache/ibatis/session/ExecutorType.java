@@ -24,6 +24,13 @@ public enum ExecutorType {
 
   REUSE,
 
-  BATCH
+  BATCH,
+
+  /**
+   * Batches updates like {@link #BATCH}, keeping one batch per distinct statement until the next flush.
+   *
+   * @since 3.6.0
+   */
+  GROUPED_BATCH
 
 }
@@ -19,6 +19,8 @@ import java.io.Closeable;
 import java.sql.Connection;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import org.apache.ibatis.cursor.Cursor;
 import org.apache.ibatis.executor.BatchResult;
@@ -302,6 +304,49 @@ public interface SqlSession extends Closeable {
    */
   int delete(String statement, Object parameter);
 
+  /**
+   * Loads many rows into a table, using a database specific path such as PostgreSQL {@code COPY} or MySQL
+   * {@code LOAD DATA} when available. The statement must be a single-row insert such as {@code INSERT INTO users (id,
+   * name) VALUES (#{id}, #{name})} and is applied to each parameter object. The values are converted by the type
+   * handlers of the statement, but neither generated keys nor plugins of the statement are applied. The parameter
+   * objects are read once, as the rows are sent.
+   *
+   * @param statement
+   *          Unique identifier matching the insert statement describing a row.
+   * @param parameters
+   *          The parameter objects, one per row.
+   *
+   * @return The number of loaded rows.
+   *
+   * @since 3.6.0
+   *
+   * @see org.apache.ibatis.executor.bulk.BulkLoader
+   */
+  default long bulkLoad(String statement, Iterable<?> parameters) {
+    throw new UnsupportedOperationException("Bulk load is not supported by " + getClass().getName());
+  }
+
+  /**
+   * Loads many rows into a table, reading the parameter objects from a stream.
+   *
+   * @param <T>
+   *          the type of the parameter objects
+   * @param statement
+   *          Unique identifier matching the insert statement describing a row.
+   * @param parameters
+   *          The parameter objects, one per row.
+   *
+   * @return The number of loaded rows.
+   *
+   * @since 3.6.0
+   *
+   * @see #bulkLoad(String, Iterable)
+   */
+  default <T> long bulkLoad(String statement, Stream<T> parameters) {
+    Iterable<T> iterable = parameters::iterator;
+    return bulkLoad(statement, iterable);
+  }
+
   /**
    * Flushes batch statements and commits database connection. Note that database connection will not be committed if no
    * updates/deletes/inserts were called. To force the commit call {@link SqlSession#commit(boolean)}
@@ -341,6 +386,24 @@ public interface SqlSession extends Closeable {
    */
   List<BatchResult> flushStatements();
 
+  /**
+   * Flushes batch statements automatically once the given number of rows has been batched, so that neither the driver
+   * nor the session keeps the whole batch in memory. The results of an automatic flush are passed to the listener and
+   * are not returned by a later {@link #flushStatements()}; without a listener, the next {@link #flushStatements()}
+   * returns them without their parameter objects, which are not retained. This has no effect unless the session batches
+   * updates.
+   *
+   * @param batchSize
+   *          the number of batched rows that triggers a flush; {@code 0} flushes only on demand
+   * @param listener
+   *          receives the results of each automatic flush, may be {@code null}
+   *
+   * @since 3.6.0
+   */
+  default void setAutoFlush(int batchSize, Consumer<List<BatchResult>> listener) {
+    // nothing to flush
+  }
+
   /**
    * Closes the session.
    */
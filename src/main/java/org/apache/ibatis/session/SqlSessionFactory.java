@@ -17,6 +17,8 @@ package org.apache.ibatis.session;
 
 import java.sql.Connection;
 
+import org.apache.ibatis.session.defaults.DefaultAsyncSqlSession;
+
 /**
  * Creates an {@link SqlSession} out of a connection or a DataSource
  *
@@ -42,4 +44,29 @@ public interface SqlSessionFactory {
 
   Configuration getConfiguration();
 
+  /**
+   * Opens a session whose operations run on the async executor of the configuration.
+   *
+   * @return the async session
+   *
+   * @since 3.6.0
+   */
+  default AsyncSqlSession openAsyncSession() {
+    return new DefaultAsyncSqlSession(openSession(), getConfiguration().getAsyncExecutor());
+  }
+
+  /**
+   * Opens a session whose operations run on the async executor of the configuration.
+   *
+   * @param execType
+   *          the executor type of the underlying session
+   *
+   * @return the async session
+   *
+   * @since 3.6.0
+   */
+  default AsyncSqlSession openAsyncSession(ExecutorType execType) {
+    return new DefaultAsyncSqlSession(openSession(execType), getConfiguration().getAsyncExecutor());
+  }
+
 }
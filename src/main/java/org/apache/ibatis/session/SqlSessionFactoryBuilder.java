@@ -51,7 +51,7 @@ public class SqlSessionFactoryBuilder {
     } catch (Exception e) {
       throw ExceptionFactory.wrapException("Error building SqlSession.", e);
     } finally {
-      ErrorContext.instance().reset();
+      ErrorContext.clearInstance();
       try {
         if (reader != null) {
           reader.close();
@@ -81,7 +81,7 @@ public class SqlSessionFactoryBuilder {
     } catch (Exception e) {
       throw ExceptionFactory.wrapException("Error building SqlSession.", e);
     } finally {
-      ErrorContext.instance().reset();
+      ErrorContext.clearInstance();
       try {
         if (inputStream != null) {
           inputStream.close();
@@ -24,6 +24,7 @@ import java.sql.Connection;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.function.Consumer;
 
 import org.apache.ibatis.cursor.Cursor;
 import org.apache.ibatis.executor.BatchResult;
@@ -254,6 +255,11 @@ public class SqlSessionManager implements SqlSessionFactory, SqlSession {
     return sqlSessionProxy.delete(statement, parameter);
   }
 
+  @Override
+  public long bulkLoad(String statement, Iterable<?> parameters) {
+    return sqlSessionProxy.bulkLoad(statement, parameters);
+  }
+
   @Override
   public <T> T getMapper(Class<T> type) {
     return getConfiguration().getMapper(type, this);
@@ -322,6 +328,15 @@ public class SqlSessionManager implements SqlSessionFactory, SqlSession {
     return sqlSession.flushStatements();
   }
 
+  @Override
+  public void setAutoFlush(int batchSize, Consumer<List<BatchResult>> listener) {
+    final SqlSession sqlSession = localSqlSession.get();
+    if (sqlSession == null) {
+      throw new SqlSessionException("Error:  Cannot set automatic flush.  No managed session is started.");
+    }
+    sqlSession.setAutoFlush(batchSize, listener);
+  }
+
   @Override
   public void close() {
     final SqlSession sqlSession = localSqlSession.get();
@@ -0,0 +1,318 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.session.defaults;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
+import org.apache.ibatis.reflection.ExceptionUtil;
+import org.apache.ibatis.session.AsyncSqlSession;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.RowBounds;
+import org.apache.ibatis.session.SqlSession;
+
+/**
+ * The default implementation for {@link AsyncSqlSession}. It queues the operations of the session and runs them one at
+ * a time on the executor, so that the underlying {@link SqlSession} is never used by two threads at once. Operations
+ * submitted from an operation of the session run at once on its thread, as they would otherwise wait behind the
+ * operation that waits for them.
+ *
+ * @since 3.6.0
+ */
+public class DefaultAsyncSqlSession implements AsyncSqlSession {
+
+  private static final Log log = LogFactory.getLog(DefaultAsyncSqlSession.class);
+
+  private final SqlSession sqlSession;
+  private final Executor executor;
+  private final Blocking blockingSession;
+
+  private final Deque<Runnable> tasks = new ArrayDeque<>();
+  private boolean running;
+  private boolean closed;
+  private volatile Thread runner;
+
+  public DefaultAsyncSqlSession(SqlSession sqlSession, Executor executor) {
+    this.sqlSession = sqlSession;
+    this.executor = executor;
+    this.blockingSession = (Blocking) Proxy.newProxyInstance(Blocking.class.getClassLoader(),
+        new Class<?>[] { Blocking.class }, (proxy, method, args) -> invokeBlocking(proxy, method, args));
+  }
+
+  /**
+   * Returns the executor used when none is configured: a virtual thread per task when the JVM supports it, a cached
+   * pool of daemon threads otherwise.
+   *
+   * @return the shared default executor
+   */
+  public static Executor getDefaultExecutor() {
+    return DefaultExecutorHolder.EXECUTOR;
+  }
+
+  @Override
+  public <T> CompletableFuture<T> selectOne(String statement) {
+    return execute(session -> session.selectOne(statement));
+  }
+
+  @Override
+  public <T> CompletableFuture<T> selectOne(String statement, Object parameter) {
+    return execute(session -> session.selectOne(statement, parameter));
+  }
+
+  @Override
+  public <E> CompletableFuture<List<E>> selectList(String statement) {
+    return execute(session -> session.selectList(statement));
+  }
+
+  @Override
+  public <E> CompletableFuture<List<E>> selectList(String statement, Object parameter) {
+    return execute(session -> session.selectList(statement, parameter));
+  }
+
+  @Override
+  public <E> CompletableFuture<List<E>> selectList(String statement, Object parameter, RowBounds rowBounds) {
+    return execute(session -> session.selectList(statement, parameter, rowBounds));
+  }
+
+  @Override
+  public <K, V> CompletableFuture<Map<K, V>> selectMap(String statement, Object parameter, String mapKey) {
+    return execute(session -> session.selectMap(statement, parameter, mapKey));
+  }
+
+  @Override
+  public CompletableFuture<Integer> insert(String statement) {
+    return execute(session -> session.insert(statement));
+  }
+
+  @Override
+  public CompletableFuture<Integer> insert(String statement, Object parameter) {
+    return execute(session -> session.insert(statement, parameter));
+  }
+
+  @Override
+  public CompletableFuture<Integer> update(String statement) {
+    return execute(session -> session.update(statement));
+  }
+
+  @Override
+  public CompletableFuture<Integer> update(String statement, Object parameter) {
+    return execute(session -> session.update(statement, parameter));
+  }
+
+  @Override
+  public CompletableFuture<Integer> delete(String statement) {
+    return execute(session -> session.delete(statement));
+  }
+
+  @Override
+  public CompletableFuture<Integer> delete(String statement, Object parameter) {
+    return execute(session -> session.delete(statement, parameter));
+  }
+
+  @Override
+  public CompletableFuture<Void> commit() {
+    return commit(false);
+  }
+
+  @Override
+  public CompletableFuture<Void> commit(boolean force) {
+    return execute(session -> {
+      session.commit(force);
+      return null;
+    });
+  }
+
+  @Override
+  public CompletableFuture<Void> rollback() {
+    return rollback(false);
+  }
+
+  @Override
+  public CompletableFuture<Void> rollback(boolean force) {
+    return execute(session -> {
+      session.rollback(force);
+      return null;
+    });
+  }
+
+  @Override
+  public CompletableFuture<List<BatchResult>> flushStatements() {
+    return execute(SqlSession::flushStatements);
+  }
+
+  @Override
+  public <T> CompletableFuture<T> execute(Function<SqlSession, T> operation) {
+    CompletableFuture<T> future = new CompletableFuture<>();
+    Runnable task = () -> {
+      try {
+        future.complete(operation.apply(sqlSession));
+      } catch (Throwable t) {
+        future.completeExceptionally(t);
+      }
+    };
+    if (runner == Thread.currentThread()) {
+      // called from an operation of this session
+      task.run();
+      return future;
+    }
+    synchronized (tasks) {
+      if (closed) {
+        future.completeExceptionally(new IllegalStateException("The session is closed."));
+        return future;
+      }
+      enqueue(task);
+    }
+    return future;
+  }
+
+  @Override
+  public <T> T getMapper(Class<T> type) {
+    return getConfiguration().getMapper(type, blockingSession);
+  }
+
+  @Override
+  public Configuration getConfiguration() {
+    return sqlSession.getConfiguration();
+  }
+
+  @Override
+  public void close() {
+    synchronized (tasks) {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      enqueue(() -> {
+        try {
+          sqlSession.close();
+        } catch (RuntimeException e) {
+          log.warn("Error closing the session. Cause: " + e);
+        }
+      });
+    }
+  }
+
+  private void enqueue(Runnable task) {
+    tasks.add(task);
+    if (!running) {
+      running = true;
+      try {
+        executor.execute(this::runTasks);
+      } catch (RuntimeException e) {
+        running = false;
+        tasks.removeLast();
+        throw e;
+      }
+    }
+  }
+
+  private void runTasks() {
+    runner = Thread.currentThread();
+    try {
+      Runnable task;
+      while ((task = nextTask()) != null) {
+        task.run();
+      }
+    } finally {
+      runner = null;
+    }
+  }
+
+  private Runnable nextTask() {
+    synchronized (tasks) {
+      Runnable task = tasks.poll();
+      if (task == null) {
+        running = false;
+      }
+      return task;
+    }
+  }
+
+  private Object invokeBlocking(Object proxy, Method method, Object[] args) throws Throwable {
+    switch (method.getName()) {
+      case "getAsyncSession":
+        return this;
+      case "getConfiguration":
+        return getConfiguration();
+      case "getMapper":
+        return getConfiguration().getMapper((Class<?>) args[0], (SqlSession) proxy);
+      case "close":
+        close();
+        return null;
+      default:
+        if (method.getDeclaringClass() == Object.class) {
+          return method.invoke(this, args);
+        }
+    }
+    if (runner == Thread.currentThread()) {
+      // called from an operation of this session
+      return invoke(sqlSession, method, args);
+    }
+    try {
+      return execute(session -> {
+        try {
+          return invoke(session, method, args);
+        } catch (RuntimeException | Error e) {
+          throw e;
+        } catch (Throwable t) {
+          throw new CompletionException(t);
+        }
+      }).join();
+    } catch (CompletionException e) {
+      throw e.getCause() == null ? e : e.getCause();
+    }
+  }
+
+  private static Object invoke(SqlSession session, Method method, Object[] args) throws Throwable {
+    try {
+      return method.invoke(session, args);
+    } catch (Throwable t) {
+      throw ExceptionUtil.unwrapThrowable(t);
+    }
+  }
+
+  private static final class DefaultExecutorHolder {
+    private static final Executor EXECUTOR = create();
+
+    private static Executor create() {
+      try {
+        return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+      } catch (ReflectiveOperationException e) {
+        final AtomicInteger counter = new AtomicInteger();
+        return Executors.newCachedThreadPool(runnable -> {
+          Thread thread = new Thread(runnable, "mybatis-async-" + counter.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        });
+      }
+    }
+  }
+
+}
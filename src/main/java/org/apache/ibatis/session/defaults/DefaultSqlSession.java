@@ -21,6 +21,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import org.apache.ibatis.binding.BindingException;
 import org.apache.ibatis.cursor.Cursor;
@@ -127,7 +128,7 @@ public class DefaultSqlSession implements SqlSession {
     } catch (Exception e) {
       throw ExceptionFactory.wrapException("Error querying database.  Cause: " + e, e);
     } finally {
-      ErrorContext.instance().reset();
+      ErrorContext.clearInstance();
     }
   }
 
@@ -154,7 +155,7 @@ public class DefaultSqlSession implements SqlSession {
     } catch (Exception e) {
       throw ExceptionFactory.wrapException("Error querying database.  Cause: " + e, e);
     } finally {
-      ErrorContext.instance().reset();
+      ErrorContext.clearInstance();
     }
   }
 
@@ -197,7 +198,7 @@ public class DefaultSqlSession implements SqlSession {
     } catch (Exception e) {
       throw ExceptionFactory.wrapException("Error updating database.  Cause: " + e, e);
     } finally {
-      ErrorContext.instance().reset();
+      ErrorContext.clearInstance();
     }
   }
 
@@ -211,6 +212,19 @@ public class DefaultSqlSession implements SqlSession {
     return update(statement, parameter);
   }
 
+  @Override
+  public long bulkLoad(String statement, Iterable<?> parameters) {
+    try {
+      dirty = true;
+      MappedStatement ms = configuration.getMappedStatement(statement);
+      return executor.bulkLoad(ms, parameters);
+    } catch (Exception e) {
+      throw ExceptionFactory.wrapException("Error loading rows into the database.  Cause: " + e, e);
+    } finally {
+      ErrorContext.clearInstance();
+    }
+  }
+
   @Override
   public void commit() {
     commit(false);
@@ -224,7 +238,7 @@ public class DefaultSqlSession implements SqlSession {
     } catch (Exception e) {
       throw ExceptionFactory.wrapException("Error committing transaction.  Cause: " + e, e);
     } finally {
-      ErrorContext.instance().reset();
+      ErrorContext.clearInstance();
     }
   }
 
@@ -241,7 +255,7 @@ public class DefaultSqlSession implements SqlSession {
     } catch (Exception e) {
       throw ExceptionFactory.wrapException("Error rolling back transaction.  Cause: " + e, e);
     } finally {
-      ErrorContext.instance().reset();
+      ErrorContext.clearInstance();
     }
   }
 
@@ -252,10 +266,15 @@ public class DefaultSqlSession implements SqlSession {
     } catch (Exception e) {
       throw ExceptionFactory.wrapException("Error flushing statements.  Cause: " + e, e);
     } finally {
-      ErrorContext.instance().reset();
+      ErrorContext.clearInstance();
     }
   }
 
+  @Override
+  public void setAutoFlush(int batchSize, Consumer<List<BatchResult>> listener) {
+    executor.setAutoFlush(batchSize, listener);
+  }
+
   @Override
   public void close() {
     try {
@@ -263,7 +282,7 @@ public class DefaultSqlSession implements SqlSession {
       closeCursors();
       dirty = false;
     } finally {
-      ErrorContext.instance().reset();
+      ErrorContext.clearInstance();
     }
   }
 
@@ -104,7 +104,7 @@ public class DefaultSqlSessionFactory implements SqlSessionFactory {
       closeTransaction(tx); // may have fetched a connection so lets call close()
       throw ExceptionFactory.wrapException("Error opening session.  Cause: " + e, e);
     } finally {
-      ErrorContext.instance().reset();
+      ErrorContext.clearInstance();
     }
   }
 
@@ -126,7 +126,7 @@ public class DefaultSqlSessionFactory implements SqlSessionFactory {
     } catch (Exception e) {
       throw ExceptionFactory.wrapException("Error opening session.  Cause: " + e, e);
     } finally {
-      ErrorContext.instance().reset();
+      ErrorContext.clearInstance();
     }
   }
 
@@ -0,0 +1,78 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.type;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * A type handler that can also read a column as a primitive value, so that the result mapping engine can populate a
+ * primitive property without allocating a wrapper.
+ * <p>
+ * The primitive getters read the column by index and follow the JDBC convention: a SQL {@code NULL} is returned as
+ * {@code 0} and signalled by {@link ResultSet#wasNull()} returning {@code true} right after the call. Only the getter
+ * matching {@link #getPrimitiveType()} is used. By default, the getters read the value with
+ * {@link #getResult(ResultSet, int)} and unbox it.
+ * <p>
+ * The built-in handlers override the getter of their type to read the primitive value directly. Since such a getter
+ * bypasses the boxed getters, they only return their primitive type when they are not subclassed: a subclass may have
+ * changed how values are read.
+ *
+ * @param <T>
+ *          the boxed type
+ *
+ * @since 3.6.0
+ */
+public interface PrimitiveTypeHandler<T> extends TypeHandler<T> {
+
+  /**
+   * Returns the primitive type this handler can read without boxing.
+   *
+   * @return the primitive type, or {@code null} if the primitive getters must not be used
+   */
+  Class<?> getPrimitiveType();
+
+  default int getInt(ResultSet rs, int columnIndex) throws SQLException {
+    T value = getResult(rs, columnIndex);
+    return value == null ? 0 : ((Number) value).intValue();
+  }
+
+  default long getLong(ResultSet rs, int columnIndex) throws SQLException {
+    T value = getResult(rs, columnIndex);
+    return value == null ? 0L : ((Number) value).longValue();
+  }
+
+  default double getDouble(ResultSet rs, int columnIndex) throws SQLException {
+    T value = getResult(rs, columnIndex);
+    return value == null ? 0.0 : ((Number) value).doubleValue();
+  }
+
+  /**
+   * Returns whether the handler can read values of the primitive type without boxing.
+   *
+   * @param typeHandler
+   *          the type handler
+   * @param primitiveType
+   *          the primitive type
+   *
+   * @return true if the primitive getter of the type can be used
+   */
+  static boolean supports(TypeHandler<?> typeHandler, Class<?> primitiveType) {
+    return typeHandler instanceof PrimitiveTypeHandler && primitiveType.isPrimitive()
+        && primitiveType == ((PrimitiveTypeHandler<?>) typeHandler).getPrimitiveType();
+  }
+
+}
@@ -46,4 +46,19 @@ public interface TypeHandler<T> {
 
   T getResult(CallableStatement cs, int columnIndex) throws SQLException;
 
+  /**
+   * Returns whether the mapped columns can be read with {@link #getResult(ResultSet, int)}. A handler that only
+   * implements {@link #getResult(ResultSet, String)} returns {@code false}, so that its columns are always read by
+   * label.
+   *
+   * @return {@code true} if the columns can be read by index
+   *
+   * @since 3.6.0
+   *
+   * @see org.apache.ibatis.session.Configuration#isUseColumnIndex()
+   */
+  default boolean isColumnIndexSupported() {
+    return true;
+  }
+
 }
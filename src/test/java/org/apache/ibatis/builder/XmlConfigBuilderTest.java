@@ -48,12 +48,15 @@ import org.apache.ibatis.domain.blog.mappers.NestedBlogMapper;
 import org.apache.ibatis.domain.jpetstore.Cart;
 import org.apache.ibatis.executor.loader.cglib.CglibProxyFactory;
 import org.apache.ibatis.executor.loader.javassist.JavassistProxyFactory;
+import org.apache.ibatis.executor.resultset.javassist.JavassistRowMapperFactory;
 import org.apache.ibatis.io.JBoss6VFS;
 import org.apache.ibatis.io.Resources;
 import org.apache.ibatis.logging.slf4j.Slf4jImpl;
 import org.apache.ibatis.mapping.Environment;
 import org.apache.ibatis.mapping.ResultSetType;
 import org.apache.ibatis.scripting.defaults.RawLanguageDriver;
+import org.apache.ibatis.scripting.xmltags.CompiledExpressionEngine;
+import org.apache.ibatis.scripting.xmltags.OgnlExpressionEngine;
 import org.apache.ibatis.scripting.xmltags.XMLLanguageDriver;
 import org.apache.ibatis.session.AutoMappingBehavior;
 import org.apache.ibatis.session.AutoMappingUnknownColumnBehavior;
@@ -87,10 +90,13 @@ class XmlConfigBuilderTest {
       assertThat(config.isLazyLoadingEnabled()).isFalse();
       assertThat(config.isAggressiveLazyLoading()).isFalse();
       assertThat(config.isUseColumnLabel()).isTrue();
+      assertThat(config.isUseColumnIndex()).isFalse();
       assertThat(config.isUseGeneratedKeys()).isFalse();
       assertThat(config.getDefaultExecutorType()).isEqualTo(ExecutorType.SIMPLE);
       assertNull(config.getDefaultStatementTimeout());
       assertNull(config.getDefaultFetchSize());
+      assertNull(config.getDefaultBatchFlushSize());
+      assertNull(config.getMultiRowInsertSize());
       assertNull(config.getDefaultResultSetType());
       assertThat(config.isMapUnderscoreToCamelCase()).isFalse();
       assertThat(config.isSafeRowBoundsEnabled()).isFalse();
@@ -110,6 +116,13 @@ class XmlConfigBuilderTest {
       assertThat(config.isArgNameBasedConstructorAutoMapping()).isFalse();
       assertThat(config.getDefaultSqlProviderType()).isNull();
       assertThat(config.isNullableOnForEach()).isFalse();
+      assertThat(config.getAutoMappingPlanCacheSize()).isEqualTo(1024);
+      assertThat(config.getStatementCacheSize()).isEqualTo(256);
+      assertThat(config.getDynamicSqlCacheSize()).isZero();
+      assertThat(config.getRowMapperFactory()).isNull();
+      assertThat(config.getExpressionEngine()).isInstanceOf(CompiledExpressionEngine.class);
+      assertThat(config.isConcurrentBatchSelects()).isFalse();
+      assertThat(config.getBatchSelectSize()).isEqualTo(500);
     }
   }
 
@@ -193,10 +206,13 @@ class XmlConfigBuilderTest {
       assertThat(config.isLazyLoadingEnabled()).isTrue();
       assertThat(config.isAggressiveLazyLoading()).isTrue();
       assertThat(config.isUseColumnLabel()).isFalse();
+      assertThat(config.isUseColumnIndex()).isTrue();
       assertThat(config.isUseGeneratedKeys()).isTrue();
       assertThat(config.getDefaultExecutorType()).isEqualTo(ExecutorType.BATCH);
       assertThat(config.getDefaultStatementTimeout()).isEqualTo(10);
       assertThat(config.getDefaultFetchSize()).isEqualTo(100);
+      assertThat(config.getDefaultBatchFlushSize()).isEqualTo(1000);
+      assertThat(config.getMultiRowInsertSize()).isEqualTo(50);
       assertThat(config.getDefaultResultSetType()).isEqualTo(ResultSetType.SCROLL_INSENSITIVE);
       assertThat(config.isMapUnderscoreToCamelCase()).isTrue();
       assertThat(config.isSafeRowBoundsEnabled()).isTrue();
@@ -215,6 +231,13 @@ class XmlConfigBuilderTest {
       assertThat(config.isArgNameBasedConstructorAutoMapping()).isTrue();
       assertThat(config.getDefaultSqlProviderType().getName()).isEqualTo(MySqlProvider.class.getName());
       assertThat(config.isNullableOnForEach()).isTrue();
+      assertThat(config.getAutoMappingPlanCacheSize()).isZero();
+      assertThat(config.getStatementCacheSize()).isEqualTo(64);
+      assertThat(config.getDynamicSqlCacheSize()).isEqualTo(64);
+      assertThat(config.getRowMapperFactory()).isInstanceOf(JavassistRowMapperFactory.class);
+      assertThat(config.getExpressionEngine()).isInstanceOf(OgnlExpressionEngine.class);
+      assertThat(config.isConcurrentBatchSelects()).isTrue();
+      assertThat(config.getBatchSelectSize()).isEqualTo(100);
 
       assertThat(config.getTypeAliasRegistry().getTypeAliases().get("blogauthor")).isEqualTo(Author.class);
       assertThat(config.getTypeAliasRegistry().getTypeAliases().get("blog")).isEqualTo(Blog.class);
@@ -28,6 +28,7 @@ import java.util.Map;
 import java.util.stream.Stream;
 
 import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.builder.BuilderException;
 import org.apache.ibatis.io.Resources;
 import org.apache.ibatis.mapping.BoundSql;
 import org.apache.ibatis.scripting.xmltags.ChooseSqlNode;
@@ -43,6 +44,7 @@ import org.apache.ibatis.scripting.xmltags.WhereSqlNode;
 import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.session.SqlSessionFactory;
 import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.type.JdbcType;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -358,6 +360,33 @@ class DynamicSqlSourceTest extends BaseDataTest {
     assertEquals("b.id", boundSql.getParameterMappings().get(1).getProperty());
   }
 
+  @Test
+  void shouldBindPreParsedParametersForEachItem() throws Exception {
+    final Map<String, Object> param = new HashMap<>();
+    param.put("ids", Arrays.asList("a", "b"));
+    param.put("name", "n");
+    DynamicSqlSource source = createDynamicSqlSource(new StaticTextSqlNode("SELECT * FROM BLOG WHERE NAME = #{name}"),
+        new ForEachSqlNode(new Configuration(),
+            mixedContents(new StaticTextSqlNode("#{id,jdbcType=VARCHAR} \\#{literal}")), "ids", false, null, "id",
+            "AND ID IN (", ")", ","));
+    for (int i = 0; i < 2; i++) {
+      BoundSql boundSql = source.getBoundSql(param);
+      assertEquals("SELECT * FROM BLOG WHERE NAME = ? AND ID IN (  ? #{literal} , ? #{literal} )", boundSql.getSql());
+      assertEquals(3, boundSql.getParameterMappings().size());
+      assertEquals("n", boundSql.getParameterMappings().get(0).getValue());
+      assertEquals("id", boundSql.getParameterMappings().get(1).getProperty());
+      assertEquals(JdbcType.VARCHAR, boundSql.getParameterMappings().get(1).getJdbcType());
+      assertEquals("a", boundSql.getParameterMappings().get(1).getValue());
+      assertEquals("b", boundSql.getParameterMappings().get(2).getValue());
+    }
+  }
+
+  @Test
+  void shouldReportInvalidParameterWhenExecuted() throws Exception {
+    DynamicSqlSource source = createDynamicSqlSource(new StaticTextSqlNode("SELECT * FROM BLOG WHERE ID = #{id,foo}"));
+    Assertions.assertThrows(BuilderException.class, () -> source.getBoundSql(new Bean("1")));
+  }
+
   private DynamicSqlSource createDynamicSqlSource(SqlNode... contents) throws IOException, SQLException {
     createBlogDataSource();
     final String resource = "org/apache/ibatis/builder/MapperConfig.xml";
@@ -15,6 +15,7 @@
  */
 package org.apache.ibatis.cache;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import java.util.HashSet;
@@ -52,4 +53,24 @@ class BaseCacheTest {
     assertEquals(1, caches.size());
   }
 
+  @Test
+  @SuppressWarnings("deprecation")
+  void shouldCountRequestsAndHitsOfLoggingCache() {
+    class CountingCache extends LoggingCache {
+      CountingCache(Cache delegate) {
+        super(delegate);
+      }
+
+      long[] counts() {
+        return new long[] { getRequestCount(), getHitCount(), requests, hits };
+      }
+    }
+    CountingCache cache = new CountingCache(new PerpetualCache("test_cache"));
+    cache.putObject("key", "value");
+    cache.getObject("key");
+    cache.getObject("missing");
+    cache.getObject("key");
+    assertArrayEquals(new long[] { 3, 2, 3, 2 }, cache.counts());
+  }
+
 }
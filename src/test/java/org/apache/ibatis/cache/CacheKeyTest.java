@@ -88,6 +88,44 @@ class CacheKeyTest {
     assertEquals(key1, key2);
   }
 
+  @Test
+  void shouldGrowBeyondTheExpectedUpdateCount() throws Exception {
+    CacheKey key1 = new CacheKey(1);
+    CacheKey key2 = new CacheKey();
+    for (int i = 0; i < 20; i++) {
+      key1.update(i);
+      key2.update(i);
+    }
+    assertEquals(20, key1.getUpdateCount());
+    assertEquals(key1, key2);
+    assertEquals(key1.hashCode(), key2.hashCode());
+    assertEquals(key1.toString(), key2.toString());
+  }
+
+  @Test
+  void shouldNotShareComponentsWithClones() throws Exception {
+    CacheKey key = new CacheKey(new Object[] { "select", 1 });
+    CacheKey clone = key.clone();
+    assertEquals(key, clone);
+    clone.update(2);
+    key.update(3);
+    assertNotEquals(key, clone);
+    assertEquals(3, clone.getUpdateCount());
+    assertEquals(new CacheKey(new Object[] { "select", 1, 2 }), clone);
+  }
+
+  @Test
+  void shouldSerializeOnlyTheComponents() throws Exception {
+    CacheKey cacheKey = new CacheKey(100);
+    cacheKey.update("serializable");
+    cacheKey.update(new int[] { 1, 2 });
+    CacheKey deserialized = serialize(cacheKey);
+    assertEquals(cacheKey, deserialized);
+    assertEquals(cacheKey.hashCode(), deserialized.hashCode());
+    deserialized.update("more");
+    assertEquals(3, deserialized.getUpdateCount());
+  }
+
   @Test
   void throwExceptionWhenTryingToUpdateNullCacheKey() {
     CacheKey cacheKey = CacheKey.NULL_CACHE_KEY;
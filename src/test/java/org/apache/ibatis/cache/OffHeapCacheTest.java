@@ -0,0 +1,149 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.ibatis.cache.impl.OffHeapCache;
+import org.apache.ibatis.cache.serializer.CompactCacheSerializer;
+import org.apache.ibatis.cache.serializer.SnapshotCacheSerializer;
+import org.junit.jupiter.api.Test;
+
+class OffHeapCacheTest {
+
+  @Test
+  void shouldReturnCopiesOfTheCachedValues() {
+    OffHeapCache cache = new OffHeapCache("default");
+    List<String> list = new ArrayList<>(Arrays.asList("a", "b"));
+    cache.putObject(0, list);
+    cache.putObject(1, null);
+    cache.putObject(2, new byte[] { 1, 2 });
+    list.add("c");
+
+    assertThat(cache.getObject(0)).isEqualTo(Arrays.asList("a", "b")).isNotSameAs(cache.getObject(0));
+    assertNull(cache.getObject(1));
+    assertThat((byte[]) cache.getObject(2)).containsExactly(1, 2);
+    assertNull(cache.getObject(3));
+    assertEquals(3, cache.getSize());
+  }
+
+  @Test
+  void shouldEvictOldestValuesWhenFull() {
+    OffHeapCache cache = new OffHeapCache("default");
+    cache.setMaximumBytes(2500);
+    cache.setSlabSize(300);
+    for (int i = 0; i < 100; i++) {
+      cache.putObject(i, new byte[99]);
+    }
+    assertEquals(25, cache.getSize());
+    assertThat(cache.getUsedBytes()).isEqualTo(2500);
+    assertThat(cache.getEvictionCount()).isEqualTo(75);
+    assertNull(cache.getObject(74));
+    assertThat((byte[]) cache.getObject(75)).hasSize(99);
+    assertThat((byte[]) cache.getObject(99)).hasSize(99);
+  }
+
+  @Test
+  void shouldWrapValuesAcrossSlabs() {
+    OffHeapCache cache = new OffHeapCache("default");
+    cache.setMaximumBytes(1000);
+    cache.setSlabSize(64);
+    cache.setSerializer(new CompactCacheSerializer());
+    for (int i = 0; i < 50; i++) {
+      String value = String.valueOf((char) ('a' + i % 26)).repeat(i * 7);
+      cache.putObject(i, value);
+      assertEquals(value, cache.getObject(i));
+    }
+    assertThat(cache.getObject(49)).isEqualTo("x".repeat(343));
+    assertThat(cache.getUsedBytes()).isLessThanOrEqualTo(1000);
+  }
+
+  @Test
+  void shouldReplaceAndRemoveValues() {
+    OffHeapCache cache = new OffHeapCache("default");
+    cache.putObject(0, "a");
+    cache.putObject(0, "b");
+    assertEquals("b", cache.getObject(0));
+    assertEquals(1, cache.getSize());
+    assertEquals("b", cache.removeObject(0));
+    assertNull(cache.removeObject(0));
+    assertNull(cache.getObject(0));
+    cache.putObject(1, "c");
+    cache.clear();
+    assertEquals(0, cache.getSize());
+    assertEquals(0, cache.getUsedBytes());
+  }
+
+  @Test
+  void shouldWriteOverTheSlabsAfterClear() {
+    OffHeapCache cache = new OffHeapCache("default");
+    cache.setMaximumBytes(1000);
+    cache.setSlabSize(64);
+    for (int round = 0; round < 3; round++) {
+      for (int i = 0; i < 9; i++) {
+        cache.putObject(i, new byte[] { (byte) round, (byte) i });
+      }
+      for (int i = 0; i < 9; i++) {
+        assertThat((byte[]) cache.getObject(i)).containsExactly(round, i);
+      }
+      cache.clear();
+      assertNull(cache.getObject(0));
+    }
+    cache.setMaximumBytes(100);
+    cache.putObject(0, new byte[] { 7 });
+    assertThat((byte[]) cache.getObject(0)).containsExactly(7);
+  }
+
+  @Test
+  void shouldSkipValuesLargerThanTheCache() {
+    OffHeapCache cache = new OffHeapCache("default");
+    cache.setMaximumBytes(10);
+    cache.putObject(0, new byte[5]);
+    cache.putObject(0, new byte[20]);
+    assertNull(cache.getObject(0));
+    assertEquals(0, cache.getSize());
+  }
+
+  @Test
+  void shouldCountHitsAndMisses() {
+    OffHeapCache cache = new OffHeapCache("default");
+    cache.putObject(0, "a");
+    cache.getObject(0);
+    cache.getObject(0);
+    cache.getObject(1);
+    cache.getObject(2);
+    assertThat(cache.getRequestCount()).isEqualTo(4);
+    assertThat(cache.getHitCount()).isEqualTo(2);
+    assertThat(cache.getMissCount()).isEqualTo(2);
+    assertThat(cache.getHitRatio()).isEqualTo(0.5);
+  }
+
+  @Test
+  void shouldRequireBinarySerializer() {
+    OffHeapCache cache = new OffHeapCache("default");
+    cache.setSerializer(new SnapshotCacheSerializer());
+    assertThrows(CacheException.class, () -> cache.putObject(0, "a"));
+    assertThrows(CacheException.class, () -> cache.putObject(0, new Object()));
+  }
+
+}
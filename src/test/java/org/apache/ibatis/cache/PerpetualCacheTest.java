@@ -19,6 +19,13 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.ibatis.cache.decorators.SerializedCache;
 import org.apache.ibatis.cache.decorators.SynchronizedCache;
@@ -72,6 +79,41 @@ class PerpetualCacheTest {
     assertNull(cache.getObject(4));
   }
 
+  @Test
+  void shouldKeepNullValues() {
+    Cache cache = new PerpetualCache("default");
+    cache.putObject(0, null);
+    assertEquals(1, cache.getSize());
+    assertNull(cache.getObject(0));
+    assertNull(cache.removeObject(0));
+    assertEquals(0, cache.getSize());
+  }
+
+  @Test
+  void shouldBeThreadSafe() throws Exception {
+    Cache cache = new PerpetualCache("default");
+    assertTrue(cache.isThreadSafe());
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < 4; t++) {
+        final int offset = t * 10000;
+        futures.add(executor.submit(() -> {
+          for (int i = offset; i < offset + 10000; i++) {
+            cache.putObject(i, i);
+            assertEquals(i, cache.getObject(i));
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+    assertEquals(40000, cache.getSize());
+  }
+
   @Test
   void shouldDemonstrateIdIsNull() {
     Cache cache = new PerpetualCache(null);
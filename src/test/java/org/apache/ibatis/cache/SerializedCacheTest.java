@@ -15,15 +15,26 @@
  */
 package org.apache.ibatis.cache;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.io.Serializable;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 import org.apache.ibatis.cache.decorators.SerializedCache;
 import org.apache.ibatis.cache.impl.PerpetualCache;
+import org.apache.ibatis.cache.serializer.CompactCacheSerializer;
+import org.apache.ibatis.cache.serializer.SnapshotCacheSerializer;
 import org.junit.jupiter.api.Test;
 
 class SerializedCacheTest {
@@ -56,6 +67,213 @@ class SerializedCacheTest {
     assertThrows(CacheException.class, () -> cache.putObject(0, new CachingObjectWithoutSerializable(0)));
   }
 
+  @Test
+  void shouldCopyBeansWithCompactSerializer() {
+    SerializedCache cache = new SerializedCache(new PerpetualCache("default"), new CompactCacheSerializer());
+    assertThat(cache.getSerializer()).isInstanceOf(CompactCacheSerializer.class);
+    assertBeanGraphIsCopied(cache);
+  }
+
+  @Test
+  void shouldCopyBeansWithSnapshotSerializer() {
+    SerializedCache cache = new SerializedCache(new PerpetualCache("default"), new SnapshotCacheSerializer());
+    assertBeanGraphIsCopied(cache);
+  }
+
+  @Test
+  void shouldFallBackToJavaSerialization() {
+    for (CacheSerializer serializer : new CacheSerializer[] { new CompactCacheSerializer(),
+        new SnapshotCacheSerializer() }) {
+      SerializedCache cache = new SerializedCache(new PerpetualCache("default"), serializer);
+      cache.putObject(0, new CachingObject(1));
+      cache.putObject(1, null);
+      assertEquals(new CachingObject(1), cache.getObject(0));
+      assertNull(cache.getObject(1));
+      assertThrows(CacheException.class, () -> cache.putObject(2, new CachingObjectWithoutSerializable(0)));
+    }
+  }
+
+  @Test
+  void shouldCopyReadOnlyProperties() {
+    for (CacheSerializer serializer : new CacheSerializer[] { new CompactCacheSerializer(),
+        new SnapshotCacheSerializer() }) {
+      SerializedCache cache = new SerializedCache(new PerpetualCache("default"), serializer);
+      Order order = new Order();
+      order.getLines().add("first");
+      order.getLines().add("second");
+      order.touch();
+      cache.putObject(0, order);
+      order.getLines().clear();
+
+      Order copy = (Order) cache.getObject(0);
+      assertThat(copy.getLines()).containsExactly("first", "second");
+      assertThat(copy.getVersion()).isEqualTo(1);
+      assertThat(copy.getLabel()).isNull();
+    }
+  }
+
+  private void assertBeanGraphIsCopied(SerializedCache cache) {
+    Node parent = new Node();
+    parent.setName("parent");
+    parent.setKind(Kind.ROOT);
+    parent.setCreated(new Timestamp(1234567890123L));
+    parent.setAmount(new BigDecimal("12.50"));
+    parent.setDay(LocalDate.of(2020, 2, 29));
+    parent.setData(new byte[] { 1, 2, 3 });
+    parent.setTags(new String[] { "a", null, "\u00e9t\u00e9" });
+    Node child = new Node();
+    child.setName("child");
+    child.setParent(parent);
+    parent.getChildren().add(child);
+    parent.getChildren().add(child);
+    parent.getAttributes().put("self", parent);
+    parent.getAttributes().put("count", 2L);
+
+    cache.putObject("key", parent);
+    parent.setName("changed");
+    child.setName("changed");
+
+    Node copy = (Node) cache.getObject("key");
+    assertThat(copy).isNotSameAs(parent);
+    assertThat(copy.getName()).isEqualTo("parent");
+    assertThat(copy.getKind()).isEqualTo(Kind.ROOT);
+    assertThat(copy.getCreated()).isEqualTo(new Timestamp(1234567890123L)).isNotSameAs(parent.getCreated());
+    assertThat(copy.getAmount()).isEqualTo(new BigDecimal("12.50"));
+    assertThat(copy.getDay()).isEqualTo(LocalDate.of(2020, 2, 29));
+    assertThat(copy.getData()).containsExactly(1, 2, 3).isNotSameAs(parent.getData());
+    assertThat(copy.getTags()).containsExactly("a", null, "\u00e9t\u00e9");
+    assertThat(copy.getChildren()).hasSize(2);
+    Node childCopy = copy.getChildren().get(0);
+    assertThat(childCopy.getName()).isEqualTo("child");
+    assertThat(childCopy).isSameAs(copy.getChildren().get(1));
+    assertThat(childCopy.getParent()).isSameAs(copy);
+    assertThat(copy.getAttributes()).containsEntry("count", 2L);
+    assertThat(copy.getAttributes().get("self")).isSameAs(copy);
+
+    copy.setName("modified");
+    assertThat(((Node) cache.getObject("key")).getName()).isEqualTo("parent");
+  }
+
+  public enum Kind {
+    ROOT, LEAF
+  }
+
+  public static class Node {
+    private String name;
+    private Kind kind;
+    private Date created;
+    private BigDecimal amount;
+    private LocalDate day;
+    private byte[] data;
+    private String[] tags;
+    private Node parent;
+    private List<Node> children = new ArrayList<>();
+    private Map<String, Object> attributes = new HashMap<>();
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(String name) {
+      this.name = name;
+    }
+
+    public Kind getKind() {
+      return kind;
+    }
+
+    public void setKind(Kind kind) {
+      this.kind = kind;
+    }
+
+    public Date getCreated() {
+      return created;
+    }
+
+    public void setCreated(Date created) {
+      this.created = created;
+    }
+
+    public BigDecimal getAmount() {
+      return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+      this.amount = amount;
+    }
+
+    public LocalDate getDay() {
+      return day;
+    }
+
+    public void setDay(LocalDate day) {
+      this.day = day;
+    }
+
+    public byte[] getData() {
+      return data;
+    }
+
+    public void setData(byte[] data) {
+      this.data = data;
+    }
+
+    public String[] getTags() {
+      return tags;
+    }
+
+    public void setTags(String[] tags) {
+      this.tags = tags;
+    }
+
+    public Node getParent() {
+      return parent;
+    }
+
+    public void setParent(Node parent) {
+      this.parent = parent;
+    }
+
+    public List<Node> getChildren() {
+      return children;
+    }
+
+    public void setChildren(List<Node> children) {
+      this.children = children;
+    }
+
+    public Map<String, Object> getAttributes() {
+      return attributes;
+    }
+
+    public void setAttributes(Map<String, Object> attributes) {
+      this.attributes = attributes;
+    }
+  }
+
+  public static class Order {
+    private final List<String> lines = new ArrayList<>();
+    private int version;
+    private transient String label = null;
+
+    public List<String> getLines() {
+      return lines;
+    }
+
+    public int getVersion() {
+      return version;
+    }
+
+    public String getLabel() {
+      return label;
+    }
+
+    public void touch() {
+      version++;
+      label = "touched";
+    }
+  }
+
   static class CachingObject implements Serializable {
     private static final long serialVersionUID = 1L;
     int x;
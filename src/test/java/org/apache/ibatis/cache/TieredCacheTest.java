@@ -0,0 +1,90 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.apache.ibatis.cache.decorators.TieredCache;
+import org.apache.ibatis.cache.impl.PerpetualCache;
+import org.apache.ibatis.mapping.CacheBuilder;
+import org.junit.jupiter.api.Test;
+
+class TieredCacheTest {
+
+  @Test
+  void shouldMoveLeastRecentlyUsedItemsOffHeap() {
+    PerpetualCache hotTier = new PerpetualCache("default");
+    TieredCache cache = new TieredCache(hotTier);
+    cache.setSize(5);
+    for (int i = 0; i < 10; i++) {
+      cache.putObject(i, i);
+    }
+    assertEquals(5, hotTier.getSize());
+    assertEquals(5, cache.getOffHeapCache().getSize());
+    assertEquals(10, cache.getSize());
+    for (int i = 5; i < 10; i++) {
+      assertEquals(i, cache.getObject(i));
+    }
+    for (int i = 0; i < 5; i++) {
+      assertEquals(i, cache.getObject(i));
+    }
+    assertEquals(5, hotTier.getSize());
+    assertEquals(5, cache.getOffHeapCache().getHitCount());
+  }
+
+  @Test
+  void shouldPromoteItemsReadFromTheOffHeapTier() {
+    PerpetualCache hotTier = new PerpetualCache("default");
+    TieredCache cache = new TieredCache(hotTier);
+    cache.setSize(1);
+    cache.putObject(0, "a");
+    cache.putObject(1, "b");
+    assertNull(hotTier.getObject(0));
+    assertEquals("a", cache.getObject(0));
+    assertEquals("a", hotTier.getObject(0));
+    assertEquals("b", cache.getOffHeapCache().getObject(1));
+  }
+
+  @Test
+  void shouldRemoveItemsFromBothTiers() {
+    TieredCache cache = new TieredCache(new PerpetualCache("default"));
+    cache.setSize(1);
+    cache.putObject(0, "a");
+    cache.putObject(1, "b");
+    cache.removeObject(0);
+    cache.removeObject(1);
+    assertNull(cache.getObject(0));
+    assertNull(cache.getObject(1));
+    cache.putObject(2, "c");
+    cache.putObject(3, "d");
+    cache.clear();
+    assertEquals(0, cache.getSize());
+  }
+
+  @Test
+  void shouldBeConfiguredByCacheBuilder() {
+    Cache cache = new CacheBuilder("default").addDecorator(TieredCache.class).size(2).readWrite(true).build();
+    for (int i = 0; i < 10; i++) {
+      cache.putObject(i, "value" + i);
+    }
+    assertEquals(10, cache.getSize());
+    for (int i = 0; i < 10; i++) {
+      assertEquals("value" + i, cache.getObject(i));
+    }
+  }
+
+}
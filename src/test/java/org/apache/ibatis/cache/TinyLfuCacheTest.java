@@ -0,0 +1,182 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.ibatis.cache.decorators.LoggingCache;
+import org.apache.ibatis.cache.decorators.LruCache;
+import org.apache.ibatis.cache.decorators.SynchronizedCache;
+import org.apache.ibatis.cache.decorators.TinyLfuCache;
+import org.apache.ibatis.cache.impl.PerpetualCache;
+import org.apache.ibatis.mapping.CacheBuilder;
+import org.junit.jupiter.api.Test;
+
+class TinyLfuCacheTest {
+
+  @Test
+  void shouldRejectDelegatesThatStoreEntries() {
+    Cache delegate = new LruCache(new PerpetualCache("default"));
+    CacheException e = assertThrows(CacheException.class, () -> new TinyLfuCache(delegate));
+    assertTrue(e.getMessage().contains(LruCache.class.getName()));
+  }
+
+  @Test
+  void shouldNotExceedSize() {
+    TinyLfuCache cache = new TinyLfuCache(new PerpetualCache("default"));
+    cache.setSize(5);
+    for (int i = 0; i < 100; i++) {
+      cache.putObject(i, i);
+    }
+    assertEquals(5, cache.getSize());
+  }
+
+  @Test
+  void shouldKeepFrequentlyUsedItemsDuringScan() {
+    TinyLfuCache cache = new TinyLfuCache(new PerpetualCache("default"));
+    cache.setSize(100);
+    for (int i = 0; i < 10; i++) {
+      cache.putObject("hot" + i, i);
+    }
+    for (int round = 0; round < 20; round++) {
+      for (int i = 0; i < 10; i++) {
+        assertNotNull(cache.getObject("hot" + i));
+      }
+    }
+    for (int i = 0; i < 10000; i++) {
+      cache.putObject("cold" + i, i);
+    }
+    for (int i = 0; i < 10; i++) {
+      assertEquals(i, cache.getObject("hot" + i));
+    }
+    assertEquals(100, cache.getSize());
+  }
+
+  @Test
+  void shouldAdmitCandidatesThatAreMoreFrequentThanTheVictim() {
+    TinyLfuCache cache = new TinyLfuCache(new PerpetualCache("default"));
+    cache.setSize(100);
+    for (int i = 0; i < 100; i++) {
+      cache.putObject(i, i);
+    }
+    for (int i = 0; i < 5; i++) {
+      cache.putObject("popular", i);
+      cache.removeObject("popular");
+    }
+    cache.putObject("popular", "value");
+    cache.putObject("rare", "value");
+    assertEquals("value", cache.getObject("popular"));
+    assertEquals(100, cache.getSize());
+
+    cache.putObject("other", "value");
+    assertNull(cache.getObject("rare"));
+    assertEquals("value", cache.getObject("popular"));
+    assertEquals(100, cache.getSize());
+  }
+
+  @Test
+  void shouldBoundByWeight() {
+    TinyLfuCache cache = new TinyLfuCache(new PerpetualCache("default"));
+    cache.setMaximumWeight(10);
+    cache.putObject(1, Arrays.asList(1, 2, 3, 4));
+    cache.putObject(2, Arrays.asList(1, 2, 3, 4));
+    assertEquals(2, cache.getSize());
+    cache.putObject(3, Arrays.asList(1, 2, 3, 4));
+    assertEquals(2, cache.getSize());
+    cache.putObject(4, Arrays.asList(new Object[11]));
+    assertNull(cache.getObject(4));
+  }
+
+  @Test
+  void shouldRemoveItemOnDemand() {
+    Cache cache = new TinyLfuCache(new PerpetualCache("default"));
+    cache.putObject(0, 0);
+    assertNotNull(cache.getObject(0));
+    cache.removeObject(0);
+    assertNull(cache.getObject(0));
+  }
+
+  @Test
+  void shouldFlushAllItemsOnDemand() {
+    Cache cache = new TinyLfuCache(new PerpetualCache("default"));
+    for (int i = 0; i < 5; i++) {
+      cache.putObject(i, i);
+    }
+    assertNotNull(cache.getObject(0));
+    assertNotNull(cache.getObject(4));
+    cache.clear();
+    assertNull(cache.getObject(0));
+    assertNull(cache.getObject(4));
+    assertEquals(0, cache.getSize());
+  }
+
+  @Test
+  void shouldStayWithinSizeUnderConcurrentAccess() throws Exception {
+    TinyLfuCache cache = new TinyLfuCache(new PerpetualCache("default"));
+    cache.setSize(50);
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < 8; t++) {
+        final int seed = t;
+        futures.add(executor.submit(() -> {
+          for (int i = 0; i < 20000; i++) {
+            if (seed == 0 && i % 5000 == 0) {
+              cache.clear();
+            }
+            int key = (i * 31 + seed) % 200;
+            Object value = cache.getObject(key);
+            if (value == null) {
+              cache.putObject(key, key);
+            } else {
+              assertEquals(key, value);
+            }
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+    assertTrue(cache.getSize() <= 50);
+  }
+
+  @Test
+  void shouldNotBeWrappedBySynchronizedCache() {
+    Cache cache = new CacheBuilder("tinylfu").addDecorator(TinyLfuCache.class).build();
+    assertTrue(cache instanceof LoggingCache);
+    Cache lru = new CacheBuilder("lru").build();
+    assertTrue(lru instanceof SynchronizedCache);
+    assertFalse(cache instanceof SynchronizedCache);
+    cache.putObject("key", "value");
+    assertEquals("value", cache.getObject("key"));
+  }
+
+}
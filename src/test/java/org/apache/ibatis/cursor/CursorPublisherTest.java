@@ -0,0 +1,219 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cursor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class CursorPublisherTest {
+
+  @Test
+  void shouldFetchOnlyRequestedItems() {
+    ListCursor<Integer> cursor = new ListCursor<>(Arrays.asList(1, 2, 3, 4, 5));
+    RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>();
+    cursor.toPublisher(2).subscribe(subscriber);
+
+    subscriber.subscription.request(3);
+    assertThat(subscriber.items).containsExactly(1, 2, 3);
+    assertThat(cursor.batchSizes).containsExactly(2, 1);
+    assertThat(subscriber.completed).isFalse();
+    assertThat(cursor.closed).isFalse();
+
+    subscriber.subscription.request(10);
+    assertThat(subscriber.items).containsExactly(1, 2, 3, 4, 5);
+    assertThat(subscriber.completed).isTrue();
+    assertThat(cursor.closed).isTrue();
+  }
+
+  @Test
+  void shouldHandleRequestsFromOnNext() {
+    List<Integer> values = IntStream.range(0, 10000).boxed().collect(Collectors.toList());
+    ListCursor<Integer> cursor = new ListCursor<>(values);
+    RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<Integer>() {
+      @Override
+      public void onNext(Integer item) {
+        super.onNext(item);
+        subscription.request(1);
+      }
+    };
+    cursor.toPublisher(16).subscribe(subscriber);
+
+    subscriber.subscription.request(1);
+    assertThat(subscriber.items).isEqualTo(values);
+    assertThat(subscriber.completed).isTrue();
+  }
+
+  @Test
+  void shouldCloseCursorOnCancel() {
+    ListCursor<Integer> cursor = new ListCursor<>(Arrays.asList(1, 2, 3));
+    RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<Integer>() {
+      @Override
+      public void onNext(Integer item) {
+        super.onNext(item);
+        subscription.cancel();
+      }
+    };
+    cursor.toPublisher(10).subscribe(subscriber);
+
+    subscriber.subscription.request(Long.MAX_VALUE);
+    assertThat(subscriber.items).containsExactly(1);
+    assertThat(subscriber.completed).isFalse();
+    assertThat(cursor.closed).isTrue();
+  }
+
+  @Test
+  void shouldSkipNullItems() {
+    ListCursor<Integer> cursor = new ListCursor<>(Arrays.asList(null, 1, null, 2));
+    RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>();
+    cursor.toPublisher(10).subscribe(subscriber);
+
+    subscriber.subscription.request(2);
+    assertThat(subscriber.items).containsExactly(1, 2);
+  }
+
+  @Test
+  void shouldSignalErrors() {
+    ListCursor<Integer> cursor = new ListCursor<Integer>(Arrays.asList(1, 2)) {
+      @Override
+      public List<Integer> nextBatch(int maxItems) {
+        throw new IllegalStateException("broken");
+      }
+    };
+    RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>();
+    cursor.toPublisher(10).subscribe(subscriber);
+
+    subscriber.subscription.request(1);
+    assertThat(subscriber.error).isInstanceOf(IllegalStateException.class).hasMessage("broken");
+    assertThat(cursor.closed).isTrue();
+
+    RecordingSubscriber<Integer> invalidRequest = new RecordingSubscriber<>();
+    new ListCursor<>(Arrays.asList(1)).toPublisher(10).subscribe(invalidRequest);
+    invalidRequest.subscription.request(0);
+    assertThat(invalidRequest.error).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void shouldFetchFromIteratorByDefault() {
+    IteratorCursor<Integer> cursor = new IteratorCursor<>(Arrays.asList(1, 2, 3));
+    RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>();
+    cursor.toPublisher(2).subscribe(subscriber);
+
+    subscriber.subscription.request(10);
+    assertThat(subscriber.items).containsExactly(1, 2, 3);
+    assertThat(subscriber.completed).isTrue();
+    assertThat(cursor.closed).isTrue();
+  }
+
+  @Test
+  void shouldAcceptSingleSubscriber() {
+    Flow.Publisher<Integer> publisher = new ListCursor<>(Arrays.asList(1)).toPublisher(10);
+    publisher.subscribe(new RecordingSubscriber<>());
+    RecordingSubscriber<Integer> second = new RecordingSubscriber<>();
+    publisher.subscribe(second);
+    assertThat(second.error).isInstanceOf(IllegalStateException.class);
+  }
+
+  private static class ListCursor<T> extends IteratorCursor<T> {
+    private final List<Integer> batchSizes = new ArrayList<>();
+
+    ListCursor(List<T> items) {
+      super(items);
+    }
+
+    @Override
+    public List<T> nextBatch(int maxItems) {
+      batchSizes.add(maxItems);
+      List<T> batch = new ArrayList<>();
+      while (batch.size() < maxItems && iterator.hasNext()) {
+        batch.add(iterator.next());
+        index++;
+      }
+      return batch;
+    }
+  }
+
+  private static class IteratorCursor<T> implements Cursor<T> {
+    protected final Iterator<T> iterator;
+    protected int index = -1;
+    protected boolean closed;
+
+    IteratorCursor(List<T> items) {
+      this.iterator = items.iterator();
+    }
+
+    @Override
+    public boolean isOpen() {
+      return !closed;
+    }
+
+    @Override
+    public boolean isConsumed() {
+      return !iterator.hasNext();
+    }
+
+    @Override
+    public int getCurrentIndex() {
+      return index;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+      return iterator;
+    }
+
+    @Override
+    public void close() {
+      closed = true;
+    }
+  }
+
+  private static class RecordingSubscriber<T> implements Flow.Subscriber<T> {
+    protected Flow.Subscription subscription;
+    private final List<T> items = new ArrayList<>();
+    private boolean completed;
+    private Throwable error;
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+      this.subscription = subscription;
+    }
+
+    @Override
+    public void onNext(T item) {
+      items.add(item);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+      error = throwable;
+    }
+
+    @Override
+    public void onComplete() {
+      completed = true;
+    }
+  }
+
+}
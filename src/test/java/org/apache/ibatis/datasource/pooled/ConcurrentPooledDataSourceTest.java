@@ -0,0 +1,117 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.datasource.pooled;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.ibatis.datasource.unpooled.UnpooledDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ConcurrentPooledDataSourceTest extends PooledDataSourceTest {
+
+  @BeforeEach
+  @Override
+  void beforeEach() {
+    dataSource = new ConcurrentPooledDataSource("org.hsqldb.jdbcDriver", "jdbc:hsqldb:mem:multipledrivers", "sa", "");
+  }
+
+  @Override
+  PooledDataSource createDataSource(UnpooledDataSource unpooledDataSource) {
+    return new ConcurrentPooledDataSource(unpooledDataSource);
+  }
+
+  @Test
+  void shouldReuseConnectionReturnedByCurrentThread() throws Exception {
+    Connection first = dataSource.getConnection();
+    Connection other = dataSource.getConnection();
+    Connection realConnection = PooledDataSource.unwrapConnection(first);
+    other.close();
+    first.close();
+
+    Connection second = dataSource.getConnection();
+    assertSame(realConnection, PooledDataSource.unwrapConnection(second));
+    second.close();
+    assertEquals(2, dataSource.getPoolState().getIdleConnectionCount());
+    assertEquals(0, dataSource.getPoolState().getActiveConnectionCount());
+  }
+
+  @Test
+  void shouldDiscardConnectionClosedTwice() throws Exception {
+    Connection connection = dataSource.getConnection();
+    connection.close();
+    assertThrows(SQLException.class, connection::createStatement);
+    connection.close();
+
+    assertEquals(1, dataSource.getPoolState().getBadConnectionCount());
+    assertEquals(1, dataSource.getPoolState().getIdleConnectionCount());
+  }
+
+  @Test
+  void shouldNotExceedMaximumActiveConnectionsUnderContention() throws Exception {
+    dataSource.setPoolMaximumActiveConnections(4);
+    dataSource.setPoolMaximumIdleConnections(2);
+    int threads = 16;
+    int iterations = 200;
+    AtomicInteger inUse = new AtomicInteger();
+    AtomicInteger maxInUse = new AtomicInteger();
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < threads; i++) {
+        futures.add(executor.submit(() -> {
+          for (int j = 0; j < iterations; j++) {
+            try (Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement()) {
+              maxInUse.accumulateAndGet(inUse.incrementAndGet(), Math::max);
+              statement.execute("VALUES (1)");
+              inUse.decrementAndGet();
+            }
+          }
+          return null;
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    PoolState poolState = dataSource.getPoolState();
+    assertTrue(maxInUse.get() <= 4);
+    assertEquals((long) threads * iterations, poolState.getRequestCount());
+    assertEquals(0, poolState.getActiveConnectionCount());
+    assertTrue(poolState.getIdleConnectionCount() <= 2);
+    assertEquals(0, poolState.getClaimedOverdueConnectionCount());
+    assertEquals(0, poolState.getBadConnectionCount());
+    assertFalse(poolState.toString().isEmpty());
+  }
+}
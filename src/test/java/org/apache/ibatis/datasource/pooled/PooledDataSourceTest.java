@@ -18,7 +18,12 @@ package org.apache.ibatis.datasource.pooled;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.spy;
 
 import java.sql.Connection;
 import java.sql.SQLException;
@@ -27,11 +32,22 @@ import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
+import org.apache.ibatis.datasource.ConnectionResources;
+import org.apache.ibatis.datasource.unpooled.UnpooledDataSource;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 class PooledDataSourceTest {
 
+  private static class Resource implements AutoCloseable {
+    private boolean closed;
+
+    @Override
+    public void close() {
+      closed = true;
+    }
+  }
+
   PooledDataSource dataSource;
 
   @BeforeEach
@@ -39,6 +55,36 @@ class PooledDataSourceTest {
     dataSource = new PooledDataSource("org.hsqldb.jdbcDriver", "jdbc:hsqldb:mem:multipledrivers", "sa", "");
   }
 
+  PooledDataSource createDataSource(UnpooledDataSource unpooledDataSource) {
+    return new PooledDataSource(unpooledDataSource);
+  }
+
+  @Test
+  void shouldCloseConnectionThatCannotBeRolledBack() throws Exception {
+    List<Connection> realConnections = new ArrayList<>();
+    PooledDataSource dataSource = createDataSource(
+        new UnpooledDataSource("org.hsqldb.jdbcDriver", "jdbc:hsqldb:mem:multipledrivers", "sa", "") {
+          @Override
+          public Connection getConnection() throws SQLException {
+            Connection connection = spy(super.getConnection());
+            doThrow(new SQLException("rollback failed")).when(connection).rollback();
+            realConnections.add(connection);
+            return connection;
+          }
+        });
+    Connection connection = dataSource.getConnection();
+    connection.setAutoCommit(false);
+    assertThrows(SQLException.class, connection::close);
+    assertTrue(realConnections.get(0).isClosed());
+    assertEquals(0, dataSource.getPoolState().getActiveConnectionCount());
+    assertEquals(0, dataSource.getPoolState().getIdleConnectionCount());
+
+    Connection next = dataSource.getConnection();
+    assertSame(realConnections.get(1), PooledDataSource.unwrapConnection(next));
+    next.close();
+    dataSource.forceCloseAll();
+  }
+
   @Test
   void shouldBlockUntilConnectionIsAvailableInPooledDataSource() throws Exception {
     dataSource.setPoolMaximumCheckoutTime(20000);
@@ -158,4 +204,36 @@ class PooledDataSourceTest {
     assertEquals(0, poolState.getActiveConnectionCount());
     assertEquals(0, poolState.getIdleConnectionCount());
   }
+
+  @Test
+  void shouldKeepConnectionResourcesAcrossCheckouts() throws Exception {
+    dataSource.setPoolMaximumActiveConnections(1);
+    Connection first = dataSource.getConnection();
+    Resource resource = ((ConnectionResources) first).getResource(Resource.class, Resource::new);
+    first.close();
+
+    Connection second = dataSource.getConnection();
+    assertSame(resource, ((ConnectionResources) second).getResource(Resource.class, Resource::new));
+    assertFalse(resource.closed);
+    second.close();
+
+    dataSource.forceCloseAll();
+    assertTrue(resource.closed);
+  }
+
+  @Test
+  void shouldCloseConnectionResourcesOfClaimedOverdueConnection() throws Exception {
+    dataSource.setPoolMaximumActiveConnections(1);
+    dataSource.setPoolMaximumCheckoutTime(1);
+    Connection overdue = dataSource.getConnection();
+    Resource resource = ((ConnectionResources) overdue).getResource(Resource.class, Resource::new);
+    Thread.sleep(20);
+
+    Connection claimed = dataSource.getConnection();
+    assertTrue(resource.closed);
+    assertNotSame(resource, ((ConnectionResources) claimed).getResource(Resource.class, Resource::new));
+    claimed.close();
+    dataSource.forceCloseAll();
+  }
+
 }
@@ -73,4 +73,13 @@ class ErrorContextTest {
     assertEquals(outer, recalled);
     assertEquals(outer, ErrorContext.instance());
   }
+
+  @Test
+  void shouldClearInstance() {
+    ErrorContext context = ErrorContext.instance().activity(SOME_ACTIVITY);
+    ErrorContext.clearInstance();
+    Assertions.assertEquals("", context.toString());
+    Assertions.assertNotSame(context, ErrorContext.instance());
+    ErrorContext.clearInstance();
+  }
 }
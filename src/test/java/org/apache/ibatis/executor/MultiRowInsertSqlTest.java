@@ -0,0 +1,54 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class MultiRowInsertSqlTest {
+
+  @Test
+  void shouldRepeatValues() {
+    MultiRowInsertSql insertSql = MultiRowInsertSql.parse("insert into t (a, b) values (?, upper(?))", 2);
+    assertThat(insertSql).isNotNull();
+    assertThat(insertSql.toSql(1)).isEqualTo("insert into t (a, b) values (?, upper(?))");
+    assertThat(insertSql.toSql(3)).isEqualTo("insert into t (a, b) values (?, upper(?)), (?, upper(?)), (?, upper(?))");
+    assertThat(insertSql.getParameterCount()).isEqualTo(2);
+  }
+
+  @Test
+  void shouldIgnoreQuotedText() {
+    MultiRowInsertSql insertSql = MultiRowInsertSql.parse("INSERT INTO t (\"values\", b) VALUES (?, 'a ? ) values')",
+        1);
+    assertThat(insertSql).isNotNull();
+    assertThat(insertSql.toSql(2))
+        .isEqualTo("INSERT INTO t (\"values\", b) VALUES (?, 'a ? ) values'), (?, 'a ? ) values')");
+  }
+
+  @Test
+  void shouldRejectStatementsThatCannotBeRewritten() {
+    assertThat(MultiRowInsertSql.parse("update t set a = ?", 1)).isNull();
+    assertThat(MultiRowInsertSql.parse("insert into t (a) select a from s where b = ?", 1)).isNull();
+    assertThat(MultiRowInsertSql.parse("insert into t (a) values (?), (?)", 2)).isNull();
+    assertThat(MultiRowInsertSql.parse("insert into t (a) values (?) on duplicate key update a = ?", 2)).isNull();
+    assertThat(MultiRowInsertSql.parse("insert into t (a) values (?) returning id", 1)).isNull();
+    assertThat(MultiRowInsertSql.parse("insert into t (a) values (?) -- comment", 1)).isNull();
+    assertThat(MultiRowInsertSql.parse("insert into t (a) values (?, ?)", 1)).isNull();
+    assertThat(MultiRowInsertSql.parse("insert into t (a) values ('unterminated)", 0)).isNull();
+  }
+
+}
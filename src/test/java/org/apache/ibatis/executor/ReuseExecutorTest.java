@@ -15,9 +15,23 @@
  */
 package org.apache.ibatis.executor;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.datasource.pooled.ConcurrentPooledDataSource;
+import org.apache.ibatis.datasource.pooled.PooledDataSource;
+import org.apache.ibatis.domain.blog.Author;
+import org.apache.ibatis.executor.statement.StatementCache;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.session.RowBounds;
 import org.apache.ibatis.transaction.Transaction;
+import org.apache.ibatis.transaction.jdbc.JdbcTransaction;
 import org.junit.jupiter.api.Test;
 
 class ReuseExecutorTest extends BaseExecutorTest {
@@ -32,6 +46,111 @@ class ReuseExecutorTest extends BaseExecutorTest {
     assertDoesNotThrow(super::shouldFetchPostWithBlogWithCompositeKey);
   }
 
+  @Test
+  void shouldReuseStatementsAcrossTransactions() throws Exception {
+    assertStatementsReusedAcrossTransactions(createPooledDataSource(BLOG_PROPERTIES));
+  }
+
+  @Test
+  void shouldReuseStatementsAcrossTransactionsOfConcurrentPool() throws Exception {
+    PooledDataSource pooled = createPooledDataSource(BLOG_PROPERTIES);
+    assertStatementsReusedAcrossTransactions(new ConcurrentPooledDataSource(pooled.getDriver(), pooled.getUrl(),
+        pooled.getUsername(), pooled.getPassword()));
+  }
+
+  private void assertStatementsReusedAcrossTransactions(PooledDataSource ds) throws Exception {
+    try {
+      MappedStatement selectStatement = ExecutorTestHelper.prepareSelectOneAuthorMappedStatement(config);
+      ReuseExecutor executor = new ReuseExecutor(config, new JdbcTransaction(ds, null, false));
+      try {
+        List<Author> authors = executor.query(selectStatement, 101, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER);
+        assertThat(authors).hasSize(1);
+        executor.commit(true);
+        authors = executor.query(selectStatement, 102, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER);
+        assertThat(authors).hasSize(1);
+        StatementCache statementCache = executor.getStatementCache();
+        assertThat(statementCache.getMisses()).isEqualTo(1);
+        assertThat(statementCache.getHits()).isEqualTo(1);
+      } finally {
+        executor.close(false);
+      }
+
+      executor = new ReuseExecutor(config, new JdbcTransaction(ds, null, false));
+      try {
+        List<Author> authors = executor.query(selectStatement, 101, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER);
+        assertThat(authors).hasSize(1);
+        StatementCache statementCache = executor.getStatementCache();
+        assertThat(statementCache.getMisses()).isEqualTo(1);
+        assertThat(statementCache.getHits()).isEqualTo(2);
+        assertThat(statementCache.size()).isEqualTo(1);
+      } finally {
+        executor.close(false);
+      }
+    } finally {
+      ds.forceCloseAll();
+    }
+  }
+
+  @Test
+  void shouldCloseLeastRecentlyUsedStatements() throws Exception {
+    config.setStatementCacheSize(1);
+    MappedStatement selectOne = ExecutorTestHelper.prepareSelectOneAuthorMappedStatement(config);
+    MappedStatement selectAll = ExecutorTestHelper.prepareSelectAllAuthorsAutoMappedStatement(config);
+    ReuseExecutor executor = (ReuseExecutor) createExecutor(new JdbcTransaction(createBlogDataSource(), null, false));
+    try {
+      executor.query(selectOne, 101, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER);
+      StatementCache statementCache = executor.getStatementCache();
+      Statement first = statementCache.get(selectOne.getBoundSql(101).getSql());
+      executor.query(selectAll, null, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER);
+      assertThat(first.isClosed()).isTrue();
+      assertThat(statementCache.size()).isEqualTo(1);
+      assertThat(statementCache.getEvictions()).isEqualTo(1);
+    } finally {
+      executor.close(false);
+    }
+  }
+
+  @Test
+  void shouldNotEvictStatementsReadByOpenCursors() throws Exception {
+    config.setStatementCacheSize(1);
+    MappedStatement selectAll = ExecutorTestHelper.prepareSelectAllAuthorsAutoMappedStatement(config);
+    MappedStatement selectOne = ExecutorTestHelper.prepareSelectOneAuthorMappedStatement(config);
+    MappedStatement selectPosts = ExecutorTestHelper.prepareSelectDiscriminatedPost(config);
+    ReuseExecutor executor = (ReuseExecutor) createExecutor(new JdbcTransaction(createBlogDataSource(), null, false));
+    try {
+      List<Object> authors = new ArrayList<>();
+      try (Cursor<Object> cursor = executor.queryCursor(selectAll, null, RowBounds.DEFAULT)) {
+        Iterator<Object> iterator = cursor.iterator();
+        authors.add(iterator.next());
+        executor.query(selectOne, 101, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER);
+        executor.query(selectPosts, null, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER);
+        iterator.forEachRemaining(authors::add);
+        assertThat(authors).hasSize(2);
+      }
+      StatementCache statementCache = executor.getStatementCache();
+      assertThat(statementCache.getEvictions()).isEqualTo(1);
+      executor.query(selectOne, 102, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER);
+      assertThat(statementCache.size()).isEqualTo(1);
+    } finally {
+      executor.close(false);
+    }
+  }
+
+  @Test
+  void shouldCloseStatementsOnCommitWithoutStatementCacheSize() throws Exception {
+    config.setStatementCacheSize(0);
+    MappedStatement selectStatement = ExecutorTestHelper.prepareSelectOneAuthorMappedStatement(config);
+    ReuseExecutor executor = (ReuseExecutor) createExecutor(new JdbcTransaction(createBlogDataSource(), null, false));
+    try {
+      executor.query(selectStatement, 101, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER);
+      assertThat(executor.getStatementCache().size()).isEqualTo(1);
+      executor.commit(true);
+      assertThat(executor.getStatementCache().size()).isZero();
+    } finally {
+      executor.close(false);
+    }
+  }
+
   @Override
   protected Executor createExecutor(Transaction transaction) {
     return new ReuseExecutor(config, transaction);
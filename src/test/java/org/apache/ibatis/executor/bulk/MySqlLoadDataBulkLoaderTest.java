@@ -0,0 +1,143 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.bulk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mysql.cj.conf.RuntimeProperty;
+import com.mysql.cj.jdbc.JdbcConnection;
+import com.mysql.cj.jdbc.JdbcPropertySet;
+import com.mysql.cj.jdbc.JdbcStatement;
+
+import java.io.InputStream;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.session.Configuration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class MySqlLoadDataBulkLoaderTest {
+
+  private final Configuration configuration = new Configuration();
+  private final MySqlLoadDataBulkLoader loader = new MySqlLoadDataBulkLoader();
+  private JdbcConnection connection;
+  private RuntimeProperty<Boolean> allowLoadLocalInfile;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setUp() throws Exception {
+    connection = mock(JdbcConnection.class);
+    when(connection.isWrapperFor(JdbcConnection.class)).thenReturn(true);
+    when(connection.unwrap(JdbcConnection.class)).thenReturn(connection);
+    JdbcPropertySet propertySet = mock(JdbcPropertySet.class);
+    when(connection.getPropertySet()).thenReturn(propertySet);
+    allowLoadLocalInfile = mock(RuntimeProperty.class);
+    when(propertySet.getBooleanProperty("allowLoadLocalInfile")).thenReturn(allowLoadLocalInfile);
+  }
+
+  private BulkLoadTarget target(Class<?> valueType) {
+    List<ParameterMapping> parameterMappings = Arrays.asList(
+        new ParameterMapping.Builder(configuration, "id", Integer.class).build(),
+        new ParameterMapping.Builder(configuration, "value", valueType).build());
+    MappedStatement ms = new MappedStatement.Builder(configuration, "insertUser",
+        new StaticSqlSource(configuration, "insert into users (id, value) values (?, ?)", parameterMappings),
+        SqlCommandType.INSERT).build();
+    return BulkLoadTarget.of(ms, row(1));
+  }
+
+  private static Map<String, Object> row(int id) {
+    Map<String, Object> row = new HashMap<>();
+    row.put("id", id);
+    row.put("value", null);
+    return row;
+  }
+
+  private long load(BulkLoadTarget target) throws SQLException {
+    return loader.load(connection, target, target.rows(row(1), Arrays.asList(row(2)).iterator()));
+  }
+
+  @Test
+  void shouldRequireAllowLoadLocalInfile() throws Exception {
+    when(allowLoadLocalInfile.getValue()).thenReturn(false);
+    assertThat(loader.supports(connection)).isFalse();
+    when(allowLoadLocalInfile.getValue()).thenReturn(true);
+    assertThat(loader.supports(connection)).isTrue();
+  }
+
+  @Test
+  void shouldFallBackToMultiRowInsertsWhenLoadIsRejected() throws Exception {
+    JdbcStatement stmt = mock(JdbcStatement.class);
+    when(connection.createStatement()).thenReturn(stmt);
+    when(stmt.unwrap(JdbcStatement.class)).thenReturn(stmt);
+    when(stmt.executeUpdate(anyString())).thenThrow(new SQLException("Loading local data is disabled"));
+    PreparedStatement ps = mock(PreparedStatement.class);
+    when(connection.prepareStatement("INSERT INTO users (id, value) VALUES (?, ?), (?, ?)")).thenReturn(ps);
+    when(ps.executeUpdate()).thenReturn(2);
+
+    assertThat(load(target(String.class))).isEqualTo(2);
+  }
+
+  @Test
+  void shouldFailWhenRowsAreSkipped() throws Exception {
+    JdbcStatement stmt = mock(JdbcStatement.class);
+    when(connection.createStatement()).thenReturn(stmt);
+    when(stmt.unwrap(JdbcStatement.class)).thenReturn(stmt);
+    AtomicReference<InputStream> text = new AtomicReference<>();
+    doAnswer(invocation -> {
+      text.set(invocation.getArgument(0));
+      return null;
+    }).when(stmt).setLocalInfileInputStream(any());
+    when(stmt.executeUpdate(anyString())).thenAnswer(invocation -> {
+      text.get().readAllBytes();
+      return 1;
+    });
+    when(stmt.getWarnings()).thenReturn(new SQLWarning("Duplicate entry '1' for key 'PRIMARY'"));
+
+    assertThatThrownBy(() -> load(target(String.class))).isInstanceOf(SQLException.class)
+        .hasMessageContaining("loaded 1 of 2 rows").hasMessageContaining("Duplicate entry '1'");
+    verify(connection, never()).prepareStatement(anyString());
+  }
+
+  @Test
+  void shouldUseMultiRowInsertsForBinaryColumns() throws Exception {
+    PreparedStatement ps = mock(PreparedStatement.class);
+    when(connection.prepareStatement("INSERT INTO users (id, value) VALUES (?, ?), (?, ?)")).thenReturn(ps);
+    when(ps.executeUpdate()).thenReturn(2);
+
+    assertThat(load(target(byte[].class))).isEqualTo(2);
+    verify(connection, never()).createStatement();
+  }
+
+}
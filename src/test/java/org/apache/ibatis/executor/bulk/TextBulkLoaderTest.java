@@ -0,0 +1,126 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.bulk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.util.Arrays;
+
+import javax.sql.rowset.serial.SerialBlob;
+import javax.sql.rowset.serial.SerialClob;
+
+import org.apache.ibatis.executor.ExecutorException;
+import org.junit.jupiter.api.Test;
+
+class TextBulkLoaderTest {
+
+  private static class CapturingLoader extends TextBulkLoader {
+    private String text;
+
+    @Override
+    public boolean supports(Connection connection) {
+      return true;
+    }
+
+    @Override
+    protected long copy(Connection connection, BulkLoadTarget target, RowText in) {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      byte[] buffer = new byte[3];
+      try {
+        for (int n; (n = in.read(buffer)) != -1;) {
+          out.write(buffer, 0, n);
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      text = new String(out.toByteArray(), StandardCharsets.UTF_8);
+      return in.getRowCount();
+    }
+  }
+
+  private static BulkRow row(Object... values) throws Exception {
+    BulkRow row = new BulkRow(values.length);
+    for (int i = 0; i < values.length; i++) {
+      if (values[i] == null) {
+        row.set(i, PreparedStatement.class.getMethod("setNull", int.class, int.class),
+            new Object[] { i + 1, Types.VARCHAR });
+      } else {
+        row.set(i, PreparedStatement.class.getMethod("setObject", int.class, Object.class),
+            new Object[] { i + 1, values[i] });
+      }
+    }
+    return row;
+  }
+
+  @Test
+  void shouldWriteEscapedTabSeparatedLines() throws Exception {
+    CapturingLoader loader = new CapturingLoader();
+    long count = loader.load(null, null,
+        Arrays.asList(row(1, "a\tb\\c", null), row(2, "line\r\nbreak", new BigDecimal("1E+3")), row(3, "日本", true))
+            .iterator());
+    assertThat(count).isEqualTo(3);
+    assertThat(loader.text).isEqualTo("1\ta\\tb\\\\c\t\\N\n" + "2\tline\\r\\nbreak\t1000\n" + "3\t日本\ttrue\n");
+  }
+
+  @Test
+  void shouldFormatValuesForTheDatabase() throws Exception {
+    assertThat(new PostgresCopyBulkLoader().toLine(row(new byte[] { 0, (byte) 0xab }))).isEqualTo("\\\\x00ab\n");
+    assertThat(new MySqlLoadDataBulkLoader().toLine(row(true, false))).isEqualTo("1\t0\n");
+    assertThatThrownBy(() -> new CapturingLoader().toLine(row((Object) new byte[0])))
+        .isInstanceOf(ExecutorException.class).hasMessageContaining("does not support binary values");
+  }
+
+  @Test
+  void shouldReadStreamValues() throws Exception {
+    BulkRow row = new BulkRow(4);
+    row.set(0, PreparedStatement.class.getMethod("setCharacterStream", int.class, Reader.class, int.class),
+        new Object[] { 1, new StringReader("a\tclob"), 6 });
+    row.set(1, PreparedStatement.class.getMethod("setBinaryStream", int.class, InputStream.class, int.class),
+        new Object[] { 2, new ByteArrayInputStream(new byte[] { 1, 2 }), 2 });
+    row.set(2, PreparedStatement.class.getMethod("setClob", int.class, Clob.class),
+        new Object[] { 3, new SerialClob("serial".toCharArray()) });
+    row.set(3, PreparedStatement.class.getMethod("setBlob", int.class, Blob.class),
+        new Object[] { 4, new SerialBlob(new byte[] { (byte) 0xff }) });
+    assertThat(new PostgresCopyBulkLoader().toLine(row)).isEqualTo("a\\tclob\t\\\\x0102\tserial\t\\\\xff\n");
+    // the streams can still be set to a statement
+    assertThat(row.getValue(0)).isEqualTo("a\tclob");
+    assertThat((byte[]) row.getValue(1)).containsExactly(1, 2);
+  }
+
+  @Test
+  void shouldNotSupportConnectionsOfOtherDrivers() throws Exception {
+    Connection connection = mock(Connection.class);
+    assertThat(new PostgresCopyBulkLoader().supports(connection)).isFalse();
+    assertThat(new MySqlLoadDataBulkLoader().supports(connection)).isFalse();
+  }
+
+}
@@ -0,0 +1,112 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.resultset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.domain.blog.Author;
+import org.apache.ibatis.exceptions.PersistenceException;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.AutoMappingUnknownColumnBehavior;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AutoMappingPlanCacheTest {
+
+  interface Mapper {
+    @Select("SELECT ID, USERNAME, PASSWORD, EMAIL, BIO FROM AUTHOR WHERE ID = #{id}")
+    Author selectAuthor(int id);
+
+    @Select("SELECT ID, USERNAME, PASSWORD AS SECRET FROM AUTHOR WHERE ID = #{id}")
+    Author selectAuthorWithUnknownColumn(int id);
+  }
+
+  private SqlSessionFactory sqlSessionFactory;
+
+  @BeforeEach
+  void setup() throws Exception {
+    DataSource dataSource = BaseDataTest.createBlogDataSource();
+    Environment environment = new Environment("Production", new JdbcTransactionFactory(), dataSource);
+    Configuration configuration = new Configuration(environment);
+    configuration.addMapper(Mapper.class);
+    sqlSessionFactory = new SqlSessionFactoryBuilder().build(configuration);
+  }
+
+  @Test
+  void shouldSharePlansAcrossSessions() {
+    AutoMappingPlanCache planCache = sqlSessionFactory.getConfiguration().getAutoMappingPlanCache();
+    try (SqlSession session = sqlSessionFactory.openSession()) {
+      Author author = session.getMapper(Mapper.class).selectAuthor(101);
+      assertThat(author.getUsername()).isEqualTo("jim");
+    }
+    assertThat(planCache.size()).isEqualTo(1);
+    try (SqlSession session = sqlSessionFactory.openSession()) {
+      Author author = session.getMapper(Mapper.class).selectAuthor(102);
+      assertThat(author.getUsername()).isEqualTo("sally");
+      assertThat(author.getEmail()).isEqualTo("sally@ibatis.apache.org");
+    }
+    assertThat(planCache.size()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldNotCachePlansWhenDisabled() {
+    Configuration configuration = sqlSessionFactory.getConfiguration();
+    configuration.setAutoMappingPlanCacheSize(0);
+    try (SqlSession session = sqlSessionFactory.openSession()) {
+      Author author = session.getMapper(Mapper.class).selectAuthor(101);
+      assertThat(author.getUsername()).isEqualTo("jim");
+    }
+    assertThat(configuration.getAutoMappingPlanCache().size()).isZero();
+  }
+
+  @Test
+  void shouldEvictPlansWhenFull() {
+    Configuration configuration = sqlSessionFactory.getConfiguration();
+    configuration.setAutoMappingPlanCacheSize(1);
+    try (SqlSession session = sqlSessionFactory.openSession()) {
+      Mapper mapper = session.getMapper(Mapper.class);
+      mapper.selectAuthor(101);
+      mapper.selectAuthorWithUnknownColumn(101);
+    }
+    assertThat(configuration.getAutoMappingPlanCache().size()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldReportUnknownColumnsEvenIfPlanIsShared() {
+    Configuration configuration = sqlSessionFactory.getConfiguration();
+    try (SqlSession session = sqlSessionFactory.openSession()) {
+      Author author = session.getMapper(Mapper.class).selectAuthorWithUnknownColumn(101);
+      assertThat(author.getPassword()).isNull();
+    }
+    configuration.setAutoMappingUnknownColumnBehavior(AutoMappingUnknownColumnBehavior.FAILING);
+    try (SqlSession session = sqlSessionFactory.openSession()) {
+      Mapper mapper = session.getMapper(Mapper.class);
+      assertThatThrownBy(() -> mapper.selectAuthorWithUnknownColumn(101)).isInstanceOf(PersistenceException.class)
+          .hasMessageContaining("columnName=SECRET");
+    }
+  }
+
+}
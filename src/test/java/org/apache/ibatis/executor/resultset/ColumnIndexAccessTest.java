@@ -0,0 +1,152 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.resultset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.annotations.Result;
+import org.apache.ibatis.annotations.Results;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.domain.blog.Author;
+import org.apache.ibatis.exceptions.PersistenceException;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.apache.ibatis.type.JdbcType;
+import org.apache.ibatis.type.StringTypeHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ColumnIndexAccessTest {
+
+  interface Mapper {
+    @Select("SELECT ID, USERNAME, PASSWORD, EMAIL, BIO FROM AUTHOR WHERE ID = #{id}")
+    Author selectAuthor(int id);
+
+    @Results({ @Result(property = "id", column = "ID"), @Result(property = "username", column = "name"),
+        @Result(property = "email", column = "MAIL") })
+    @Select("SELECT ID, USERNAME AS NAME, EMAIL AS mail FROM AUTHOR WHERE ID = #{id}")
+    Author selectAuthorWithResultMap(int id);
+
+    @Results({ @Result(property = "username", column = "USERNAME", typeHandler = LabelOnlyTypeHandler.class),
+        @Result(property = "email", column = "EMAIL", typeHandler = FailingTypeHandler.class) })
+    @Select("SELECT USERNAME, EMAIL FROM AUTHOR WHERE ID = #{id}")
+    Author selectAuthorWithCustomHandlers(int id);
+  }
+
+  private static final List<Object> columns = new ArrayList<>();
+
+  public static class RecordingStringTypeHandler extends StringTypeHandler {
+    @Override
+    public String getNullableResult(ResultSet rs, String columnName) throws SQLException {
+      columns.add(columnName);
+      return super.getNullableResult(rs, columnName);
+    }
+
+    @Override
+    public String getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
+      columns.add(columnIndex);
+      return super.getNullableResult(rs, columnIndex);
+    }
+  }
+
+  public static class LabelOnlyTypeHandler extends RecordingStringTypeHandler {
+    @Override
+    public boolean isColumnIndexSupported() {
+      return false;
+    }
+  }
+
+  public static class FailingTypeHandler extends StringTypeHandler {
+    @Override
+    public String getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
+      throw new SQLException("index read failed");
+    }
+  }
+
+  private SqlSessionFactory sqlSessionFactory;
+
+  @BeforeEach
+  void setup() throws Exception {
+    DataSource dataSource = BaseDataTest.createBlogDataSource();
+    Environment environment = new Environment("Production", new JdbcTransactionFactory(), dataSource);
+    Configuration configuration = new Configuration(environment);
+    configuration.setUseColumnIndex(true);
+    configuration.getTypeHandlerRegistry().register(String.class, new RecordingStringTypeHandler());
+    configuration.getTypeHandlerRegistry().register(String.class, JdbcType.VARCHAR, new RecordingStringTypeHandler());
+    configuration.addMapper(Mapper.class);
+    sqlSessionFactory = new SqlSessionFactoryBuilder().build(configuration);
+    columns.clear();
+  }
+
+  @Test
+  void shouldReadAutoMappedColumnsByIndex() {
+    try (SqlSession session = sqlSessionFactory.openSession()) {
+      Author author = session.getMapper(Mapper.class).selectAuthor(101);
+      assertThat(author.getUsername()).isEqualTo("jim");
+      assertThat(author.getPassword()).isEqualTo("********");
+      assertThat(author.getEmail()).isEqualTo("jim@ibatis.apache.org");
+    }
+    assertThat(columns).containsExactly(2, 3, 4);
+  }
+
+  @Test
+  void shouldReadMappedColumnsByIndex() {
+    try (SqlSession session = sqlSessionFactory.openSession()) {
+      Mapper mapper = session.getMapper(Mapper.class);
+      Author author = mapper.selectAuthorWithResultMap(101);
+      assertThat(author.getId()).isEqualTo(101);
+      assertThat(author.getUsername()).isEqualTo("jim");
+      assertThat(author.getEmail()).isEqualTo("jim@ibatis.apache.org");
+      assertThat(mapper.selectAuthorWithResultMap(102).getUsername()).isEqualTo("sally");
+    }
+    assertThat(columns).containsExactly(2, 3, 2, 3);
+  }
+
+  @Test
+  void shouldReadByLabelOnlyForHandlersThatDoNotSupportIndexes() {
+    try (SqlSession session = sqlSessionFactory.openSession()) {
+      Mapper mapper = session.getMapper(Mapper.class);
+      assertThatThrownBy(() -> mapper.selectAuthorWithCustomHandlers(101)).isInstanceOf(PersistenceException.class)
+          .hasMessageContaining("index read failed");
+    }
+    assertThat(columns).containsExactly("USERNAME");
+  }
+
+  @Test
+  void shouldReadColumnsByLabelWhenDisabled() {
+    sqlSessionFactory.getConfiguration().setUseColumnIndex(false);
+    try (SqlSession session = sqlSessionFactory.openSession()) {
+      Mapper mapper = session.getMapper(Mapper.class);
+      assertThat(mapper.selectAuthorWithResultMap(101).getUsername()).isEqualTo("jim");
+      assertThat(mapper.selectAuthor(101).getUsername()).isEqualTo("jim");
+    }
+    assertThat(columns).containsExactly("name", "MAIL", "USERNAME", "PASSWORD", "EMAIL");
+  }
+
+}
@@ -0,0 +1,103 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.resultset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.HashMap;
+
+import org.apache.ibatis.mapping.ResultMap;
+import org.apache.ibatis.mapping.ResultMapping;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.type.StringTypeHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ResultSetWrapperTest {
+
+  @Mock
+  private ResultSet rs;
+  @Mock
+  private ResultSetMetaData rsmd;
+
+  @BeforeEach
+  void setup() throws Exception {
+    when(rs.getMetaData()).thenReturn(rsmd);
+    when(rsmd.getColumnCount()).thenReturn(3);
+    when(rsmd.getColumnLabel(1)).thenReturn("ID");
+    when(rsmd.getColumnLabel(2)).thenReturn("name");
+    when(rsmd.getColumnLabel(3)).thenReturn("Id");
+    when(rsmd.getColumnName(1)).thenReturn("ID");
+    when(rsmd.getColumnType(1)).thenReturn(Types.INTEGER);
+    when(rsmd.getColumnType(2)).thenReturn(Types.VARCHAR);
+    when(rsmd.getColumnType(3)).thenReturn(Types.INTEGER);
+  }
+
+  @Test
+  void shouldFindColumnsLikeTheDriver() throws Exception {
+    Configuration configuration = new Configuration();
+    configuration.setUseColumnIndex(true);
+    ResultSetWrapper rsw = new ResultSetWrapper(rs, configuration);
+    assertThat(rsw.getColumnIndex("ID")).isEqualTo(1);
+    assertThat(rsw.getColumnIndex("id")).isEqualTo(1);
+    assertThat(rsw.getColumnIndex("NAME")).isEqualTo(2);
+    assertThat(rsw.getColumnIndex("missing")).isZero();
+  }
+
+  @Test
+  void shouldResolveColumnIndexesOfResultMapOncePerPrefix() throws Exception {
+    Configuration configuration = new Configuration();
+    configuration.setUseColumnIndex(true);
+    StringTypeHandler labelOnlyTypeHandler = new StringTypeHandler() {
+      @Override
+      public boolean isColumnIndexSupported() {
+        return false;
+      }
+    };
+    ResultMap resultMap = new ResultMap.Builder(configuration, "resultMap", HashMap.class,
+        Arrays.asList(new ResultMapping.Builder(configuration, "id", "d", Integer.class).build(),
+            new ResultMapping.Builder(configuration, "name", "name", labelOnlyTypeHandler).build(),
+            new ResultMapping.Builder(configuration, "other", "name", String.class).build())).build();
+    ResultSetWrapper rsw = new ResultSetWrapper(rs, configuration);
+    assertThat(rsw.getColumnIndexes(resultMap, null)).containsExactly(0, 0, 2);
+    assertThat(rsw.getColumnIndexes(resultMap, "I")).containsExactly(1, 0, 0);
+    assertThat(rsw.getColumnIndexes(resultMap, "I")).isSameAs(rsw.getColumnIndexes(resultMap, "I"));
+  }
+
+  @Test
+  void shouldReadColumnsByNameWhenDisabled() throws Exception {
+    Configuration configuration = new Configuration();
+    assertThat(new ResultSetWrapper(rs, configuration).getColumnIndex("ID")).isZero();
+
+    configuration = new Configuration();
+    configuration.setUseColumnIndex(true);
+    configuration.setUseColumnLabel(false);
+    assertThat(new ResultSetWrapper(rs, configuration).getColumnIndex("ID")).isZero();
+  }
+
+}
@@ -0,0 +1,215 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.resultset.javassist;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.ResultSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.domain.blog.Author;
+import org.apache.ibatis.domain.blog.Section;
+import org.apache.ibatis.executor.resultset.RowMapper;
+import org.apache.ibatis.executor.resultset.RowMapperFactory;
+import org.apache.ibatis.executor.resultset.UnMappedColumnAutoMapping;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.apache.ibatis.type.LongTypeHandler;
+import org.apache.ibatis.type.StringTypeHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class JavassistRowMapperFactoryTest {
+
+  interface Mapper {
+    @Select("SELECT ID, USERNAME, PASSWORD, EMAIL, BIO, FAVOURITE_SECTION AS favouriteSection FROM AUTHOR ORDER BY ID")
+    List<Author> selectAuthors();
+
+    @Select("SELECT ID, USERNAME, BIO FROM AUTHOR WHERE ID = #{id}")
+    SimpleAuthor selectSimpleAuthor(int id);
+
+    @Select("SELECT ID, USERNAME FROM AUTHOR WHERE ID = #{id}")
+    PrivateAuthor selectPrivateAuthor(int id);
+  }
+
+  public static class SimpleAuthor {
+    private long id;
+    private String username;
+    private String bio = "default";
+
+    public long getId() {
+      return id;
+    }
+
+    public void setId(long id) {
+      this.id = id;
+    }
+
+    public String getUsername() {
+      return username;
+    }
+
+    public void setUsername(String username) {
+      this.username = username;
+    }
+
+    public String getBio() {
+      return bio;
+    }
+
+    public void setBio(String bio) {
+      this.bio = bio;
+    }
+  }
+
+  private static class PrivateAuthor {
+    private Integer id;
+    private String username;
+
+    public void setId(Integer id) {
+      this.id = id;
+    }
+
+    public void setUsername(String username) {
+      this.username = username;
+    }
+  }
+
+  private SqlSessionFactory sqlSessionFactory;
+
+  @BeforeEach
+  void setup() throws Exception {
+    DataSource dataSource = BaseDataTest.createBlogDataSource();
+    Environment environment = new Environment("Production", new JdbcTransactionFactory(), dataSource);
+    Configuration configuration = new Configuration(environment);
+    configuration.setRowMapperFactory(new JavassistRowMapperFactory());
+    configuration.addMapper(Mapper.class);
+    sqlSessionFactory = new SqlSessionFactoryBuilder().build(configuration);
+  }
+
+  @Test
+  void shouldMapBeansWithGeneratedRowMapper() {
+    try (SqlSession session = sqlSessionFactory.openSession()) {
+      List<Author> authors = session.getMapper(Mapper.class).selectAuthors();
+      assertThat(authors).hasSize(2);
+      assertThat(authors.get(0).getId()).isEqualTo(101);
+      assertThat(authors.get(0).getUsername()).isEqualTo("jim");
+      assertThat(authors.get(0).getFavouriteSection()).isEqualTo(Section.NEWS);
+      assertThat(authors.get(1).getId()).isEqualTo(102);
+      assertThat(authors.get(1).getBio()).isNull();
+      assertThat(authors.get(1).getFavouriteSection()).isEqualTo(Section.VIDEOS);
+    }
+  }
+
+  @Test
+  void shouldSkipSettersOnNulls() {
+    try (SqlSession session = sqlSessionFactory.openSession()) {
+      SimpleAuthor author = session.getMapper(Mapper.class).selectSimpleAuthor(102);
+      assertThat(author.getId()).isEqualTo(102L);
+      assertThat(author.getUsername()).isEqualTo("sally");
+      assertThat(author.getBio()).isEqualTo("default");
+    }
+  }
+
+  @Test
+  void shouldCallSettersOnNulls() {
+    sqlSessionFactory.getConfiguration().setCallSettersOnNulls(true);
+    try (SqlSession session = sqlSessionFactory.openSession()) {
+      SimpleAuthor author = session.getMapper(Mapper.class).selectSimpleAuthor(102);
+      assertThat(author.getUsername()).isEqualTo("sally");
+      assertThat(author.getBio()).isNull();
+    }
+  }
+
+  @Test
+  void shouldGenerateRowMapper() throws Exception {
+    RowMapperFactory factory = new JavassistRowMapperFactory();
+    RowMapper rowMapper = factory.createRowMapper(SimpleAuthor.class,
+        Arrays.asList(new UnMappedColumnAutoMapping("ID", "id", long.class, new LongTypeHandler()),
+            new UnMappedColumnAutoMapping("USERNAME", "username", String.class, new StringTypeHandler()),
+            new UnMappedColumnAutoMapping("BIO", "bio", String.class, new StringTypeHandler())));
+    assertThat(rowMapper).isNotNull();
+    assertThat(rowMapper.getClass().getName()).startsWith(SimpleAuthor.class.getName());
+
+    ResultSet rs = mock(ResultSet.class);
+    when(rs.getLong(1)).thenReturn(7L);
+    when(rs.getString("USERNAME")).thenReturn("john");
+    when(rs.getString(3)).thenReturn(null);
+    int[] columnIndexes = { 1, 0, 3 };
+    SimpleAuthor author = new SimpleAuthor();
+    assertThat(rowMapper.map(rs, columnIndexes, author, false)).isTrue();
+    assertThat(author.getId()).isEqualTo(7L);
+    assertThat(author.getUsername()).isEqualTo("john");
+    assertThat(author.getBio()).isEqualTo("default");
+    assertThat(rowMapper.map(rs, columnIndexes, author, true)).isTrue();
+    assertThat(author.getBio()).isNull();
+  }
+
+  @Test
+  void shouldReadPrimitivePropertiesWithoutBoxing() throws Exception {
+    LongTypeHandler typeHandler = new LongTypeHandler() {
+      @Override
+      public Class<?> getPrimitiveType() {
+        return long.class;
+      }
+
+      @Override
+      public Long getNullableResult(ResultSet rs, int columnIndex) {
+        throw new AssertionError("Should not box");
+      }
+    };
+    RowMapper rowMapper = new JavassistRowMapperFactory().createRowMapper(SimpleAuthor.class,
+        Collections.singletonList(new UnMappedColumnAutoMapping("ID", "id", long.class, typeHandler)));
+
+    ResultSet rs = mock(ResultSet.class);
+    when(rs.getLong(1)).thenReturn(0L);
+    when(rs.wasNull()).thenReturn(true, false);
+    int[] columnIndexes = { 1 };
+    SimpleAuthor author = new SimpleAuthor();
+    author.setId(7L);
+    assertThat(rowMapper.map(rs, columnIndexes, author, true)).isFalse();
+    assertThat(author.getId()).isEqualTo(7L);
+    assertThat(rowMapper.map(rs, columnIndexes, author, true)).isTrue();
+    assertThat(author.getId()).isZero();
+    verify(rs, times(2)).getLong(1);
+  }
+
+  @Test
+  void shouldFallBackToReflectionForUnsupportedTypes() {
+    RowMapperFactory factory = new JavassistRowMapperFactory();
+    assertThat(factory.createRowMapper(PrivateAuthor.class, Collections.emptyList())).isNull();
+    try (SqlSession session = sqlSessionFactory.openSession()) {
+      PrivateAuthor author = session.getMapper(Mapper.class).selectPrivateAuthor(101);
+      assertThat(author.id).isEqualTo(101);
+      assertThat(author.username).isEqualTo("jim");
+    }
+  }
+
+}
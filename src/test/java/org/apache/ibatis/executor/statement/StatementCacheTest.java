@@ -0,0 +1,81 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.Statement;
+
+import org.junit.jupiter.api.Test;
+
+class StatementCacheTest {
+
+  private static Statement openStatement() throws Exception {
+    Statement statement = mock(Statement.class);
+    when(statement.getConnection()).thenReturn(mock(Connection.class));
+    return statement;
+  }
+
+  @Test
+  void shouldEvictLeastRecentlyUsedStatement() throws Exception {
+    StatementCache cache = new StatementCache(2);
+    Statement a = openStatement();
+    Statement b = openStatement();
+    Statement c = openStatement();
+    cache.put("a", a);
+    cache.put("b", b);
+    assertThat(cache.get("a")).isSameAs(a);
+    cache.put("c", c);
+    verify(b).close();
+    verify(a, never()).close();
+    assertThat(cache.get("b")).isNull();
+    assertThat(cache.get("a")).isSameAs(a);
+    assertThat(cache.get("c")).isSameAs(c);
+    assertThat(cache.size()).isEqualTo(2);
+    assertThat(cache.getHits()).isEqualTo(3);
+    assertThat(cache.getMisses()).isEqualTo(1);
+    assertThat(cache.getEvictions()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldForgetClosedStatements() throws Exception {
+    StatementCache cache = new StatementCache(2);
+    Statement statement = openStatement();
+    cache.put("a", statement);
+    when(statement.isClosed()).thenReturn(true);
+    assertThat(cache.get("a")).isNull();
+    assertThat(cache.size()).isZero();
+  }
+
+  @Test
+  void shouldNotLimitCacheWithoutMaxSize() throws Exception {
+    StatementCache cache = new StatementCache(0);
+    for (int i = 0; i < 10; i++) {
+      cache.put("sql" + i, openStatement());
+    }
+    assertThat(cache.size()).isEqualTo(10);
+    Statement statement = cache.get("sql0");
+    cache.clear();
+    verify(statement).close();
+    assertThat(cache.size()).isZero();
+  }
+
+}
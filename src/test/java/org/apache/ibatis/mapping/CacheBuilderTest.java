@@ -24,7 +24,12 @@ import java.lang.reflect.Field;
 import org.apache.ibatis.builder.InitializingObject;
 import org.apache.ibatis.cache.Cache;
 import org.apache.ibatis.cache.CacheException;
+import org.apache.ibatis.cache.decorators.LruCache;
+import org.apache.ibatis.cache.decorators.SerializedCache;
+import org.apache.ibatis.cache.decorators.SynchronizedCache;
+import org.apache.ibatis.cache.decorators.TinyLfuCache;
 import org.apache.ibatis.cache.impl.PerpetualCache;
+import org.apache.ibatis.cache.serializer.SnapshotCacheSerializer;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -44,6 +49,35 @@ class CacheBuilderTest {
         "Failed cache initialization for 'test' on 'org.apache.ibatis.mapping.CacheBuilderTest$InitializingFailureCache'");
   }
 
+  @Test
+  void shouldSynchronizeChainsThatAreNotThreadSafe() {
+    Cache cache = new CacheBuilder("test").addDecorator(LruCache.class).clearInterval(1000L).readWrite(true).build();
+
+    Assertions.assertThat(cache).isInstanceOf(SynchronizedCache.class);
+    Assertions.assertThat(cache.isThreadSafe()).isTrue();
+  }
+
+  @Test
+  void shouldNotSynchronizeThreadSafeChains() {
+    Cache cache = new CacheBuilder("test").addDecorator(TinyLfuCache.class).clearInterval(1000L).readWrite(true)
+        .blocking(true).build();
+
+    Assertions.assertThat(cache.isThreadSafe()).isTrue();
+    Cache delegate = unwrap(cache);
+    Assertions.assertThat(delegate).isNotInstanceOf(SynchronizedCache.class);
+    Assertions.assertThat(cache.getObject("key")).isNull();
+    cache.putObject("key", "value");
+    Assertions.assertThat(cache.getObject("key")).isEqualTo("value");
+  }
+
+  @Test
+  void shouldCopyValuesWithTheConfiguredSerializer() {
+    Cache cache = new CacheBuilder("test").readWrite(true).serializer(SnapshotCacheSerializer.class).build();
+
+    SerializedCache serializedCache = unwrap(unwrap(cache));
+    Assertions.assertThat(serializedCache.getSerializer()).isInstanceOf(SnapshotCacheSerializer.class);
+  }
+
   @SuppressWarnings("unchecked")
   private <T> T unwrap(Cache cache) {
     Field field;
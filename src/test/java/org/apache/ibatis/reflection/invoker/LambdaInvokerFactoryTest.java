@@ -0,0 +1,156 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection.invoker;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.ibatis.domain.blog.Author;
+import org.apache.ibatis.reflection.LambdaReflectorFactory;
+import org.apache.ibatis.reflection.MetaClass;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.reflection.Reflector;
+import org.apache.ibatis.reflection.ReflectorFactory;
+import org.apache.ibatis.reflection.factory.DefaultObjectFactory;
+import org.apache.ibatis.reflection.wrapper.DefaultObjectWrapperFactory;
+import org.junit.jupiter.api.Test;
+
+class LambdaInvokerFactoryTest {
+
+  private static final Object[] NO_ARGUMENTS = {};
+
+  public static class Bean {
+    private long id;
+    private String name;
+    private List<String> tags = new ArrayList<>();
+    private int hidden;
+
+    public long getId() {
+      return id;
+    }
+
+    public void setId(long id) {
+      this.id = id;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public Bean setName(String name) {
+      if ("invalid".equals(name)) {
+        throw new IllegalStateException("invalid name");
+      }
+      this.name = name;
+      return this;
+    }
+
+    public List<String> getTags() {
+      return tags;
+    }
+
+    public void setTags(List<String> tags) {
+      this.tags = tags;
+    }
+
+    int readHidden() {
+      return hidden;
+    }
+  }
+
+  static class PackagePrivateBean {
+    private String value;
+
+    public String getValue() {
+      return value;
+    }
+
+    public void setValue(String value) {
+      this.value = value;
+    }
+  }
+
+  private final ReflectorFactory reflectorFactory = new LambdaReflectorFactory();
+
+  @Test
+  void shouldSpinLambdasForPublicAccessors() throws Exception {
+    Reflector reflector = reflectorFactory.findForClass(Author.class);
+    assertThat(reflector.getGetInvoker("id")).isInstanceOf(LambdaGetterInvoker.class);
+    assertThat(reflector.getSetInvoker("id")).isInstanceOf(LambdaSetterInvoker.class);
+    assertThat(reflector.getSetInvoker("username")).isInstanceOf(LambdaSetterInvoker.class);
+    assertThat(reflector.getSetInvoker("id").getType()).isEqualTo(int.class);
+
+    Author author = new Author();
+    reflector.getSetInvoker("id").invoke(author, new Object[] { 101 });
+    reflector.getSetInvoker("username").invoke(author, new Object[] { "jim" });
+    assertThat(reflector.getGetInvoker("id").invoke(author, NO_ARGUMENTS)).isEqualTo(101);
+    assertThat(reflector.getGetInvoker("username").invoke(author, NO_ARGUMENTS)).isEqualTo("jim");
+
+    reflector.getSetInvoker("id").invoke(author, new Object[] { (short) 102 });
+    assertThat(author.getId()).isEqualTo(102);
+    assertThatThrownBy(() -> reflector.getSetInvoker("id").invoke(author, new Object[] { null }))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void shouldUseMethodHandlesForFieldsAndNonPublicTypes() throws Exception {
+    Reflector reflector = reflectorFactory.findForClass(Bean.class);
+    assertThat(reflector.getGetInvoker("hidden")).isInstanceOf(MethodHandleInvoker.class);
+    assertThat(reflector.getSetInvoker("hidden")).isInstanceOf(MethodHandleInvoker.class);
+    Bean bean = new Bean();
+    reflector.getSetInvoker("hidden").invoke(bean, new Object[] { 3 });
+    assertThat(bean.readHidden()).isEqualTo(3);
+    assertThat(reflector.getGetInvoker("hidden").invoke(bean, NO_ARGUMENTS)).isEqualTo(3);
+
+    Reflector packagePrivate = reflectorFactory.findForClass(PackagePrivateBean.class);
+    assertThat(packagePrivate.getSetInvoker("value")).isInstanceOf(MethodHandleInvoker.class);
+    PackagePrivateBean packagePrivateBean = new PackagePrivateBean();
+    packagePrivate.getSetInvoker("value").invoke(packagePrivateBean, new Object[] { "value" });
+    assertThat(packagePrivate.getGetInvoker("value").invoke(packagePrivateBean, NO_ARGUMENTS)).isEqualTo("value");
+  }
+
+  @Test
+  void shouldBehaveLikeReflectionForConversionsAndErrors() throws Exception {
+    Reflector reflector = reflectorFactory.findForClass(Bean.class);
+    Bean bean = new Bean();
+    reflector.getSetInvoker("id").invoke(bean, new Object[] { 5 });
+    assertThat(bean.getId()).isEqualTo(5L);
+    reflector.getSetInvoker("hidden").invoke(bean, new Object[] { (short) 2 });
+    assertThat(bean.readHidden()).isEqualTo(2);
+
+    assertThatThrownBy(() -> reflector.getSetInvoker("id").invoke(bean, new Object[] { null }))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> reflector.getSetInvoker("name").invoke(bean, new Object[] { "invalid" }))
+        .isInstanceOf(InvocationTargetException.class).hasCauseInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void shouldResolveGenericGetterTypes() {
+    MetaClass metaClass = MetaClass.forClass(Bean.class, reflectorFactory);
+    assertThat(metaClass.getGetterType("tags[0]")).isEqualTo(String.class);
+
+    Bean bean = new Bean();
+    MetaObject metaObject = MetaObject.forObject(bean, new DefaultObjectFactory(), new DefaultObjectWrapperFactory(),
+        reflectorFactory);
+    metaObject.setValue("name", "sally");
+    assertThat(metaObject.getValue("name")).isEqualTo("sally");
+  }
+
+}
@@ -0,0 +1,161 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.scripting.xmltags;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.apache.ibatis.builder.BuilderException;
+import org.apache.ibatis.domain.blog.Author;
+import org.apache.ibatis.domain.blog.Section;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.parsing.XPathParser;
+import org.apache.ibatis.session.Configuration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class CompiledExpressionEngineTest {
+
+  private final Configuration configuration = new Configuration();
+  private final CompiledExpressionEngine engine = new CompiledExpressionEngine();
+
+  @ParameterizedTest
+  @ValueSource(strings = { "name != null", "name == 'john'", "name == \"john\"", "name != '' and name != null",
+      "missing == null", "missing != null or name == 'x'", "age > 18", "age >= 30", "age lt 31", "ageL == age",
+      "big == 30", "big gt 29", "flag", "!flag", "not flag", "flagStr", "flagStr and age", "name and age",
+      "missing or age", "list != null and list.size() > 0", "list.size", "list.isEmpty()", "!list.isEmpty",
+      "emptyList.isEmpty()", "map.a == 1", "map.size() == 1", "map.size", "array.length == 2",
+      "author.username == 'jim'", "author.favouriteSection == 'NEWS'", "name.trim().length() > 0", "blank.trim() == ''",
+      "age == '30'", "ch == 'Y'", "ch == 'Y'.toString()", "_parameter != null", "_parameter.name == name",
+      "_databaseId == null", "(age > 1 or age < 0) and name != null", "age == null", "nothing == 0",
+      "age == 30 == true", "1 < 2", "name < 'k'", "list.size() > 1 and list.size() lte 2", "name + 'x'", "list[0] == 1",
+      "map['a']", "@java.lang.Math@max(1, 2)", "name.equals('john')", "age == 30L", "age > -1", "010 == 8" })
+  void shouldEvaluateLikeOgnl(String expression) {
+    Map<String, Object> param = new HashMap<>();
+    param.put("name", "john");
+    param.put("blank", "  ");
+    param.put("age", 30);
+    param.put("ageL", 30L);
+    param.put("big", new BigDecimal("30.0"));
+    param.put("flag", true);
+    param.put("flagStr", "true");
+    param.put("list", Arrays.asList(1, 2));
+    param.put("emptyList", Collections.emptyList());
+    param.put("map", Collections.singletonMap("a", 1));
+    param.put("array", new int[] { 1, 2 });
+    param.put("author", new Author(101, "jim", "******", "jim@apache.org", "N/A", Section.NEWS));
+    param.put("ch", "Y");
+    param.put("nothing", null);
+    Map<String, Object> bindings = new DynamicContext(configuration, param, null, true).getBindings();
+
+    assertThat(outcome(() -> engine.getValue(expression, bindings)))
+        .isEqualTo(outcome(() -> OgnlCache.getValue(expression, bindings)));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = { "username == 'jim'", "favouriteSection != null", "id > 100", "bio == null",
+      "_parameter.id == id", "email.length() > 3 and password != null" })
+  void shouldEvaluatePropertiesOfBeanParametersLikeOgnl(String expression) {
+    Author author = new Author(101, "jim", "******", "jim@apache.org", null, Section.NEWS);
+    Map<String, Object> bindings = new DynamicContext(configuration, author, null, true).getBindings();
+
+    assertThat(engine.isCompiled(expression)).isTrue();
+    assertThat(engine.getValue(expression, bindings)).isEqualTo(OgnlCache.getValue(expression, bindings));
+  }
+
+  @Test
+  void shouldCompileTheCommonSubset() {
+    assertThat(engine.isCompiled("name != null and name != ''")).isTrue();
+    assertThat(engine.isCompiled("list != null and list.size() > 0")).isTrue();
+    assertThat(engine.isCompiled("author.username eq 'jim' or not flag")).isTrue();
+    assertThat(engine.isCompiled("name + 'x'")).isFalse();
+    assertThat(engine.isCompiled("list[0] == 1")).isFalse();
+    assertThat(engine.isCompiled("name.equals('john')")).isFalse();
+    assertThat(engine.isCompiled("age == 30L")).isFalse();
+    assertThat(engine.isCompiled("age in {1, 2}")).isFalse();
+  }
+
+  @Test
+  void shouldResolveGettersPerClass() {
+    Map<String, Object> param = new HashMap<>();
+    param.put("item", new Author(101, "jim", "******", "jim@apache.org", "N/A", Section.NEWS));
+    assertThat(engine.getValue("item.id", param)).isEqualTo(101);
+    param.put("item", new Item(7));
+    assertThat(engine.getValue("item.id", param)).isEqualTo(7L);
+  }
+
+  @Test
+  void shouldReportErrorsLikeOgnl() {
+    Map<String, Object> param = new HashMap<>();
+    param.put("author", new Author(101, "jim", "******", "jim@apache.org", "N/A", Section.NEWS));
+    Map<String, Object> bindings = new DynamicContext(configuration, param, null, true).getBindings();
+    assertThatThrownBy(() -> engine.getValue("author.missing == null", bindings)).isInstanceOf(BuilderException.class)
+        .hasMessageContaining("author.missing == null");
+    assertThatThrownBy(() -> engine.getValue("nothing.length() > 0", bindings)).isInstanceOf(NullPointerException.class)
+        .hasMessage("target is null for method length");
+  }
+
+  @Test
+  void shouldEvaluateDynamicSqlWithTheConfiguredEngine() {
+    Map<String, Object> param = new HashMap<>();
+    param.put("ids", Arrays.asList(1, 2));
+    param.put("name", "jim");
+    String script = "<script>select * from author <where><if test=\"name != null\">username = #{name}</if>"
+        + "<foreach collection=\"ids\" item=\"id\" open=\" and id in (\" separator=\",\" close=\")\">#{id}</foreach>"
+        + "</where></script>";
+    configuration.setExpressionEngine(new OgnlExpressionEngine() {
+      @Override
+      public Object getValue(String expression, Object root) {
+        return "name != null".equals(expression) ? Boolean.FALSE : super.getValue(expression, root);
+      }
+    });
+    BoundSql boundSql = new XMLScriptBuilder(configuration, new XPathParser(script).evalNode("/script"))
+        .parseScriptNode().getBoundSql(param);
+    assertThat(boundSql.getSql()).isEqualToIgnoringWhitespace("select * from author WHERE id in ( ? , ? )");
+
+    configuration.setExpressionEngine(null);
+    assertThat(configuration.getExpressionEngine()).isInstanceOf(CompiledExpressionEngine.class);
+  }
+
+  private static Object outcome(Supplier<Object> evaluation) {
+    try {
+      return evaluation.get();
+    } catch (RuntimeException e) {
+      return e.getClass().getName() + ": " + e.getMessage();
+    }
+  }
+
+  public static class Item {
+    private final long id;
+
+    Item(long id) {
+      this.id = id;
+    }
+
+    public long getId() {
+      return id;
+    }
+  }
+
+}
@@ -0,0 +1,208 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.scripting.xmltags;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.SqlSource;
+import org.apache.ibatis.parsing.XPathParser;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.type.IntegerTypeHandler;
+import org.apache.ibatis.type.LongTypeHandler;
+import org.junit.jupiter.api.Test;
+
+class SqlShapeCacheTest {
+
+  private static final String SCRIPT = "<script>select * from user <where>"
+      + "<if test=\"name != null\">and name = #{name}</if>" + "<if test=\"ids != null\">and id in "
+      + "<foreach collection=\"ids\" item=\"id\" open=\"(\" separator=\",\" close=\")\">#{id}</foreach></if>"
+      + "<choose><when test=\"active\">and active = 1</when><otherwise>and active = 0</otherwise></choose>"
+      + "</where></script>";
+
+  @Test
+  void shouldReuseSqlForTheSameShape() {
+    Configuration configuration = new Configuration();
+    configuration.setDynamicSqlCacheSize(16);
+    DynamicSqlSource sqlSource = parse(configuration, SCRIPT);
+    SqlShapeCache shapeCache = sqlSource.getShapeCache();
+
+    BoundSql first = sqlSource.getBoundSql(param("john", Arrays.asList(1, 2), true));
+    BoundSql second = sqlSource.getBoundSql(param("jane", Arrays.asList(3, 4), true));
+    assertThat(shapeCache.getMissCount()).isEqualTo(1);
+    assertThat(shapeCache.getHitCount()).isEqualTo(1);
+    assertThat(second.getSql()).isSameAs(first.getSql());
+    assertThat(second.getSql())
+        .isEqualToIgnoringWhitespace("select * from user WHERE name = ? and id in ( ? , ? ) and active = 1");
+    assertThat(values(second)).containsExactly("jane", 3, 4);
+    assertThat(second.getParameterMappings()).extracting(ParameterMapping::getProperty).containsExactly("name", "id",
+        "id");
+    assertThat(second.getAdditionalParameter("_parameter")).isSameAs(second.getParameterObject());
+  }
+
+  @Test
+  void shouldGenerateSqlForEachShape() {
+    Configuration configuration = new Configuration();
+    configuration.setDynamicSqlCacheSize(16);
+    DynamicSqlSource sqlSource = parse(configuration, SCRIPT);
+    Configuration plain = new Configuration();
+    SqlSource uncached = parse(plain, SCRIPT);
+
+    List<Map<String, Object>> params = Arrays.asList(param("john", Arrays.asList(1, 2), true),
+        param(null, Arrays.asList(1, 2, 3), true), param("john", null, false),
+        param("john", Arrays.asList(1, 2), false), param("john", Arrays.asList(5, 6), true),
+        param(null, Arrays.asList(7, 8, 9), true));
+    for (Map<String, Object> param : params) {
+      BoundSql expected = uncached.getBoundSql(param);
+      BoundSql actual = sqlSource.getBoundSql(param);
+      assertThat(actual.getSql()).isEqualTo(expected.getSql());
+      assertThat(values(actual)).isEqualTo(values(expected));
+      assertThat(actual.getAdditionalParameters()).isEqualTo(expected.getAdditionalParameters());
+    }
+    assertThat(sqlSource.getShapeCache().size()).isEqualTo(4);
+    assertThat(sqlSource.getShapeCache().getHitCount()).isEqualTo(2);
+  }
+
+  @Test
+  void shouldResolveTypeHandlersPerValueType() {
+    Configuration configuration = new Configuration();
+    configuration.setDynamicSqlCacheSize(16);
+    DynamicSqlSource sqlSource = parse(configuration, SCRIPT);
+
+    BoundSql ints = sqlSource.getBoundSql(param(null, Arrays.asList(1, 2), true));
+    BoundSql longs = sqlSource.getBoundSql(param(null, Arrays.asList(1L, 2L), true));
+    assertThat(ints.getParameterMappings().get(0).getTypeHandler()).isInstanceOf(IntegerTypeHandler.class);
+    assertThat(longs.getParameterMappings().get(0).getTypeHandler()).isInstanceOf(LongTypeHandler.class);
+    assertThat(sqlSource.getShapeCache().getHitCount()).isZero();
+  }
+
+  @Test
+  void shouldBeDisabledByDefaultAndOverriddenPerStatement() {
+    Configuration configuration = new Configuration();
+    DynamicSqlSource sqlSource = parse(configuration, SCRIPT);
+    sqlSource.getBoundSql(param("john", null, true));
+    sqlSource.getBoundSql(param("john", null, true));
+    assertThat(sqlSource.getShapeCache().size()).isZero();
+
+    DynamicSqlSource enabled = parse(configuration, SCRIPT.replace("<script>", "<script dynamicSqlCacheSize=\"1\">"));
+    enabled.getBoundSql(param("john", null, true));
+    enabled.getBoundSql(param("john", null, false));
+    enabled.getBoundSql(param("john", null, false));
+    assertThat(enabled.getShapeCache().size()).isEqualTo(1);
+    assertThat(enabled.getShapeCache().getHitCount()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldEvictLeastRecentlyUsedShape() {
+    Configuration configuration = new Configuration();
+    configuration.setDynamicSqlCacheSize(2);
+    DynamicSqlSource sqlSource = parse(configuration, SCRIPT);
+    SqlShapeCache shapeCache = sqlSource.getShapeCache();
+
+    sqlSource.getBoundSql(param("john", null, true));
+    sqlSource.getBoundSql(param("john", null, false));
+    sqlSource.getBoundSql(param("john", null, true));
+    sqlSource.getBoundSql(param(null, null, true));
+    assertThat(shapeCache.size()).isEqualTo(2);
+    assertThat(shapeCache.getHitCount()).isEqualTo(1);
+
+    sqlSource.getBoundSql(param("jane", null, true));
+    assertThat(shapeCache.getHitCount()).isEqualTo(2);
+    sqlSource.getBoundSql(param("jane", null, false));
+    assertThat(shapeCache.getHitCount()).isEqualTo(2);
+  }
+
+  @Test
+  void shouldEvaluateExpressionsOnceOnMiss() {
+    Configuration configuration = new Configuration();
+    configuration.setDynamicSqlCacheSize(16);
+    DynamicSqlSource sqlSource = parse(configuration,
+        "<script>select * from user <where><bind name=\"pattern\" value=\"nextPattern\"/>"
+            + "<if test=\"active\">and active = 1</if>"
+            + "<foreach collection=\"ids\" item=\"id\" open=\"and id in (\" separator=\",\" close=\")\">#{id}</foreach>"
+            + "and name like #{pattern}</where></script>");
+    CountingParameter parameter = new CountingParameter();
+
+    BoundSql miss = sqlSource.getBoundSql(parameter);
+    assertThat(miss.getSql())
+        .isEqualToIgnoringWhitespace("select * from user WHERE active = 1 and id in ( ? , ? ) and name like ?");
+    assertThat(values(miss)).containsExactly(1, 2, "a1");
+    assertThat(parameter.evaluations).containsExactly("pattern", "active", "ids");
+
+    BoundSql hit = sqlSource.getBoundSql(parameter);
+    assertThat(hit.getSql()).isSameAs(miss.getSql());
+    assertThat(values(hit)).containsExactly(1, 2, "a2");
+    assertThat(parameter.evaluations).containsExactly("pattern", "active", "ids", "pattern", "active", "ids");
+  }
+
+  public static class CountingParameter {
+    private final List<String> evaluations = new ArrayList<>();
+    private int patterns;
+
+    public String getNextPattern() {
+      evaluations.add("pattern");
+      return "a" + ++patterns;
+    }
+
+    public boolean isActive() {
+      evaluations.add("active");
+      return true;
+    }
+
+    public List<Integer> getIds() {
+      evaluations.add("ids");
+      return Arrays.asList(1, 2);
+    }
+  }
+
+  @Test
+  void shouldNotCacheSqlWithSubstitutions() {
+    Configuration configuration = new Configuration();
+    configuration.setDynamicSqlCacheSize(16);
+    DynamicSqlSource sqlSource = parse(configuration,
+        "<script>select * from ${table} <if test=\"name != null\">where name = #{name}</if></script>");
+    assertThat(sqlSource.getShapeCache()).isNull();
+    Map<String, Object> param = param("john", null, true);
+    param.put("table", "user");
+    assertThat(sqlSource.getBoundSql(param).getSql()).isEqualToIgnoringWhitespace("select * from user where name = ?");
+  }
+
+  private static DynamicSqlSource parse(Configuration configuration, String script) {
+    return (DynamicSqlSource) new XMLScriptBuilder(configuration, new XPathParser(script).evalNode("/script"))
+        .parseScriptNode();
+  }
+
+  private static Map<String, Object> param(String name, List<?> ids, boolean active) {
+    Map<String, Object> param = new HashMap<>();
+    param.put("name", name);
+    param.put("ids", ids);
+    param.put("active", active);
+    return param;
+  }
+
+  private static List<Object> values(BoundSql boundSql) {
+    return boundSql.getParameterMappings().stream().map(ParameterMapping::getValue).collect(Collectors.toList());
+  }
+
+}
@@ -0,0 +1,162 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.session;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+import org.apache.ibatis.binding.BindingException;
+import org.apache.ibatis.domain.blog.Author;
+import org.apache.ibatis.exceptions.PersistenceException;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AsyncSqlSessionTest {
+
+  interface Mapper {
+    @Select("SELECT ID, USERNAME, PASSWORD, EMAIL, BIO FROM AUTHOR WHERE ID = #{id}")
+    CompletableFuture<Author> selectAuthor(int id);
+
+    @Select("SELECT ID, USERNAME, PASSWORD, EMAIL, BIO FROM AUTHOR ORDER BY ID")
+    CompletableFuture<List<Author>> selectAuthors();
+
+    @Select("SELECT USERNAME FROM AUTHOR WHERE ID = #{id}")
+    String selectUsername(int id);
+
+    @Update("UPDATE AUTHOR SET USERNAME = #{username} WHERE ID = #{id}")
+    CompletableFuture<Integer> updateUsername(@Param("id") int id, @Param("username") String username);
+  }
+
+  private SqlSessionFactory sqlSessionFactory;
+  private ExecutorService executor;
+
+  @BeforeEach
+  void setup() throws Exception {
+    DataSource dataSource = BaseDataTest.createBlogDataSource();
+    Environment environment = new Environment("Production", new JdbcTransactionFactory(), dataSource);
+    Configuration configuration = new Configuration(environment);
+    configuration.addMapper(Mapper.class);
+    executor = Executors.newFixedThreadPool(4, runnable -> new Thread(runnable, "async-test"));
+    configuration.setAsyncExecutor(executor);
+    sqlSessionFactory = new SqlSessionFactoryBuilder().build(configuration);
+  }
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdown();
+  }
+
+  @Test
+  void shouldRunOperationsOnTheAsyncExecutor() {
+    try (AsyncSqlSession session = sqlSessionFactory.openAsyncSession()) {
+      CompletableFuture<String> thread = session.execute(s -> Thread.currentThread().getName());
+      CompletableFuture<Author> author = session
+          .selectOne("org.apache.ibatis.session.AsyncSqlSessionTest$Mapper.selectAuthor", 101);
+      CompletableFuture<List<Author>> authors = session
+          .selectList("org.apache.ibatis.session.AsyncSqlSessionTest$Mapper.selectAuthors");
+
+      assertThat(thread.join()).isEqualTo("async-test");
+      assertThat(author.join().getUsername()).isEqualTo("jim");
+      assertThat(authors.join()).extracting(Author::getUsername).containsExactly("jim", "sally");
+    }
+  }
+
+  @Test
+  void shouldRunOperationsInOrderInTheSameTransaction() {
+    try (AsyncSqlSession session = sqlSessionFactory.openAsyncSession()) {
+      Mapper mapper = session.getMapper(Mapper.class);
+      CompletableFuture<Integer> updated = mapper.updateUsername(101, "jimmy");
+      CompletableFuture<Author> author = mapper.selectAuthor(101);
+      // a blocking call waits for the pending operations
+      assertThat(mapper.selectUsername(101)).isEqualTo("jimmy");
+      assertThat(updated.join()).isEqualTo(1);
+      assertThat(author.join().getUsername()).isEqualTo("jimmy");
+
+      session.rollback(true).join();
+      assertThat(mapper.selectAuthor(101).join().getUsername()).isEqualTo("jim");
+    }
+  }
+
+  @Test
+  void shouldCallBlockingMethodsFromOperations() {
+    try (AsyncSqlSession session = sqlSessionFactory.openAsyncSession()) {
+      Mapper mapper = session.getMapper(Mapper.class);
+      assertThat(session.execute(s -> mapper.selectUsername(102)).join()).isEqualTo("sally");
+    }
+  }
+
+  @Test
+  void shouldJoinFuturesFromOperations() {
+    try (AsyncSqlSession session = sqlSessionFactory.openAsyncSession()) {
+      Mapper mapper = session.getMapper(Mapper.class);
+      CompletableFuture<String> username = session.execute(s -> mapper.selectAuthor(102).join().getUsername());
+      assertThat(username).succeedsWithin(Duration.ofSeconds(10)).isEqualTo("sally");
+      CompletableFuture<Integer> updated = session
+          .execute(s -> session.update("org.apache.ibatis.session.AsyncSqlSessionTest$Mapper.updateUsername",
+              Map.of("id", 101, "username", "jimmy")).join());
+      assertThat(updated).succeedsWithin(Duration.ofSeconds(10)).isEqualTo(1);
+    }
+  }
+
+  @Test
+  void shouldCompleteExceptionally() {
+    try (AsyncSqlSession session = sqlSessionFactory.openAsyncSession()) {
+      CompletableFuture<Object> future = session.selectOne("noSuchStatement");
+      assertThatThrownBy(future::join).isInstanceOf(CompletionException.class)
+          .hasCauseInstanceOf(PersistenceException.class);
+      // the session is still usable
+      assertThat(session.getMapper(Mapper.class).selectUsername(101)).isEqualTo("jim");
+    }
+  }
+
+  @Test
+  void shouldRejectOperationsOnceClosed() {
+    AsyncSqlSession session = sqlSessionFactory.openAsyncSession();
+    CompletableFuture<String> username = session
+        .execute(s -> s.selectOne("org.apache.ibatis.session.AsyncSqlSessionTest$Mapper.selectUsername", 101));
+    session.close();
+    assertThat(username.join()).isEqualTo("jim");
+    assertThatThrownBy(() -> session.execute(s -> null).join()).hasCauseInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void shouldRequireAnAsyncSessionForFutureMethods() {
+    try (SqlSession session = sqlSessionFactory.openSession()) {
+      Mapper mapper = session.getMapper(Mapper.class);
+      assertThatThrownBy(() -> mapper.selectAuthor(101)).isInstanceOf(BindingException.class)
+          .hasMessageContaining("AsyncSqlSession");
+      assertThat(mapper.selectUsername(101)).isEqualTo("jim");
+    }
+  }
+
+}
@@ -0,0 +1,130 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.session;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.annotations.CacheNamespace;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.datasource.pooled.ConcurrentPooledDataSource;
+import org.apache.ibatis.datasource.pooled.PoolState;
+import org.apache.ibatis.datasource.pooled.PooledDataSource;
+import org.apache.ibatis.domain.blog.Author;
+import org.apache.ibatis.exceptions.PersistenceException;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Runs thousands of concurrent sessions, on virtual threads when the JVM supports them.
+ */
+class VirtualThreadSessionsTest {
+
+  private static final int SESSIONS = 2000;
+
+  @CacheNamespace(blocking = true)
+  interface Mapper {
+    @Select("SELECT ID, USERNAME, PASSWORD, EMAIL, BIO FROM AUTHOR WHERE ID = #{id}")
+    Author selectAuthor(int id);
+
+    @Select("SELECT ID, USERNAME FROM AUTHOR WHERE ID = #{id}")
+    Author selectAuthorUncached(int id);
+
+    @Select("SELECT * FROM NO_SUCH_TABLE")
+    Author selectFromMissingTable();
+  }
+
+  @BeforeAll
+  static void setUp() throws Exception {
+    BaseDataTest.createBlogDataSource();
+  }
+
+  @Test
+  void shouldRunConcurrentSessionsWithPooledDataSource() throws Exception {
+    PooledDataSource dataSource = BaseDataTest.createPooledDataSource(BaseDataTest.BLOG_PROPERTIES);
+    runSessions(dataSource);
+  }
+
+  @Test
+  void shouldRunConcurrentSessionsWithConcurrentPooledDataSource() throws Exception {
+    PooledDataSource pooled = BaseDataTest.createPooledDataSource(BaseDataTest.BLOG_PROPERTIES);
+    PooledDataSource dataSource = new ConcurrentPooledDataSource(pooled.getDriver(), pooled.getUrl(),
+        pooled.getUsername(), pooled.getPassword());
+    runSessions(dataSource);
+  }
+
+  private void runSessions(PooledDataSource dataSource) throws Exception {
+    dataSource.setPoolMaximumActiveConnections(8);
+    dataSource.setPoolMaximumIdleConnections(8);
+    Configuration configuration = new Configuration(
+        new Environment("stress", new JdbcTransactionFactory(), dataSource));
+    configuration.addMapper(Mapper.class);
+    SqlSessionFactory sqlSessionFactory = new SqlSessionFactoryBuilder().build(configuration);
+
+    List<Future<?>> futures = new ArrayList<>(SESSIONS);
+    ExecutorService executor = newExecutor();
+    try {
+      for (int i = 0; i < SESSIONS; i++) {
+        final int n = i;
+        futures.add(executor.submit(() -> {
+          try (SqlSession session = sqlSessionFactory.openSession()) {
+            Mapper mapper = session.getMapper(Mapper.class);
+            if (n % 10 == 0) {
+              // the error context must only describe the statement of this thread
+              assertThatThrownBy(mapper::selectFromMissingTable).isInstanceOf(PersistenceException.class)
+                  .hasMessageContaining("selectFromMissingTable").hasMessageNotContaining("selectAuthor");
+            } else if (n % 2 == 0) {
+              assertThat(mapper.selectAuthor(101).getUsername()).isEqualTo("jim");
+            } else {
+              assertThat(mapper.selectAuthorUncached(102).getUsername()).isEqualTo("sally");
+            }
+          }
+          return null;
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    PoolState poolState = dataSource.getPoolState();
+    assertThat(poolState.getActiveConnectionCount()).isZero();
+    assertThat(poolState.getIdleConnectionCount()).isBetween(1, 8);
+    assertThat(poolState.getBadConnectionCount()).isZero();
+    dataSource.forceCloseAll();
+  }
+
+  private static ExecutorService newExecutor() {
+    try {
+      return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    } catch (ReflectiveOperationException e) {
+      // virtual threads require Java 21
+      return Executors.newFixedThreadPool(200);
+    }
+  }
+
+}
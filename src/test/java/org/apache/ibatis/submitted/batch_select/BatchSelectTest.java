@@ -0,0 +1,166 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.batch_select;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.Reader;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.mapping.ResultMapping;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.reflection.SystemMetaObject;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BatchSelectTest {
+
+  private SqlSessionFactory sqlSessionFactory;
+  private StatementRecorder recorder;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    try (Reader reader = Resources.getResourceAsReader("org/apache/ibatis/submitted/batch_select/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+    recorder = new StatementRecorder();
+    sqlSessionFactory.getConfiguration().addInterceptor(recorder);
+
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/batch_select/CreateDB.sql");
+  }
+
+  @Test
+  void shouldLoadNestedSelectsInBatch() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      List<Blog> blogs = sqlSession.getMapper(Mapper.class).selectBlogs();
+      assertBlogs(blogs);
+    }
+    assertThat(recorder.statements).containsExactly("selectBlogs", "selectAuthors", "selectPostsForBlogs");
+  }
+
+  @Test
+  void shouldRunBatchStatementOncePerChunkOfKeys() {
+    sqlSessionFactory.getConfiguration().setBatchSelectSize(2);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      List<Blog> blogs = sqlSession.getMapper(Mapper.class).selectBlogs();
+      assertBlogs(blogs);
+    }
+    assertThat(recorder.statements).containsExactly("selectBlogs", "selectAuthors", "selectPostsForBlogs",
+        "selectPostsForBlogs");
+  }
+
+  @Test
+  void shouldLoadNestedSelectsConcurrently() {
+    sqlSessionFactory.getConfiguration().setConcurrentBatchSelects(true);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      List<Blog> blogs = sqlSession.getMapper(Mapper.class).selectBlogs();
+      assertBlogs(blogs);
+    }
+    assertThat(recorder.statements).containsExactlyInAnyOrder("selectBlogs", "selectAuthors", "selectPostsForBlogs");
+  }
+
+  @Test
+  void shouldFallBackToNestedSelectWithResultHandler() {
+    List<Blog> blogs = new ArrayList<>();
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      sqlSession.getMapper(Mapper.class).selectBlogs(context -> blogs.add(context.getResultObject()));
+    }
+    assertBlogs(blogs);
+    assertThat(recorder.statements).doesNotContain("selectAuthors", "selectPostsForBlogs").contains("selectAuthor",
+        "selectPostsForBlog");
+  }
+
+  @Test
+  void shouldLoadLazilyInBatch() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      List<Blog> blogs = sqlSession.getMapper(Mapper.class).selectBlogsLazily();
+      assertThat(recorder.statements).containsExactly("selectBlogsLazily");
+      assertThat(blogs.get(1).getAuthor().getName()).isEqualTo("jim");
+      assertThat(recorder.statements).containsExactly("selectBlogsLazily", "selectAuthors");
+      assertBlogs(blogs);
+    }
+    assertThat(recorder.statements).containsExactly("selectBlogsLazily", "selectAuthors", "selectPostsForBlogs");
+  }
+
+  @Test
+  void shouldLoadLazilyOncePerChunkOfKeys() {
+    sqlSessionFactory.getConfiguration().setBatchSelectSize(2);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      assertBlogs(sqlSession.getMapper(Mapper.class).selectBlogsLazily());
+    }
+    assertThat(recorder.statements).containsExactly("selectBlogsLazily", "selectAuthors", "selectPostsForBlogs",
+        "selectPostsForBlogs");
+  }
+
+  @Test
+  void shouldLoadLazilyInBatchAfterSessionIsClosed() {
+    List<Blog> blogs;
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      blogs = sqlSession.getMapper(Mapper.class).selectBlogsLazily();
+    }
+    assertBlogs(blogs);
+    assertThat(recorder.statements).containsExactly("selectBlogsLazily", "selectAuthors", "selectPostsForBlogs");
+  }
+
+  @Test
+  void shouldRequireBatchKey() {
+    Configuration configuration = sqlSessionFactory.getConfiguration();
+    ResultMapping.Builder builder = new ResultMapping.Builder(configuration, "posts").column("id")
+        .nestedQueryId("selectPosts").nestedBatchQueryId("selectPostsForBlogs");
+    assertThatThrownBy(builder::build).isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("batchKey in property posts");
+  }
+
+  private void assertBlogs(List<Blog> blogs) {
+    assertThat(blogs).hasSize(3);
+    assertThat(blogs.get(0).getAuthor().getName()).isEqualTo("jim");
+    assertThat(blogs.get(1).getAuthor().getName()).isEqualTo("jim");
+    assertThat(blogs.get(2).getAuthor().getName()).isEqualTo("sally");
+    assertThat(blogs.get(0).getPosts()).extracting(Post::getSubject).containsExactly("Post1", "Post2");
+    assertThat(blogs.get(1).getPosts()).extracting(Post::getSubject).containsExactly("Post3");
+    assertThat(blogs.get(2).getPosts()).isEmpty();
+  }
+
+  @Intercepts(@Signature(type = StatementHandler.class, method = "prepare", args = { Connection.class, Integer.class }))
+  static class StatementRecorder implements Interceptor {
+    final List<String> statements = Collections.synchronizedList(new ArrayList<>());
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+      MetaObject metaObject = SystemMetaObject.forObject(invocation.getTarget());
+      String id = (String) metaObject.getValue("delegate.mappedStatement.id");
+      statements.add(id.substring(id.lastIndexOf('.') + 1));
+      return invocation.proceed();
+    }
+  }
+
+}
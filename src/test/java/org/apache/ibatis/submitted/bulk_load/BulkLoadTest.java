@@ -0,0 +1,193 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.bulk_load;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.exceptions.PersistenceException;
+import org.apache.ibatis.executor.bulk.BulkLoadTarget;
+import org.apache.ibatis.executor.bulk.BulkLoader;
+import org.apache.ibatis.executor.bulk.BulkRow;
+import org.apache.ibatis.executor.bulk.MultiRowInsertBulkLoader;
+import org.apache.ibatis.executor.bulk.PostgresCopyBulkLoader;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BulkLoadTest {
+
+  private SqlSessionFactory sqlSessionFactory;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    try (Reader reader = Resources.getResourceAsReader("org/apache/ibatis/submitted/bulk_load/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/bulk_load/CreateDB.sql");
+  }
+
+  @Test
+  void shouldLoadRowsWithMultiRowInserts() throws Exception {
+    Date created = new Date(1700000000000L);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      assertThat(sqlSession.getConfiguration().getBulkLoader(sqlSession.getConnection()))
+          .isInstanceOf(MultiRowInsertBulkLoader.class);
+      long count = sqlSession.bulkLoad("insertProduct",
+          IntStream.rangeClosed(1, 250).mapToObj(i -> new Product(i, "product" + i,
+              i % 2 == 0 ? Category.TOY : Category.BOOK, created, i % 10 == 0 ? null : BigDecimal.valueOf(i, 2))));
+      assertThat(count).isEqualTo(250);
+      sqlSession.commit();
+    }
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      List<Product> products = sqlSession.getMapper(Mapper.class).selectProducts();
+      assertThat(products).hasSize(250);
+      assertThat(products.get(0).getName()).isEqualTo("product1");
+      assertThat(products.get(0).getCategory()).isEqualTo(Category.BOOK);
+      assertThat(products.get(0).getCreated()).isEqualTo(created);
+      assertThat(products.get(0).getPrice()).isEqualByComparingTo("0.01");
+      assertThat(products.get(9).getPrice()).isNull();
+      assertThat(products.get(249).getName()).isEqualTo("product250");
+      assertThat(products.get(249).getCategory()).isEqualTo(Category.TOY);
+    }
+  }
+
+  @Test
+  void shouldLoadNothingWithoutRows() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      assertThat(sqlSession.bulkLoad("insertProduct", Collections.emptyList())).isZero();
+      assertThat(sqlSession.getMapper(Mapper.class).selectProducts()).isEmpty();
+    }
+  }
+
+  @Test
+  void shouldUseRegisteredBulkLoader() {
+    List<List<Object>> loadedRows = new ArrayList<>();
+    List<String> targets = new ArrayList<>();
+    sqlSessionFactory.getConfiguration().addBulkLoader(new BulkLoader() {
+      @Override
+      public boolean supports(Connection connection) {
+        return true;
+      }
+
+      @Override
+      public long load(Connection connection, BulkLoadTarget target, Iterator<BulkRow> rows) {
+        targets.add(target.getTable() + " " + target.getColumns());
+        while (rows.hasNext()) {
+          BulkRow row = rows.next();
+          List<Object> values = new ArrayList<>();
+          for (int i = 0; i < row.size(); i++) {
+            values.add(row.getValue(i));
+          }
+          loadedRows.add(values);
+        }
+        return loadedRows.size();
+      }
+    });
+    Date created = new Date(1700000000000L);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      long count = sqlSession.bulkLoad("insertProduct", Arrays.asList(
+          new Product(1, "book", Category.BOOK, created, BigDecimal.ONE), new Product(2, "toy", null, null, null)));
+      assertThat(count).isEqualTo(2);
+    }
+    assertThat(targets).containsExactly("products [id, name, category, created, price]");
+    assertThat(loadedRows).containsExactly(
+        Arrays.asList(1, "book", "BOOK", new Timestamp(created.getTime()), BigDecimal.ONE),
+        Arrays.asList(2, "toy", null, null, null));
+  }
+
+  private static Map<String, Object> document(int id, String body, byte[] data) {
+    Map<String, Object> document = new HashMap<>();
+    document.put("id", id);
+    document.put("body", body);
+    document.put("data", data);
+    return document;
+  }
+
+  @Test
+  void shouldLoadClobAndBlobValues() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      long count = sqlSession.bulkLoad("insertDocument",
+          Arrays.asList(document(1, "first\tbody", new byte[] { 1, 2 }), document(2, null, null)));
+      assertThat(count).isEqualTo(2);
+      List<Map<String, Object>> documents = sqlSession.getMapper(Mapper.class).selectDocuments();
+      assertThat(documents).hasSize(2);
+      assertThat(documents.get(0)).containsEntry("body", "first\tbody");
+      assertThat((byte[]) documents.get(0).get("data")).containsExactly(1, 2);
+      assertThat(documents.get(1)).doesNotContainKeys("body", "data");
+    }
+  }
+
+  @Test
+  void shouldCopyClobAndBlobContents() {
+    List<String> copied = new ArrayList<>();
+    sqlSessionFactory.getConfiguration().addBulkLoader(new PostgresCopyBulkLoader() {
+      @Override
+      public boolean supports(Connection connection) {
+        return true;
+      }
+
+      @Override
+      protected long copy(Connection connection, BulkLoadTarget target, RowText text) {
+        try {
+          copied.add(new String(text.readAllBytes(), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+        return text.getRowCount();
+      }
+    });
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      long count = sqlSession.bulkLoad("insertDocument",
+          Arrays.asList(document(1, "first\tbody", new byte[] { 1, 2 }), document(2, null, null)));
+      assertThat(count).isEqualTo(2);
+    }
+    assertThat(copied).containsExactly("1\tfirst\\tbody\t\\\\x0102\n2\t\\N\t\\N\n");
+  }
+
+  @Test
+  void shouldRejectStatementsThatAreNotSingleRowInserts() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      List<Product> products = Collections.singletonList(new Product(1, "book", null, null, null));
+      assertThatThrownBy(() -> sqlSession.bulkLoad("insertBook", products)).isInstanceOf(PersistenceException.class)
+          .hasMessageContaining("cannot be used for a bulk load");
+    }
+  }
+
+}
@@ -0,0 +1,82 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.bulk_load;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.builder.xml.XMLMapperBuilder;
+import org.apache.ibatis.executor.bulk.PostgresCopyBulkLoader;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.testcontainers.PgContainer;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("TestcontainersTests")
+class PostgresBulkLoadTest {
+
+  private SqlSessionFactory sqlSessionFactory;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    Configuration configuration = new Configuration(
+        new Environment("development", new JdbcTransactionFactory(), PgContainer.getUnpooledDataSource()));
+    String resource = "org/apache/ibatis/submitted/bulk_load/Mapper.xml";
+    try (InputStream inputStream = Resources.getResourceAsStream(resource)) {
+      new XMLMapperBuilder(inputStream, configuration, resource, configuration.getSqlFragments()).parse();
+    }
+    sqlSessionFactory = new SqlSessionFactoryBuilder().build(configuration);
+
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/bulk_load/CreateDB-postgres.sql");
+  }
+
+  @Test
+  void shouldLoadRowsWithCopy() throws Exception {
+    Date created = new Date(1700000000000L);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      assertThat(sqlSession.getConfiguration().getBulkLoader(sqlSession.getConnection()))
+          .isInstanceOf(PostgresCopyBulkLoader.class);
+      long count = sqlSession.bulkLoad("insertProduct", IntStream.rangeClosed(1, 1000).mapToObj(
+          i -> new Product(i, "product\t" + i, i % 2 == 0 ? Category.TOY : null, created, BigDecimal.valueOf(i, 2))));
+      assertThat(count).isEqualTo(1000);
+      sqlSession.commit();
+    }
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      List<Product> products = sqlSession.getMapper(Mapper.class).selectProducts();
+      assertThat(products).hasSize(1000);
+      assertThat(products.get(0).getName()).isEqualTo("product\t1");
+      assertThat(products.get(0).getCategory()).isNull();
+      assertThat(products.get(0).getCreated()).isEqualTo(created);
+      assertThat(products.get(1).getCategory()).isEqualTo(Category.TOY);
+      assertThat(products.get(999).getPrice()).isEqualByComparingTo("10.00");
+    }
+  }
+
+}
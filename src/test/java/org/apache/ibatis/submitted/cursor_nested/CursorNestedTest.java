@@ -17,6 +17,7 @@ package org.apache.ibatis.submitted.cursor_nested;
 
 import java.io.Reader;
 import java.util.Iterator;
+import java.util.List;
 
 import org.apache.ibatis.BaseDataTest;
 import org.apache.ibatis.cursor.Cursor;
@@ -106,4 +107,19 @@ class CursorNestedTest {
       Assertions.assertTrue(usersCursor.isConsumed());
     }
   }
+
+  @Test
+  void shouldMapNestedResultsOfUnorderedStatement() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Cursor<User> usersCursor = sqlSession.getMapper(Mapper.class).getAllUsersUnordered();
+      List<User> users = usersCursor.nextBatch(10);
+
+      Assertions.assertEquals(4, users.size());
+      Assertions.assertEquals(2, users.get(0).getGroups().size());
+      Assertions.assertEquals(3, users.get(0).getRoles().size());
+      Assertions.assertEquals(3, users.get(2).getGroups().size());
+      Assertions.assertEquals(2, users.get(3).getRoles().size());
+      Assertions.assertTrue(usersCursor.isConsumed());
+    }
+  }
 }
@@ -468,4 +468,28 @@ class CursorSimpleTest {
       Assertions.assertTrue(cursor.isConsumed());
     }
   }
+
+  @Test
+  void shouldFetchBatches() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Cursor<User> cursor = sqlSession.getMapper(Mapper.class).getAllUsers();
+      cursor.setFetchSize(2);
+
+      List<User> batch = cursor.nextBatch(2);
+      Assertions.assertEquals(2, batch.size());
+      Assertions.assertEquals("User1", batch.get(0).getName());
+      Assertions.assertEquals("User2", batch.get(1).getName());
+      Assertions.assertEquals(1, cursor.getCurrentIndex());
+
+      Iterator<User> iterator = cursor.iterator();
+      Assertions.assertEquals("User3", iterator.next().getName());
+
+      batch = cursor.nextBatch(10);
+      Assertions.assertEquals(2, batch.size());
+      Assertions.assertEquals("User5", batch.get(1).getName());
+      Assertions.assertTrue(cursor.isConsumed());
+      Assertions.assertTrue(cursor.nextBatch(10).isEmpty());
+    }
+  }
+
 }
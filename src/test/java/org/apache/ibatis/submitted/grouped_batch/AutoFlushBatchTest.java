@@ -0,0 +1,156 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.grouped_batch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.Reader;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AutoFlushBatchTest {
+
+  private SqlSessionFactory sqlSessionFactory;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    try (
+        Reader reader = Resources.getResourceAsReader("org/apache/ibatis/submitted/grouped_batch/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/grouped_batch/CreateDB.sql");
+  }
+
+  @Test
+  void shouldFlushEveryBatchSizeRows() {
+    List<List<BatchResult>> flushes = new ArrayList<>();
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+      sqlSession.setAutoFlush(2, flushes::add);
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      for (int i = 1; i <= 5; i++) {
+        mapper.insertParent(i, "parent" + i);
+      }
+      assertThat(flushes).hasSize(2);
+      assertThat(flushes.get(0)).hasSize(1);
+      assertThat(flushes.get(0).get(0).getParameterObjects()).hasSize(2);
+      assertThat(flushes.get(0).get(0).getUpdateCounts()).containsExactly(1, 1);
+      List<BatchResult> remaining = sqlSession.flushStatements();
+      assertThat(remaining).hasSize(1);
+      assertThat(remaining.get(0).getParameterObjects()).hasSize(1);
+      sqlSession.commit();
+    }
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      assertThat(sqlSession.getMapper(Mapper.class).selectParentName(5)).isEqualTo("parent5");
+    }
+  }
+
+  @Test
+  void shouldCountRowsOfAllStatements() {
+    List<List<BatchResult>> flushes = new ArrayList<>();
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.GROUPED_BATCH)) {
+      sqlSession.setAutoFlush(4, flushes::add);
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      for (int i = 1; i <= 4; i++) {
+        mapper.insertParent(i, "parent" + i);
+        mapper.insertChild(i * 10, i, "child" + i);
+      }
+      assertThat(flushes).hasSize(2);
+      assertThat(flushes.get(1)).extracting(result -> result.getParameterObjects().size()).containsExactly(2, 2);
+      assertThat(sqlSession.flushStatements()).isEmpty();
+      assertThat(mapper.countChildren()).isEqualTo(4);
+    }
+  }
+
+  @Test
+  void shouldUseDefaultBatchFlushSize() {
+    sqlSessionFactory.getConfiguration().setDefaultBatchFlushSize(3);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      for (int i = 1; i <= 4; i++) {
+        mapper.insertParent(i, "parent" + i);
+      }
+      List<BatchResult> results = sqlSession.flushStatements();
+      assertThat(results).extracting(result -> result.getParameterObjects().size()).containsExactly(0, 1);
+      assertThat(results).extracting(BatchResult::getUpdateCounts).containsExactly(new int[] { 1, 1, 1 },
+          new int[] { 1 });
+      assertThat(sqlSession.flushStatements()).isEmpty();
+    }
+  }
+
+  @Test
+  void shouldReleaseAutoFlushedParameterObjects() throws Exception {
+    sqlSessionFactory.getConfiguration().setDefaultBatchFlushSize(2);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+      List<WeakReference<Object>> flushed = new ArrayList<>();
+      for (int i = 1; i <= 2; i++) {
+        Map<String, Object> parameter = new HashMap<>();
+        parameter.put("id", i);
+        parameter.put("name", "parent" + i);
+        flushed.add(new WeakReference<>(parameter));
+        sqlSession.insert("org.apache.ibatis.submitted.grouped_batch.Mapper.insertParent", parameter);
+      }
+      for (int i = 0; i < 50 && flushed.stream().anyMatch(reference -> reference.get() != null); i++) {
+        System.gc();
+        Thread.sleep(10);
+      }
+      assertThat(flushed).allMatch(reference -> reference.get() == null);
+      List<BatchResult> results = sqlSession.flushStatements();
+      assertThat(results).hasSize(1);
+      assertThat(results.get(0).getParameterObjects()).isEmpty();
+      assertThat(results.get(0).getUpdateCounts()).containsExactly(1, 1);
+    }
+  }
+
+  @Test
+  void shouldDiscardAutoFlushedResultsOnRollback() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+      sqlSession.setAutoFlush(2, null);
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      for (int i = 1; i <= 3; i++) {
+        mapper.insertParent(i, "parent" + i);
+      }
+      sqlSession.rollback();
+      assertThat(sqlSession.flushStatements()).isEmpty();
+    }
+  }
+
+  @Test
+  void shouldIgnoreAutoFlushWithoutBatching() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      sqlSession.setAutoFlush(1, results -> {
+        throw new AssertionError("Should not flush");
+      });
+      sqlSession.getMapper(Mapper.class).insertParent(1, "parent1");
+      assertThat(sqlSession.flushStatements()).isEmpty();
+    }
+  }
+
+}
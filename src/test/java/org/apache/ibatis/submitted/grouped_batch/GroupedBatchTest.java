@@ -0,0 +1,103 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.grouped_batch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.Reader;
+import java.util.List;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class GroupedBatchTest {
+
+  private SqlSessionFactory sqlSessionFactory;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    try (
+        Reader reader = Resources.getResourceAsReader("org/apache/ibatis/submitted/grouped_batch/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/grouped_batch/CreateDB.sql");
+  }
+
+  @Test
+  void shouldCoalesceInterleavedStatements() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.GROUPED_BATCH)) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      for (int i = 1; i <= 3; i++) {
+        mapper.insertParent(i, "parent" + i);
+        mapper.insertChild(i * 10, i, "child" + i);
+        mapper.insertChild(i * 10 + 1, i, "child" + i);
+      }
+      List<BatchResult> results = sqlSession.flushStatements();
+      assertThat(results).extracting(result -> result.getMappedStatement().getId()).containsExactly(
+          "org.apache.ibatis.submitted.grouped_batch.Mapper.insertParent",
+          "org.apache.ibatis.submitted.grouped_batch.Mapper.insertChild");
+      assertThat(results.get(0).getParameterObjects()).hasSize(3);
+      assertThat(results.get(1).getParameterObjects()).hasSize(6);
+      assertThat(mapper.countChildren()).isEqualTo(6);
+      sqlSession.commit();
+    }
+  }
+
+  @Test
+  void shouldKeepSeparateBatchesWithoutGrouping() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      for (int i = 1; i <= 3; i++) {
+        mapper.insertParent(i, "parent" + i);
+        mapper.insertChild(i * 10, i, "child" + i);
+      }
+      assertThat(sqlSession.flushStatements()).hasSize(6);
+    }
+  }
+
+  @Test
+  void shouldStartNewGroupsAfterFlush() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.GROUPED_BATCH)) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      mapper.insertParent(1, "parent1");
+      mapper.insertChild(10, 1, "child1");
+      mapper.renameParent(1, "renamed");
+      mapper.insertParent(2, "parent2");
+      // a select flushes the pending batches
+      assertThat(mapper.selectParentName(1)).isEqualTo("renamed");
+      mapper.insertChild(20, 2, "child2");
+      mapper.insertParent(3, "parent3");
+      mapper.insertChild(30, 3, "child3");
+      // the parents are flushed first as insertParent was used first
+      List<BatchResult> results = sqlSession.flushStatements();
+      assertThat(results).extracting(result -> result.getMappedStatement().getId()).containsExactly(
+          "org.apache.ibatis.submitted.grouped_batch.Mapper.insertParent",
+          "org.apache.ibatis.submitted.grouped_batch.Mapper.insertChild");
+      assertThat(results.get(1).getParameterObjects()).hasSize(2);
+      assertThat(mapper.countChildren()).isEqualTo(3);
+    }
+  }
+
+}
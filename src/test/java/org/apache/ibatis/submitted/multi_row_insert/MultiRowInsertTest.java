@@ -0,0 +1,117 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.multi_row_insert;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class MultiRowInsertTest {
+
+  private SqlSessionFactory sqlSessionFactory;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    try (Reader reader = Resources
+        .getResourceAsReader("org/apache/ibatis/submitted/multi_row_insert/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/multi_row_insert/CreateDB.sql");
+  }
+
+  @Test
+  void shouldInsertManyRowsPerStatement() {
+    List<User> users = new ArrayList<>();
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      for (int i = 1; i <= 7; i++) {
+        User user = new User(null, "user" + i);
+        users.add(user);
+        mapper.insertUser(user);
+      }
+      List<BatchResult> results = sqlSession.flushStatements();
+      assertThat(results).hasSize(2);
+      assertThat(results.get(0).getSql()).isEqualTo("insert into users (name) values (?), (?), (?)");
+      assertThat(results.get(0).getParameterObjects()).hasSize(6);
+      assertThat(results.get(0).getUpdateCounts()).containsExactly(1, 1, 1, 1, 1, 1);
+      assertThat(results.get(1).getSql()).isEqualTo("insert into users (name) values (?)");
+      assertThat(results.get(1).getUpdateCounts()).containsExactly(1);
+      sqlSession.commit();
+    }
+    assertThat(users).extracting(User::getId).containsExactly(1, 2, 3, 4, 5, 6, 7);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      assertThat(sqlSession.getMapper(Mapper.class).selectNames()).containsExactly("user1", "user2", "user3", "user4",
+          "user5", "user6", "user7");
+    }
+  }
+
+  @Test
+  void shouldKeepTheOrderOfOtherUpdates() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      mapper.insertUserWithId(new User(1, "user1"));
+      mapper.insertUserWithId(new User(2, "user2"));
+      mapper.renameUser(new User(2, "renamed"));
+      mapper.insertUserWithId(new User(3, "user3"));
+      List<BatchResult> results = sqlSession.flushStatements();
+      assertThat(results).extracting(BatchResult::getSql).containsExactly(
+          "insert into users (id, name) values (?, ?), (?, ?)", "update users set name = ? where id = ?",
+          "insert into users (id, name) values (?, ?)");
+      assertThat(mapper.selectNames()).containsExactly("user1", "renamed", "user3");
+    }
+  }
+
+  @Test
+  void shouldCoalesceInterleavedInsertsWhenGrouped() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.GROUPED_BATCH)) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      for (int i = 1; i <= 3; i++) {
+        mapper.insertUserWithId(new User(i, "user" + i));
+        mapper.renameUser(new User(i, "renamed" + i));
+      }
+      List<BatchResult> results = sqlSession.flushStatements();
+      assertThat(results).extracting(BatchResult::getSql).containsExactly(
+          "insert into users (id, name) values (?, ?), (?, ?), (?, ?)", "update users set name = ? where id = ?");
+      assertThat(mapper.selectNames()).containsExactly("renamed1", "renamed2", "renamed3");
+    }
+  }
+
+  @Test
+  void shouldDiscardPendingRowsOnRollback() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      mapper.insertUser(new User(null, "user1"));
+      sqlSession.rollback();
+      assertThat(sqlSession.flushStatements()).isEmpty();
+      assertThat(mapper.selectNames()).isEmpty();
+    }
+  }
+
+}
@@ -81,4 +81,14 @@ class DoubleTypeHandlerTest extends BaseTypeHandlerTest {
     assertNull(TYPE_HANDLER.getResult(cs, 1));
   }
 
+  @Test
+  void shouldGetPrimitiveResultFromResultSetByPosition() throws Exception {
+    PrimitiveTypeHandler<?> typeHandler = (PrimitiveTypeHandler<?>) TYPE_HANDLER;
+    when(rs.getDouble(1)).thenReturn(100d);
+    assertEquals(double.class, typeHandler.getPrimitiveType());
+    assertEquals(100d, typeHandler.getDouble(rs, 1));
+    assertNull(new DoubleTypeHandler() {
+    }.getPrimitiveType());
+  }
+
 }
@@ -81,4 +81,14 @@ class IntegerTypeHandlerTest extends BaseTypeHandlerTest {
     assertNull(TYPE_HANDLER.getResult(cs, 1));
   }
 
+  @Test
+  void shouldGetPrimitiveResultFromResultSetByPosition() throws Exception {
+    PrimitiveTypeHandler<?> typeHandler = (PrimitiveTypeHandler<?>) TYPE_HANDLER;
+    when(rs.getInt(1)).thenReturn(100);
+    assertEquals(int.class, typeHandler.getPrimitiveType());
+    assertEquals(100, typeHandler.getInt(rs, 1));
+    assertNull(new IntegerTypeHandler() {
+    }.getPrimitiveType());
+  }
+
 }
@@ -81,4 +81,14 @@ class LongTypeHandlerTest extends BaseTypeHandlerTest {
     assertNull(TYPE_HANDLER.getResult(cs, 1));
   }
 
+  @Test
+  void shouldGetPrimitiveResultFromResultSetByPosition() throws Exception {
+    PrimitiveTypeHandler<?> typeHandler = (PrimitiveTypeHandler<?>) TYPE_HANDLER;
+    when(rs.getLong(1)).thenReturn(100L);
+    assertEquals(long.class, typeHandler.getPrimitiveType());
+    assertEquals(100L, typeHandler.getLong(rs, 1));
+    assertNull(new LongTypeHandler() {
+    }.getPrimitiveType());
+  }
+
 }
@@ -0,0 +1,47 @@
+--
+--    Copyright 2009-2026 the original author or authors.
+--
+--    Licensed under the Apache License, Version 2.0 (the "License");
+--    you may not use this file except in compliance with the License.
+--    You may obtain a copy of the License at
+--
+--       https://www.apache.org/licenses/LICENSE-2.0
+--
+--    Unless required by applicable law or agreed to in writing, software
+--    distributed under the License is distributed on an "AS IS" BASIS,
+--    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+--    See the License for the specific language governing permissions and
+--    limitations under the License.
+--
+
+drop table posts if exists;
+drop table blogs if exists;
+drop table authors if exists;
+
+create table authors (
+  id int,
+  name varchar(20)
+);
+
+create table blogs (
+  id int,
+  title varchar(20),
+  author_id int
+);
+
+create table posts (
+  id int,
+  blog_id int,
+  subject varchar(20)
+);
+
+insert into authors values(10, 'jim');
+insert into authors values(11, 'sally');
+
+insert into blogs values(1, 'Blog1', 10);
+insert into blogs values(2, 'Blog2', 10);
+insert into blogs values(3, 'Blog3', 11);
+
+insert into posts values(1, 1, 'Post1');
+insert into posts values(2, 1, 'Post2');
+insert into posts values(3, 2, 'Post3');
@@ -0,0 +1,33 @@
+--
+--    Copyright 2009-2026 the original author or authors.
+--
+--    Licensed under the Apache License, Version 2.0 (the "License");
+--    you may not use this file except in compliance with the License.
+--    You may obtain a copy of the License at
+--
+--       https://www.apache.org/licenses/LICENSE-2.0
+--
+--    Unless required by applicable law or agreed to in writing, software
+--    distributed under the License is distributed on an "AS IS" BASIS,
+--    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+--    See the License for the specific language governing permissions and
+--    limitations under the License.
+--
+
+
+drop table products if exists;
+drop table documents if exists;
+
+create table products (
+  id int not null primary key,
+  name varchar(100) not null,
+  category varchar(20),
+  created timestamp,
+  price decimal(10, 2)
+);
+
+create table documents (
+  id int not null primary key,
+  body clob,
+  data blob
+);